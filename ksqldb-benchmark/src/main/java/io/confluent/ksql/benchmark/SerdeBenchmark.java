@@ -22,6 +22,7 @@ import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.datagen.RowGenerator;
 import io.confluent.ksql.logging.processing.ProcessingLogContext;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
 import io.confluent.ksql.serde.FormatFactory;
 import io.confluent.ksql.serde.FormatInfo;
@@ -33,9 +34,12 @@ import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
+import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serde;
 import org.apache.kafka.common.serialization.Serdes;
@@ -78,6 +82,7 @@ public class SerdeBenchmark {
   private static final Path SCHEMA_DIR = Paths.get("schemas");
   private static final String SCHEMA_FILE_SUFFIX = ".avro";
   private static final String TOPIC_NAME = "serde_benchmark";
+  private static final int PRUNED_REQUIRED_COLUMNS = 3;
 
   @State(Scope.Thread)
   public static class SchemaAndGenericRowState {
@@ -115,7 +120,7 @@ public class SerdeBenchmark {
     GenericRow row;
     byte[] bytes;
 
-    @Param({"JSON", "Avro"})
+    @Param({"JSON", "JSON_PRUNED", "Avro"})
     public String serializationFormat;
 
     @Setup(Level.Iteration)
@@ -123,7 +128,14 @@ public class SerdeBenchmark {
       final Serde<GenericRow> serde;
       switch (serializationFormat) {
         case "JSON":
-          serde = getJsonSerde(rowState.schema);
+          serde = getJsonSerde(rowState.schema, Optional.empty());
+          break;
+        case "JSON_PRUNED":
+          // Only deserialize the first few columns, as a query referencing only them would:
+          serde = getJsonSerde(rowState.schema, Optional.of(rowState.schema.fields().stream()
+              .limit(PRUNED_REQUIRED_COLUMNS)
+              .map(field -> ColumnName.of(field.name().toUpperCase()))
+              .collect(Collectors.toSet())));
           break;
         case "Avro":
           serde = getAvroSerde(rowState.schema);
@@ -138,11 +150,15 @@ public class SerdeBenchmark {
     }
 
     private static Serde<GenericRow> getJsonSerde(
-        final org.apache.kafka.connect.data.Schema schema) {
-      final Serializer<GenericRow> serializer = getJsonSerdeHelper(schema).serializer();
+        final org.apache.kafka.connect.data.Schema schema,
+        final Optional<Set<ColumnName>> requiredColumns
+    ) {
+      final Serializer<GenericRow> serializer =
+          getJsonSerdeHelper(schema, Optional.empty()).serializer();
       // KsqlJsonDeserializer requires schema field names to be uppercase
       final Deserializer<GenericRow> deserializer =
-          getJsonSerdeHelper(convertFieldNamesToUppercase(schema)).deserializer();
+          getJsonSerdeHelper(convertFieldNamesToUppercase(schema), requiredColumns)
+              .deserializer();
       return Serdes.serdeFrom(serializer, deserializer);
     }
 
@@ -156,12 +172,25 @@ public class SerdeBenchmark {
     }
 
     private static Serde<GenericRow> getJsonSerdeHelper(
-        final org.apache.kafka.connect.data.Schema schema
+        final org.apache.kafka.connect.data.Schema schema,
+        final Optional<Set<ColumnName>> requiredColumns
     ) {
-      return getGenericRowSerde(
+      if (!requiredColumns.isPresent()) {
+        return getGenericRowSerde(
+            FormatInfo.of(FormatFactory.JSON.name()),
+            schema,
+            () -> null
+        );
+      }
+
+      return new GenericRowSerDe().create(
           FormatInfo.of(FormatFactory.JSON.name()),
-          schema,
-          () -> null
+          PersistenceSchema.from((ConnectSchema) schema, false),
+          new KsqlConfig(Collections.emptyMap()),
+          () -> null,
+          "benchmark",
+          ProcessingLogContext.create(),
+          requiredColumns.get()
       );
     }
 
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.benchmark;
+
+import com.google.common.collect.ImmutableList;
+import io.confluent.ksql.function.AggregateFunctionFactory;
+import io.confluent.ksql.function.AggregateFunctionInitArguments;
+import io.confluent.ksql.function.KsqlAggregateFunction;
+import io.confluent.ksql.function.udaf.topk.TopKAggregateFunctionFactory;
+import io.confluent.ksql.function.udaf.topkdistinct.TopkDistinctAggFunctionFactory;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ *  Runs JMH microbenchmarks against the TOPK and TOPKDISTINCT aggregate functions, comparing
+ *  them with the previous implementation, which re-sorted the aggregate on every insert.
+ *  See `ksql-benchmark/README.md` for more info.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Threads(4)
+@Fork(3)
+public class TopkBenchmark {
+
+  private static final int NUM_VALUES = 10_000;
+
+  @State(Scope.Thread)
+  public static class TopkState {
+
+    @Param({"TOPK", "TOPKDISTINCT"})
+    public String function;
+
+    @Param({"10", "100", "500"})
+    public int k;
+
+    @Param({"CURRENT", "SORT_ON_INSERT"})
+    public String implementation;
+
+    private KsqlAggregateFunction<Long, List<Long>, List<Long>> aggregateFunction;
+    private Long[] values;
+
+    @SuppressWarnings("unchecked")
+    @Setup(Level.Iteration)
+    public void setUp() {
+      final AggregateFunctionFactory factory = function.equals("TOPK")
+          ? new TopKAggregateFunctionFactory()
+          : new TopkDistinctAggFunctionFactory();
+
+      aggregateFunction = (KsqlAggregateFunction<Long, List<Long>, List<Long>>) factory
+          .createAggregateFunction(
+              ImmutableList.of(SqlTypes.BIGINT),
+              new AggregateFunctionInitArguments(0, k)
+          );
+
+      // A narrow range of values, so that TOPKDISTINCT sees duplicates:
+      final Random random = new Random(0);
+      values = new Long[NUM_VALUES];
+      for (int i = 0; i < NUM_VALUES; i++) {
+        values[i] = (long) random.nextInt(NUM_VALUES);
+      }
+    }
+
+    List<Long> aggregate(final Long value, final List<Long> aggregate) {
+      switch (implementation) {
+        case "CURRENT":
+          return aggregateFunction.aggregate(value, aggregate);
+        case "SORT_ON_INSERT":
+          return sortOnInsert(value, aggregate, k, function.equals("TOPKDISTINCT"));
+        default:
+          throw new IllegalStateException("Unknown implementation: " + implementation);
+      }
+    }
+  }
+
+  @Benchmark
+  public List<Long> aggregate(final TopkState state) {
+    List<Long> aggregate = new ArrayList<>();
+    for (final Long value : state.values) {
+      aggregate = state.aggregate(value, aggregate);
+    }
+    return aggregate;
+  }
+
+  /**
+   * The previous implementation of {@code TopkKudaf} and {@code TopkDistinctKudaf}.
+   */
+  private static List<Long> sortOnInsert(
+      final Long currentValue,
+      final List<Long> aggregateValue,
+      final int k,
+      final boolean distinct
+  ) {
+    final int currentSize = aggregateValue.size();
+    if (currentSize == k && currentValue.compareTo(aggregateValue.get(currentSize - 1)) <= 0) {
+      return aggregateValue;
+    }
+
+    if (distinct && aggregateValue.contains(currentValue)) {
+      return aggregateValue;
+    }
+
+    if (currentSize == k) {
+      aggregateValue.set(currentSize - 1, currentValue);
+    } else {
+      aggregateValue.add(currentValue);
+    }
+
+    aggregateValue.sort(Comparator.reverseOrder());
+    return aggregateValue;
+  }
+
+  public static void main(final String[] args) throws Exception {
+
+    final Options opt = args.length != 0
+        ? new CommandLineOptions(args)
+        : new OptionsBuilder()
+            .include(TopkBenchmark.class.getSimpleName())
+            .shouldFailOnError(true)
+            .build();
+
+    new Runner(opt).run();
+  }
+}
@@ -18,7 +18,12 @@ package io.confluent.ksql.benchmark;
 import io.confluent.ksql.function.FunctionInvoker;
 import io.confluent.ksql.function.FunctionLoaderUtils;
 import io.confluent.ksql.function.udf.PluggableUdf;
+import io.confluent.ksql.function.udf.json.JsonArrayContains;
+import io.confluent.ksql.function.udf.json.JsonExtractStringKudf;
+import io.confluent.ksql.function.udf.json.UdfJsonMapper;
+import java.io.IOException;
 import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.concurrent.TimeUnit;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
@@ -87,6 +92,64 @@ public class UdfInvokerBenchmark {
     }
   }
 
+  @State(Scope.Thread)
+  public static class JsonUdfState {
+
+    private static final String JSON_DOC = "{"
+        + "\"id\":42,"
+        + "\"user\":{\"name\":\"fred\",\"tags\":[\"a\",\"b\",\"c\"]},"
+        + "\"items\":[" + String.join(",", Collections.nCopies(50,
+        "{\"sku\":\"abc-123\",\"price\":10.25,\"qty\":3,\"attrs\":{\"colour\":\"red\"}}"))
+        + "],"
+        + "\"total\":1537.5"
+        + "}";
+
+    private static final char[] JSON_CHARS = JSON_DOC.toCharArray();
+
+    private JsonExtractStringKudf extractName;
+    private JsonExtractStringKudf extractId;
+    private JsonExtractStringKudf extractTags;
+    private JsonArrayContains arrayContains;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+      extractName = new JsonExtractStringKudf();
+      extractId = new JsonExtractStringKudf();
+      extractTags = new JsonExtractStringKudf();
+      arrayContains = new JsonArrayContains();
+    }
+
+    private String nextDoc() {
+      // Each row has its own instance of the document:
+      return new String(JSON_CHARS);
+    }
+  }
+
+  @Benchmark
+  public Object extractJsonFieldByParsingTree(final JsonUdfState state) {
+    try {
+      // How EXTRACTJSONFIELD used to evaluate a path: parsing the whole document:
+      return UdfJsonMapper.INSTANCE.get().reader().readTree(state.nextDoc())
+          .get("user").get("name").asText();
+    } catch (final IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Benchmark
+  public Object extractJsonField(final JsonUdfState state) {
+    return state.extractName.evaluate(state.nextDoc(), "$.user.name");
+  }
+
+  @Benchmark
+  public boolean extractJsonFieldsFromSameDoc(final JsonUdfState state) {
+    final String doc = state.nextDoc();
+    state.extractName.evaluate(doc, "$.user.name");
+    state.extractId.evaluate(doc, "$.id");
+    final String tags = (String) state.extractTags.evaluate(doc, "$.user.tags");
+    return state.arrayContains.contains(tags, "b");
+  }
+
   @Benchmark
   public int invokeSimpleMethod(final UdfInvokerState state) {
     try {
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.query;
+
+import java.util.Locale;
+
+/**
+ * What a push query does with a new row when the queue of rows waiting to be read by its client
+ * is full.
+ */
+public enum PushQueryOverflowPolicy {
+
+  /**
+   * Hold up the query until the client has read enough rows to make space.
+   *
+   * <p>The stream thread stops processing, so the query stops consuming from its source. By
+   * default it waits indefinitely, though a stream thread that stops polling for longer than
+   * {@code max.poll.interval.ms} is removed from its consumer group, causing a rebalance. A block
+   * timeout can be set to fail the query first, as for {@link #DISCONNECT}.
+   */
+  BLOCK,
+
+  /**
+   * Drop the oldest queued row to make space, so that the client sees the most recent rows.
+   */
+  DROP_OLDEST,
+
+  /**
+   * Fail the query, disconnecting the client with an error.
+   */
+  DISCONNECT;
+
+  public static PushQueryOverflowPolicy parse(final String policy) {
+    return valueOf(policy.toUpperCase(Locale.ROOT));
+  }
+}
@@ -27,6 +27,7 @@ import io.confluent.ksql.errors.LogMetricAndContinueExceptionHandler;
 import io.confluent.ksql.errors.ProductionExceptionHandlerUtil;
 import io.confluent.ksql.logging.processing.ProcessingLogConfig;
 import io.confluent.ksql.model.SemanticVersion;
+import io.confluent.ksql.query.PushQueryOverflowPolicy;
 import io.confluent.ksql.testing.EffectivelyImmutable;
 import java.util.Collection;
 import java.util.Collections;
@@ -203,8 +204,188 @@ public class KsqlConfig extends AbstractConfig {
   public static final String KSQL_QUERY_PULL_MAX_QPS_DOC = "The maximum qps allowed for pull "
       + "queries. Once the limit is hit, queries will fail immediately";
 
+  public static final String KSQL_QUERY_PULL_PLAN_CACHE_SIZE_CONFIG =
+      "ksql.query.pull.plan.cache.size";
+  public static final Integer KSQL_QUERY_PULL_PLAN_CACHE_SIZE_DEFAULT = 1000;
+  public static final String KSQL_QUERY_PULL_PLAN_CACHE_SIZE_DOC = "The maximum number of "
+      + "prepared pull query plans cached on each server. Pull queries that differ only in the "
+      + "literals of their WHERE clause share a plan, avoiding re-analysis and code generation. "
+      + "Set to 0 to disable the cache.";
+
+  public static final String KSQL_QUERY_FUSED_PROJECTION_ENABLE_CONFIG =
+      "ksql.query.fused.projection.enable";
+  public static final boolean KSQL_QUERY_FUSED_PROJECTION_ENABLE_DEFAULT = false;
+  public static final String KSQL_QUERY_FUSED_PROJECTION_ENABLE_DOC = "Whether the SELECT list "
+      + "of a query is compiled into a single generated class, which reads each column once and "
+      + "evaluates repeated expressions once, rather than each expression being compiled and "
+      + "evaluated on its own.";
+
+  public static final String KSQL_QUERY_SOURCE_COLUMN_PRUNING_ENABLE_CONFIG =
+      "ksql.query.source.column.pruning.enable";
+  public static final boolean KSQL_QUERY_SOURCE_COLUMN_PRUNING_ENABLE_DEFAULT = false;
+  public static final String KSQL_QUERY_SOURCE_COLUMN_PRUNING_ENABLE_DOC = "Whether streams "
+      + "that are only filtered and projected by a query deserialize just the value columns the "
+      + "query references, leaving the others null. Only supported by the JSON formats. Note "
+      + "that errors in unreferenced columns are not detected when enabled.";
+
+  public static final String KSQL_QUERY_SOURCE_PREFILTER_ENABLE_CONFIG =
+      "ksql.query.source.prefilter.enable";
+  public static final boolean KSQL_QUERY_SOURCE_PREFILTER_ENABLE_DEFAULT = false;
+  public static final String KSQL_QUERY_SOURCE_PREFILTER_ENABLE_DOC = "Whether comparisons "
+      + "between value columns and literals in the WHERE clause of a query on a stream are first "
+      + "evaluated against just the columns they reference, so that records they reject are "
+      + "dropped without deserializing the rest of the value. Only supported by the JSON formats, "
+      + "and only for streams without a TIMESTAMP column.";
+
+  public static final String KSQL_QUERY_PLAN_OPTIMIZER_ENABLE_CONFIG =
+      "ksql.query.plan.optimizer.enable";
+  public static final boolean KSQL_QUERY_PLAN_OPTIMIZER_ENABLE_DEFAULT = false;
+  public static final String KSQL_QUERY_PLAN_OPTIMIZER_ENABLE_DOC = "Whether constant "
+      + "expressions in the WHERE clause of new queries are folded, and predicates of a join that "
+      + "only reference one source, whose rows the join preserves, are applied to that source "
+      + "before the join and any repartition. Filters created by the optimizer are named "
+      + "PushDownFilter and OptimizedWhereFilter in the query's execution plan.";
+
+  public static final String KSQL_QUERY_COLUMN_PRUNING_ENABLE_CONFIG =
+      "ksql.query.column.pruning.enable";
+  public static final boolean KSQL_QUERY_COLUMN_PRUNING_ENABLE_DEFAULT = false;
+  public static final String KSQL_QUERY_COLUMN_PRUNING_ENABLE_DOC = "Whether the value columns "
+      + "of a source that a new query does not reference are dropped before the source is "
+      + "joined or repartitioned by a PARTITION BY, so that they are not written to repartition "
+      + "topics or join state stores. The columns retained are recorded in the PruneColumns step "
+      + "of the query's execution plan.";
+
+  public static final String KSQL_QUERY_PULL_HEDGE_ENABLE_CONFIG =
+      "ksql.query.pull.hedge.enable";
+  public static final boolean KSQL_QUERY_PULL_HEDGE_ENABLE_DEFAULT = false;
+  public static final String KSQL_QUERY_PULL_HEDGE_ENABLE_DOC = "Whether pull queries that look "
+      + "up keys are hedged: if the host serving the keys has not responded within the hedge "
+      + "delay, the query is also sent to the best standby within the allowed lag, and the first "
+      + "response is used. Requires ksql.streams.num.standby.replicas >= 1 and "
+      + KSQL_QUERY_PULL_ENABLE_STANDBY_READS + "=true.";
+
+  public static final String KSQL_QUERY_PULL_HEDGE_DELAY_MS_CONFIG =
+      "ksql.query.pull.hedge.delay.ms";
+  public static final Long KSQL_QUERY_PULL_HEDGE_DELAY_MS_DEFAULT = 50L;
+  public static final String KSQL_QUERY_PULL_HEDGE_DELAY_MS_DOC = "The time in milliseconds to "
+      + "wait for a response from a host before hedging a pull query to a standby. When "
+      + "ksql.query.pull.hedge.latency.percentile is set, this is used until enough latencies have "
+      + "been recorded for the host.";
+
+  public static final String KSQL_QUERY_PULL_HEDGE_LATENCY_PERCENTILE_CONFIG =
+      "ksql.query.pull.hedge.latency.percentile";
+  public static final Double KSQL_QUERY_PULL_HEDGE_LATENCY_PERCENTILE_DEFAULT = 0.0;
+  public static final String KSQL_QUERY_PULL_HEDGE_LATENCY_PERCENTILE_DOC = "If non-zero, pull "
+      + "queries are hedged once they have taken longer than this percentile of the host's recent "
+      + "pull query latencies, e.g. 95, rather than after a fixed delay.";
+
+  public static final String KSQL_QUERY_PULL_HEDGE_THREAD_POOL_SIZE_CONFIG =
+      "ksql.query.pull.hedge.thread.pool.size";
+  public static final int KSQL_QUERY_PULL_HEDGE_THREAD_POOL_SIZE_DEFAULT = 50;
+  public static final String KSQL_QUERY_PULL_HEDGE_THREAD_POOL_SIZE_DOC = "The maximum number "
+      + "of threads used to send hedged pull queries, each of which is sent on a thread of its "
+      + "own, as is its hedge. Pull queries that would need more threads are not hedged.";
+
+  public static final String KSQL_QUERY_AGGREGATE_COMBINE_ENABLE_CONFIG =
+      "ksql.query.aggregate.combine.enable";
+  public static final boolean KSQL_QUERY_AGGREGATE_COMBINE_ENABLE_DEFAULT = false;
+  public static final String KSQL_QUERY_AGGREGATE_COMBINE_ENABLE_DOC = "Whether the rows of new "
+      + "non-windowed stream aggregations that GROUP BY an expression are partially aggregated "
+      + "per grouping key before they are repartitioned, so that only the partial aggregates are "
+      + "written to the repartition topic. Only applies if every aggregate function used is a "
+      + "built-in function whose result does not depend on the order rows are processed in, i.e. "
+      + "COUNT, SUM, AVG, MIN, MAX, TOPK, TOPKDISTINCT or COUNT_DISTINCT. Other aggregations are "
+      + "not partially aggregated. The value in effect when a query is created is kept for the "
+      + "life of the query.";
+
+  public static final String KSQL_QUERY_AGGREGATE_COMBINE_MAX_KEYS_CONFIG =
+      "ksql.query.aggregate.combine.max.keys";
+  public static final int KSQL_QUERY_AGGREGATE_COMBINE_MAX_KEYS_DEFAULT = 1000;
+  public static final String KSQL_QUERY_AGGREGATE_COMBINE_MAX_KEYS_DOC = "The number of "
+      + "grouping keys a stream task partially aggregates before it forwards its partial "
+      + "aggregates to the repartition topic. Only used if "
+      + KSQL_QUERY_AGGREGATE_COMBINE_ENABLE_CONFIG + " is set.";
+
+  public static final String KSQL_QUERY_AGGREGATE_COMBINE_FLUSH_INTERVAL_MS_CONFIG =
+      "ksql.query.aggregate.combine.flush.interval.ms";
+  public static final long KSQL_QUERY_AGGREGATE_COMBINE_FLUSH_INTERVAL_MS_DEFAULT = 1000L;
+  public static final String KSQL_QUERY_AGGREGATE_COMBINE_FLUSH_INTERVAL_MS_DOC = "The maximum "
+      + "time, in milliseconds, that a stream task holds partial aggregates before it forwards "
+      + "them to the repartition topic. Only used if "
+      + KSQL_QUERY_AGGREGATE_COMBINE_ENABLE_CONFIG + " is set.";
+
+  public static final String KSQL_QUERY_TABLE_AGGREGATE_MAX_DISTINCT_VALUES_CONFIG =
+      "ksql.query.table.aggregate.max.distinct.values";
+  public static final int KSQL_QUERY_TABLE_AGGREGATE_MAX_DISTINCT_VALUES_DEFAULT = 1000;
+  public static final String KSQL_QUERY_TABLE_AGGREGATE_MAX_DISTINCT_VALUES_DOC = "The maximum "
+      + "number of distinct values per group that MIN, MAX, TOPK, TOPKDISTINCT and COLLECT_SET "
+      + "track when aggregating a table, so that their results can be updated when rows are "
+      + "updated or deleted. TOPK and TOPKDISTINCT track at least K values. A query fails if a "
+      + "group exceeds the limit, rather than returning incorrect results.";
+
+  public static final String KSQL_QUERY_STATE_STORE_BINARY_FORMAT_ENABLE_CONFIG =
+      "ksql.query.state.store.binary.format.enable";
+  public static final boolean KSQL_QUERY_STATE_STORE_BINARY_FORMAT_ENABLE_DEFAULT = false;
+  public static final String KSQL_QUERY_STATE_STORE_BINARY_FORMAT_ENABLE_DOC = "Whether the "
+      + "aggregation state stores, and their changelog topics, of new queries store values in the "
+      + "compact KSQL_BINARY format, rather than in the value format of the query's source. The "
+      + "format used is recorded in the query's execution plan, so existing queries are not "
+      + "affected.";
+
+  public static final String KSQL_QUERY_PUSH_SHARED_ENABLE_CONFIG =
+      "ksql.query.push.shared.enable";
+  public static final boolean KSQL_QUERY_PUSH_SHARED_ENABLE_DEFAULT = false;
+  public static final String KSQL_QUERY_PUSH_SHARED_ENABLE_DOC = "Whether push queries that "
+      + "only filter and project a stream share a single Kafka Streams application, and so a "
+      + "single consumer, with the other push queries on this server that read the same stream "
+      + "with the same property overrides. Each query's filter and projection is applied to the "
+      + "shared records. Queries that read from the earliest offset are never shared, nor are "
+      + "queries run with per-user Kafka clients, i.e. when the security extension provides a "
+      + "user context.";
+
+  public static final String KSQL_QUERY_PUSH_SHARED_QUEUE_SIZE_CONFIG =
+      "ksql.query.push.shared.queue.size";
+  public static final int KSQL_QUERY_PUSH_SHARED_QUEUE_SIZE_DEFAULT = 1000;
+  public static final String KSQL_QUERY_PUSH_SHARED_QUEUE_SIZE_DOC = "The number of rows "
+      + "buffered for each client of a shared push query. A client that falls this far behind is "
+      + "dropped with an error, or has its oldest rows dropped if its overflow policy is "
+      + "DROP_OLDEST, rather than holding up the other clients. Only used if "
+      + KSQL_QUERY_PUSH_SHARED_ENABLE_CONFIG + " is set.";
+
+  public static final String KSQL_QUERY_PUSH_OVERFLOW_POLICY_CONFIG =
+      "ksql.query.push.overflow.policy";
+  public static final String KSQL_QUERY_PUSH_OVERFLOW_POLICY_DEFAULT =
+      PushQueryOverflowPolicy.BLOCK.name();
+  public static final String KSQL_QUERY_PUSH_OVERFLOW_POLICY_DOC = "What a push query does "
+      + "with a new row when its client is not reading rows as fast as they are produced and "
+      + "the queue of rows waiting for the client is full. BLOCK holds up the query, and so "
+      + "consumption from its source, until the client catches up, optionally for at most "
+      + "ksql.query.push.overflow.block.timeout.ms. DROP_OLDEST drops the oldest queued row, so "
+      + "the client sees the most recent rows. DISCONNECT fails the query, disconnecting the "
+      + "client with an error. Can be set per query.";
+
+  public static final String KSQL_QUERY_PUSH_OVERFLOW_BLOCK_TIMEOUT_MS_CONFIG =
+      "ksql.query.push.overflow.block.timeout.ms";
+  public static final long KSQL_QUERY_PUSH_OVERFLOW_BLOCK_TIMEOUT_MS_DEFAULT = 0L;
+  public static final String KSQL_QUERY_PUSH_OVERFLOW_BLOCK_TIMEOUT_MS_DOC = "How long a push "
+      + "query with the BLOCK overflow policy holds up its stream thread waiting for its client "
+      + "to catch up, before failing the query as for DISCONNECT. The default, 0, waits "
+      + "indefinitely. A stream thread blocked for longer than the consumer's "
+      + "max.poll.interval.ms is removed from its consumer group, causing a rebalance; set a "
+      + "value below max.poll.interval.ms to fail the query instead. Can be set per query.";
+
   public static final Collection<CompatibilityBreakingConfigDef> COMPATIBLY_BREAKING_CONFIG_DEFS
-      = ImmutableList.of();
+      = ImmutableList.of(
+          new CompatibilityBreakingConfigDef(
+              KSQL_QUERY_AGGREGATE_COMBINE_ENABLE_CONFIG,
+              Type.BOOLEAN,
+              KSQL_QUERY_AGGREGATE_COMBINE_ENABLE_DEFAULT,
+              KSQL_QUERY_AGGREGATE_COMBINE_ENABLE_DEFAULT,
+              Importance.LOW,
+              Optional.empty(),
+              KSQL_QUERY_AGGREGATE_COMBINE_ENABLE_DOC
+          )
+      );
 
   public static final String KSQL_SHUTDOWN_TIMEOUT_MS_CONFIG =
       "ksql.streams.shutdown.timeout.ms";
@@ -633,6 +814,142 @@ public class KsqlConfig extends AbstractConfig {
             Importance.LOW,
             KSQL_QUERY_PULL_MAX_QPS_DOC
         )
+        .define(
+            KSQL_QUERY_PULL_PLAN_CACHE_SIZE_CONFIG,
+            Type.INT,
+            KSQL_QUERY_PULL_PLAN_CACHE_SIZE_DEFAULT,
+            zeroOrPositive(),
+            Importance.LOW,
+            KSQL_QUERY_PULL_PLAN_CACHE_SIZE_DOC
+        )
+        .define(
+            KSQL_QUERY_FUSED_PROJECTION_ENABLE_CONFIG,
+            Type.BOOLEAN,
+            KSQL_QUERY_FUSED_PROJECTION_ENABLE_DEFAULT,
+            Importance.LOW,
+            KSQL_QUERY_FUSED_PROJECTION_ENABLE_DOC
+        )
+        .define(
+            KSQL_QUERY_SOURCE_COLUMN_PRUNING_ENABLE_CONFIG,
+            Type.BOOLEAN,
+            KSQL_QUERY_SOURCE_COLUMN_PRUNING_ENABLE_DEFAULT,
+            Importance.LOW,
+            KSQL_QUERY_SOURCE_COLUMN_PRUNING_ENABLE_DOC
+        )
+        .define(
+            KSQL_QUERY_SOURCE_PREFILTER_ENABLE_CONFIG,
+            Type.BOOLEAN,
+            KSQL_QUERY_SOURCE_PREFILTER_ENABLE_DEFAULT,
+            Importance.LOW,
+            KSQL_QUERY_SOURCE_PREFILTER_ENABLE_DOC
+        )
+        .define(
+            KSQL_QUERY_PLAN_OPTIMIZER_ENABLE_CONFIG,
+            Type.BOOLEAN,
+            KSQL_QUERY_PLAN_OPTIMIZER_ENABLE_DEFAULT,
+            Importance.LOW,
+            KSQL_QUERY_PLAN_OPTIMIZER_ENABLE_DOC
+        )
+        .define(
+            KSQL_QUERY_COLUMN_PRUNING_ENABLE_CONFIG,
+            Type.BOOLEAN,
+            KSQL_QUERY_COLUMN_PRUNING_ENABLE_DEFAULT,
+            Importance.LOW,
+            KSQL_QUERY_COLUMN_PRUNING_ENABLE_DOC
+        )
+        .define(
+            KSQL_QUERY_PULL_HEDGE_ENABLE_CONFIG,
+            Type.BOOLEAN,
+            KSQL_QUERY_PULL_HEDGE_ENABLE_DEFAULT,
+            Importance.LOW,
+            KSQL_QUERY_PULL_HEDGE_ENABLE_DOC
+        )
+        .define(
+            KSQL_QUERY_PULL_HEDGE_DELAY_MS_CONFIG,
+            Type.LONG,
+            KSQL_QUERY_PULL_HEDGE_DELAY_MS_DEFAULT,
+            zeroOrPositive(),
+            Importance.LOW,
+            KSQL_QUERY_PULL_HEDGE_DELAY_MS_DOC
+        )
+        .define(
+            KSQL_QUERY_PULL_HEDGE_LATENCY_PERCENTILE_CONFIG,
+            Type.DOUBLE,
+            KSQL_QUERY_PULL_HEDGE_LATENCY_PERCENTILE_DEFAULT,
+            ConfigDef.Range.between(0, 100),
+            Importance.LOW,
+            KSQL_QUERY_PULL_HEDGE_LATENCY_PERCENTILE_DOC
+        )
+        .define(
+            KSQL_QUERY_PULL_HEDGE_THREAD_POOL_SIZE_CONFIG,
+            Type.INT,
+            KSQL_QUERY_PULL_HEDGE_THREAD_POOL_SIZE_DEFAULT,
+            ConfigDef.Range.atLeast(1),
+            Importance.LOW,
+            KSQL_QUERY_PULL_HEDGE_THREAD_POOL_SIZE_DOC
+        )
+        .define(
+            KSQL_QUERY_STATE_STORE_BINARY_FORMAT_ENABLE_CONFIG,
+            Type.BOOLEAN,
+            KSQL_QUERY_STATE_STORE_BINARY_FORMAT_ENABLE_DEFAULT,
+            Importance.LOW,
+            KSQL_QUERY_STATE_STORE_BINARY_FORMAT_ENABLE_DOC
+        )
+        .define(
+            KSQL_QUERY_TABLE_AGGREGATE_MAX_DISTINCT_VALUES_CONFIG,
+            Type.INT,
+            KSQL_QUERY_TABLE_AGGREGATE_MAX_DISTINCT_VALUES_DEFAULT,
+            ConfigDef.Range.atLeast(1),
+            Importance.LOW,
+            KSQL_QUERY_TABLE_AGGREGATE_MAX_DISTINCT_VALUES_DOC
+        )
+        .define(
+            KSQL_QUERY_AGGREGATE_COMBINE_MAX_KEYS_CONFIG,
+            Type.INT,
+            KSQL_QUERY_AGGREGATE_COMBINE_MAX_KEYS_DEFAULT,
+            ConfigDef.Range.atLeast(1),
+            Importance.LOW,
+            KSQL_QUERY_AGGREGATE_COMBINE_MAX_KEYS_DOC
+        )
+        .define(
+            KSQL_QUERY_AGGREGATE_COMBINE_FLUSH_INTERVAL_MS_CONFIG,
+            Type.LONG,
+            KSQL_QUERY_AGGREGATE_COMBINE_FLUSH_INTERVAL_MS_DEFAULT,
+            ConfigDef.Range.atLeast(1),
+            Importance.LOW,
+            KSQL_QUERY_AGGREGATE_COMBINE_FLUSH_INTERVAL_MS_DOC
+        )
+        .define(
+            KSQL_QUERY_PUSH_SHARED_ENABLE_CONFIG,
+            Type.BOOLEAN,
+            KSQL_QUERY_PUSH_SHARED_ENABLE_DEFAULT,
+            Importance.LOW,
+            KSQL_QUERY_PUSH_SHARED_ENABLE_DOC
+        )
+        .define(
+            KSQL_QUERY_PUSH_SHARED_QUEUE_SIZE_CONFIG,
+            Type.INT,
+            KSQL_QUERY_PUSH_SHARED_QUEUE_SIZE_DEFAULT,
+            ConfigDef.Range.atLeast(1),
+            Importance.LOW,
+            KSQL_QUERY_PUSH_SHARED_QUEUE_SIZE_DOC
+        )
+        .define(
+            KSQL_QUERY_PUSH_OVERFLOW_POLICY_CONFIG,
+            Type.STRING,
+            KSQL_QUERY_PUSH_OVERFLOW_POLICY_DEFAULT,
+            ConfigValidators.enumValues(PushQueryOverflowPolicy.class),
+            Importance.LOW,
+            KSQL_QUERY_PUSH_OVERFLOW_POLICY_DOC
+        )
+        .define(
+            KSQL_QUERY_PUSH_OVERFLOW_BLOCK_TIMEOUT_MS_CONFIG,
+            Type.LONG,
+            KSQL_QUERY_PUSH_OVERFLOW_BLOCK_TIMEOUT_MS_DEFAULT,
+            ConfigDef.Range.atLeast(0),
+            Importance.LOW,
+            KSQL_QUERY_PUSH_OVERFLOW_BLOCK_TIMEOUT_MS_DOC
+        )
         .withClientSslSupport();
 
     for (final CompatibilityBreakingConfigDef compatibilityBreakingConfigDef
@@ -38,6 +38,12 @@ public class KsqlRequestConfig extends AbstractConfig {
   private static final String KSQL_REQUEST_INTERNAL_REQUEST_DOC =
       "Indicates whether a KsqlRequest came from another server ";
 
+  public static final String KSQL_REQUEST_QUERY_PULL_PARTITIONS =
+      "request.ksql.query.pull.partitions";
+  public static final String KSQL_REQUEST_QUERY_PULL_PARTITIONS_DEFAULT = "";
+  private static final String KSQL_REQUEST_QUERY_PULL_PARTITIONS_DOC =
+      "The partitions of a table a forwarded pull query should scan on the receiving host";
+
   private static ConfigDef buildConfigDef() {
     final ConfigDef configDef = new ConfigDef()
         .define(
@@ -52,6 +58,12 @@ public class KsqlRequestConfig extends AbstractConfig {
             KSQL_REQUEST_INTERNAL_REQUEST_DEFAULT,
             ConfigDef.Importance.LOW,
             KSQL_REQUEST_INTERNAL_REQUEST_DOC
+        ).define(
+            KSQL_REQUEST_QUERY_PULL_PARTITIONS,
+            Type.LIST,
+            KSQL_REQUEST_QUERY_PULL_PARTITIONS_DEFAULT,
+            ConfigDef.Importance.LOW,
+            KSQL_REQUEST_QUERY_PULL_PARTITIONS_DOC
         );
     return configDef;
   }
@@ -32,6 +32,7 @@ import io.confluent.ksql.parser.KsqlParser.PreparedStatement;
 import io.confluent.ksql.parser.tree.ExecutableDdlStatement;
 import io.confluent.ksql.query.QueryExecutor;
 import io.confluent.ksql.query.QueryId;
+import io.confluent.ksql.query.SharedPushQueries;
 import io.confluent.ksql.query.id.QueryIdGenerator;
 import io.confluent.ksql.services.SandboxedServiceContext;
 import io.confluent.ksql.services.ServiceContext;
@@ -62,6 +63,7 @@ final class EngineContext {
   private final KsqlParser parser;
   private final BiConsumer<ServiceContext, QueryMetadata> outerOnQueryCloseCallback;
   private final Map<QueryId, PersistentQueryMetadata> persistentQueries;
+  private final SharedPushQueries sharedPushQueries;
 
   static EngineContext create(
       final ServiceContext serviceContext,
@@ -97,6 +99,7 @@ final class EngineContext {
     this.persistentQueries = new ConcurrentHashMap<>();
     this.processingLogContext = requireNonNull(processingLogContext, "processingLogContext");
     this.parser = requireNonNull(parser, "parser");
+    this.sharedPushQueries = new SharedPushQueries();
   }
 
   EngineContext createSandbox(final ServiceContext serviceContext) {
@@ -172,7 +175,8 @@ final class EngineContext {
         processingLogContext,
         serviceContext,
         metaStore,
-        this::unregisterQuery
+        this::unregisterQuery,
+        sharedPushQueries
     );
   }
 
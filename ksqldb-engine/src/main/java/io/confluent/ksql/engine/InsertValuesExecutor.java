@@ -16,8 +16,11 @@
 package io.confluent.ksql.engine;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Streams;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
 import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.KsqlExecutionContext;
@@ -63,17 +66,14 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.http.HttpStatus;
-import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
-import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.acl.AclOperation;
 import org.apache.kafka.common.errors.TopicAuthorizationException;
 import org.apache.kafka.common.serialization.Serde;
@@ -86,16 +86,19 @@ public class InsertValuesExecutor {
   // CHECKSTYLE_RULES.ON: ClassDataAbstractionCoupling
 
   private static final Logger LOG = LoggerFactory.getLogger(InsertValuesExecutor.class);
-  private static final Duration MAX_SEND_TIMEOUT = Duration.ofSeconds(5);
+  private static final long MAX_CACHED_SERDES = 1000;
+  private static final Duration SERDE_IDLE_TIMEOUT = Duration.ofMinutes(10);
 
   private final LongSupplier clock;
   private final boolean canBeDisabledByConfig;
   private final RecordProducer producer;
   private final ValueSerdeFactory valueSerdeFactory;
   private final KeySerdeFactory keySerdeFactory;
+  private final Cache<SerdeKey, Serde<Struct>> keySerdes = newSerdeCache();
+  private final Cache<SerdeKey, Serde<GenericRow>> valueSerdes = newSerdeCache();
 
   public InsertValuesExecutor() {
-    this(true, InsertValuesExecutor::sendRecord);
+    this(true, new InsertValuesProducerPool());
   }
 
   public interface RecordProducer {
@@ -105,6 +108,12 @@ public class InsertValuesExecutor {
         ServiceContext serviceContext,
         Map<String, Object> producerProps
     );
+
+    /**
+     * Release any producers held between records.
+     */
+    default void close() {
+    }
   }
 
   @VisibleForTesting
@@ -127,7 +136,7 @@ public class InsertValuesExecutor {
       final KeySerdeFactory keySerdeFactory,
       final ValueSerdeFactory valueSerdeFactory
   ) {
-    this(InsertValuesExecutor::sendRecord, true, clock, keySerdeFactory, valueSerdeFactory);
+    this(new InsertValuesProducerPool(), true, clock, keySerdeFactory, valueSerdeFactory);
   }
 
   private InsertValuesExecutor(
@@ -144,6 +153,13 @@ public class InsertValuesExecutor {
     this.valueSerdeFactory = Objects.requireNonNull(valueSerdeFactory, "valueSerdeFactory");
   }
 
+  /**
+   * Close any producers shared between statements, e.g. on shutdown.
+   */
+  public void close() {
+    producer.close();
+  }
+
   @SuppressWarnings("unused") // Part of required API.
   public void execute(
       final ConfiguredStatement<InsertValues> statement,
@@ -429,14 +445,19 @@ public class InsertValuesExecutor {
         dataSource.getSerdeOptions()
     );
 
-    final Serde<Struct> keySerde = keySerdeFactory.create(
-        dataSource.getKsqlTopic().getKeyFormat().getFormatInfo(),
-        physicalSchema.keySchema(),
-        config,
-        serviceContext.getSchemaRegistryClientFactory(),
-        "",
-        NoopProcessingLogContext.INSTANCE
-    );
+    final SerdeKey serdeKey = new SerdeKey(dataSource, config, serviceContext);
+    Serde<Struct> keySerde = keySerdes.getIfPresent(serdeKey);
+    if (keySerde == null) {
+      keySerde = keySerdeFactory.create(
+          dataSource.getKsqlTopic().getKeyFormat().getFormatInfo(),
+          physicalSchema.keySchema(),
+          config,
+          serviceContext.getSchemaRegistryClientFactory(),
+          "",
+          NoopProcessingLogContext.INSTANCE
+      );
+      keySerdes.put(serdeKey, keySerde);
+    }
 
     try {
       return keySerde
@@ -458,14 +479,19 @@ public class InsertValuesExecutor {
         dataSource.getSerdeOptions()
     );
 
-    final Serde<GenericRow> valueSerde = valueSerdeFactory.create(
-        dataSource.getKsqlTopic().getValueFormat().getFormatInfo(),
-        physicalSchema.valueSchema(),
-        config,
-        serviceContext.getSchemaRegistryClientFactory(),
-        "",
-        NoopProcessingLogContext.INSTANCE
-    );
+    final SerdeKey serdeKey = new SerdeKey(dataSource, config, serviceContext);
+    Serde<GenericRow> valueSerde = valueSerdes.getIfPresent(serdeKey);
+    if (valueSerde == null) {
+      valueSerde = valueSerdeFactory.create(
+          dataSource.getKsqlTopic().getValueFormat().getFormatInfo(),
+          physicalSchema.valueSchema(),
+          config,
+          serviceContext.getSchemaRegistryClientFactory(),
+          "",
+          NoopProcessingLogContext.INSTANCE
+      );
+      valueSerdes.put(serdeKey, valueSerde);
+    }
 
     final String topicName = dataSource.getKafkaTopicName();
 
@@ -493,36 +519,56 @@ public class InsertValuesExecutor {
     }
   }
 
-  private static void sendRecord(
-      final ProducerRecord<byte[], byte[]> record,
-      final ServiceContext serviceContext,
-      final Map<String, Object> producerProps
-  ) {
-    // for now, just create a new producer each time
-    final Producer<byte[], byte[]> producer = serviceContext
-        .getKafkaClientSupplier()
-        .getProducer(producerProps);
+  private static <T> Cache<SerdeKey, Serde<T>> newSerdeCache() {
+    return CacheBuilder.newBuilder()
+        .maximumSize(MAX_CACHED_SERDES)
+        .expireAfterAccess(SERDE_IDLE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+        .build();
+  }
 
-    final Future<RecordMetadata> producerCallResult;
+  /**
+   * Serdes are reused for the same source, config and schema registry client factory.
+   *
+   * <p>Sources are compared by identity, so that a source that is dropped and recreated gets new
+   * serdes, as do users with their own schema registry credentials.
+   */
+  private static final class SerdeKey {
 
-    try {
-      producerCallResult = producer.send(record);
-    } finally {
-      producer.close(MAX_SEND_TIMEOUT);
+    private final DataSource dataSource;
+    private final KsqlConfig config;
+    private final Supplier<SchemaRegistryClient> srClientFactory;
+
+    SerdeKey(
+        final DataSource dataSource,
+        final KsqlConfig config,
+        final ServiceContext serviceContext
+    ) {
+      this.dataSource = Objects.requireNonNull(dataSource, "dataSource");
+      this.config = Objects.requireNonNull(config, "config");
+      this.srClientFactory = serviceContext.getSchemaRegistryClientFactory();
     }
 
-    try {
-      // Check if the producer failed to write to the topic. This can happen if the
-      // ServiceContext does not have write permissions.
-      producerCallResult.get();
-    } catch (final ExecutionException e) {
-      if (e.getCause() instanceof RuntimeException) {
-        throw (RuntimeException) e.getCause();
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
       }
-      throw new RuntimeException(e);
-    } catch (final InterruptedException e) {
-      Thread.currentThread().interrupt();
-      throw new RuntimeException(e);
+      final SerdeKey that = (SerdeKey) o;
+      return dataSource == that.dataSource
+          && srClientFactory == that.srClientFactory
+          && config.equals(that.config);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(
+          System.identityHashCode(dataSource),
+          System.identityHashCode(srClientFactory),
+          config
+      );
     }
   }
 
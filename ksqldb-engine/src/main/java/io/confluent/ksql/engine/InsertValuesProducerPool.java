@@ -0,0 +1,213 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.engine;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.confluent.ksql.engine.InsertValuesExecutor.RecordProducer;
+import io.confluent.ksql.services.ConfiguredKafkaClientSupplier;
+import io.confluent.ksql.services.ServiceContext;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.concurrent.ThreadSafe;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.streams.KafkaClientSupplier;
+import org.apache.kafka.streams.processor.internals.DefaultKafkaClientSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link RecordProducer} that shares long-lived producers between {@code INSERT VALUES}
+ * statements.
+ *
+ * <p>Producers are keyed on the effective producer config, i.e. the statement's producer
+ * properties plus any properties, such as user credentials, injected by a
+ * {@link ConfiguredKafkaClientSupplier}. Statements run on behalf of different principals
+ * therefore never share a producer. Statements using any other type of client supplier, e.g.
+ * the sandboxed supplier used during validation, get a new producer per record, as before.
+ *
+ * <p>Each send still blocks until the record is acknowledged, so errors are reported against the
+ * statement that caused them. However, as concurrent statements share a producer, their records
+ * are batched together, subject to the producer's {@code linger.ms} and {@code batch.size}.
+ */
+@ThreadSafe
+final class InsertValuesProducerPool implements RecordProducer {
+
+  private static final Logger LOG = LoggerFactory.getLogger(InsertValuesProducerPool.class);
+
+  private static final long MAX_PRODUCERS = 100;
+  private static final Duration IDLE_TIMEOUT = Duration.ofMinutes(10);
+  private static final Duration MAX_CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+  private final Cache<Map<String, Object>, Producer<byte[], byte[]>> producers;
+
+  InsertValuesProducerPool() {
+    this(MAX_PRODUCERS, IDLE_TIMEOUT, Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  InsertValuesProducerPool(
+      final long maxProducers,
+      final Duration idleTimeout,
+      final Ticker ticker
+  ) {
+    this.producers = CacheBuilder.newBuilder()
+        .maximumSize(maxProducers)
+        .expireAfterAccess(idleTimeout.toMillis(), TimeUnit.MILLISECONDS)
+        .ticker(Objects.requireNonNull(ticker, "ticker"))
+        .removalListener(InsertValuesProducerPool::onRemoval)
+        .build();
+  }
+
+  @Override
+  public void sendRecord(
+      final ProducerRecord<byte[], byte[]> record,
+      final ServiceContext serviceContext,
+      final Map<String, Object> producerProps
+  ) {
+    final KafkaClientSupplier clientSupplier = serviceContext.getKafkaClientSupplier();
+
+    final Optional<Map<String, Object>> effectiveProps =
+        effectiveProducerProps(clientSupplier, producerProps);
+
+    if (!effectiveProps.isPresent()) {
+      sendWithNewProducer(record, clientSupplier, producerProps);
+      return;
+    }
+
+    final Future<RecordMetadata> result;
+    try {
+      result = send(record, effectiveProps.get(), clientSupplier, producerProps);
+    } catch (final IllegalStateException e) {
+      // The pooled producer was closed after it was handed out, e.g. as it was evicted.
+      // Replace it and try once more:
+      producers.invalidate(effectiveProps.get());
+      awaitResult(send(record, effectiveProps.get(), clientSupplier, producerProps));
+      return;
+    }
+
+    awaitResult(result);
+  }
+
+  /**
+   * Close all pooled producers.
+   *
+   * <p>The pool remains usable: later statements get new producers.
+   */
+  @Override
+  public void close() {
+    producers.invalidateAll();
+    producers.cleanUp();
+  }
+
+  @VisibleForTesting
+  long size() {
+    producers.cleanUp();
+    return producers.size();
+  }
+
+  private Future<RecordMetadata> send(
+      final ProducerRecord<byte[], byte[]> record,
+      final Map<String, Object> effectiveProps,
+      final KafkaClientSupplier clientSupplier,
+      final Map<String, Object> producerProps
+  ) {
+    final Producer<byte[], byte[]> producer;
+    try {
+      producer = producers.get(effectiveProps, () -> clientSupplier.getProducer(producerProps));
+    } catch (final ExecutionException | UncheckedExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new RuntimeException(e.getCause());
+    }
+
+    return producer.send(record);
+  }
+
+  private static Optional<Map<String, Object>> effectiveProducerProps(
+      final KafkaClientSupplier clientSupplier,
+      final Map<String, Object> producerProps
+  ) {
+    if (clientSupplier instanceof ConfiguredKafkaClientSupplier) {
+      return Optional.of(Collections.unmodifiableMap(
+          ((ConfiguredKafkaClientSupplier) clientSupplier).injectSupplierProperties(producerProps)
+      ));
+    }
+
+    if (clientSupplier instanceof DefaultKafkaClientSupplier) {
+      return Optional.of(Collections.unmodifiableMap(new HashMap<>(producerProps)));
+    }
+
+    return Optional.empty();
+  }
+
+  private static void sendWithNewProducer(
+      final ProducerRecord<byte[], byte[]> record,
+      final KafkaClientSupplier clientSupplier,
+      final Map<String, Object> producerProps
+  ) {
+    final Producer<byte[], byte[]> producer = clientSupplier.getProducer(producerProps);
+
+    final Future<RecordMetadata> producerCallResult;
+
+    try {
+      producerCallResult = producer.send(record);
+    } finally {
+      producer.close(MAX_CLOSE_TIMEOUT);
+    }
+
+    awaitResult(producerCallResult);
+  }
+
+  private static void awaitResult(final Future<RecordMetadata> producerCallResult) {
+    try {
+      // Check if the producer failed to write to the topic. This can happen if the
+      // ServiceContext does not have write permissions.
+      producerCallResult.get();
+    } catch (final ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new RuntimeException(e);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static void onRemoval(
+      final RemovalNotification<Map<String, Object>, Producer<byte[], byte[]>> notification
+  ) {
+    try {
+      notification.getValue().close(MAX_CLOSE_TIMEOUT);
+    } catch (final Exception e) {
+      LOG.warn("Failed to close INSERT VALUES producer", e);
+    }
+  }
+}
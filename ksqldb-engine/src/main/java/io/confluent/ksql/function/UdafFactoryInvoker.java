@@ -17,6 +17,7 @@ package io.confluent.ksql.function;
 
 import io.confluent.ksql.function.types.ParamType;
 import io.confluent.ksql.function.udaf.TableUdaf;
+import io.confluent.ksql.function.udaf.TableVariantUdaf;
 import io.confluent.ksql.function.udaf.Udaf;
 import io.confluent.ksql.name.FunctionName;
 import io.confluent.ksql.schema.ksql.SchemaConverters;
@@ -92,6 +93,17 @@ class UdafFactoryInvoker implements FunctionSignature {
             description,
             metrics,
             method.getName());
+      } else if (udaf instanceof TableVariantUdaf) {
+        function = new UdafTableVariantAggregateFunction(
+            functionName.text(),
+            initArgs.udafIndex(),
+            udaf,
+            SchemaConverters.functionToSqlConverter().toSqlType(aggregateArgType),
+            SchemaConverters.functionToSqlConverter().toSqlType(aggregateReturnType),
+            params,
+            description,
+            metrics,
+            method.getName());
       } else {
         function = new UdafAggregateFunction(
             functionName.text(),
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.function;
+
+import io.confluent.ksql.execution.function.TableAggregationFunction;
+import io.confluent.ksql.execution.function.TableAggregationFunctionProvider;
+import io.confluent.ksql.function.udaf.TableVariantUdaf;
+import io.confluent.ksql.function.udaf.Udaf;
+import io.confluent.ksql.schema.ksql.types.SqlType;
+import java.util.List;
+import java.util.Optional;
+import org.apache.kafka.common.metrics.Metrics;
+
+public class UdafTableVariantAggregateFunction<I, A, O>
+    extends UdafAggregateFunction<I, A, O> implements TableAggregationFunctionProvider<I, O> {
+
+  public UdafTableVariantAggregateFunction(
+      final String functionName,
+      final int udafIndex,
+      final Udaf<I, A, O> udaf,
+      final SqlType aggregateType,
+      final SqlType outputType,
+      final List<ParameterInfo> parameters,
+      final String description,
+      final Optional<Metrics> metrics,
+      final String method) {
+    super(functionName, udafIndex, udaf, aggregateType, outputType, parameters, description,
+        metrics, method);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public TableAggregationFunction<I, ?, O> getTableAggregationFunction(
+      final int maxDistinctValues
+  ) {
+    return ((TableVariantUdaf<I, O>) udaf).getTableAggregationFunction(this, maxDistinctValues);
+  }
+}
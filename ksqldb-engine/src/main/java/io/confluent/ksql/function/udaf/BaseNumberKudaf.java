@@ -15,6 +15,8 @@
 
 package io.confluent.ksql.function.udaf;
 
+import io.confluent.ksql.execution.function.TableAggregationFunction;
+import io.confluent.ksql.execution.function.TableAggregationFunctionProvider;
 import io.confluent.ksql.function.BaseAggregateFunction;
 import io.confluent.ksql.function.ParameterInfo;
 import io.confluent.ksql.schema.ksql.SchemaConverters;
@@ -26,7 +28,9 @@ import java.util.function.Function;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.kstream.Merger;
 
-public abstract class BaseNumberKudaf<T extends Number> extends BaseAggregateFunction<T, T, T> {
+public abstract class BaseNumberKudaf<T extends Number>
+    extends BaseAggregateFunction<T, T, T>
+    implements TableAggregationFunctionProvider<T, T> {
 
   private final BiFunction<T, T, T> aggregatePrimitive;
 
@@ -75,4 +79,28 @@ public abstract class BaseNumberKudaf<T extends Number> extends BaseAggregateFun
   public Function<T, T> getResultMapper() {
     return Function.identity();
   }
+
+  /**
+   * The equivalent function orders the values so that the one this function would pick comes
+   * first, e.g. the smallest for MIN and the largest for MAX, so its result is the first value.
+   */
+  @SuppressWarnings("unchecked")
+  @Override
+  public TableAggregationFunction<T, ?, T> getTableAggregationFunction(
+      final int maxDistinctValues
+  ) {
+    return SortedValuesKudaf.of(
+        this,
+        returnType(),
+        (a, b) -> {
+          final Comparable<T> comparableA = (Comparable<T>) a;
+          if (comparableA.compareTo(b) == 0) {
+            return 0;
+          }
+          return comparableA.compareTo(aggregatePrimitive.apply(a, b)) == 0 ? -1 : 1;
+        },
+        maxDistinctValues,
+        (values, counts) -> values.isEmpty() ? null : values.get(0)
+    );
+  }
 }
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.function.udaf;
+
+import io.confluent.ksql.execution.function.TableAggregationFunction;
+import io.confluent.ksql.function.BaseAggregateFunction;
+import io.confluent.ksql.function.KsqlAggregateFunction;
+import io.confluent.ksql.schema.ksql.SchemaConverters;
+import io.confluent.ksql.schema.ksql.types.SqlStruct;
+import io.confluent.ksql.schema.ksql.types.SqlType;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import io.confluent.ksql.util.KsqlConfig;
+import io.confluent.ksql.util.KsqlException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.kstream.Merger;
+
+/**
+ * An aggregate function whose aggregate is the distinct non-null values of the group, in order,
+ * each with the number of times it has been aggregated, so that values can be undone, as required
+ * when aggregating a table.
+ *
+ * <p>The aggregate is a {@code STRUCT<ITEMS ARRAY, COUNTS ARRAY<BIGINT>>} of parallel arrays.
+ * Values are found by binary search. Aggregating or undoing a value already in the aggregate only
+ * changes its count.
+ *
+ * <p>To bound the size of the aggregate, at most {@code limit} distinct values are tracked, as
+ * configured by {@link KsqlConfig#KSQL_QUERY_TABLE_AGGREGATE_MAX_DISTINCT_VALUES_CONFIG}.
+ * Aggregating a value that would exceed the limit fails, rather than dropping it: a dropped value
+ * would be missing from the result once the values ahead of it are undone.
+ *
+ * @param <T> the type of the values.
+ * @param <O> the output type.
+ */
+public final class SortedValuesKudaf<T, O>
+    extends BaseAggregateFunction<T, Struct, O>
+    implements TableAggregationFunction<T, Struct, O> {
+
+  static final String ITEMS = "ITEMS";
+  static final String COUNTS = "COUNTS";
+
+  private final Schema aggregateSchema;
+  private final Comparator<? super T> order;
+  private final int limit;
+  private final BiFunction<List<T>, List<Long>, O> resultMapper;
+
+  /**
+   * Create a function that is otherwise equivalent to {@code function}.
+   *
+   * @param function the function that does not support undo.
+   * @param valueType the type of the values.
+   * @param order the order of the values.
+   * @param limit the maximum number of distinct values tracked.
+   * @param resultMapper computes the output from the distinct values, in order, and their counts.
+   * @param <T> the type of the values.
+   * @param <O> the output type.
+   * @return the function.
+   */
+  public static <T, O> SortedValuesKudaf<T, O> of(
+      final KsqlAggregateFunction<T, ?, O> function,
+      final SqlType valueType,
+      final Comparator<? super T> order,
+      final int limit,
+      final BiFunction<List<T>, List<Long>, O> resultMapper
+  ) {
+    return new SortedValuesKudaf<>(
+        function.name().text(),
+        function.getArgIndexInValue(),
+        aggregateType(valueType),
+        function,
+        order,
+        limit,
+        resultMapper
+    );
+  }
+
+  private SortedValuesKudaf(
+      final String functionName,
+      final int argIndexInValue,
+      final SqlStruct aggregateType,
+      final KsqlAggregateFunction<T, ?, O> function,
+      final Comparator<? super T> order,
+      final int limit,
+      final BiFunction<List<T>, List<Long>, O> resultMapper
+  ) {
+    this(
+        functionName,
+        argIndexInValue,
+        aggregateType,
+        SchemaConverters.sqlToConnectConverter().toConnectSchema(aggregateType),
+        function,
+        order,
+        limit,
+        resultMapper
+    );
+  }
+
+  private SortedValuesKudaf(
+      final String functionName,
+      final int argIndexInValue,
+      final SqlStruct aggregateType,
+      final Schema aggregateSchema,
+      final KsqlAggregateFunction<T, ?, O> function,
+      final Comparator<? super T> order,
+      final int limit,
+      final BiFunction<List<T>, List<Long>, O> resultMapper
+  ) {
+    super(
+        functionName,
+        argIndexInValue,
+        () -> newAggregate(aggregateSchema, new ArrayList<>(), new ArrayList<>()),
+        aggregateType,
+        function.returnType(),
+        function.parameterInfo(),
+        function.getDescription()
+    );
+    this.aggregateSchema = aggregateSchema;
+    this.order = Objects.requireNonNull(order, "order");
+    this.limit = limit;
+    this.resultMapper = Objects.requireNonNull(resultMapper, "resultMapper");
+
+    if (limit <= 0) {
+      throw new IllegalArgumentException("limit must be positive: " + limit);
+    }
+  }
+
+  @Override
+  public Struct aggregate(final T currentValue, final Struct aggregateValue) {
+    if (currentValue == null) {
+      return aggregateValue;
+    }
+
+    final List<T> values = values(aggregateValue);
+    final List<Long> counts = counts(aggregateValue);
+
+    final int found = Collections.binarySearch(values, currentValue, order);
+    if (found >= 0) {
+      counts.set(found, counts.get(found) + 1);
+      return aggregateValue;
+    }
+
+    if (values.size() >= limit) {
+      throw limitExceeded();
+    }
+
+    final int insertAt = -found - 1;
+    values.add(insertAt, currentValue);
+    counts.add(insertAt, 1L);
+    return aggregateValue;
+  }
+
+  @Override
+  public Struct undo(final T valueToUndo, final Struct aggregateValue) {
+    if (valueToUndo == null) {
+      return aggregateValue;
+    }
+
+    final List<T> values = values(aggregateValue);
+    final List<Long> counts = counts(aggregateValue);
+
+    final int found = Collections.binarySearch(values, valueToUndo, order);
+    if (found < 0) {
+      return aggregateValue;
+    }
+
+    final long count = counts.get(found);
+    if (count > 1) {
+      counts.set(found, count - 1);
+    } else {
+      values.remove(found);
+      counts.remove(found);
+    }
+    return aggregateValue;
+  }
+
+  @Override
+  public Merger<Struct, Struct> getMerger() {
+    return (key, aggOne, aggTwo) -> {
+      final List<T> values1 = values(aggOne);
+      final List<Long> counts1 = counts(aggOne);
+      final List<T> values2 = values(aggTwo);
+      final List<Long> counts2 = counts(aggTwo);
+
+      final int size = values1.size() + values2.size();
+      final List<T> values = new ArrayList<>(size);
+      final List<Long> counts = new ArrayList<>(size);
+
+      int idx1 = 0;
+      int idx2 = 0;
+      while (idx1 < values1.size() || idx2 < values2.size()) {
+        if (values.size() >= limit) {
+          throw limitExceeded();
+        }
+
+        final int compared;
+        if (idx1 == values1.size()) {
+          compared = 1;
+        } else if (idx2 == values2.size()) {
+          compared = -1;
+        } else {
+          compared = order.compare(values1.get(idx1), values2.get(idx2));
+        }
+
+        if (compared < 0) {
+          values.add(values1.get(idx1));
+          counts.add(counts1.get(idx1++));
+        } else if (compared > 0) {
+          values.add(values2.get(idx2));
+          counts.add(counts2.get(idx2++));
+        } else {
+          values.add(values1.get(idx1));
+          counts.add(counts1.get(idx1++) + counts2.get(idx2++));
+        }
+      }
+
+      return newAggregate(aggregateSchema, values, counts);
+    };
+  }
+
+  @Override
+  public Function<Struct, O> getResultMapper() {
+    return aggregate -> resultMapper.apply(values(aggregate), counts(aggregate));
+  }
+
+  private KsqlException limitExceeded() {
+    return new KsqlException("Table aggregation function " + name().text()
+        + " can not track more than " + limit + " distinct values per group. "
+        + "Increase the limit by setting '"
+        + KsqlConfig.KSQL_QUERY_TABLE_AGGREGATE_MAX_DISTINCT_VALUES_CONFIG + "'.");
+  }
+
+  private static SqlStruct aggregateType(final SqlType valueType) {
+    return SqlTypes.struct()
+        .field(ITEMS, SqlTypes.array(valueType))
+        .field(COUNTS, SqlTypes.array(SqlTypes.BIGINT))
+        .build();
+  }
+
+  private static Struct newAggregate(
+      final Schema aggregateSchema,
+      final List<?> values,
+      final List<Long> counts
+  ) {
+    return new Struct(aggregateSchema)
+        .put(ITEMS, values)
+        .put(COUNTS, counts);
+  }
+
+  private static <T> List<T> values(final Struct aggregate) {
+    return aggregate.getArray(ITEMS);
+  }
+
+  private static List<Long> counts(final Struct aggregate) {
+    return aggregate.getArray(COUNTS);
+  }
+}
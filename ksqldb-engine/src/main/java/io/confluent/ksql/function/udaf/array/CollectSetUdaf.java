@@ -16,14 +16,21 @@
 package io.confluent.ksql.function.udaf.array;
 
 import com.google.common.collect.Lists;
+import io.confluent.ksql.execution.function.TableAggregationFunction;
+import io.confluent.ksql.function.KsqlAggregateFunction;
+import io.confluent.ksql.function.udaf.SortedValuesKudaf;
+import io.confluent.ksql.function.udaf.TableVariantUdaf;
 import io.confluent.ksql.function.udaf.Udaf;
 import io.confluent.ksql.function.udaf.UdafDescription;
 import io.confluent.ksql.function.udaf.UdafFactory;
+import io.confluent.ksql.schema.ksql.types.SqlArray;
+import java.util.ArrayList;
 import java.util.List;
 
 @UdafDescription(name = "collect_set", 
     description = "Gather all of the distinct values from an input grouping into a single Array."
-        + "\nNot available for aggregating values from an input Table."
+        + "\nWhen working on Table input data, the entries of the resultant Array are in their"
+        + " natural order, rather than the order they were first seen."
         + "\nThis version limits the size of the resultant Array to 1000 entries, beyond which"
         + " any further values will be silently ignored.")
 public final class CollectSetUdaf {
@@ -35,38 +42,7 @@ public final class CollectSetUdaf {
   }
   
   private static <T> Udaf<T, List<T>, List<T>> setCollector() {
-    return new Udaf<T, List<T>, List<T>>() {
-      @Override
-      public List<T> initialize() {
-        return Lists.newArrayList();
-      }
-
-      @Override
-      public List<T> aggregate(final T thisValue, final List<T> aggregate) {
-        if (aggregate.size() < LIMIT && !aggregate.contains(thisValue)) {
-          aggregate.add(thisValue);
-        }
-        return aggregate;
-      }
-
-      @Override
-      public List<T> merge(final List<T> aggOne, final List<T> aggTwo) {
-        for (final T thisEntry : aggTwo) {
-          if (aggOne.size() == LIMIT) {
-            break;
-          }
-          if (!aggOne.contains(thisEntry)) {
-            aggOne.add(thisEntry);
-          }
-        }
-        return aggOne;
-      }
-
-      @Override
-      public List<T> map(final List<T> agg) {
-        return agg;
-      }
-    };
+    return new SetCollector<>();
   }
 
   @UdafFactory(description = "collect distinct values of a Bigint field into a single Array")
@@ -94,4 +70,58 @@ public final class CollectSetUdaf {
     return setCollector();
   }
 
+  private static final class SetCollector<T>
+      implements Udaf<T, List<T>, List<T>>, TableVariantUdaf<T, List<T>> {
+
+    @Override
+    public List<T> initialize() {
+      return Lists.newArrayList();
+    }
+
+    @Override
+    public List<T> aggregate(final T thisValue, final List<T> aggregate) {
+      if (aggregate.size() < LIMIT && !aggregate.contains(thisValue)) {
+        aggregate.add(thisValue);
+      }
+      return aggregate;
+    }
+
+    @Override
+    public List<T> merge(final List<T> aggOne, final List<T> aggTwo) {
+      for (final T thisEntry : aggTwo) {
+        if (aggOne.size() == LIMIT) {
+          break;
+        }
+        if (!aggOne.contains(thisEntry)) {
+          aggOne.add(thisEntry);
+        }
+      }
+      return aggOne;
+    }
+
+    @Override
+    public List<T> map(final List<T> agg) {
+      return agg;
+    }
+
+    /**
+     * The equivalent function counts each distinct value, so a value is only removed from the
+     * set once every row with it has been undone. Its set is in the natural order of the values,
+     * rather than the order they were first seen, and does not include nulls.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public TableAggregationFunction<T, ?, List<T>> getTableAggregationFunction(
+        final KsqlAggregateFunction<T, ?, List<T>> function,
+        final int maxDistinctValues
+    ) {
+      return SortedValuesKudaf.of(
+          function,
+          ((SqlArray) function.returnType()).getItemType(),
+          (a, b) -> ((Comparable<T>) a).compareTo(b),
+          maxDistinctValues,
+          (values, counts) -> new ArrayList<>(values)
+      );
+    }
+  }
 }
@@ -15,9 +15,6 @@
 
 package io.confluent.ksql.function.udaf.count;
 
-import com.clearspring.analytics.stream.cardinality.HyperLogLog;
-import com.clearspring.analytics.stream.cardinality.RegisterSet;
-import com.google.common.primitives.Ints;
 import io.confluent.ksql.function.udaf.Udaf;
 import io.confluent.ksql.function.udaf.UdafDescription;
 import io.confluent.ksql.function.udaf.UdafFactory;
@@ -33,25 +30,23 @@ public final class CountDistinct {
       + "The implementation is probabilistic with a typical accuracy (standard error) of less "
       + "than 1%.";
 
-  // magic number causes accuracy < .01 - we can consider making
-  // this configurable if the need arises
-  private static final int M = 1 << 14;
-  private static final int LOG_2_M = 14;
+  // magic number causes accuracy < .01
+  static final int DEFAULT_PRECISION = 14;
 
   private CountDistinct() {
   }
 
-  // NOTE: since our UDAF framework requires the aggregate values to
-  // be serializable, and we don't support serialization of native int[],
-  // this implementation can be optimized by avoiding conversions between
-  // int[] and List<Integer> - since RegisterSet requires an int[], we would
-  // need to duplicate a lot of code to get this to be zero-copy
-  private static <T> Udaf<T, List<Integer>, Long> countDistinct() {
+  // NOTE: since our UDAF framework requires the aggregate values to be serializable, and we
+  // don't support serialization of native int[], the aggregate is a List<Integer>. However, only
+  // the register a value maps to is updated, in place, rather than the whole list being boxed and
+  // unboxed for every value. New aggregates are backed by an int[], while aggregates read back
+  // from the state store are updated directly.
+  static <T> Udaf<T, List<Integer>, Long> countDistinct(final int precision) {
     return new Udaf<T, List<Integer>, Long>() {
 
       @Override
       public List<Integer> initialize() {
-        return Ints.asList(new int[RegisterSet.getSizeForCount(M)]);
+        return HyperLogLogRegisters.create(precision);
       }
 
       @Override
@@ -60,39 +55,24 @@ public final class CountDistinct {
           return aggregate;
         }
 
-        // this operation updates the underlying bytes
-        final int[] ints = Ints.toArray(aggregate);
-        final RegisterSet set = new RegisterSet(M, ints);
-
-        // this modifies the underlying ints
-        toHyperLogLog(set).offer(current);
-
-        return Ints.asList(ints);
+        return HyperLogLogRegisters.offer(aggregate, current);
       }
 
       @Override
       public List<Integer> merge(final List<Integer> aggOne, final List<Integer> aggTwo) {
-        final RegisterSet registerSet = new RegisterSet(M, Ints.toArray(aggOne));
-        registerSet.merge(new RegisterSet(M, Ints.toArray(aggTwo)));
-
-        return Ints.asList(registerSet.bits());
+        return HyperLogLogRegisters.from(aggOne).merge(HyperLogLogRegisters.from(aggTwo));
       }
 
       @Override
       public Long map(final List<Integer> agg) {
-        return toHyperLogLog(new RegisterSet(M, Ints.toArray(agg))).cardinality();
+        return HyperLogLogRegisters.from(agg).cardinality();
       }
     };
   }
 
-  @SuppressWarnings("deprecation")
-  private static HyperLogLog toHyperLogLog(final RegisterSet set) {
-    return new HyperLogLog(LOG_2_M, set);
-  }
-
   @UdafFactory(description = "Count distinct")
   public static <T> Udaf<T, List<Integer>, Long> distinct() {
-    return countDistinct();
+    return countDistinct(DEFAULT_PRECISION);
   }
 
 }
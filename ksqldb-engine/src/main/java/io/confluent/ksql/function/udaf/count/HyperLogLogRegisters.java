@@ -0,0 +1,183 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"; you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.function.udaf.count;
+
+import com.clearspring.analytics.hash.MurmurHash;
+import com.clearspring.analytics.stream.cardinality.HyperLogLog;
+import com.clearspring.analytics.stream.cardinality.RegisterSet;
+import io.confluent.ksql.util.KsqlException;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The registers of a HyperLogLog sketch, exposed as the {@code List<Integer>} the UDAF framework
+ * can serialize, but backed by a primitive {@code int[]} that is updated in place.
+ *
+ * <p>Aggregates read back from the state store are plain lists. Values are added to those by
+ * updating the one affected word of the list in place, rather than by copying the registers.
+ *
+ * <p>The registers are packed exactly as in {@link RegisterSet}, so that aggregates written
+ * by earlier versions remain readable. The precision of a sketch is derived from the number of
+ * registers, so sketches of different precisions can be read, but only sketches of the same
+ * precision can be merged.
+ */
+final class HyperLogLogRegisters extends AbstractList<Integer> implements RandomAccess {
+
+  static final int MIN_PRECISION = 4;
+  static final int MAX_PRECISION = 16;
+
+  private static final int REGISTER_MASK = (1 << RegisterSet.REGISTER_SIZE) - 1;
+
+  private final int log2m;
+  private final int[] words;
+
+  private HyperLogLogRegisters(final int log2m, final int[] words) {
+    this.log2m = log2m;
+    this.words = words;
+  }
+
+  /**
+   * @param log2m the precision, i.e. log2 of the number of registers.
+   * @return a new, empty, sketch.
+   */
+  static HyperLogLogRegisters create(final int log2m) {
+    if (log2m < MIN_PRECISION || log2m > MAX_PRECISION) {
+      throw new KsqlException("HyperLogLog precision must be between "
+          + MIN_PRECISION + " and " + MAX_PRECISION + ", got: " + log2m);
+    }
+
+    return new HyperLogLogRegisters(log2m, new int[RegisterSet.getSizeForCount(1 << log2m)]);
+  }
+
+  /**
+   * Add a value to the sketch held in an aggregate, updating the affected register in place.
+   *
+   * @param aggregate the aggregate, which must be mutable if it is a plain list.
+   * @param value the value to add.
+   * @return the aggregate.
+   */
+  static List<Integer> offer(final List<Integer> aggregate, final Object value) {
+    if (aggregate instanceof HyperLogLogRegisters) {
+      ((HyperLogLogRegisters) aggregate).offer(value);
+      return aggregate;
+    }
+
+    final int log2m = precisionOf(aggregate.size());
+    final int hash = MurmurHash.hash(value);
+    final int index = wordIndex(hash, log2m);
+    final int word = aggregate.get(index);
+    final int updated = offerToWord(word, hash, log2m);
+    if (updated != word) {
+      aggregate.set(index, updated);
+    }
+    return aggregate;
+  }
+
+  /**
+   * Get the registers of an aggregate, copying them only if the aggregate is not already backed
+   * by an {@code int[]}, e.g. because it has just been deserialized.
+   *
+   * @param aggregate the aggregate.
+   * @return the registers.
+   */
+  static HyperLogLogRegisters from(final List<Integer> aggregate) {
+    if (aggregate instanceof HyperLogLogRegisters) {
+      return (HyperLogLogRegisters) aggregate;
+    }
+
+    final int[] words = new int[aggregate.size()];
+    for (int i = 0; i < words.length; i++) {
+      words[i] = aggregate.get(i);
+    }
+
+    return new HyperLogLogRegisters(precisionOf(words.length), words);
+  }
+
+  /**
+   * Add a value to the sketch, updating the registers in place.
+   *
+   * @param value the value to add.
+   */
+  void offer(final Object value) {
+    final int hash = MurmurHash.hash(value);
+    final int index = wordIndex(hash, log2m);
+    words[index] = offerToWord(words[index], hash, log2m);
+  }
+
+  /**
+   * @param other the sketch to merge with.
+   * @return a new sketch holding the union of this sketch and {@code other}.
+   */
+  HyperLogLogRegisters merge(final HyperLogLogRegisters other) {
+    if (other.log2m != log2m) {
+      throw new KsqlException("Can not merge HyperLogLog sketches of different precisions: "
+          + log2m + " and " + other.log2m);
+    }
+
+    // RegisterSet operates on the supplied array, rather than a copy:
+    final int[] merged = words.clone();
+    new RegisterSet(1 << log2m, merged).merge(new RegisterSet(1 << log2m, other.words));
+    return new HyperLogLogRegisters(log2m, merged);
+  }
+
+  /**
+   * @return the estimated number of distinct values added to the sketch.
+   */
+  @SuppressWarnings("deprecation")
+  long cardinality() {
+    return new HyperLogLog(log2m, new RegisterSet(1 << log2m, words)).cardinality();
+  }
+
+  @Override
+  public Integer get(final int index) {
+    return words[index];
+  }
+
+  @Override
+  public int size() {
+    return words.length;
+  }
+
+  private static int wordIndex(final int hash, final int log2m) {
+    return (hash >>> (Integer.SIZE - log2m)) / RegisterSet.LOG2_BITS_PER_WORD;
+  }
+
+  /**
+   * @return the supplied register {@code word} with the register the {@code hash} maps to
+   *         raised to the hash's rank, if higher.
+   */
+  private static int offerToWord(final int word, final int hash, final int log2m) {
+    final int register = hash >>> (Integer.SIZE - log2m);
+    final int rank = Integer.numberOfLeadingZeros((hash << log2m) | (1 << (log2m - 1)) + 1) + 1;
+    final int shift = RegisterSet.REGISTER_SIZE * (register % RegisterSet.LOG2_BITS_PER_WORD);
+
+    if (((word >>> shift) & REGISTER_MASK) < rank) {
+      return (word & ~(REGISTER_MASK << shift)) | (rank << shift);
+    }
+    return word;
+  }
+
+  private static int precisionOf(final int numWords) {
+    for (int log2m = MIN_PRECISION; log2m <= MAX_PRECISION; log2m++) {
+      if (RegisterSet.getSizeForCount(1 << log2m) == numWords) {
+        return log2m;
+      }
+    }
+
+    throw new KsqlException("Invalid HyperLogLog sketch with " + numWords + " register words");
+  }
+}
@@ -15,11 +15,16 @@
 
 package io.confluent.ksql.function.udaf.topk;
 
+import io.confluent.ksql.execution.function.TableAggregationFunction;
+import io.confluent.ksql.execution.function.TableAggregationFunctionProvider;
 import io.confluent.ksql.function.BaseAggregateFunction;
 import io.confluent.ksql.function.ParameterInfo;
 import io.confluent.ksql.function.types.ParamType;
+import io.confluent.ksql.function.udaf.SortedValuesKudaf;
+import io.confluent.ksql.schema.ksql.types.SqlArray;
 import io.confluent.ksql.schema.ksql.types.SqlType;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
@@ -29,7 +34,8 @@ import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.kstream.Merger;
 
 public class TopkKudaf<T extends Comparable<? super T>>
-    extends BaseAggregateFunction<T, List<T>, List<T>> {
+    extends BaseAggregateFunction<T, List<T>, List<T>>
+    implements TableAggregationFunctionProvider<T, List<T>> {
 
   private final int topKSize;
   private final Class<T> clazz;
@@ -69,21 +75,22 @@ public class TopkKudaf<T extends Comparable<? super T>>
     }
 
     final int currentSize = aggregateValue.size();
-    if (!aggregateValue.isEmpty()) {
-      final T last = aggregateValue.get(currentSize - 1);
-      if (currentValue.compareTo(last) <= 0
-          && currentSize == topKSize) {
-        return aggregateValue;
-      }
+    if (currentSize == topKSize
+        && currentValue.compareTo(aggregateValue.get(currentSize - 1)) <= 0) {
+      return aggregateValue;
     }
 
+    // The aggregate is kept sorted, highest first, so the value can be inserted in place,
+    // rather than re-sorting the whole aggregate:
+    final int found = Collections.binarySearch(
+        aggregateValue, currentValue, Comparator.reverseOrder());
+    final int insertAt = found < 0 ? -found - 1 : found;
+
     if (currentSize == topKSize) {
-      aggregateValue.set(currentSize - 1, currentValue);
-    } else {
-      aggregateValue.add(currentValue);
+      aggregateValue.remove(currentSize - 1);
     }
 
-    aggregateValue.sort(Comparator.reverseOrder());
+    aggregateValue.add(insertAt, currentValue);
     return aggregateValue;
   }
 
@@ -119,4 +126,25 @@ public class TopkKudaf<T extends Comparable<? super T>>
     return Function.identity();
   }
 
+  @Override
+  public TableAggregationFunction<T, ?, List<T>> getTableAggregationFunction(
+      final int maxDistinctValues
+  ) {
+    return SortedValuesKudaf.of(
+        this,
+        ((SqlArray) outputSchema).getItemType(),
+        Comparator.reverseOrder(),
+        Math.max(topKSize, maxDistinctValues),
+        (values, counts) -> {
+          final List<T> topK = new ArrayList<>(topKSize);
+          for (int i = 0; i < values.size() && topK.size() < topKSize; i++) {
+            for (long c = counts.get(i); c > 0 && topK.size() < topKSize; c--) {
+              topK.add(values.get(i));
+            }
+          }
+          return topK;
+        }
+    );
+  }
+
 }
\ No newline at end of file
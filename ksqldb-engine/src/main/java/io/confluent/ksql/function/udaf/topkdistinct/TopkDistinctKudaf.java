@@ -15,9 +15,12 @@
 
 package io.confluent.ksql.function.udaf.topkdistinct;
 
+import io.confluent.ksql.execution.function.TableAggregationFunction;
+import io.confluent.ksql.execution.function.TableAggregationFunctionProvider;
 import io.confluent.ksql.function.BaseAggregateFunction;
 import io.confluent.ksql.function.ParameterInfo;
 import io.confluent.ksql.function.types.ParamType;
+import io.confluent.ksql.function.udaf.SortedValuesKudaf;
 import io.confluent.ksql.schema.ksql.types.SqlType;
 import io.confluent.ksql.schema.ksql.types.SqlTypes;
 import java.util.ArrayList;
@@ -30,7 +33,8 @@ import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.kstream.Merger;
 
 public class TopkDistinctKudaf<T extends Comparable<? super T>>
-    extends BaseAggregateFunction<T, List<T>, List<T>> {
+    extends BaseAggregateFunction<T, List<T>, List<T>>
+    implements TableAggregationFunctionProvider<T, List<T>> {
 
   private final int tkVal;
   private final Class<T> ttClass;
@@ -71,17 +75,19 @@ public class TopkDistinctKudaf<T extends Comparable<? super T>>
       return aggregateValue;
     }
 
-    if (aggregateValue.contains(currentValue)) {
+    // The aggregate is kept sorted, highest first, so duplicates can be found, and the value
+    // inserted in place, without scanning or re-sorting the whole aggregate:
+    final int found = Collections.binarySearch(
+        aggregateValue, currentValue, Comparator.reverseOrder());
+    if (found >= 0) {
       return aggregateValue;
     }
 
     if (currentSize == tkVal) {
-      aggregateValue.set(currentSize - 1, currentValue);
-    } else {
-      aggregateValue.add(currentValue);
+      aggregateValue.remove(currentSize - 1);
     }
 
-    aggregateValue.sort(Comparator.reverseOrder());
+    aggregateValue.add(-found - 1, currentValue);
     return aggregateValue;
   }
 
@@ -121,6 +127,19 @@ public class TopkDistinctKudaf<T extends Comparable<? super T>>
     return Function.identity();
   }
 
+  @Override
+  public TableAggregationFunction<T, ?, List<T>> getTableAggregationFunction(
+      final int maxDistinctValues
+  ) {
+    return SortedValuesKudaf.of(
+        this,
+        outputSchema,
+        Comparator.reverseOrder(),
+        Math.max(tkVal, maxDistinctValues),
+        (values, counts) -> new ArrayList<>(values.subList(0, Math.min(tkVal, values.size())))
+    );
+  }
+
   private static <T> T getNextItem(final List<T> aggList, final int idx) {
     return idx < aggList.size() ? aggList.get(idx) : null;
   }
@@ -29,12 +29,14 @@ import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonFactoryBuilder;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.confluent.ksql.function.udf.Udf;
 import io.confluent.ksql.function.udf.UdfDescription;
 import io.confluent.ksql.function.udf.UdfParameter;
 import java.io.IOException;
 import java.util.EnumMap;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Predicate;
 
 @UdfDescription(
@@ -68,7 +70,7 @@ public class JsonArrayContains {
       @UdfParameter final String jsonArray,
       @UdfParameter final T val
   ) {
-    try (JsonParser parser = PARSER_FACTORY.createParser(jsonArray)) {
+    try (JsonParser parser = createParser(jsonArray)) {
       if (parser.nextToken() != START_ARRAY) {
         return false;
       }
@@ -96,4 +98,12 @@ public class JsonArrayContains {
     }
   }
 
+  private static JsonParser createParser(final String jsonArray) throws IOException {
+    final Optional<JsonNode> sharedTree = JsonDocuments.sharedTree(jsonArray);
+    if (sharedTree.isPresent()) {
+      return sharedTree.get().traverse(PARSER_FACTORY.getCodec());
+    }
+
+    return PARSER_FACTORY.createParser(jsonArray);
+  }
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.function.udf.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Shares the parsed tree of a JSON document between the JSON functions that read it.
+ *
+ * <p>Every function call in a projection that reads the same column of a row is passed the same
+ * {@code String} instance. The first call on a document is expected to stream it, parsing only
+ * as far as it needs to. If another call on the same instance follows on the same thread, the
+ * document is parsed into a tree once, and the tree is shared by that and any later calls.
+ */
+final class JsonDocuments {
+
+  private static final ObjectReader OBJECT_READER = UdfJsonMapper.INSTANCE.get().reader();
+
+  private static final ThreadLocal<JsonDocuments> LAST_DOCUMENT =
+      ThreadLocal.withInitial(JsonDocuments::new);
+
+  private String document;
+  private boolean parsed;
+  private JsonNode tree;
+
+  private JsonDocuments() {
+  }
+
+  /**
+   * @param document the JSON document.
+   * @return the shared tree of the document, or empty if this is the first call on it, or it is
+   *         not valid JSON.
+   */
+  static Optional<JsonNode> sharedTree(final String document) {
+    if (document == null) {
+      return Optional.empty();
+    }
+
+    return LAST_DOCUMENT.get().treeOf(document);
+  }
+
+  @SuppressFBWarnings("ES_COMPARING_PARAMETER_STRING_WITH_EQ") // identity is the row & column
+  private Optional<JsonNode> treeOf(final String doc) {
+    if (doc != document) {
+      document = doc;
+      parsed = false;
+      tree = null;
+      return Optional.empty();
+    }
+
+    if (!parsed) {
+      parsed = true;
+      try {
+        tree = OBJECT_READER.readTree(doc);
+      } catch (final IOException e) {
+        // Left for the caller to report when it streams the document:
+        tree = null;
+      }
+    }
+
+    return Optional.ofNullable(tree);
+  }
+}
@@ -15,6 +15,9 @@
 
 package io.confluent.ksql.function.udf.json;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.node.ArrayNode;
@@ -27,13 +30,22 @@ import io.confluent.ksql.util.KsqlException;
 import io.confluent.ksql.util.json.JsonPathTokenizer;
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * Extracts the value at a JSON path from a JSON document.
+ *
+ * <p>The document is streamed, and parsing stops once the value at the path has been read,
+ * unless the parsed tree of the document is already shared with other JSON functions in the
+ * same projection, see {@link JsonDocuments}.
+ */
 public class JsonExtractStringKudf implements Kudf {
 
   private static final ObjectReader OBJECT_READER = UdfJsonMapper.INSTANCE.get().reader();
+  private static final JsonFactory PARSER_FACTORY = UdfJsonMapper.INSTANCE.get().getFactory();
   public static final FunctionName FUNCTION_NAME = FunctionName.of("EXTRACTJSONFIELD");
 
-  private List<String> tokens = null;
+  private List<PathToken> tokens = null;
 
   @Override
   public Object evaluate(final Object... args) {
@@ -45,22 +57,19 @@ public class JsonExtractStringKudf implements Kudf {
       return null;
     }
 
-    JsonNode currentNode = parseJsonDoc(args[0]);
-    for (final String token : tokens) {
-      if (currentNode instanceof ArrayNode) {
-        try {
-          final int index = Integer.parseInt(token);
-          currentNode = currentNode.get(index);
-        } catch (final NumberFormatException e) {
-          return null;
-        }
-      } else {
-        currentNode = currentNode.get(token);
-      }
+    final String jsonString = args[0].toString();
+    final JsonNode currentNode;
+    try {
+      final Optional<JsonNode> sharedTree = JsonDocuments.sharedTree(jsonString);
+      currentNode = sharedTree.isPresent()
+          ? find(sharedTree.get())
+          : stream(jsonString);
+    } catch (final IOException e) {
+      throw new KsqlFunctionException("Invalid JSON format:" + jsonString, e);
+    }
 
-      if (currentNode == null) {
-        return null;
-      }
+    if (currentNode == null) {
+      return null;
     }
 
     if (currentNode.isTextual()) {
@@ -81,15 +90,96 @@ public class JsonExtractStringKudf implements Kudf {
 
     final String path = args[1].toString();
     final JsonPathTokenizer tokenizer = new JsonPathTokenizer(path);
-    tokens = ImmutableList.copyOf(tokenizer);
+    final ImmutableList.Builder<PathToken> builder = ImmutableList.builder();
+    tokenizer.forEachRemaining(token -> builder.add(new PathToken(token)));
+    tokens = builder.build();
   }
 
-  private static JsonNode parseJsonDoc(final Object arg) {
-    final String jsonString = arg.toString();
-    try {
-      return OBJECT_READER.readTree(jsonString);
-    } catch (final IOException e) {
-      throw new KsqlFunctionException("Invalid JSON format:" + jsonString, e);
+  private JsonNode find(final JsonNode root) {
+    JsonNode currentNode = root;
+    for (final PathToken token : tokens) {
+      if (currentNode instanceof ArrayNode) {
+        currentNode = currentNode.get(token.index);
+      } else {
+        currentNode = currentNode.get(token.field);
+      }
+
+      if (currentNode == null) {
+        return null;
+      }
+    }
+
+    return currentNode;
+  }
+
+  private JsonNode stream(final String jsonString) throws IOException {
+    try (JsonParser parser = PARSER_FACTORY.createParser(jsonString)) {
+      if (parser.nextToken() == null) {
+        // No content, so nothing to stream:
+        return find(OBJECT_READER.readTree(jsonString));
+      }
+
+      for (final PathToken token : tokens) {
+        if (!seek(parser, token)) {
+          return null;
+        }
+      }
+
+      return parser.readValueAsTree();
+    }
+  }
+
+  /**
+   * Advance the parser from the start of the current value to the start of the child value
+   * matching the supplied {@code token}.
+   *
+   * @return {@code true} if found, {@code false} if the current value has no such child.
+   */
+  private static boolean seek(final JsonParser parser, final PathToken token) throws IOException {
+    final JsonToken current = parser.currentToken();
+    if (current == JsonToken.START_OBJECT) {
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        final boolean found = token.field.equals(parser.getCurrentName());
+        parser.nextToken();
+        if (found) {
+          return true;
+        }
+        parser.skipChildren();
+      }
+      return false;
+    }
+
+    if (current == JsonToken.START_ARRAY) {
+      int index = 0;
+      while (parser.nextToken() != JsonToken.END_ARRAY) {
+        if (index++ == token.index) {
+          return true;
+        }
+        parser.skipChildren();
+      }
+      return false;
+    }
+
+    return false;
+  }
+
+  private static final class PathToken {
+
+    private final String field;
+    private final int index;
+
+    PathToken(final String token) {
+      this.field = token;
+      this.index = parseIndex(token);
+    }
+
+    private static int parseIndex(final String token) {
+      try {
+        return Integer.parseInt(token);
+      } catch (final NumberFormatException e) {
+        // Matches no element:
+        return -1;
+      }
     }
   }
 }
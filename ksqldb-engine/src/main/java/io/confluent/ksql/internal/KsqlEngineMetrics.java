@@ -17,8 +17,10 @@ package io.confluent.ksql.internal;
 
 import io.confluent.ksql.engine.KsqlEngine;
 import io.confluent.ksql.metrics.MetricCollectors;
+import io.confluent.ksql.query.BlockingRowQueue;
 import io.confluent.ksql.util.QueryMetadata;
 import io.confluent.ksql.util.ReservedInternalTopics;
+import io.confluent.ksql.util.TransientQueryMetadata;
 import java.io.Closeable;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -151,6 +153,18 @@ public class KsqlEngineMetrics implements Closeable {
     );
 
     query.registerQueryStateListener(listener);
+
+    if (query instanceof TransientQueryMetadata) {
+      final TransientQueryMetadata transientQuery = (TransientQueryMetadata) query;
+      final BlockingRowQueue rowQueue = transientQuery.getRowQueue();
+      transientQuery.registerQueueMetrics(new PushQueryQueueMetrics(
+          metrics,
+          metricsPrefix,
+          query.getQueryApplicationId(),
+          rowQueue::size,
+          rowQueue::droppedRows
+      ));
+    }
   }
 
   private void recordMessageConsumptionByQueryStats(
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.internal;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.metrics.Gauge;
+import org.apache.kafka.common.metrics.Metrics;
+
+/**
+ * Metrics of the queue of rows waiting to be read by the client of a push query.
+ */
+public class PushQueryQueueMetrics {
+  private final Metrics metrics;
+  private final MetricName queueDepthName;
+  private final MetricName droppedRowsName;
+
+  public PushQueryQueueMetrics(
+      final Metrics metrics,
+      final String groupPrefix,
+      final String queryApplicationId,
+      final IntSupplier queueDepth,
+      final LongSupplier droppedRows
+  ) {
+    Objects.requireNonNull(groupPrefix, "groupPrefix");
+    Objects.requireNonNull(queryApplicationId, "queryApplicationId");
+    Objects.requireNonNull(queueDepth, "queueDepth");
+    Objects.requireNonNull(droppedRows, "droppedRows");
+    this.metrics = Objects.requireNonNull(metrics, "metrics cannot be null.");
+
+    final String group = groupPrefix + "ksql-queries";
+    final Map<String, String> tags =
+        Collections.singletonMap("query-application-id", queryApplicationId);
+
+    this.queueDepthName = metrics.metricName(
+        "push-query-queue-depth",
+        group,
+        "The number of rows waiting to be read by the client of the given push query.",
+        tags);
+    this.droppedRowsName = metrics.metricName(
+        "push-query-dropped-rows",
+        group,
+        "The number of rows of the given push query dropped as its client was not reading them "
+            + "fast enough.",
+        tags);
+
+    this.metrics.addMetric(queueDepthName, (Gauge<Integer>)(config, now) -> queueDepth.getAsInt());
+    this.metrics.addMetric(droppedRowsName, (Gauge<Long>)(config, now) -> droppedRows.getAsLong());
+  }
+
+  public void close() {
+    metrics.removeMetric(queueDepthName);
+    metrics.removeMetric(droppedRowsName);
+  }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.planner;
+
+import io.confluent.ksql.engine.rewrite.ExpressionTreeRewriter;
+import io.confluent.ksql.engine.rewrite.ExpressionTreeRewriter.Context;
+import io.confluent.ksql.execution.expression.tree.ArithmeticBinaryExpression;
+import io.confluent.ksql.execution.expression.tree.BooleanLiteral;
+import io.confluent.ksql.execution.expression.tree.ComparisonExpression;
+import io.confluent.ksql.execution.expression.tree.DoubleLiteral;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.IntegerLiteral;
+import io.confluent.ksql.execution.expression.tree.LogicalBinaryExpression;
+import io.confluent.ksql.execution.expression.tree.LongLiteral;
+import io.confluent.ksql.execution.expression.tree.NotExpression;
+import io.confluent.ksql.execution.expression.tree.StringLiteral;
+import io.confluent.ksql.execution.expression.tree.VisitParentExpressionVisitor;
+import java.util.Optional;
+
+/**
+ * Folds sub-expressions whose value is known at plan time into literals.
+ *
+ * <p>Folding is deliberately conservative: it only handles boolean logic with literal operands,
+ * {@code +}, {@code -} and {@code *} of two literals of the same numeric type, and comparisons of
+ * two integer, bigint or string literals. Anything whose result could depend on runtime
+ * behaviour, e.g. division by zero, decimals, casts or function calls, is left as is.
+ */
+final class ConstantFolder {
+
+  private ConstantFolder() {
+  }
+
+  /**
+   * Fold constant sub-expressions of the supplied {@code expression}.
+   *
+   * @param expression the expression to fold.
+   * @return the folded expression, which will be equal to {@code expression} if nothing folded.
+   */
+  static Expression fold(final Expression expression) {
+    return ExpressionTreeRewriter.rewriteWith(new Folder()::process, expression);
+  }
+
+  private static final class Folder
+      extends VisitParentExpressionVisitor<Optional<Expression>, Context<Void>> {
+
+    Folder() {
+      super(Optional.empty());
+    }
+
+    @Override
+    public Optional<Expression> visitLogicalBinaryExpression(
+        final LogicalBinaryExpression node,
+        final Context<Void> ctx
+    ) {
+      final Expression left = ctx.process(node.getLeft());
+      final Expression right = ctx.process(node.getRight());
+
+      if (left instanceof BooleanLiteral) {
+        return Optional.of(foldLogical(node.getType(), (BooleanLiteral) left, right));
+      }
+
+      if (right instanceof BooleanLiteral) {
+        return Optional.of(foldLogical(node.getType(), (BooleanLiteral) right, left));
+      }
+
+      return Optional.of(
+          new LogicalBinaryExpression(node.getLocation(), node.getType(), left, right));
+    }
+
+    @Override
+    public Optional<Expression> visitNotExpression(
+        final NotExpression node,
+        final Context<Void> ctx
+    ) {
+      final Expression value = ctx.process(node.getValue());
+      if (value instanceof BooleanLiteral) {
+        return Optional.of(literal(!((BooleanLiteral) value).getValue()));
+      }
+
+      return Optional.of(new NotExpression(node.getLocation(), value));
+    }
+
+    @Override
+    public Optional<Expression> visitArithmeticBinary(
+        final ArithmeticBinaryExpression node,
+        final Context<Void> ctx
+    ) {
+      final Expression left = ctx.process(node.getLeft());
+      final Expression right = ctx.process(node.getRight());
+
+      final Optional<Expression> folded = foldArithmetic(node, left, right);
+      if (folded.isPresent()) {
+        return folded;
+      }
+
+      return Optional.of(new ArithmeticBinaryExpression(
+          node.getLocation(), node.getOperator(), left, right));
+    }
+
+    @Override
+    public Optional<Expression> visitComparisonExpression(
+        final ComparisonExpression node,
+        final Context<Void> ctx
+    ) {
+      final Expression left = ctx.process(node.getLeft());
+      final Expression right = ctx.process(node.getRight());
+
+      final Optional<Integer> comparison = compare(left, right);
+      if (comparison.isPresent()) {
+        return Optional.of(literal(matches(node.getType(), comparison.get())));
+      }
+
+      return Optional.of(new ComparisonExpression(
+          node.getLocation(), node.getType(), left, right));
+    }
+
+    private static Expression foldLogical(
+        final LogicalBinaryExpression.Type type,
+        final BooleanLiteral literal,
+        final Expression other
+    ) {
+      final boolean value = literal.getValue();
+      switch (type) {
+        case AND:
+          return value ? other : literal;
+        case OR:
+          return value ? literal : other;
+        default:
+          throw new IllegalStateException("Unexpected logical operator: " + type);
+      }
+    }
+
+    private static Optional<Expression> foldArithmetic(
+        final ArithmeticBinaryExpression node,
+        final Expression left,
+        final Expression right
+    ) {
+      if (left instanceof IntegerLiteral && right instanceof IntegerLiteral) {
+        final int l = ((IntegerLiteral) left).getValue();
+        final int r = ((IntegerLiteral) right).getValue();
+        switch (node.getOperator()) {
+          case ADD:
+            return Optional.of(new IntegerLiteral(node.getLocation(), l + r));
+          case SUBTRACT:
+            return Optional.of(new IntegerLiteral(node.getLocation(), l - r));
+          case MULTIPLY:
+            return Optional.of(new IntegerLiteral(node.getLocation(), l * r));
+          default:
+            return Optional.empty();
+        }
+      }
+
+      if (left instanceof LongLiteral && right instanceof LongLiteral) {
+        final long l = ((LongLiteral) left).getValue();
+        final long r = ((LongLiteral) right).getValue();
+        switch (node.getOperator()) {
+          case ADD:
+            return Optional.of(new LongLiteral(node.getLocation(), l + r));
+          case SUBTRACT:
+            return Optional.of(new LongLiteral(node.getLocation(), l - r));
+          case MULTIPLY:
+            return Optional.of(new LongLiteral(node.getLocation(), l * r));
+          default:
+            return Optional.empty();
+        }
+      }
+
+      if (left instanceof DoubleLiteral && right instanceof DoubleLiteral) {
+        final double l = ((DoubleLiteral) left).getValue();
+        final double r = ((DoubleLiteral) right).getValue();
+        switch (node.getOperator()) {
+          case ADD:
+            return Optional.of(new DoubleLiteral(node.getLocation(), l + r));
+          case SUBTRACT:
+            return Optional.of(new DoubleLiteral(node.getLocation(), l - r));
+          case MULTIPLY:
+            return Optional.of(new DoubleLiteral(node.getLocation(), l * r));
+          default:
+            return Optional.empty();
+        }
+      }
+
+      return Optional.empty();
+    }
+
+    private static Optional<Integer> compare(final Expression left, final Expression right) {
+      if (left instanceof IntegerLiteral && right instanceof IntegerLiteral) {
+        return Optional.of(((IntegerLiteral) left).getValue()
+            .compareTo(((IntegerLiteral) right).getValue()));
+      }
+
+      if (left instanceof LongLiteral && right instanceof LongLiteral) {
+        return Optional.of(((LongLiteral) left).getValue()
+            .compareTo(((LongLiteral) right).getValue()));
+      }
+
+      if (left instanceof StringLiteral && right instanceof StringLiteral) {
+        return Optional.of(((StringLiteral) left).getValue()
+            .compareTo(((StringLiteral) right).getValue()));
+      }
+
+      // Doubles are not folded, as NaN does not compare consistently with Double.compareTo.
+      return Optional.empty();
+    }
+
+    private static boolean matches(final ComparisonExpression.Type type, final int comparison) {
+      switch (type) {
+        case EQUAL:
+          return comparison == 0;
+        case NOT_EQUAL:
+        case IS_DISTINCT_FROM:
+          return comparison != 0;
+        case LESS_THAN:
+          return comparison < 0;
+        case LESS_THAN_OR_EQUAL:
+          return comparison <= 0;
+        case GREATER_THAN:
+          return comparison > 0;
+        case GREATER_THAN_OR_EQUAL:
+          return comparison >= 0;
+        default:
+          throw new IllegalStateException("Unexpected comparison: " + type);
+      }
+    }
+
+    private static BooleanLiteral literal(final boolean value) {
+      return new BooleanLiteral(String.valueOf(value));
+    }
+  }
+}
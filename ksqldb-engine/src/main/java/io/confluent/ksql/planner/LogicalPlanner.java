@@ -99,6 +99,7 @@ public class LogicalPlanner {
   private final FunctionRegistry functionRegistry;
   private final AggregateAnalyzer aggregateAnalyzer;
   private final ColumnReferenceRewriter refRewriter;
+  private final Optional<SourceColumnPruning> columnPruning;
 
   public LogicalPlanner(
       final KsqlConfig ksqlConfig,
@@ -111,16 +112,34 @@ public class LogicalPlanner {
     this.analysis = new RewrittenAnalysis(analysis, refRewriter::process);
     this.functionRegistry = Objects.requireNonNull(functionRegistry, "functionRegistry");
     this.aggregateAnalyzer = new AggregateAnalyzer(functionRegistry);
+    this.columnPruning =
+        ksqlConfig.getBoolean(KsqlConfig.KSQL_QUERY_COLUMN_PRUNING_ENABLE_CONFIG)
+            && (analysis.isJoin() || analysis.getPartitionBy().isPresent())
+            ? Optional.of(SourceColumnPruning.of(analysis))
+            : Optional.empty();
   }
 
   public OutputNode buildPlan() {
-    PlanNode currentNode = buildSourceNode();
+    final Optional<PredicatePushDown> pushDown =
+        ksqlConfig.getBoolean(KsqlConfig.KSQL_QUERY_PLAN_OPTIMIZER_ENABLE_CONFIG)
+            ? analysis.original().getWhereExpression().map(PredicatePushDown::of)
+            : Optional.empty();
+
+    PlanNode currentNode = buildSourceNode(pushDown);
 
     if (analysis.getWhereExpression().isPresent()) {
-      currentNode = buildFilterNode(currentNode, analysis.getWhereExpression().get());
+      currentNode = pushDown.isPresent()
+          ? buildRemainingFilterNode(
+              currentNode, analysis.getWhereExpression().get(), pushDown.get())
+          : buildFilterNode(currentNode, analysis.getWhereExpression().get());
     }
 
     if (analysis.original().getPartitionBy().isPresent()) {
+      if (!analysis.isJoin()) {
+        // Join sources are already pruned before they are joined:
+        currentNode = buildPruningProjectNode(currentNode, "", analysis.getFrom().getAlias());
+      }
+
       currentNode = buildUserRepartitionNode(
           currentNode,
           analysis.original().getPartitionBy().get()
@@ -382,6 +401,14 @@ public class LogicalPlanner {
   private FilterNode buildFilterNode(
       final PlanNode sourcePlanNode,
       final Expression filterExpression
+  ) {
+    return buildFilterNode("WhereFilter", sourcePlanNode, filterExpression);
+  }
+
+  private FilterNode buildFilterNode(
+      final String planId,
+      final PlanNode sourcePlanNode,
+      final Expression filterExpression
   ) {
     final FilterTypeValidator validator = new FilterTypeValidator(
         sourcePlanNode.getSchema(),
@@ -390,7 +417,34 @@ public class LogicalPlanner {
 
     validator.validateFilterExpression(filterExpression);
 
-    return new FilterNode(new PlanNodeId("WhereFilter"), sourcePlanNode, filterExpression);
+    return new FilterNode(new PlanNodeId(planId), sourcePlanNode, filterExpression);
+  }
+
+  private PlanNode buildRemainingFilterNode(
+      final PlanNode sourcePlanNode,
+      final Expression filterExpression,
+      final PredicatePushDown pushDown
+  ) {
+    // Validate the whole clause, as parts may have been pushed down or folded away:
+    final FilterTypeValidator validator = new FilterTypeValidator(
+        sourcePlanNode.getSchema(),
+        functionRegistry,
+        FilterType.WHERE);
+
+    validator.validateFilterExpression(filterExpression);
+
+    final Optional<Expression> remaining = pushDown.remaining()
+        .map(e -> ExpressionTreeRewriter.rewriteWith(refRewriter::process, e));
+
+    if (!remaining.isPresent()) {
+      return sourcePlanNode;
+    }
+
+    final String planId = remaining.get().equals(filterExpression)
+        ? "WhereFilter"
+        : "OptimizedWhereFilter";
+
+    return new FilterNode(new PlanNodeId(planId), sourcePlanNode, remaining.get());
   }
 
   private RepartitionNode buildUserRepartitionNode(
@@ -480,14 +534,23 @@ public class LogicalPlanner {
   private PlanNode buildSourceForJoin(
       final AliasedDataSource source,
       final String side,
-      final Expression joinExpression
+      final Expression joinExpression,
+      final Optional<PredicatePushDown> pushDown
   ) {
-    final DataSourceNode sourceNode = new DataSourceNode(
+    final DataSourceNode dataSourceNode = new DataSourceNode(
         new PlanNodeId("KafkaTopic_" + side),
         source.getDataSource(),
         source.getAlias()
     );
 
+    final PlanNode sourceNode = pushDown
+        .flatMap(pd -> pd.pushDownTo(source.getAlias(), dataSourceNode.getSchema()))
+        .<PlanNode>map(predicate ->
+            buildFilterNode("PushDownFilter" + side, dataSourceNode, predicate))
+        .orElse(dataSourceNode);
+
+    final PlanNode prunedNode = buildPruningProjectNode(sourceNode, side, source.getAlias());
+
     // it is always safe to build the repartition node - this operation will be
     // a no-op if a repartition is not required. if the source is a table, and
     // a repartition is needed, then an exception will be thrown
@@ -503,7 +566,7 @@ public class LogicalPlanner {
         };
 
     final PlanNode repartition =
-        buildInternalRepartitionNode(sourceNode, side, joinExpression, rewriter::process);
+        buildInternalRepartitionNode(prunedNode, side, joinExpression, rewriter::process);
 
     return buildInternalProjectNode(
         repartition,
@@ -512,6 +575,58 @@ public class LogicalPlanner {
     );
   }
 
+  /**
+   * Drop the value columns of a source the query does not reference, so that they are not
+   * written to any repartition topic or join state store.
+   *
+   * <p>Key columns, copies of key columns, pseudo columns and window bounds are always retained.
+   */
+  private PlanNode buildPruningProjectNode(
+      final PlanNode parent,
+      final String side,
+      final SourceName sourceAlias
+  ) {
+    final Optional<Set<ColumnName>> required = columnPruning
+        .flatMap(cp -> cp.requiredColumns(sourceAlias));
+
+    if (!required.isPresent()) {
+      return parent;
+    }
+
+    final LogicalSchema parentSchema = parent.getSchema();
+    final Optional<ColumnName> keyFieldName = parent.getKeyField().ref();
+
+    final List<Column> retained = parentSchema.value().stream()
+        .filter(c -> required.get().contains(c.name())
+            || parentSchema.isKeyColumn(c.name())
+            || SystemColumns.isSystemColumn(c.name())
+            || keyFieldName.map(c.name()::equals).orElse(false))
+        .collect(Collectors.toList());
+
+    if (retained.size() == parentSchema.value().size()) {
+      return parent;
+    }
+
+    final List<SelectExpression> projection = retained.stream()
+        .map(c -> SelectExpression.of(c.name(), new UnqualifiedColumnReferenceExp(c.name())))
+        .collect(Collectors.toList());
+
+    final LogicalSchema schema = LogicalSchema.builder()
+        .keyColumns(parentSchema.key())
+        .valueColumns(retained)
+        .build();
+
+    return new ProjectNode(
+        new PlanNodeId("PruneColumns" + side),
+        parent,
+        projection,
+        schema,
+        keyFieldName,
+        true,
+        ksqlConfig.getBoolean(KsqlConfig.KSQL_ANY_KEY_NAME_ENABLED)
+    );
+  }
+
   private PlanNode buildSourceForJoin(
       final Join join,
       final PlanNode joinedSource,
@@ -547,7 +662,7 @@ public class LogicalPlanner {
     return builder.build();
   }
 
-  private PlanNode buildSourceNode() {
+  private PlanNode buildSourceNode(final Optional<PredicatePushDown> pushDown) {
     if (!analysis.isJoin()) {
       return buildNonJoinNode(analysis.getFrom());
     }
@@ -559,41 +674,65 @@ public class LogicalPlanner {
           + analysis.getAllDataSources());
     }
 
-    return buildJoin((Join) tree, "");
+    return buildJoin((Join) tree, "", pushDown);
   }
 
   /**
    * @param root    the root of the Join Tree
    * @param prefix  the prefix to uniquely identify the plan node
+   * @param pushDown the predicates to push down to the sources whose rows the join preserves.
    * @return the PlanNode representing this Join Tree
    */
-  private PlanNode buildJoin(final Join root, final String prefix) {
+  private PlanNode buildJoin(
+      final Join root,
+      final String prefix,
+      final Optional<PredicatePushDown> pushDown
+  ) {
+    final JoinNode.JoinType joinType = root.getInfo().getType();
+
+    // Filtering the side of an outer join that may be null-padded would change the result:
+    final Optional<PredicatePushDown> leftPushDown = joinType == JoinNode.JoinType.OUTER
+        ? Optional.empty()
+        : pushDown;
+
+    final Optional<PredicatePushDown> rightPushDown = joinType == JoinNode.JoinType.INNER
+        ? pushDown
+        : Optional.empty();
+
     final PlanNode left;
     if (root.getLeft() instanceof JoinTree.Join) {
       left = buildSourceForJoin(
           (JoinTree.Join) root.getLeft(),
-          buildJoin((Join) root.getLeft(), prefix + "L_"),
+          buildJoin((Join) root.getLeft(), prefix + "L_", leftPushDown),
           prefix + "Left",
           root.getInfo().getLeftJoinExpression()
       );
     } else {
       final JoinTree.Leaf leaf = (Leaf) root.getLeft();
       left = buildSourceForJoin(
-          leaf.getSource(), prefix + "Left", root.getInfo().getLeftJoinExpression());
+          leaf.getSource(),
+          prefix + "Left",
+          root.getInfo().getLeftJoinExpression(),
+          leftPushDown
+      );
     }
 
     final PlanNode right;
     if (root.getRight() instanceof JoinTree.Join) {
       right = buildSourceForJoin(
           (JoinTree.Join) root.getRight(),
-          buildJoin((Join) root.getRight(), prefix + "R_"),
+          buildJoin((Join) root.getRight(), prefix + "R_", rightPushDown),
           prefix + "Right",
           root.getInfo().getRightJoinExpression()
       );
     } else {
       final JoinTree.Leaf leaf = (Leaf) root.getRight();
       right = buildSourceForJoin(
-          leaf.getSource(), prefix + "Right", root.getInfo().getRightJoinExpression());
+          leaf.getSource(),
+          prefix + "Right",
+          root.getInfo().getRightJoinExpression(),
+          rightPushDown
+      );
     }
 
     final boolean finalJoin = prefix.isEmpty();
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.planner;
+
+import io.confluent.ksql.engine.rewrite.ExpressionTreeRewriter;
+import io.confluent.ksql.engine.rewrite.ExpressionTreeRewriter.Context;
+import io.confluent.ksql.execution.expression.tree.BooleanLiteral;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.LogicalBinaryExpression;
+import io.confluent.ksql.execution.expression.tree.QualifiedColumnReferenceExp;
+import io.confluent.ksql.execution.expression.tree.TraversalExpressionVisitor;
+import io.confluent.ksql.execution.expression.tree.UnqualifiedColumnReferenceExp;
+import io.confluent.ksql.execution.expression.tree.VisitParentExpressionVisitor;
+import io.confluent.ksql.name.SourceName;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Splits the {@code WHERE} clause of a join into the conjuncts that can be applied to individual
+ * sources, before the join and any repartition, and those that must be applied after the join.
+ *
+ * <p>A conjunct can be pushed down to a source if every column it references is a column of
+ * that source. The caller is responsible for only pushing conjuncts down to sources whose rows
+ * are preserved by the join, i.e. not the right side of a left join or either side of an outer
+ * join, as filtering those sides before the join would change which rows are null-padded.
+ *
+ * <p>Constant sub-expressions of the clause are folded before it is split.
+ */
+final class PredicatePushDown {
+
+  private final List<Expression> conjuncts;
+
+  private PredicatePushDown(final List<Expression> conjuncts) {
+    this.conjuncts = conjuncts;
+  }
+
+  /**
+   * @param whereExpression the original, i.e. source qualified, {@code WHERE} clause.
+   * @return the push down.
+   */
+  static PredicatePushDown of(final Expression whereExpression) {
+    final List<Expression> conjuncts = new ArrayList<>();
+    split(ConstantFolder.fold(whereExpression), conjuncts);
+    return new PredicatePushDown(conjuncts);
+  }
+
+  /**
+   * Remove the conjuncts that only reference columns of the supplied source.
+   *
+   * @param alias the alias of the source.
+   * @param sourceSchema the schema of the source.
+   * @return the conjuncts, with column references unqualified, if any.
+   */
+  Optional<Expression> pushDownTo(final SourceName alias, final LogicalSchema sourceSchema) {
+    final List<Expression> pushed = new ArrayList<>();
+
+    final Iterator<Expression> it = conjuncts.iterator();
+    while (it.hasNext()) {
+      final Expression conjunct = it.next();
+      if (onlyReferences(conjunct, alias, sourceSchema)) {
+        pushed.add(ExpressionTreeRewriter.rewriteWith(new Unqualifier()::process, conjunct));
+        it.remove();
+      }
+    }
+
+    return and(pushed);
+  }
+
+  /**
+   * @return the conjuncts that have not been pushed down, if any.
+   */
+  Optional<Expression> remaining() {
+    return and(conjuncts);
+  }
+
+  private static void split(final Expression expression, final List<Expression> conjuncts) {
+    if (expression instanceof LogicalBinaryExpression
+        && ((LogicalBinaryExpression) expression).getType() == LogicalBinaryExpression.Type.AND) {
+      split(((LogicalBinaryExpression) expression).getLeft(), conjuncts);
+      split(((LogicalBinaryExpression) expression).getRight(), conjuncts);
+      return;
+    }
+
+    if (expression instanceof BooleanLiteral && ((BooleanLiteral) expression).getValue()) {
+      return;
+    }
+
+    conjuncts.add(expression);
+  }
+
+  private static Optional<Expression> and(final List<Expression> expressions) {
+    return expressions.stream()
+        .reduce(LogicalBinaryExpression::and);
+  }
+
+  private static boolean onlyReferences(
+      final Expression expression,
+      final SourceName alias,
+      final LogicalSchema sourceSchema
+  ) {
+    final ReferenceChecker checker = new ReferenceChecker(alias, sourceSchema);
+    checker.process(expression, null);
+    return checker.referencesSource && !checker.referencesOther;
+  }
+
+  private static final class ReferenceChecker extends TraversalExpressionVisitor<Void> {
+
+    private final SourceName alias;
+    private final LogicalSchema sourceSchema;
+    private boolean referencesSource;
+    private boolean referencesOther;
+
+    ReferenceChecker(final SourceName alias, final LogicalSchema sourceSchema) {
+      this.alias = Objects.requireNonNull(alias, "alias");
+      this.sourceSchema = Objects.requireNonNull(sourceSchema, "sourceSchema");
+    }
+
+    @Override
+    public Void visitQualifiedColumnReference(
+        final QualifiedColumnReferenceExp node,
+        final Void context
+    ) {
+      if (node.getQualifier().equals(alias)
+          && sourceSchema.findColumn(node.getColumnName()).isPresent()) {
+        referencesSource = true;
+      } else {
+        referencesOther = true;
+      }
+      return null;
+    }
+
+    @Override
+    public Void visitUnqualifiedColumnReference(
+        final UnqualifiedColumnReferenceExp node,
+        final Void context
+    ) {
+      referencesOther = true;
+      return null;
+    }
+  }
+
+  private static final class Unqualifier
+      extends VisitParentExpressionVisitor<Optional<Expression>, Context<Void>> {
+
+    Unqualifier() {
+      super(Optional.empty());
+    }
+
+    @Override
+    public Optional<Expression> visitQualifiedColumnReference(
+        final QualifiedColumnReferenceExp node,
+        final Context<Void> ctx
+    ) {
+      return Optional.of(new UnqualifiedColumnReferenceExp(node.getColumnName()));
+    }
+  }
+}
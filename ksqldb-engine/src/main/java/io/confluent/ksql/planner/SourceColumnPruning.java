@@ -0,0 +1,148 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.planner;
+
+import io.confluent.ksql.analyzer.Analysis.JoinInfo;
+import io.confluent.ksql.analyzer.ImmutableAnalysis;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.QualifiedColumnReferenceExp;
+import io.confluent.ksql.execution.expression.tree.TraversalExpressionVisitor;
+import io.confluent.ksql.execution.expression.tree.UnqualifiedColumnReferenceExp;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.name.SourceName;
+import io.confluent.ksql.parser.tree.AllColumns;
+import io.confluent.ksql.parser.tree.SelectItem;
+import io.confluent.ksql.parser.tree.SingleColumn;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Determines which value columns of each source of a query the query references.
+ *
+ * <p>The other value columns can be dropped before the source is joined or repartitioned, so that
+ * they are not written to repartition topics and join state stores.
+ */
+final class SourceColumnPruning {
+
+  private final Map<SourceName, Set<ColumnName>> referenced;
+  private final Set<SourceName> allColumnsRequired;
+  private final boolean unknownReferences;
+
+  private SourceColumnPruning(
+      final Map<SourceName, Set<ColumnName>> referenced,
+      final Set<SourceName> allColumnsRequired,
+      final boolean unknownReferences
+  ) {
+    this.referenced = referenced;
+    this.allColumnsRequired = allColumnsRequired;
+    this.unknownReferences = unknownReferences;
+  }
+
+  /**
+   * @param analysis the original, i.e. source qualified, analysis of a query.
+   * @return the pruning.
+   */
+  static SourceColumnPruning of(final ImmutableAnalysis analysis) {
+    final ReferenceCollector collector = new ReferenceCollector();
+    final Set<SourceName> allColumnsRequired = new HashSet<>();
+
+    for (final SelectItem selectItem : analysis.getSelectItems()) {
+      if (selectItem instanceof SingleColumn) {
+        collector.process(((SingleColumn) selectItem).getExpression(), null);
+      } else if (selectItem instanceof AllColumns) {
+        final Optional<SourceName> source = ((AllColumns) selectItem).getSource();
+        if (source.isPresent()) {
+          allColumnsRequired.add(source.get());
+        } else {
+          analysis.getAllDataSources().forEach(ds -> allColumnsRequired.add(ds.getAlias()));
+        }
+      } else {
+        collector.unknownReferences = true;
+      }
+    }
+
+    analysis.getWhereExpression().ifPresent(e -> collector.process(e, null));
+    analysis.getHavingExpression().ifPresent(e -> collector.process(e, null));
+    analysis.getPartitionBy().ifPresent(pb -> collector.process(pb.getExpression(), null));
+    analysis.getGroupBy().ifPresent(gb -> gb.getGroupingExpressions()
+        .forEach(e -> collector.process(e, null)));
+    collector.process(analysis.getDefaultArgument(), null);
+
+    for (final JoinInfo join : analysis.getJoin()) {
+      collector.process(join.getLeftJoinExpression(), null);
+      collector.process(join.getRightJoinExpression(), null);
+    }
+
+    return new SourceColumnPruning(
+        collector.referenced,
+        allColumnsRequired,
+        collector.unknownReferences
+    );
+  }
+
+  /**
+   * @param alias the alias of the source.
+   * @return the names of the value columns of the source the query references, or empty if all
+   *     columns must be retained.
+   */
+  Optional<Set<ColumnName>> requiredColumns(final SourceName alias) {
+    if (unknownReferences || allColumnsRequired.contains(alias)) {
+      return Optional.empty();
+    }
+
+    return Optional.of(Collections.unmodifiableSet(
+        referenced.getOrDefault(alias, Collections.emptySet())));
+  }
+
+  private static final class ReferenceCollector extends TraversalExpressionVisitor<Void> {
+
+    private final Map<SourceName, Set<ColumnName>> referenced = new HashMap<>();
+    private boolean unknownReferences;
+
+    @Override
+    public Void process(final Expression expression, final Void context) {
+      if (expression == null) {
+        return null;
+      }
+      return super.process(expression, context);
+    }
+
+    @Override
+    public Void visitQualifiedColumnReference(
+        final QualifiedColumnReferenceExp node,
+        final Void context
+    ) {
+      referenced
+          .computeIfAbsent(node.getQualifier(), k -> new HashSet<>())
+          .add(node.getColumnName());
+      return null;
+    }
+
+    @Override
+    public Void visitUnqualifiedColumnReference(
+        final UnqualifiedColumnReferenceExp node,
+        final Void context
+    ) {
+      // Can not tell which source the column belongs to, so prune nothing:
+      unknownReferences = true;
+      return null;
+    }
+  }
+}
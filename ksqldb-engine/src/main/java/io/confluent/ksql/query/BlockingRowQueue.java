@@ -39,6 +39,18 @@ public interface BlockingRowQueue {
    */
   void setLimitHandler(LimitHandler limitHandler);
 
+  /**
+   * Sets the callback that will be called each time a row is added to the queue.
+   *
+   * <p>The callback is called on the thread adding the row, i.e. the {@code StreamThread}, so
+   * should do no more than signal the thread reading from the queue.
+   *
+   * <p>Replaces any previous callback.
+   *
+   * @param queuedCallback the callback.
+   */
+  void setQueuedCallback(Runnable queuedCallback);
+
   /**
    * Poll the queue for a single row
    *
@@ -61,6 +73,14 @@ public interface BlockingRowQueue {
    */
   int size();
 
+  /**
+   * The number of rows dropped to make space for newer rows, as the client was not reading them
+   * fast enough.
+   *
+   * @see PushQueryOverflowPolicy#DROP_OLDEST
+   */
+  long droppedRows();
+
   /**
    * Close the queue.
    */
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.query;
+
+import io.confluent.ksql.util.KsqlException;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The bounded buffer between the stream thread of a push query, which adds rows, and the thread
+ * serving its client, which removes them.
+ *
+ * <p>When the buffer is full the query's {@link PushQueryOverflowPolicy} decides whether the
+ * stream thread waits for space, drops the oldest row or fails the query. The stream thread waits
+ * indefinitely unless a block timeout is set, after which the query fails. A stream thread that
+ * does not poll within {@code max.poll.interval.ms} is removed from its consumer group.
+ *
+ * @param <T> the type of the rows.
+ */
+@ThreadSafe
+public final class PushQueryBuffer<T> {
+
+  private final BlockingQueue<T> queue;
+  private final PushQueryOverflowPolicy overflowPolicy;
+  private final int offerTimeoutMs;
+  private final long blockTimeoutMs;
+  private final AtomicLong droppedRows = new AtomicLong();
+
+  /**
+   * @param capacity the maximum number of rows in the buffer.
+   * @param overflowPolicy what to do with rows added when the buffer is full.
+   * @param offerTimeoutMs how long to wait for space each time before checking if the query has
+   *                       been closed, when the policy is {@link PushQueryOverflowPolicy#BLOCK}.
+   * @param blockTimeoutMs how long to wait for space in total before failing the query, when the
+   *                       policy is {@link PushQueryOverflowPolicy#BLOCK}, or zero or less to
+   *                       wait until the query is closed.
+   */
+  public PushQueryBuffer(
+      final int capacity,
+      final PushQueryOverflowPolicy overflowPolicy,
+      final int offerTimeoutMs,
+      final long blockTimeoutMs
+  ) {
+    this.queue = new LinkedBlockingQueue<>(capacity);
+    this.overflowPolicy = Objects.requireNonNull(overflowPolicy, "overflowPolicy");
+    this.offerTimeoutMs = offerTimeoutMs;
+    this.blockTimeoutMs = blockTimeoutMs;
+  }
+
+  /**
+   * Add a row to the buffer, applying the overflow policy if it is full.
+   *
+   * @param row the row.
+   * @param closed whether the query has been closed, in which case it stops waiting for space.
+   * @return {@code true} if the row was added, {@code false} if the query was closed first.
+   * @throws KsqlException if the buffer is full and the policy is
+   *         {@link PushQueryOverflowPolicy#DISCONNECT}, or the policy is
+   *         {@link PushQueryOverflowPolicy#BLOCK} and the buffer stays full for longer than a
+   *         set block timeout.
+   * @throws InterruptedException if interrupted while waiting for space.
+   */
+  public boolean put(final T row, final BooleanSupplier closed) throws InterruptedException {
+    if (overflowPolicy != PushQueryOverflowPolicy.BLOCK) {
+      if (!offer(row)) {
+        throw new KsqlException("Push query disconnected as the client is not reading rows "
+            + "as fast as they are produced.");
+      }
+      return true;
+    }
+
+    if (blockTimeoutMs <= 0) {
+      while (!closed.getAsBoolean()) {
+        if (queue.offer(row, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    final long deadline = System.currentTimeMillis() + blockTimeoutMs;
+    while (!closed.getAsBoolean()) {
+      final long remaining = deadline - System.currentTimeMillis();
+      if (queue.offer(row, Math.max(0, Math.min(offerTimeoutMs, remaining)),
+          TimeUnit.MILLISECONDS)) {
+        return true;
+      }
+
+      if (remaining <= offerTimeoutMs) {
+        throw new KsqlException("Push query disconnected as the client's queue stayed full "
+            + "for " + blockTimeoutMs + "ms.");
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Add a row to the buffer without blocking.
+   *
+   * <p>If the buffer is full and the policy is {@link PushQueryOverflowPolicy#DROP_OLDEST} the
+   * oldest row is dropped to make space. Otherwise the row is not added.
+   *
+   * @param row the row.
+   * @return {@code true} if the row was added.
+   */
+  public boolean offer(final T row) {
+    if (overflowPolicy != PushQueryOverflowPolicy.DROP_OLDEST) {
+      return queue.offer(row);
+    }
+
+    while (!queue.offer(row)) {
+      if (queue.poll() != null) {
+        droppedRows.incrementAndGet();
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @see BlockingQueue#poll()
+   */
+  public T poll() {
+    return queue.poll();
+  }
+
+  /**
+   * @see BlockingQueue#poll(long, TimeUnit)
+   */
+  public T poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+    return queue.poll(timeout, unit);
+  }
+
+  /**
+   * @see BlockingQueue#drainTo(Collection)
+   */
+  public void drainTo(final Collection<? super T> collection) {
+    queue.drainTo(collection);
+  }
+
+  public int size() {
+    return queue.size();
+  }
+
+  public boolean isEmpty() {
+    return queue.isEmpty();
+  }
+
+  /**
+   * @return the number of rows dropped to make space for newer rows.
+   */
+  public long droppedRows() {
+    return droppedRows.get();
+  }
+}
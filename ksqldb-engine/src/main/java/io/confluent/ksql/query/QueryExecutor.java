@@ -26,11 +26,13 @@ import io.confluent.ksql.execution.plan.ExecutionStep;
 import io.confluent.ksql.execution.plan.KStreamHolder;
 import io.confluent.ksql.execution.plan.KTableHolder;
 import io.confluent.ksql.execution.plan.PlanBuilder;
+import io.confluent.ksql.execution.plan.StreamSource;
 import io.confluent.ksql.execution.streams.KSPlanBuilder;
 import io.confluent.ksql.execution.streams.materialization.KsqlMaterializationFactory;
 import io.confluent.ksql.execution.streams.materialization.MaterializationProvider;
 import io.confluent.ksql.execution.streams.materialization.ks.KsMaterialization;
 import io.confluent.ksql.execution.streams.materialization.ks.KsMaterializationFactory;
+import io.confluent.ksql.execution.transform.KsqlTransformer;
 import io.confluent.ksql.function.FunctionRegistry;
 import io.confluent.ksql.logging.processing.NoopProcessingLogContext;
 import io.confluent.ksql.logging.processing.ProcessingLogContext;
@@ -40,6 +42,7 @@ import io.confluent.ksql.metrics.ConsumerCollector;
 import io.confluent.ksql.metrics.ProducerCollector;
 import io.confluent.ksql.name.SourceName;
 import io.confluent.ksql.query.KafkaStreamsBuilder.BuildResult;
+import io.confluent.ksql.query.SharedPushQueries.SharedQuery;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.schema.ksql.PhysicalSchema;
 import io.confluent.ksql.serde.GenericKeySerDe;
@@ -70,10 +73,14 @@ import org.apache.kafka.streams.StreamsBuilder;
 import org.apache.kafka.streams.StreamsConfig;
 import org.apache.kafka.streams.kstream.KStream;
 import org.apache.kafka.streams.kstream.KTable;
+import org.apache.kafka.streams.processor.internals.DefaultKafkaClientSupplier;
 
 // CHECKSTYLE_RULES.OFF: ClassDataAbstractionCoupling
 public final class QueryExecutor {
   // CHECKSTYLE_RULES.ON: ClassDataAbstractionCoupling
+
+  private static final String SHARED_PUSH_QUERY_ID_PREFIX = "SHARED_";
+
   private final KsqlConfig ksqlConfig;
   private final Map<String, Object> overrides;
   private final ProcessingLogContext processingLogContext;
@@ -84,6 +91,7 @@ public final class QueryExecutor {
   private final KsMaterializationFactory ksMaterializationFactory;
   private final KsqlMaterializationFactory ksqlMaterializationFactory;
   private final StreamsBuilder streamsBuilder;
+  private final SharedPushQueries sharedPushQueries;
 
   public QueryExecutor(
       final KsqlConfig ksqlConfig,
@@ -91,7 +99,8 @@ public final class QueryExecutor {
       final ProcessingLogContext processingLogContext,
       final ServiceContext serviceContext,
       final FunctionRegistry functionRegistry,
-      final Consumer<QueryMetadata> queryCloseCallback) {
+      final Consumer<QueryMetadata> queryCloseCallback,
+      final SharedPushQueries sharedPushQueries) {
     this(
         ksqlConfig,
         overrides,
@@ -103,7 +112,8 @@ public final class QueryExecutor {
             Objects.requireNonNull(serviceContext, "serviceContext").getKafkaClientSupplier()),
         new StreamsBuilder(),
         new KsqlMaterializationFactory(processingLogContext),
-        new KsMaterializationFactory()
+        new KsMaterializationFactory(),
+        sharedPushQueries
     );
   }
 
@@ -117,7 +127,8 @@ public final class QueryExecutor {
       final KafkaStreamsBuilder kafkaStreamsBuilder,
       final StreamsBuilder streamsBuilder,
       final KsqlMaterializationFactory ksqlMaterializationFactory,
-      final KsMaterializationFactory ksMaterializationFactory) {
+      final KsMaterializationFactory ksMaterializationFactory,
+      final SharedPushQueries sharedPushQueries) {
     this.ksqlConfig = Objects.requireNonNull(ksqlConfig, "ksqlConfig");
     this.overrides = Objects.requireNonNull(overrides, "overrides");
     this.processingLogContext = Objects.requireNonNull(
@@ -140,6 +151,7 @@ public final class QueryExecutor {
     );
     this.kafkaStreamsBuilder = Objects.requireNonNull(kafkaStreamsBuilder);
     this.streamsBuilder = Objects.requireNonNull(streamsBuilder, "builder");
+    this.sharedPushQueries = Objects.requireNonNull(sharedPushQueries, "sharedPushQueries");
   }
 
   public TransientQueryMetadata buildTransientQuery(
@@ -151,6 +163,19 @@ public final class QueryExecutor {
       final LogicalSchema schema,
       final OptionalInt limit
   ) {
+    final Optional<SharedPushQueryPlan> sharedPlan = sharedPushQueryPlan(physicalPlan);
+    if (sharedPlan.isPresent()) {
+      return buildSharedTransientQuery(
+          statementText,
+          queryId,
+          sources,
+          sharedPlan.get(),
+          planSummary,
+          schema,
+          limit
+      );
+    }
+
     final BlockingRowQueue queue = buildTransientQueryQueue(queryId, physicalPlan, limit);
 
     final String applicationId = addTimeSuffix(getQueryApplicationId(
@@ -245,6 +270,101 @@ public final class QueryExecutor {
     };
   }
 
+  private Optional<SharedPushQueryPlan> sharedPushQueryPlan(final ExecutionStep<?> physicalPlan) {
+    if (!ksqlConfig.getBoolean(KsqlConfig.KSQL_QUERY_PUSH_SHARED_ENABLE_CONFIG)) {
+      return Optional.empty();
+    }
+
+    // A shared app is built with the Kafka clients of the first query to use it, so is only
+    // shared if they are the server's own, rather than clients of the query's user:
+    if (!(serviceContext.getKafkaClientSupplier() instanceof DefaultKafkaClientSupplier)) {
+      return Optional.empty();
+    }
+
+    // A shared app may already be running, so only reads new rows:
+    final Object offsetReset = ksqlConfig.getKsqlStreamConfigProps()
+        .get(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG);
+    if ("earliest".equals(offsetReset)) {
+      return Optional.empty();
+    }
+
+    return SharedPushQueryPlan.of(physicalPlan);
+  }
+
+  private TransientQueryMetadata buildSharedTransientQuery(
+      final String statementText,
+      final QueryId queryId,
+      final Set<SourceName> sources,
+      final SharedPushQueryPlan plan,
+      final String planSummary,
+      final LogicalSchema schema,
+      final OptionalInt limit
+  ) {
+    final SharedQuery sharedQuery = sharedPushQueries.acquire(
+        plan.getSource(),
+        overrides,
+        () -> buildSharedQuery(queryId, plan.getSource())
+    );
+
+    try {
+      final KsqlTransformer<Struct, Optional<GenericRow>> transformer =
+          plan.compile(sharedQuery.getSchema(), queryBuilder(queryId));
+
+      final TransientQueryQueue queue = new TransientQueryQueue(
+          limit,
+          pushQueryOverflowPolicy(),
+          ksqlConfig.getInt(KsqlConfig.KSQL_QUERY_PUSH_SHARED_QUEUE_SIZE_CONFIG)
+      );
+
+      final String applicationId = addTimeSuffix(getQueryApplicationId(
+          getServiceId(),
+          ksqlConfig.getString(KsqlConfig.KSQL_TRANSIENT_QUERY_NAME_PREFIX_CONFIG),
+          queryId
+      ));
+
+      return new SharedTransientQueryMetadata(
+          statementText,
+          buildTransientQuerySchema(schema),
+          sources,
+          planSummary,
+          queue,
+          applicationId,
+          overrides,
+          queryCloseCallback,
+          ksqlConfig.getLong(KSQL_SHUTDOWN_TIMEOUT_MS_CONFIG),
+          sharedPushQueries,
+          sharedQuery,
+          transformer
+      );
+    } catch (final RuntimeException e) {
+      sharedPushQueries.release(sharedQuery);
+      throw e;
+    }
+  }
+
+  private SharedQuery buildSharedQuery(final QueryId queryId, final StreamSource source) {
+    final QueryId sharedQueryId = new QueryId(SHARED_PUSH_QUERY_ID_PREFIX + queryId);
+    final KStreamHolder<Struct> stream = source.build(new KSPlanBuilder(
+        queryBuilder(sharedQueryId)));
+
+    final String applicationId = addTimeSuffix(getQueryApplicationId(
+        getServiceId(),
+        ksqlConfig.getString(KsqlConfig.KSQL_TRANSIENT_QUERY_NAME_PREFIX_CONFIG),
+        sharedQueryId
+    ));
+
+    final Map<String, Object> streamsProperties =
+        buildStreamsProperties(applicationId, sharedQueryId);
+
+    return new SharedQuery(
+        stream,
+        () -> kafkaStreamsBuilder.buildKafkaStreams(streamsBuilder, streamsProperties),
+        applicationId,
+        streamsProperties,
+        ksqlConfig.getLong(KSQL_SHUTDOWN_TIMEOUT_MS_CONFIG)
+    );
+  }
+
   private static Optional<MaterializationInfo> getMaterializationInfo(final Object result) {
     if (result instanceof KTableHolder) {
       return ((KTableHolder<?>) result).getMaterializationBuilder().map(Builder::build);
@@ -323,7 +443,17 @@ public final class QueryExecutor {
     } else {
       throw new IllegalStateException("Unexpected type built from exection plan");
     }
-    return new TransientQueryQueue(kstream, limit);
+    return new TransientQueryQueue(
+        kstream,
+        limit,
+        pushQueryOverflowPolicy(),
+        ksqlConfig.getLong(KsqlConfig.KSQL_QUERY_PUSH_OVERFLOW_BLOCK_TIMEOUT_MS_CONFIG)
+    );
+  }
+
+  private PushQueryOverflowPolicy pushQueryOverflowPolicy() {
+    return PushQueryOverflowPolicy.parse(
+        ksqlConfig.getString(KsqlConfig.KSQL_QUERY_PUSH_OVERFLOW_POLICY_CONFIG));
   }
 
   private KsqlQueryBuilder queryBuilder(final QueryId queryId) {
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.query;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.plan.KStreamHolder;
+import io.confluent.ksql.execution.plan.StreamSource;
+import io.confluent.ksql.execution.transform.KsqlProcessingContext;
+import io.confluent.ksql.query.KafkaStreamsBuilder.BuildResult;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+import javax.annotation.concurrent.ThreadSafe;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.Topology;
+import org.apache.kafka.streams.processor.Processor;
+import org.apache.kafka.streams.processor.ProcessorContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shares Kafka Streams apps between push queries.
+ *
+ * <p>Each push query normally runs in its own Kafka Streams app, with its own consumer reading
+ * the whole of its source topic. Push queries that only filter and project a stream instead
+ * share a single app with the other such queries on the same stream with the same property
+ * overrides. The shared app only reads the source, and passes each row to every query, which
+ * applies its own filter and projection and queues the result for its client.
+ *
+ * <p>The shared app reads the source with the Kafka clients of the first query to use it. Queries
+ * are therefore only shared when they run with the server's own Kafka clients, rather than
+ * per-user clients, so that no user reads through another user's clients.
+ *
+ * <p>A query whose queue is full is dropped from the shared app, and notified of the error
+ * through its uncaught exception handler, rather than holding up the other queries. The
+ * exception is a query with the {@link PushQueryOverflowPolicy#DROP_OLDEST} policy, which
+ * instead drops its oldest queued row.
+ *
+ * <p>Shared apps are reference counted: the app is started when the first query using it is
+ * started, and closed once the last query using it is closed.
+ */
+@ThreadSafe
+public final class SharedPushQueries {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SharedPushQueries.class);
+
+  private final Map<Key, SharedQuery> queries = new HashMap<>();
+
+  /**
+   * Acquire a reference to the shared query on a source, creating one if there is none.
+   *
+   * @param source the source.
+   * @param overrides the property overrides of the push query.
+   * @param factory the factory to create the shared query with, if there is none.
+   * @return the shared query.
+   */
+  synchronized SharedQuery acquire(
+      final StreamSource source,
+      final Map<String, Object> overrides,
+      final Supplier<SharedQuery> factory
+  ) {
+    final Key key = new Key(source, overrides);
+    final SharedQuery query = queries.computeIfAbsent(key, k -> factory.get());
+    query.key = key;
+    query.refCount++;
+    return query;
+  }
+
+  /**
+   * Release a reference to a shared query, closing it if it was the last.
+   *
+   * @param query the shared query.
+   */
+  void release(final SharedQuery query) {
+    synchronized (this) {
+      if (--query.refCount > 0) {
+        return;
+      }
+
+      queries.remove(query.key);
+    }
+
+    query.close();
+  }
+
+  @VisibleForTesting
+  synchronized int size() {
+    return queries.size();
+  }
+
+  /**
+   * The Kafka Streams app shared by push queries.
+   */
+  static final class SharedQuery {
+
+    private final List<SharedTransientQueryMetadata> subscribers = new CopyOnWriteArrayList<>();
+    private final LogicalSchema schema;
+    private final KafkaStreams kafkaStreams;
+    private final Topology topology;
+    private final String applicationId;
+    private final Map<String, Object> streamsProperties;
+    private final long closeTimeout;
+    private Key key;
+    private int refCount;
+    private boolean started;
+
+    /**
+     * @param source the source, which the shared query reads rows from.
+     * @param appBuilder builds the Kafka Streams app once the source is connected to the queries.
+     * @param applicationId the application id of the app.
+     * @param streamsProperties the properties of the app.
+     * @param closeTimeout the timeout when closing the app.
+     */
+    SharedQuery(
+        final KStreamHolder<Struct> source,
+        final Supplier<BuildResult> appBuilder,
+        final String applicationId,
+        final Map<String, Object> streamsProperties,
+        final long closeTimeout
+    ) {
+      this.schema = Objects.requireNonNull(source, "source").getSchema();
+      this.applicationId = Objects.requireNonNull(applicationId, "applicationId");
+      this.streamsProperties = ImmutableMap.copyOf(streamsProperties);
+      this.closeTimeout = closeTimeout;
+
+      source.getStream().process(Dispatcher::new);
+
+      final BuildResult built = appBuilder.get();
+      this.kafkaStreams = built.kafkaStreams;
+      this.topology = built.topology;
+      this.kafkaStreams.setUncaughtExceptionHandler((thread, e) ->
+          subscribers.forEach(subscriber -> subscriber.onError(thread, e)));
+    }
+
+    LogicalSchema getSchema() {
+      return schema;
+    }
+
+    KafkaStreams getKafkaStreams() {
+      return kafkaStreams;
+    }
+
+    Topology getTopology() {
+      return topology;
+    }
+
+    Map<String, Object> getStreamsProperties() {
+      return streamsProperties;
+    }
+
+    /**
+     * Start passing rows to a query, starting the app if it has not been started.
+     */
+    void subscribe(final SharedTransientQueryMetadata subscriber) {
+      subscribers.add(subscriber);
+
+      synchronized (this) {
+        if (!started) {
+          LOG.info("Starting shared push query with application id: {}", applicationId);
+          started = true;
+          kafkaStreams.start();
+        }
+      }
+    }
+
+    /**
+     * Stop passing rows to a query.
+     */
+    void unsubscribe(final SharedTransientQueryMetadata subscriber) {
+      subscribers.remove(subscriber);
+    }
+
+    private void close() {
+      LOG.info("Closing shared push query with application id: {}", applicationId);
+      kafkaStreams.close(Duration.ofMillis(closeTimeout));
+      kafkaStreams.cleanUp();
+    }
+
+    private final class Dispatcher implements Processor<Struct, GenericRow> {
+
+      private KsqlProcessingContext processingContext;
+
+      @Override
+      public void init(final ProcessorContext context) {
+        this.processingContext = context::timestamp;
+      }
+
+      @Override
+      public void process(final Struct key, final GenericRow row) {
+        if (row == null) {
+          return;
+        }
+
+        for (final SharedTransientQueryMetadata subscriber : subscribers) {
+          subscriber.onRow(key, row, processingContext);
+        }
+      }
+
+      @Override
+      public void close() {
+      }
+    }
+  }
+
+  private static final class Key {
+
+    private final StreamSource source;
+    private final Map<String, Object> overrides;
+
+    Key(final StreamSource source, final Map<String, Object> overrides) {
+      this.source = Objects.requireNonNull(source, "source");
+      this.overrides = new HashMap<>(overrides);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final Key that = (Key) o;
+      return source.equals(that.source)
+          && overrides.equals(that.overrides);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(source, overrides);
+    }
+  }
+}
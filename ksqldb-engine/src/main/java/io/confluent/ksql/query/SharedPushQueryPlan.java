@@ -0,0 +1,127 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.query;
+
+import com.google.common.collect.ImmutableList;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.builder.KsqlQueryBuilder;
+import io.confluent.ksql.execution.plan.ExecutionStep;
+import io.confluent.ksql.execution.plan.StreamFilter;
+import io.confluent.ksql.execution.plan.StreamSelect;
+import io.confluent.ksql.execution.plan.StreamSource;
+import io.confluent.ksql.execution.transform.KsqlTransformer;
+import io.confluent.ksql.execution.transform.select.Selection;
+import io.confluent.ksql.execution.transform.sqlpredicate.SqlPredicate;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import org.apache.kafka.connect.data.Struct;
+
+/**
+ * The plan of a push query that can share the Kafka Streams app of other push queries on the same
+ * stream source: a projection of zero or more filters of a non-windowed stream source.
+ */
+final class SharedPushQueryPlan {
+
+  private final StreamSource source;
+  private final ImmutableList<StreamFilter<?>> filters;
+  private final StreamSelect<?> select;
+
+  private SharedPushQueryPlan(
+      final StreamSource source,
+      final List<StreamFilter<?>> filters,
+      final StreamSelect<?> select
+  ) {
+    this.source = Objects.requireNonNull(source, "source");
+    this.filters = ImmutableList.copyOf(filters);
+    this.select = Objects.requireNonNull(select, "select");
+  }
+
+  /**
+   * @param physicalPlan the physical plan of a push query.
+   * @return the shared plan, or empty if the query can not share a Kafka Streams app.
+   */
+  static Optional<SharedPushQueryPlan> of(final ExecutionStep<?> physicalPlan) {
+    if (!(physicalPlan instanceof StreamSelect)) {
+      return Optional.empty();
+    }
+
+    final StreamSelect<?> select = (StreamSelect<?>) physicalPlan;
+    final List<StreamFilter<?>> filters = new ArrayList<>();
+
+    ExecutionStep<?> step = select.getSource();
+    while (step instanceof StreamFilter) {
+      final StreamFilter<?> filter = (StreamFilter<?>) step;
+      filters.add(filter);
+      step = filter.getSource();
+    }
+
+    if (!(step instanceof StreamSource)) {
+      return Optional.empty();
+    }
+
+    return Optional.of(new SharedPushQueryPlan((StreamSource) step, filters, select));
+  }
+
+  StreamSource getSource() {
+    return source;
+  }
+
+  /**
+   * Compile the filters and projection of the query.
+   *
+   * @param sourceSchema the schema of the rows of the shared source.
+   * @param queryBuilder the query builder of the query.
+   * @return a transformer that returns the projected row, or empty if the row is filtered out.
+   */
+  KsqlTransformer<Struct, Optional<GenericRow>> compile(
+      final LogicalSchema sourceSchema,
+      final KsqlQueryBuilder queryBuilder
+  ) {
+    final List<KsqlTransformer<Struct, Optional<GenericRow>>> predicates = new ArrayList<>();
+    for (final StreamFilter<?> filter : filters) {
+      predicates.add(new SqlPredicate(
+          filter.getFilterExpression(),
+          sourceSchema,
+          queryBuilder.getKsqlConfig(),
+          queryBuilder.getFunctionRegistry()
+      ).getTransformer(
+          queryBuilder.getProcessingLogger(filter.getProperties().getQueryContext())
+      ));
+    }
+
+    final KsqlTransformer<Struct, GenericRow> mapper = Selection.<Struct>of(
+        sourceSchema,
+        select.getSelectExpressions(),
+        queryBuilder.getKsqlConfig(),
+        queryBuilder.getFunctionRegistry()
+    ).getMapper().getTransformer(
+        queryBuilder.getProcessingLogger(select.getProperties().getQueryContext())
+    );
+
+    return (key, row, ctx) -> {
+      for (final KsqlTransformer<Struct, Optional<GenericRow>> predicate : predicates) {
+        if (!predicate.transform(key, row, ctx).isPresent()) {
+          return Optional.empty();
+        }
+      }
+
+      return Optional.ofNullable(mapper.transform(key, row, ctx));
+    };
+  }
+}
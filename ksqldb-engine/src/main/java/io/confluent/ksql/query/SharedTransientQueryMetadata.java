@@ -0,0 +1,150 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.query;
+
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.transform.KsqlProcessingContext;
+import io.confluent.ksql.execution.transform.KsqlTransformer;
+import io.confluent.ksql.internal.QueryStateListener;
+import io.confluent.ksql.name.SourceName;
+import io.confluent.ksql.query.SharedPushQueries.SharedQuery;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.util.KsqlException;
+import io.confluent.ksql.util.QueryMetadata;
+import io.confluent.ksql.util.TransientQueryMetadata;
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.KafkaStreams.State;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Metadata of a push query that runs in a Kafka Streams app shared with other push queries.
+ *
+ * @see SharedPushQueries
+ */
+final class SharedTransientQueryMetadata extends TransientQueryMetadata {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SharedTransientQueryMetadata.class);
+
+  private final SharedPushQueries sharedPushQueries;
+  private final SharedQuery sharedQuery;
+  private final KsqlTransformer<Struct, Optional<GenericRow>> transformer;
+  private final TransientQueryQueue rowQueue;
+  private final AtomicBoolean released = new AtomicBoolean(false);
+  private volatile Optional<UncaughtExceptionHandler> uncaughtExceptionHandler = Optional.empty();
+  private Optional<QueryStateListener> stateListener = Optional.empty();
+
+  // CHECKSTYLE_RULES.OFF: ParameterNumberCheck
+  SharedTransientQueryMetadata(
+      final String statementString,
+      final LogicalSchema logicalSchema,
+      final Set<SourceName> sourceNames,
+      final String executionPlan,
+      final TransientQueryQueue rowQueue,
+      final String queryApplicationId,
+      final Map<String, Object> overriddenProperties,
+      final Consumer<QueryMetadata> closeCallback,
+      final long closeTimeout,
+      final SharedPushQueries sharedPushQueries,
+      final SharedQuery sharedQuery,
+      final KsqlTransformer<Struct, Optional<GenericRow>> transformer
+  ) {
+    // CHECKSTYLE_RULES.ON: ParameterNumberCheck
+    super(
+        statementString,
+        sharedQuery.getKafkaStreams(),
+        logicalSchema,
+        sourceNames,
+        executionPlan,
+        rowQueue,
+        queryApplicationId,
+        sharedQuery.getTopology(),
+        sharedQuery.getStreamsProperties(),
+        overriddenProperties,
+        closeCallback,
+        closeTimeout
+    );
+    this.rowQueue = rowQueue;
+    this.sharedPushQueries = Objects.requireNonNull(sharedPushQueries, "sharedPushQueries");
+    this.sharedQuery = Objects.requireNonNull(sharedQuery, "sharedQuery");
+    this.transformer = Objects.requireNonNull(transformer, "transformer");
+  }
+
+  @Override
+  public void registerQueryStateListener(final QueryStateListener queryStateListener) {
+    stateListener = Optional.of(queryStateListener);
+    super.registerQueryStateListener(queryStateListener);
+  }
+
+  @Override
+  public void setUncaughtExceptionHandler(final UncaughtExceptionHandler handler) {
+    uncaughtExceptionHandler = Optional.of(handler);
+  }
+
+  @Override
+  public String getState() {
+    return isRunning() ? super.getState() : State.NOT_RUNNING.toString();
+  }
+
+  @Override
+  public void start() {
+    LOG.info("Starting push query with application id: {}", getQueryApplicationId());
+    sharedQuery.subscribe(this);
+  }
+
+  @Override
+  protected void closeKafkaStreams(final boolean cleanUp) {
+    sharedQuery.unsubscribe(this);
+
+    if (released.compareAndSet(false, true)) {
+      sharedPushQueries.release(sharedQuery);
+    }
+
+    stateListener.ifPresent(QueryStateListener::close);
+  }
+
+  /**
+   * Called from the shared app's stream threads with each row read from the source.
+   */
+  void onRow(final Struct key, final GenericRow row, final KsqlProcessingContext ctx) {
+    final Optional<GenericRow> result = transformer.transform(key, row, ctx);
+    if (!result.isPresent() || rowQueue.offer(key, result.get())) {
+      return;
+    }
+
+    // Blocking would hold up every other query sharing the app:
+    LOG.warn("Dropping push query with application id {}: its client is not keeping up.",
+        getQueryApplicationId());
+
+    sharedQuery.unsubscribe(this);
+    onError(Thread.currentThread(), new KsqlException(
+        "Push query dropped as the client is not reading rows as fast as they are produced."));
+  }
+
+  /**
+   * Called on an error in the shared app.
+   */
+  void onError(final Thread thread, final Throwable e) {
+    uncaughtExceptionHandler.ifPresent(handler -> handler.uncaughtException(thread, e));
+  }
+}
@@ -21,8 +21,6 @@ import io.confluent.ksql.util.KsqlException;
 import java.util.Collection;
 import java.util.Objects;
 import java.util.OptionalInt;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import org.apache.kafka.streams.KeyValue;
 import org.apache.kafka.streams.kstream.ForeachAction;
@@ -35,28 +33,82 @@ import org.apache.kafka.streams.kstream.Windowed;
 class TransientQueryQueue implements BlockingRowQueue {
 
   private final LimitQueueCallback callback;
-  private final BlockingQueue<KeyValue<String, GenericRow>> rowQueue;
-  private final int offerTimeoutMs;
+  private final PushQueryBuffer<KeyValue<String, GenericRow>> rowQueue;
+  private volatile Runnable queuedCallback = () -> {
+  };
   private volatile boolean closed = false;
 
-  TransientQueryQueue(final KStream<?, GenericRow> kstream, final OptionalInt limit) {
-    this(kstream, limit, 100, 100);
+  TransientQueryQueue(
+      final KStream<?, GenericRow> kstream,
+      final OptionalInt limit,
+      final PushQueryOverflowPolicy overflowPolicy,
+      final long blockTimeoutMs
+  ) {
+    this(kstream, limit, overflowPolicy, 100, 100, blockTimeoutMs);
   }
 
   @VisibleForTesting
   TransientQueryQueue(
       final KStream<?, GenericRow> kstream,
       final OptionalInt limit,
+      final PushQueryOverflowPolicy overflowPolicy,
+      final int queueSizeLimit,
+      final int offerTimeoutMs,
+      final long blockTimeoutMs
+  ) {
+    this(limit, overflowPolicy, queueSizeLimit, offerTimeoutMs, blockTimeoutMs);
+
+    kstream.foreach(new QueuePopulator<>());
+  }
+
+  /**
+   * Create a queue that is not populated from a stream, but by calls to {@link #offer}.
+   */
+  TransientQueryQueue(
+      final OptionalInt limit,
+      final PushQueryOverflowPolicy overflowPolicy,
+      final int queueSizeLimit
+  ) {
+    this(limit, overflowPolicy, queueSizeLimit, 0, 0);
+  }
+
+  private TransientQueryQueue(
+      final OptionalInt limit,
+      final PushQueryOverflowPolicy overflowPolicy,
       final int queueSizeLimit,
-      final int offerTimeoutMs
+      final int offerTimeoutMs,
+      final long blockTimeoutMs
   ) {
     this.callback = limit.isPresent()
         ? new LimitedQueueCallback(limit.getAsInt())
         : new UnlimitedQueueCallback();
-    this.rowQueue = new LinkedBlockingQueue<>(queueSizeLimit);
-    this.offerTimeoutMs = offerTimeoutMs;
+    this.rowQueue = new PushQueryBuffer<>(
+        queueSizeLimit, overflowPolicy, offerTimeoutMs, blockTimeoutMs);
+  }
 
-    kstream.foreach(new QueuePopulator<>());
+  /**
+   * Offer a row to the queue without blocking.
+   *
+   * <p>If the queue is full and the overflow policy is
+   * {@link PushQueryOverflowPolicy#DROP_OLDEST} the oldest row is dropped to make space.
+   *
+   * @param key the key of the row.
+   * @param row the row.
+   * @return {@code false} if the queue is full, otherwise {@code true}, including when the row is
+   *         not queued because the queue is closed or its limit has been reached.
+   */
+  boolean offer(final Object key, final GenericRow row) {
+    if (closed || row == null || !callback.shouldQueue()) {
+      return true;
+    }
+
+    if (!rowQueue.offer(new KeyValue<>(getStringKey(key), row))) {
+      return false;
+    }
+
+    callback.onQueued();
+    queuedCallback.run();
+    return true;
   }
 
   @Override
@@ -64,6 +116,11 @@ class TransientQueryQueue implements BlockingRowQueue {
     callback.setLimitHandler(limitHandler);
   }
 
+  @Override
+  public void setQueuedCallback(final Runnable queuedCallback) {
+    this.queuedCallback = Objects.requireNonNull(queuedCallback, "queuedCallback");
+  }
+
   @Override
   public KeyValue<String, GenericRow> poll(final long timeout, final TimeUnit unit)
       throws InterruptedException {
@@ -80,6 +137,11 @@ class TransientQueryQueue implements BlockingRowQueue {
     return rowQueue.size();
   }
 
+  @Override
+  public long droppedRows() {
+    return rowQueue.droppedRows();
+  }
+
   @Override
   public void close() {
     closed = true;
@@ -102,24 +164,22 @@ class TransientQueryQueue implements BlockingRowQueue {
 
         final KeyValue<String, GenericRow> kv = new KeyValue<>(getStringKey(key), row);
 
-        while (!closed) {
-          if (rowQueue.offer(kv, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
-            callback.onQueued();
-            break;
-          }
+        if (rowQueue.put(kv, () -> closed)) {
+          callback.onQueued();
+          queuedCallback.run();
         }
       } catch (final InterruptedException e) {
         throw new KsqlException("InterruptedException while enqueueing:" + key);
       }
     }
+  }
 
-    private String getStringKey(final K key) {
-      if (key instanceof Windowed) {
-        final Windowed<?> windowedKey = (Windowed<?>) key;
-        return String.format("%s : %s", windowedKey.key(), windowedKey.window());
-      }
-
-      return Objects.toString(key);
+  private static String getStringKey(final Object key) {
+    if (key instanceof Windowed) {
+      final Windowed<?> windowedKey = (Windowed<?>) key;
+      return String.format("%s : %s", windowedKey.key(), windowedKey.window());
     }
+
+    return Objects.toString(key);
   }
 }
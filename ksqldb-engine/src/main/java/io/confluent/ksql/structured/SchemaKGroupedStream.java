@@ -18,6 +18,7 @@ package io.confluent.ksql.structured;
 import io.confluent.ksql.execution.context.QueryContext;
 import io.confluent.ksql.execution.expression.tree.FunctionCall;
 import io.confluent.ksql.execution.plan.ExecutionStep;
+import io.confluent.ksql.execution.plan.Formats;
 import io.confluent.ksql.execution.plan.KGroupedStreamHolder;
 import io.confluent.ksql.execution.plan.KTableHolder;
 import io.confluent.ksql.execution.streams.ExecutionStepFactory;
@@ -80,13 +81,14 @@ public class SchemaKGroupedStream {
   ) {
     final ExecutionStep<? extends KTableHolder<?>> step;
     final KeyFormat keyFormat;
+    final ValueFormat storeValueFormat = stateStoreValueFormat(valueFormat);
 
     if (windowExpression.isPresent()) {
       keyFormat = getKeyFormat(windowExpression.get());
       step = ExecutionStepFactory.streamWindowedAggregate(
           contextStacker,
           sourceStep,
-          io.confluent.ksql.execution.plan.Formats.of(keyFormat, valueFormat, SerdeOption.none()),
+          Formats.of(keyFormat, storeValueFormat, SerdeOption.none()),
           nonAggregateColumns,
           aggregations,
           windowExpression.get().getKsqlWindowExpression()
@@ -96,7 +98,7 @@ public class SchemaKGroupedStream {
       step = ExecutionStepFactory.streamAggregate(
           contextStacker,
           sourceStep,
-          io.confluent.ksql.execution.plan.Formats.of(keyFormat, valueFormat, SerdeOption.none()),
+          Formats.of(keyFormat, storeValueFormat, SerdeOption.none()),
           nonAggregateColumns,
           aggregations
       );
@@ -112,6 +114,16 @@ public class SchemaKGroupedStream {
     );
   }
 
+  /**
+   * @param valueFormat the value format of the query's source.
+   * @return the value format of the aggregation's state store and changelog.
+   */
+  ValueFormat stateStoreValueFormat(final ValueFormat valueFormat) {
+    return ksqlConfig.getBoolean(KsqlConfig.KSQL_QUERY_STATE_STORE_BINARY_FORMAT_ENABLE_CONFIG)
+        ? ValueFormat.of(FormatInfo.of(FormatFactory.BINARY.name()))
+        : valueFormat;
+  }
+
   private static KeyFormat getKeyFormat(final WindowExpression windowExpression) {
     return KeyFormat.windowed(
         FormatInfo.of(FormatFactory.KAFKA.name()),
@@ -17,7 +17,6 @@ package io.confluent.ksql.structured;
 
 import io.confluent.ksql.execution.context.QueryContext;
 import io.confluent.ksql.execution.expression.tree.FunctionCall;
-import io.confluent.ksql.execution.function.TableAggregationFunction;
 import io.confluent.ksql.execution.function.UdafUtil;
 import io.confluent.ksql.execution.plan.ExecutionStep;
 import io.confluent.ksql.execution.plan.Formats;
@@ -84,7 +83,10 @@ public class SchemaKGroupedTable extends SchemaKGroupedStream {
 
     final List<String> unsupportedFunctionNames = aggregations.stream()
         .map(call -> UdafUtil.resolveAggregateFunction(functionRegistry, call, schema))
-        .filter(function -> !(function instanceof TableAggregationFunction))
+        .filter(function -> !UdafUtil.resolveTableAggregationFunction(
+            function,
+            ksqlConfig.getInt(KsqlConfig.KSQL_QUERY_TABLE_AGGREGATE_MAX_DISTINCT_VALUES_CONFIG)
+        ).isPresent())
         .map(KsqlAggregateFunction::name)
         .map(FunctionName::text)
         .distinct()
@@ -101,7 +103,7 @@ public class SchemaKGroupedTable extends SchemaKGroupedStream {
     final TableAggregate step = ExecutionStepFactory.tableAggregate(
         contextStacker,
         sourceTableStep,
-        Formats.of(keyFormat, valueFormat, SerdeOption.none()),
+        Formats.of(keyFormat, stateStoreValueFormat(valueFormat), SerdeOption.none()),
         nonAggregateColumns,
         aggregations
     );
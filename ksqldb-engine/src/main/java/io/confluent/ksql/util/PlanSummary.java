@@ -17,7 +17,9 @@ package io.confluent.ksql.util;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.execution.context.QueryContext;
 import io.confluent.ksql.execution.context.QueryLoggerUtil;
+import io.confluent.ksql.execution.expression.tree.Expression;
 import io.confluent.ksql.execution.plan.ExecutionStep;
 import io.confluent.ksql.execution.plan.SourceStep;
 import io.confluent.ksql.execution.plan.StreamAggregate;
@@ -42,11 +44,13 @@ import io.confluent.ksql.execution.plan.TableSource;
 import io.confluent.ksql.execution.plan.TableTableJoin;
 import io.confluent.ksql.execution.plan.WindowedStreamSource;
 import io.confluent.ksql.execution.plan.WindowedTableSource;
+import io.confluent.ksql.execution.streams.SourcePreFilter;
 import io.confluent.ksql.execution.streams.StepSchemaResolver;
 import io.confluent.ksql.metastore.MetaStore;
 import io.confluent.ksql.query.QueryId;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.schema.utils.FormatOptions;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -54,8 +58,9 @@ import java.util.stream.Collectors;
 
 /**
  * Builds a string describing a given execution plan. The string describes the plan DAG,
- * along with a name, schema, and processing logger ID for each step. Currently, this
- * description is returned in KSQL's HTTP API in response to EXPLAIN statements.
+ * along with a name, schema, and processing logger ID for each step, and the pre-filter of
+ * any stream source whose records are pre-filtered. Currently, this description is returned
+ * in KSQL's HTTP API in response to EXPLAIN statements.
  */
 public class PlanSummary {
 
@@ -92,15 +97,25 @@ public class PlanSummary {
 
   private final QueryId queryId;
   private final StepSchemaResolver schemaResolver;
+  private final boolean preFilterSources;
 
   public PlanSummary(final QueryId queryId, final KsqlConfig config, final MetaStore metaStore) {
-    this(queryId, new StepSchemaResolver(config, metaStore));
+    this(
+        queryId,
+        new StepSchemaResolver(config, metaStore),
+        config.getBoolean(KsqlConfig.KSQL_QUERY_SOURCE_PREFILTER_ENABLE_CONFIG)
+    );
   }
 
   @VisibleForTesting
-  PlanSummary(final QueryId queryId, final StepSchemaResolver schemaResolver) {
+  PlanSummary(
+      final QueryId queryId,
+      final StepSchemaResolver schemaResolver,
+      final boolean preFilterSources
+  ) {
     this.queryId = Objects.requireNonNull(queryId, "queryId");
     this.schemaResolver = Objects.requireNonNull(schemaResolver);
+    this.preFilterSources = preFilterSources;
   }
 
   /**
@@ -109,14 +124,22 @@ public class PlanSummary {
    * @return A string describing the given plan.
    */
   public String summarize(final ExecutionStep<?> step) {
-    return summarize(step, "").summary;
+    final Map<QueryContext, Expression> preFilters = new HashMap<>();
+    if (preFilterSources) {
+      collectPreFilters(step, preFilters);
+    }
+    return summarize(step, "", preFilters).summary;
   }
 
-  private StepSummary summarize(final ExecutionStep<?> step, final String indent) {
+  private StepSummary summarize(
+      final ExecutionStep<?> step,
+      final String indent,
+      final Map<QueryContext, Expression> preFilters
+  ) {
     final StringBuilder stringBuilder = new StringBuilder();
 
     final List<StepSummary> sourceSummaries = step.getSources().stream()
-        .map(s -> summarize(s, indent + "\t"))
+        .map(s -> summarize(s, indent + "\t", preFilters))
         .collect(Collectors.toList());
 
     final String opName = OP_NAME.get(step.getClass());
@@ -132,8 +155,14 @@ public class PlanSummary {
         .append(opName).append(" ] | Schema: ")
         .append(schema.toString(FORMAT_OPTIONS))
         .append(" | Logger: ")
-        .append(QueryLoggerUtil.queryLoggerName(queryId, step.getProperties().getQueryContext()))
-        .append("\n");
+        .append(QueryLoggerUtil.queryLoggerName(queryId, step.getProperties().getQueryContext()));
+
+    final Expression preFilter = preFilters.get(step.getProperties().getQueryContext());
+    if (preFilter != null) {
+      stringBuilder.append(" | PreFilter: ").append(preFilter);
+    }
+
+    stringBuilder.append("\n");
 
     for (final StepSummary sourceSummary : sourceSummaries) {
       stringBuilder
@@ -144,6 +173,18 @@ public class PlanSummary {
     return new StepSummary(schema, stringBuilder.toString());
   }
 
+  private static void collectPreFilters(
+      final ExecutionStep<?> step,
+      final Map<QueryContext, Expression> preFilters
+  ) {
+    if (step instanceof StreamFilter) {
+      SourcePreFilter.of((StreamFilter<?>) step).ifPresent(preFilter -> preFilters
+          .putIfAbsent(preFilter.getSourceContext(), preFilter.getExpression()));
+    }
+
+    step.getSources().forEach(source -> collectPreFilters(source, preFilters));
+  }
+
   private LogicalSchema getSchema(
       final ExecutionStep<?> step,
       final List<StepSummary> sourceSummaries
@@ -15,6 +15,7 @@
 
 package io.confluent.ksql.util;
 
+import io.confluent.ksql.internal.PushQueryQueueMetrics;
 import io.confluent.ksql.name.SourceName;
 import io.confluent.ksql.query.BlockingRowQueue;
 import io.confluent.ksql.query.LimitHandler;
@@ -23,6 +24,7 @@ import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.util.KsqlConstants.KsqlQueryType;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
@@ -36,6 +38,7 @@ public class TransientQueryMetadata extends QueryMetadata {
 
   private final BlockingRowQueue rowQueue;
   private final AtomicBoolean isRunning = new AtomicBoolean(true);
+  private Optional<PushQueryQueueMetrics> queueMetrics = Optional.empty();
 
   // CHECKSTYLE_RULES.OFF: ParameterNumberCheck
   public TransientQueryMetadata(
@@ -106,6 +109,10 @@ public class TransientQueryMetadata extends QueryMetadata {
     rowQueue.setLimitHandler(limitHandler);
   }
 
+  public void registerQueueMetrics(final PushQueryQueueMetrics queueMetrics) {
+    this.queueMetrics = Optional.of(queueMetrics);
+  }
+
   @Override
   public void stop() {
     close();
@@ -118,7 +125,17 @@ public class TransientQueryMetadata extends QueryMetadata {
     rowQueue.close();
 
     // Now safe to close:
-    super.doClose(cleanUp);
+    closeKafkaStreams(cleanUp);
     isRunning.set(false);
+    queueMetrics.ifPresent(PushQueryQueueMetrics::close);
+  }
+
+  /**
+   * Close the Kafka Streams app the query runs in.
+   *
+   * @param cleanUp whether to clean up the app's local state.
+   */
+  protected void closeKafkaStreams(final boolean cleanUp) {
+    super.doClose(cleanUp);
   }
 }
@@ -19,6 +19,8 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.junit.Assert.assertThrows;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableList;
@@ -30,7 +32,6 @@ import io.confluent.ksql.parser.tree.ResultMaterialization;
 import io.confluent.ksql.parser.tree.WindowExpression;
 import io.confluent.ksql.util.KsqlException;
 import java.util.Optional;
-import java.util.OptionalInt;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -165,17 +166,11 @@ public class PullQueryValidatorTest {
   }
 
   @Test
-  public void shouldThrowOnLimitClause() {
-    // Given:
-    when(analysis.getLimitClause()).thenReturn(OptionalInt.of(1));
-
+  public void shouldNotRejectLimitClause() {
     // When:
-    final Exception e = assertThrows(
-        KsqlException.class,
-        () -> validator.validate(analysis)
-    );
+    validator.validate(analysis);
 
     // Then:
-    assertThat(e.getMessage(), containsString("Pull queries don't support LIMIT clauses."));
+    verify(analysis, never()).getLimitClause();
   }
 }
\ No newline at end of file
@@ -24,6 +24,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -927,6 +928,74 @@ public class InsertValuesExecutorTest {
     );
   }
 
+  @Test
+  public void shouldReuseSerdesForSameSource() {
+    // Given:
+    final ConfiguredStatement<InsertValues> statement = givenInsertValues(
+        valueColumnNames(SCHEMA),
+        ImmutableList.of(
+            new StringLiteral("str"),
+            new LongLiteral(2L)
+        )
+    );
+
+    // When:
+    executor.execute(statement, mock(SessionProperties.class), engine, serviceContext);
+    executor.execute(statement, mock(SessionProperties.class), engine, serviceContext);
+
+    // Then:
+    verify(keySerdeFactory, times(1)).create(any(), any(), any(), any(), any(), any());
+    verify(valueSerdeFactory, times(1)).create(any(), any(), any(), any(), any(), any());
+    verify(producer, times(2)).send(new ProducerRecord<>(TOPIC_NAME, null, 1L, KEY, VALUE));
+  }
+
+  @Test
+  public void shouldBuildNewSerdesIfSourceChanges() {
+    // Given:
+    final ConfiguredStatement<InsertValues> statement = givenInsertValues(
+        valueColumnNames(SCHEMA),
+        ImmutableList.of(
+            new StringLiteral("str"),
+            new LongLiteral(2L)
+        )
+    );
+
+    executor.execute(statement, mock(SessionProperties.class), engine, serviceContext);
+
+    givenSourceStreamWithSchema(SCHEMA, SerdeOption.none(), Optional.of(COL0));
+
+    // When:
+    executor.execute(statement, mock(SessionProperties.class), engine, serviceContext);
+
+    // Then:
+    verify(keySerdeFactory, times(2)).create(any(), any(), any(), any(), any(), any());
+    verify(valueSerdeFactory, times(2)).create(any(), any(), any(), any(), any(), any());
+  }
+
+  @Test
+  public void shouldBuildNewSerdesIfConfigChanges() {
+    // Given:
+    final ConfiguredStatement<InsertValues> statement = givenInsertValues(
+        valueColumnNames(SCHEMA),
+        ImmutableList.of(
+            new StringLiteral("str"),
+            new LongLiteral(2L)
+        )
+    );
+
+    final ConfiguredStatement<InsertValues> withOverrides = statement.withConfigOverrides(
+        ImmutableMap.of(KsqlConfig.KSQL_SERVICE_ID_CONFIG, "other"));
+
+    executor.execute(statement, mock(SessionProperties.class), engine, serviceContext);
+
+    // When:
+    executor.execute(withOverrides, mock(SessionProperties.class), engine, serviceContext);
+
+    // Then:
+    verify(keySerdeFactory, times(2)).create(any(), any(), any(), any(), any(), any());
+    verify(valueSerdeFactory, times(2)).create(any(), any(), any(), any(), any(), any());
+  }
+
   private static ConfiguredStatement<InsertValues> givenInsertValues(
       final List<ColumnName> columns,
       final List<Expression> values
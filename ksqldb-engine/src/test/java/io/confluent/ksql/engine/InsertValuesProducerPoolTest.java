@@ -0,0 +1,215 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.engine;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.services.ConfiguredKafkaClientSupplier;
+import io.confluent.ksql.services.ServiceContext;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.TopicAuthorizationException;
+import org.apache.kafka.streams.KafkaClientSupplier;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class InsertValuesProducerPoolTest {
+
+  private static final ProducerRecord<byte[], byte[]> RECORD =
+      new ProducerRecord<>("topic", new byte[]{1}, new byte[]{2});
+
+  private static final Map<String, Object> PRODUCER_PROPS =
+      ImmutableMap.of("linger.ms", 5);
+
+  private static final Duration IDLE_TIMEOUT = Duration.ofMinutes(1);
+
+  @Mock
+  private KafkaClientSupplier defaultSupplier;
+  @Mock
+  private ServiceContext serviceContext;
+  @Mock
+  private Producer<byte[], byte[]> producer;
+  @Mock
+  private Producer<byte[], byte[]> otherProducer;
+  @Mock
+  private Future<?> sendResult;
+  @Mock
+  private Ticker ticker;
+  private InsertValuesProducerPool pool;
+
+  @Before
+  public void setUp() {
+    when(defaultSupplier.getProducer(any())).thenReturn(producer, otherProducer);
+    doReturn(sendResult).when(producer).send(any());
+    when(serviceContext.getKafkaClientSupplier())
+        .thenReturn(configuredSupplier(ImmutableMap.of("sasl.jaas.config", "alice")));
+
+    pool = new InsertValuesProducerPool(10, IDLE_TIMEOUT, ticker);
+  }
+
+  @Test
+  public void shouldReuseProducerForSameConfig() {
+    // When:
+    pool.sendRecord(RECORD, serviceContext, PRODUCER_PROPS);
+    pool.sendRecord(RECORD, serviceContext, PRODUCER_PROPS);
+
+    // Then:
+    verify(defaultSupplier, times(1)).getProducer(any());
+    verify(producer, times(2)).send(RECORD);
+    verify(producer, never()).close(any());
+    assertThat(pool.size(), is(1L));
+  }
+
+  @Test
+  public void shouldNotShareProducersBetweenPrincipals() {
+    // Given:
+    doReturn(sendResult).when(otherProducer).send(any());
+    final ServiceContext bobsContext = mock(ServiceContext.class);
+    when(bobsContext.getKafkaClientSupplier())
+        .thenReturn(configuredSupplier(ImmutableMap.of("sasl.jaas.config", "bob")));
+
+    // When:
+    pool.sendRecord(RECORD, serviceContext, PRODUCER_PROPS);
+    pool.sendRecord(RECORD, bobsContext, PRODUCER_PROPS);
+
+    // Then:
+    verify(producer).send(RECORD);
+    verify(otherProducer).send(RECORD);
+    assertThat(pool.size(), is(2L));
+  }
+
+  @Test
+  public void shouldNotShareProducersBetweenConfigs() {
+    // Given:
+    doReturn(sendResult).when(otherProducer).send(any());
+
+    // When:
+    pool.sendRecord(RECORD, serviceContext, PRODUCER_PROPS);
+    pool.sendRecord(RECORD, serviceContext, ImmutableMap.of("linger.ms", 10));
+
+    // Then:
+    verify(producer).send(RECORD);
+    verify(otherProducer).send(RECORD);
+  }
+
+  @Test
+  public void shouldNotPoolProducersOfOtherClientSuppliers() {
+    // Given:
+    when(serviceContext.getKafkaClientSupplier()).thenReturn(defaultSupplier);
+
+    // When:
+    pool.sendRecord(RECORD, serviceContext, PRODUCER_PROPS);
+
+    // Then:
+    verify(producer).send(RECORD);
+    verify(producer).close(any());
+    assertThat(pool.size(), is(0L));
+  }
+
+  @Test
+  public void shouldCloseIdleProducers() {
+    // Given:
+    pool.sendRecord(RECORD, serviceContext, PRODUCER_PROPS);
+
+    // When:
+    when(ticker.read()).thenReturn(IDLE_TIMEOUT.toNanos() + 1);
+
+    // Then:
+    assertThat(pool.size(), is(0L));
+    verify(producer).close(any());
+  }
+
+  @Test
+  public void shouldCloseProducersOnClose() {
+    // Given:
+    pool.sendRecord(RECORD, serviceContext, PRODUCER_PROPS);
+
+    // When:
+    pool.close();
+
+    // Then:
+    verify(producer).close(any());
+    assertThat(pool.size(), is(0L));
+  }
+
+  @Test
+  public void shouldCreateNewProducerAfterClose() {
+    // Given:
+    doReturn(sendResult).when(otherProducer).send(any());
+    pool.sendRecord(RECORD, serviceContext, PRODUCER_PROPS);
+    pool.close();
+
+    // When:
+    pool.sendRecord(RECORD, serviceContext, PRODUCER_PROPS);
+
+    // Then:
+    verify(otherProducer).send(RECORD);
+    assertThat(pool.size(), is(1L));
+  }
+
+  @Test
+  public void shouldReplaceClosedProducer() {
+    // Given:
+    when(producer.send(any())).thenThrow(new IllegalStateException("closed"));
+    doReturn(sendResult).when(otherProducer).send(any());
+
+    // When:
+    pool.sendRecord(RECORD, serviceContext, PRODUCER_PROPS);
+
+    // Then:
+    verify(producer).close(any());
+    verify(otherProducer).send(RECORD);
+  }
+
+  @Test
+  public void shouldThrowSendErrors() throws Exception {
+    // Given:
+    when(sendResult.get()).thenThrow(new ExecutionException(
+        new TopicAuthorizationException("denied")));
+
+    // When:
+    final Exception e = assertThrows(
+        TopicAuthorizationException.class,
+        () -> pool.sendRecord(RECORD, serviceContext, PRODUCER_PROPS)
+    );
+
+    // Then:
+    assertThat(e.getMessage(), is("denied"));
+  }
+
+  private ConfiguredKafkaClientSupplier configuredSupplier(final Map<String, Object> props) {
+    return new ConfiguredKafkaClientSupplier(defaultSupplier, props);
+  }
+}
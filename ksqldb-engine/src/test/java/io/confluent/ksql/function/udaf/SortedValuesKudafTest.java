@@ -0,0 +1,323 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.function.udaf;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThrows;
+
+import io.confluent.ksql.execution.function.TableAggregationFunction;
+import io.confluent.ksql.execution.function.TableAggregationFunctionProvider;
+import io.confluent.ksql.function.AggregateFunctionInitArguments;
+import io.confluent.ksql.function.KsqlAggregateFunction;
+import io.confluent.ksql.function.udaf.max.MaxAggFunctionFactory;
+import io.confluent.ksql.function.udaf.min.MinAggFunctionFactory;
+import io.confluent.ksql.function.udaf.topk.TopKAggregateFunctionFactory;
+import io.confluent.ksql.function.udaf.topkdistinct.TopkDistinctAggFunctionFactory;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import io.confluent.ksql.util.KsqlConfig;
+import io.confluent.ksql.util.KsqlException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.kafka.connect.data.Struct;
+import org.junit.Test;
+
+@SuppressWarnings("unchecked")
+public class SortedValuesKudafTest {
+
+  private static final int MAX_DISTINCT_VALUES = 1000;
+
+  @Test
+  public void shouldCountDistinctValuesInOrder() {
+    // Given:
+    final TableAggregationFunction<Integer, Struct, Integer> min = tableMin();
+
+    // When:
+    final Struct agg = aggregate(min, 3, 5, null, 8, 2, 5);
+
+    // Then:
+    assertThat(items(agg), contains(2, 3, 5, 8));
+    assertThat(counts(agg), contains(1L, 1L, 2L, 1L));
+    assertThat(min.getResultMapper().apply(agg), is(2));
+  }
+
+  @Test
+  public void shouldKeepLargestFirstForMax() {
+    // Given:
+    final TableAggregationFunction<Integer, Struct, Integer> max = tableMax();
+
+    // When:
+    final Struct agg = aggregate(max, 3, 5, 8, 2);
+
+    // Then:
+    assertThat(items(agg), contains(8, 5, 3, 2));
+    assertThat(max.getResultMapper().apply(agg), is(8));
+  }
+
+  @Test
+  public void shouldUndoCurrentMax() {
+    // Given:
+    final TableAggregationFunction<Integer, Struct, Integer> max = tableMax();
+    final Struct agg = aggregate(max, 2, 3, 8);
+
+    // When:
+    final Struct result = max.undo(8, agg);
+
+    // Then:
+    assertThat(items(result), contains(3, 2));
+    assertThat(max.getResultMapper().apply(result), is(3));
+  }
+
+  @Test
+  public void shouldUndoCurrentMin() {
+    // Given:
+    final TableAggregationFunction<Integer, Struct, Integer> min = tableMin();
+    final Struct agg = aggregate(min, 2, 3, 8);
+
+    // When:
+    final Struct result = min.undo(2, agg);
+
+    // Then:
+    assertThat(items(result), contains(3, 8));
+    assertThat(min.getResultMapper().apply(result), is(3));
+  }
+
+  @Test
+  public void shouldOnlyDecrementCountOfDuplicateValue() {
+    // Given:
+    final TableAggregationFunction<Integer, Struct, Integer> max = tableMax();
+    final Struct agg = aggregate(max, 2, 8, 8);
+
+    // When:
+    final Struct result = max.undo(8, agg);
+
+    // Then:
+    assertThat(items(result), contains(8, 2));
+    assertThat(counts(result), contains(1L, 1L));
+    assertThat(max.getResultMapper().apply(result), is(8));
+  }
+
+  @Test
+  public void shouldIgnoreUndoOfUnknownValue() {
+    // Given:
+    final TableAggregationFunction<Integer, Struct, Integer> max = tableMax();
+    final Struct agg = aggregate(max, 2, 8);
+
+    // When:
+    final Struct result = max.undo(5, agg);
+
+    // Then:
+    assertThat(items(result), contains(8, 2));
+  }
+
+  @Test
+  public void shouldReturnNullResultOnceAllValuesUndone() {
+    // Given:
+    final TableAggregationFunction<Integer, Struct, Integer> max = tableMax();
+    final Struct agg = aggregate(max, 8);
+
+    // When:
+    final Struct result = max.undo(8, agg);
+
+    // Then:
+    assertThat(items(result), is(empty()));
+    assertThat(max.getResultMapper().apply(result), is(nullValue()));
+  }
+
+  @Test
+  public void shouldCountDuplicatesOfValuesOnceAtLimit() {
+    // Given:
+    final SortedValuesKudaf<Integer, Integer> min = tableMinWithLimit(2);
+
+    // When:
+    final Struct agg = aggregate(min, 5, 3, 5, 3);
+
+    // Then:
+    assertThat(items(agg), contains(3, 5));
+    assertThat(counts(agg), contains(2L, 2L));
+  }
+
+  @Test
+  public void shouldThrowIfDistinctValuesExceedLimit() {
+    // Given:
+    final SortedValuesKudaf<Integer, Integer> min = tableMinWithLimit(2);
+    final Struct agg = aggregate(min, 5, 3);
+
+    // When:
+    final Exception e = assertThrows(
+        KsqlException.class,
+        () -> min.aggregate(1, agg)
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString(
+        "can not track more than 2 distinct values per group"));
+    assertThat(e.getMessage(), containsString(
+        KsqlConfig.KSQL_QUERY_TABLE_AGGREGATE_MAX_DISTINCT_VALUES_CONFIG));
+  }
+
+  @Test
+  public void shouldAcceptNewValueOnceValueUndoneAtLimit() {
+    // Given:
+    final SortedValuesKudaf<Integer, Integer> min = tableMinWithLimit(2);
+    final Struct agg = min.undo(3, aggregate(min, 5, 3));
+
+    // When:
+    final Struct result = min.aggregate(9, agg);
+
+    // Then:
+    assertThat(items(result), contains(5, 9));
+    assertThat(min.getResultMapper().apply(result), is(5));
+  }
+
+  @Test
+  public void shouldThrowIfMergedDistinctValuesExceedLimit() {
+    // Given:
+    final SortedValuesKudaf<Integer, Integer> min = tableMinWithLimit(2);
+    final Struct aggOne = aggregate(min, 1, 4);
+    final Struct aggTwo = aggregate(min, 4, 9);
+
+    // When:
+    assertThrows(
+        KsqlException.class,
+        () -> min.getMerger().apply(null, aggOne, aggTwo)
+    );
+  }
+
+  @Test
+  public void shouldMergeCountsOfSameValues() {
+    // Given:
+    final TableAggregationFunction<Integer, Struct, Integer> min = tableMin();
+    final Struct aggOne = aggregate(min, 1, 4, 9);
+    final Struct aggTwo = aggregate(min, 2, 4, 4, 10);
+
+    // When:
+    final Struct merged = min.getMerger().apply(null, aggOne, aggTwo);
+
+    // Then:
+    assertThat(items(merged), contains(1, 2, 4, 9, 10));
+    assertThat(counts(merged), contains(1L, 1L, 3L, 1L, 1L));
+  }
+
+  @Test
+  public void shouldComputeTopkFromCountedValues() {
+    // Given:
+    final TableAggregationFunction<Integer, Struct, List<Integer>> topk =
+        tableFunction(new TopKAggregateFunctionFactory().createAggregateFunction(
+            Collections.singletonList(SqlTypes.INTEGER),
+            new AggregateFunctionInitArguments(0, 3)
+        ));
+
+    final Struct agg = aggregate(topk, 1, 4, 4, 9, 10);
+
+    // When:
+    final List<Integer> result = topk.getResultMapper().apply(topk.undo(10, agg));
+
+    // Then:
+    assertThat(result, contains(9, 4, 4));
+  }
+
+  @Test
+  public void shouldComputeTopkDistinctFromCountedValues() {
+    // Given:
+    final TableAggregationFunction<Integer, Struct, List<Integer>> topk =
+        tableFunction(new TopkDistinctAggFunctionFactory().createAggregateFunction(
+            Collections.singletonList(SqlTypes.INTEGER),
+            new AggregateFunctionInitArguments(0, 3)
+        ));
+
+    final Struct agg = aggregate(topk, 1, 4, 4, 9, 10);
+
+    // When:
+    final List<Integer> result = topk.getResultMapper().apply(topk.undo(10, agg));
+
+    // Then:
+    assertThat(result, contains(9, 4, 1));
+  }
+
+  @Test
+  public void shouldHaveStructAggregateTypeAndOriginalReturnType() {
+    // When:
+    final TableAggregationFunction<Integer, Struct, Integer> max = tableMax();
+
+    // Then:
+    assertThat(max.getAggregateType(), is(SqlTypes.struct()
+        .field("ITEMS", SqlTypes.array(SqlTypes.INTEGER))
+        .field("COUNTS", SqlTypes.array(SqlTypes.BIGINT))
+        .build()));
+    assertThat(max.returnType(), is(SqlTypes.INTEGER));
+  }
+
+  private static <O> Struct aggregate(
+      final TableAggregationFunction<Integer, Struct, O> function,
+      final Integer... values
+  ) {
+    Struct agg = function.getInitialValueSupplier().get();
+    for (final Integer value : Arrays.asList(values)) {
+      agg = function.aggregate(value, agg);
+    }
+    return agg;
+  }
+
+  private static List<Integer> items(final Struct agg) {
+    return agg.getArray(SortedValuesKudaf.ITEMS);
+  }
+
+  private static List<Long> counts(final Struct agg) {
+    return agg.getArray(SortedValuesKudaf.COUNTS);
+  }
+
+  private static TableAggregationFunction<Integer, Struct, Integer> tableMax() {
+    return tableFunction(new MaxAggFunctionFactory().createAggregateFunction(
+        Collections.singletonList(SqlTypes.INTEGER),
+        AggregateFunctionInitArguments.EMPTY_ARGS
+    ));
+  }
+
+  private static TableAggregationFunction<Integer, Struct, Integer> tableMin() {
+    return tableFunction(minFunction());
+  }
+
+  private static SortedValuesKudaf<Integer, Integer> tableMinWithLimit(final int limit) {
+    return SortedValuesKudaf.of(
+        (KsqlAggregateFunction<Integer, ?, Integer>) minFunction(),
+        SqlTypes.INTEGER,
+        Integer::compare,
+        limit,
+        (items, counts) -> items.isEmpty() ? null : items.get(0)
+    );
+  }
+
+  private static Object minFunction() {
+    return new MinAggFunctionFactory().createAggregateFunction(
+        Collections.singletonList(SqlTypes.INTEGER),
+        AggregateFunctionInitArguments.EMPTY_ARGS
+    );
+  }
+
+  private static <O> TableAggregationFunction<Integer, Struct, O> tableFunction(
+      final Object function
+  ) {
+    return (TableAggregationFunction<Integer, Struct, O>)
+        ((TableAggregationFunctionProvider<Integer, O>) function).getTableAggregationFunction(
+            MAX_DISTINCT_VALUES);
+  }
+}
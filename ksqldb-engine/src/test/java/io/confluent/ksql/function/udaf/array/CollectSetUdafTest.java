@@ -21,8 +21,13 @@ import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.not;
 
+import io.confluent.ksql.execution.function.TableAggregationFunction;
+import io.confluent.ksql.function.UdafTableVariantAggregateFunction;
 import io.confluent.ksql.function.udaf.Udaf;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import org.junit.Test;
 
 public class CollectSetUdafTest {
@@ -73,4 +78,37 @@ public class CollectSetUdafTest {
     assertThat(runningList, not(hasItem(1001)));
   }
 
+  @SuppressWarnings("unchecked")
+  @Test
+  public void shouldOnlyRemoveValueOnceAllOccurrencesUndoneOnTable() {
+    // Given:
+    final TableAggregationFunction<Integer, Object, List<Integer>> function =
+        (TableAggregationFunction<Integer, Object, List<Integer>>)
+            new UdafTableVariantAggregateFunction<>(
+                "COLLECT_SET",
+                0,
+                CollectSetUdaf.createCollectSetInt(),
+                SqlTypes.array(SqlTypes.INTEGER),
+                SqlTypes.array(SqlTypes.INTEGER),
+                Collections.emptyList(),
+                "",
+                Optional.empty(),
+                "createCollectSetInt"
+            ).getTableAggregationFunction(1000);
+
+    Object agg = function.getInitialValueSupplier().get();
+    for (final Integer i : new Integer[] {5, 3, 5}) {
+      agg = function.aggregate(i, agg);
+    }
+
+    // When:
+    agg = function.undo(5, agg);
+    final List<Integer> afterFirstUndo = function.getResultMapper().apply(agg);
+    agg = function.undo(5, agg);
+    final List<Integer> afterSecondUndo = function.getResultMapper().apply(agg);
+
+    // Then:
+    assertThat(afterFirstUndo, contains(3, 5));
+    assertThat(afterSecondUndo, contains(3));
+  }
 }
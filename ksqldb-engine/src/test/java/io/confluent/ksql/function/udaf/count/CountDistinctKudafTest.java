@@ -16,10 +16,17 @@
 package io.confluent.ksql.function.udaf.count;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThrows;
 
+import com.clearspring.analytics.stream.cardinality.HyperLogLog;
+import com.clearspring.analytics.stream.cardinality.RegisterSet;
 import com.google.common.primitives.Ints;
 import io.confluent.ksql.function.udaf.Udaf;
+import io.confluent.ksql.util.KsqlException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -105,4 +112,83 @@ public class CountDistinctKudafTest {
     assertThat(udaf.map(udaf.merge(agg1, agg2)), is(5L));
   }
 
-}
\ No newline at end of file
+  @Test
+  public void shouldUpdateAggregateInPlace() {
+    // Given:
+    final Udaf<String, List<Integer>, Long> udaf = CountDistinct.distinct();
+    final List<Integer> agg = udaf.initialize();
+
+    // When:
+    final List<Integer> result = udaf.aggregate("a", agg);
+
+    // Then:
+    assertThat(result, is(sameInstance(agg)));
+    assertThat(udaf.map(result), is(1L));
+  }
+
+  @Test
+  public void shouldUpdateDeserializedAggregateInPlace() {
+    // Given:
+    final Udaf<String, List<Integer>, Long> udaf = CountDistinct.distinct();
+    final List<Integer> agg = new ArrayList<>(udaf.initialize());
+
+    // When:
+    final List<Integer> result = udaf.aggregate("a", agg);
+
+    // Then:
+    assertThat(result, is(sameInstance(agg)));
+    assertThat(udaf.map(result), is(1L));
+  }
+
+  @SuppressWarnings("deprecation")
+  @Test
+  public void shouldBeCompatibleWithRegisterSetAggregates() {
+    // Given:
+    final Udaf<String, List<Integer>, Long> udaf = CountDistinct.distinct();
+    final RegisterSet registerSet = new RegisterSet(1 << 14);
+    final HyperLogLog hll = new HyperLogLog(14, registerSet);
+    List<Integer> agg = new ArrayList<>(udaf.initialize());
+
+    // When:
+    for (int i = 0; i < 1000; i++) {
+      hll.offer(String.valueOf(i));
+      agg = udaf.aggregate(String.valueOf(i), new ArrayList<>(agg));
+    }
+
+    // Then:
+    assertThat(agg, is(Ints.asList(registerSet.bits())));
+    assertThat(udaf.map(agg), is(hll.cardinality()));
+  }
+
+  @Test
+  public void shouldSupportOtherPrecisions() {
+    // Given:
+    final Udaf<Integer, List<Integer>, Long> udaf = CountDistinct.countDistinct(10);
+    List<Integer> agg = udaf.initialize();
+
+    // When:
+    for (int i = 0; i < 100; i++) {
+      agg = udaf.aggregate(i % 10, agg);
+    }
+
+    // Then:
+    assertThat(agg.size(), is(RegisterSet.getSizeForCount(1 << 10)));
+    assertThat(udaf.map(new ArrayList<>(agg)), is(10L));
+  }
+
+  @Test
+  public void shouldThrowOnMergeOfDifferentPrecisions() {
+    // Given:
+    final Udaf<String, List<Integer>, Long> udaf10 = CountDistinct.countDistinct(10);
+    final Udaf<String, List<Integer>, Long> udaf14 = CountDistinct.distinct();
+
+    // When:
+    final Exception e = assertThrows(
+        KsqlException.class,
+        () -> udaf14.merge(udaf14.initialize(), udaf10.initialize())
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString("different precisions: 14 and 10"));
+  }
+}
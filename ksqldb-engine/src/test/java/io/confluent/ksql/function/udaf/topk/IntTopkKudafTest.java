@@ -124,6 +124,30 @@ public class IntTopkKudafTest {
     assertThat(combined.get(2), is(298));
   }
 
+  @SuppressWarnings("unchecked")
+  @Test
+  public void shouldKeepAggregateSortedIncludingDuplicates() {
+    // Given:
+    topkKudaf = new TopKAggregateFunctionFactory()
+        .createAggregateFunction(Collections.singletonList(SqlTypes.INTEGER),
+            createArgs(20));
+    final List<Integer> values = IntStream.range(0, 1000)
+        .mapToObj(i -> (i * 7919) % 101)
+        .collect(Collectors.toList());
+
+    // When:
+    List<Integer> aggregate = new ArrayList<>();
+    for (final Integer value : values) {
+      aggregate = topkKudaf.aggregate(value, aggregate);
+    }
+
+    // Then:
+    assertThat(aggregate, equalTo(values.stream()
+        .sorted(Comparator.reverseOrder())
+        .limit(20)
+        .collect(Collectors.toList())));
+  }
+
   @SuppressWarnings("unchecked")
   @Test
   public void shouldBeThreadSafe() {
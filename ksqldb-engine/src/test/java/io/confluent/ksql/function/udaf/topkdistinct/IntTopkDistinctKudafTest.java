@@ -128,6 +128,27 @@ public class IntTopkDistinctKudafTest {
   }
 
   @SuppressWarnings("unchecked")
+  @Test
+  public void shouldKeepAggregateSortedAndDistinct() {
+    // Given:
+    final TopkDistinctKudaf<Integer> topkDistinctKudaf =
+        TopKDistinctTestUtils.getTopKDistinctKudaf(20, SqlTypes.INTEGER);
+    final List<Integer> values = IntStream.range(0, 1000)
+        .mapToObj(i -> (i * 7919) % 101)
+        .collect(Collectors.toList());
+
+    // When:
+    List<Integer> aggregate = new ArrayList<>();
+    for (final Integer value : values) {
+      aggregate = topkDistinctKudaf.aggregate(value, aggregate);
+    }
+
+    // Then:
+    assertThat(aggregate, equalTo(IntStream.range(0, 20)
+        .mapToObj(i -> 100 - i)
+        .collect(Collectors.toList())));
+  }
+
   //@Test
   public void testAggregatePerformance() {
     final int iterations = 1_000_000_000;
@@ -100,5 +100,17 @@ public class JsonArrayContainsTest
         assertEquals(false, jsonUdf.contains("[false, false]", true));
     }
 
+    @Test
+    public void shouldFindValuesInArraySharedWithExtractJsonField() {
+        final String json = new String("[{\"ab\":null}, 1, 2.5, \"abc\", [4], true]");
+        assertEquals("[4]", new JsonExtractStringKudf().evaluate(json, "$.4"));
+        assertEquals(true, jsonUdf.contains(json, 1));
+        assertEquals(true, jsonUdf.contains(json, 2.5));
+        assertEquals(true, jsonUdf.contains(json, "abc"));
+        assertEquals(true, jsonUdf.contains(json, true));
+        assertEquals(false, jsonUdf.contains(json, 4));
+        assertEquals(false, jsonUdf.contains(json, null));
+    }
+
 //
 }
\ No newline at end of file
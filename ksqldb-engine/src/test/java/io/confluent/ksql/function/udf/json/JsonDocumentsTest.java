@@ -0,0 +1,91 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.function.udf.json;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.Optional;
+import org.junit.Test;
+
+public class JsonDocumentsTest {
+
+  private static final String JSON_DOC = "{\"thing1\":{\"thing2\":\"hello\"}}";
+
+  @Test
+  public void shouldNotShareTreeOnFirstCall() {
+    // When:
+    final Optional<JsonNode> result = JsonDocuments.sharedTree(new String(JSON_DOC));
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldShareTreeOnLaterCallsWithSameDocument() {
+    // Given:
+    final String doc = new String(JSON_DOC);
+    JsonDocuments.sharedTree(doc);
+
+    // When:
+    final Optional<JsonNode> second = JsonDocuments.sharedTree(doc);
+    final Optional<JsonNode> third = JsonDocuments.sharedTree(doc);
+
+    // Then:
+    assertThat(second.map(tree -> tree.get("thing1").get("thing2").asText()),
+        is(Optional.of("hello")));
+    assertThat(third.get(), is(sameInstance(second.get())));
+  }
+
+  @Test
+  public void shouldNotShareTreeOfEqualButDifferentDocument() {
+    // Given:
+    JsonDocuments.sharedTree(new String(JSON_DOC));
+
+    // When:
+    final Optional<JsonNode> result = JsonDocuments.sharedTree(new String(JSON_DOC));
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldNotShareTreeOfInvalidDocument() {
+    // Given:
+    final String doc = new String("this is NOT a JSON doc");
+    JsonDocuments.sharedTree(doc);
+
+    // When:
+    final Optional<JsonNode> result = JsonDocuments.sharedTree(doc);
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldNotShareTreeOfNullDocument() {
+    // Given:
+    JsonDocuments.sharedTree(null);
+
+    // When:
+    final Optional<JsonNode> result = JsonDocuments.sharedTree(null);
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+  }
+}
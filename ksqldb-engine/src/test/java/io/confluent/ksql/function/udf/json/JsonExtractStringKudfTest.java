@@ -82,6 +82,51 @@ public class JsonExtractStringKudfTest {
     assertThat(result, is("102"));
   }
 
+  @Test
+  public void shouldReturnNullIfArrayIndexIsNotANumber() {
+    // When:
+    final Object result = udf.evaluate(JSON_DOC, "$.array.first");
+
+    // Then:
+    assertThat(result, is(nullValue()));
+  }
+
+  @Test
+  public void shouldReturnNullIfPathGoesThroughScalar() {
+    // When:
+    final Object result = udf.evaluate(JSON_DOC, "$.thing1.thing2.thing3");
+
+    // Then:
+    assertThat(result, is(nullValue()));
+  }
+
+  @Test
+  public void shouldStopParsingOnceFieldIsExtracted() {
+    // When:
+    final Object result = udf.evaluate("{\"thing1\":\"hello\", this is NOT JSON", "$.thing1");
+
+    // Then:
+    assertThat(result, is("hello"));
+  }
+
+  @Test
+  public void shouldExtractSameFieldsFromSharedTree() {
+    // Given:
+    final String doc = new String(JSON_DOC);
+    final JsonExtractStringKudf other = new JsonExtractStringKudf();
+    final JsonExtractStringKudf array = new JsonExtractStringKudf();
+
+    // When:
+    final Object streamed = udf.evaluate(doc, "$.thing1.thing2");
+    final Object shared = other.evaluate(doc, "$.thing1.thing2");
+    final Object sharedArray = array.evaluate(doc, "$.array.1");
+
+    // Then:
+    assertThat(streamed, is("hello"));
+    assertThat(shared, is("hello"));
+    assertThat(sharedArray, is("102"));
+  }
+
   @Test
   public void shouldReturnNullIfNodeNotFound() {
     // When:
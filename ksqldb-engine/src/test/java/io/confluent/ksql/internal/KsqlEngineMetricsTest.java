@@ -31,9 +31,11 @@ import io.confluent.ksql.engine.KsqlEngine;
 import io.confluent.ksql.metrics.ConsumerCollector;
 import io.confluent.ksql.metrics.MetricCollectors;
 import io.confluent.ksql.metrics.ProducerCollector;
+import io.confluent.ksql.query.BlockingRowQueue;
 import io.confluent.ksql.util.PersistentQueryMetadata;
 import io.confluent.ksql.util.QueryMetadata;
 import io.confluent.ksql.util.ReservedInternalTopics;
+import io.confluent.ksql.util.TransientQueryMetadata;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -279,6 +281,20 @@ public class KsqlEngineMetricsTest {
     verify(query1).registerQueryStateListener(any());
   }
 
+  @Test
+  public void shouldRegisterQueueMetricsOfTransientQueries() {
+    // Given:
+    final TransientQueryMetadata transientQuery = mock(TransientQueryMetadata.class);
+    when(transientQuery.getQueryApplicationId()).thenReturn("transient-app-id");
+    when(transientQuery.getRowQueue()).thenReturn(mock(BlockingRowQueue.class));
+
+    // When:
+    engineMetrics.registerQuery(transientQuery);
+
+    // Then:
+    verify(transientQuery).registerQueueMetrics(any());
+  }
+
   private double getMetricValue(final String metricName) {
     final Metrics metrics = engineMetrics.getMetrics();
     return Double.valueOf(
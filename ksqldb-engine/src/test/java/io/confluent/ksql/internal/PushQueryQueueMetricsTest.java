@@ -0,0 +1,123 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableMap;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.metrics.Gauge;
+import org.apache.kafka.common.metrics.Metrics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PushQueryQueueMetricsTest {
+
+  private static final MetricName QUEUE_DEPTH =
+      new MetricName("push-query-queue-depth", "g1", "d1", ImmutableMap.of());
+  private static final MetricName DROPPED_ROWS =
+      new MetricName("push-query-dropped-rows", "g1", "d2", ImmutableMap.of());
+
+  @Mock
+  private Metrics metrics;
+  @Captor
+  private ArgumentCaptor<Gauge<Integer>> queueDepthCaptor;
+  @Captor
+  private ArgumentCaptor<Gauge<Long>> droppedRowsCaptor;
+  private int queueDepth;
+  private long droppedRows;
+  private PushQueryQueueMetrics queueMetrics;
+
+  @Before
+  public void setUp() {
+    when(metrics.metricName(eq("push-query-queue-depth"), any(), any(), anyMap()))
+        .thenReturn(QUEUE_DEPTH);
+    when(metrics.metricName(eq("push-query-dropped-rows"), any(), any(), anyMap()))
+        .thenReturn(DROPPED_ROWS);
+
+    queueMetrics = new PushQueryQueueMetrics(
+        metrics,
+        "some-prefix-",
+        "app-id",
+        () -> queueDepth,
+        () -> droppedRows
+    );
+  }
+
+  @Test
+  public void shouldAddMetricsOnCreation() {
+    // When:
+    // Metrics created in setup
+
+    // Then:
+    verify(metrics).metricName(
+        eq("push-query-queue-depth"),
+        eq("some-prefix-ksql-queries"),
+        any(),
+        eq(ImmutableMap.of("query-application-id", "app-id")));
+    verify(metrics).metricName(
+        eq("push-query-dropped-rows"),
+        eq("some-prefix-ksql-queries"),
+        any(),
+        eq(ImmutableMap.of("query-application-id", "app-id")));
+  }
+
+  @Test
+  public void shouldReportQueueDepth() {
+    // Given:
+    verify(metrics).addMetric(eq(QUEUE_DEPTH), queueDepthCaptor.capture());
+
+    // When:
+    queueDepth = 10;
+
+    // Then:
+    assertThat(queueDepthCaptor.getValue().value(null, 0L), is(10));
+  }
+
+  @Test
+  public void shouldReportDroppedRows() {
+    // Given:
+    verify(metrics).addMetric(eq(DROPPED_ROWS), droppedRowsCaptor.capture());
+
+    // When:
+    droppedRows = 3L;
+
+    // Then:
+    assertThat(droppedRowsCaptor.getValue().value(null, 0L), is(3L));
+  }
+
+  @Test
+  public void shouldRemoveMetricsOnClose() {
+    // When:
+    queueMetrics.close();
+
+    // Then:
+    verify(metrics).removeMetric(QUEUE_DEPTH);
+    verify(metrics).removeMetric(DROPPED_ROWS);
+  }
+}
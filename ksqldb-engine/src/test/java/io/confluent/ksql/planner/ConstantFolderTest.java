@@ -0,0 +1,127 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.planner;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import io.confluent.ksql.execution.expression.tree.ArithmeticBinaryExpression;
+import io.confluent.ksql.execution.expression.tree.BooleanLiteral;
+import io.confluent.ksql.execution.expression.tree.ComparisonExpression;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.IntegerLiteral;
+import io.confluent.ksql.execution.expression.tree.LogicalBinaryExpression;
+import io.confluent.ksql.execution.expression.tree.LongLiteral;
+import io.confluent.ksql.execution.expression.tree.NotExpression;
+import io.confluent.ksql.execution.expression.tree.StringLiteral;
+import io.confluent.ksql.execution.expression.tree.UnqualifiedColumnReferenceExp;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.schema.Operator;
+import org.junit.Test;
+
+public class ConstantFolderTest {
+
+  private static final Expression COL0 = new UnqualifiedColumnReferenceExp(ColumnName.of("COL0"));
+  private static final Expression TRUE = new BooleanLiteral("true");
+  private static final Expression FALSE = new BooleanLiteral("false");
+
+  @Test
+  public void shouldFoldArithmeticOfLiterals() {
+    // Given:
+    final Expression expression = new ArithmeticBinaryExpression(
+        Operator.MULTIPLY,
+        new ArithmeticBinaryExpression(Operator.ADD, new LongLiteral(1), new LongLiteral(2)),
+        new LongLiteral(3)
+    );
+
+    // When:
+    final Expression result = ConstantFolder.fold(expression);
+
+    // Then:
+    assertThat(result, is(new LongLiteral(9)));
+  }
+
+  @Test
+  public void shouldNotFoldDivision() {
+    // Given:
+    final Expression expression = new ArithmeticBinaryExpression(
+        Operator.DIVIDE, new IntegerLiteral(1), new IntegerLiteral(0));
+
+    // When:
+    final Expression result = ConstantFolder.fold(expression);
+
+    // Then:
+    assertThat(result, is(expression));
+  }
+
+  @Test
+  public void shouldNotFoldLiteralsOfDifferentTypes() {
+    // Given:
+    final Expression expression = new ArithmeticBinaryExpression(
+        Operator.ADD, new IntegerLiteral(1), new LongLiteral(2));
+
+    // When:
+    final Expression result = ConstantFolder.fold(expression);
+
+    // Then:
+    assertThat(result, is(expression));
+  }
+
+  @Test
+  public void shouldFoldComparisonOfLiterals() {
+    // Given:
+    final Expression expression = new ComparisonExpression(
+        ComparisonExpression.Type.LESS_THAN, new StringLiteral("a"), new StringLiteral("b"));
+
+    // When:
+    final Expression result = ConstantFolder.fold(expression);
+
+    // Then:
+    assertThat(result, is(TRUE));
+  }
+
+  @Test
+  public void shouldFoldLogicalExpressionsWithLiteralOperands() {
+    // Given:
+    final Expression colCheck = new ComparisonExpression(
+        ComparisonExpression.Type.EQUAL, COL0, new IntegerLiteral(1));
+
+    // Then:
+    assertThat(ConstantFolder.fold(LogicalBinaryExpression.and(TRUE, colCheck)), is(colCheck));
+    assertThat(ConstantFolder.fold(LogicalBinaryExpression.and(colCheck, FALSE)), is(FALSE));
+    assertThat(ConstantFolder.fold(LogicalBinaryExpression.or(colCheck, TRUE)), is(TRUE));
+    assertThat(ConstantFolder.fold(LogicalBinaryExpression.or(FALSE, colCheck)), is(colCheck));
+    assertThat(ConstantFolder.fold(new NotExpression(FALSE)), is(TRUE));
+  }
+
+  @Test
+  public void shouldFoldSubExpressions() {
+    // Given:
+    final Expression expression = new ComparisonExpression(
+        ComparisonExpression.Type.GREATER_THAN,
+        COL0,
+        new ArithmeticBinaryExpression(
+            Operator.SUBTRACT, new IntegerLiteral(10), new IntegerLiteral(4))
+    );
+
+    // When:
+    final Expression result = ConstantFolder.fold(expression);
+
+    // Then:
+    assertThat(result, is(new ComparisonExpression(
+        ComparisonExpression.Type.GREATER_THAN, COL0, new IntegerLiteral(6))));
+  }
+}
@@ -20,8 +20,10 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.is;
 
+import com.google.common.collect.ImmutableMap;
 import io.confluent.ksql.execution.expression.tree.ComparisonExpression;
 import io.confluent.ksql.execution.expression.tree.ComparisonExpression.Type;
 import io.confluent.ksql.execution.expression.tree.UnqualifiedColumnReferenceExp;
@@ -38,12 +40,15 @@ import io.confluent.ksql.planner.plan.JoinNode;
 import io.confluent.ksql.planner.plan.PlanNode;
 import io.confluent.ksql.planner.plan.ProjectNode;
 import io.confluent.ksql.planner.plan.RepartitionNode;
+import io.confluent.ksql.schema.ksql.Column;
 import io.confluent.ksql.schema.ksql.types.SqlTypes;
 import io.confluent.ksql.testutils.AnalysisTestUtil;
 import io.confluent.ksql.util.KsqlConfig;
 import io.confluent.ksql.util.MetaStoreFixture;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -350,6 +355,216 @@ public class LogicalPlannerTest {
     assertThat(source.getKeyField().ref(), is(Optional.of(ColumnName.of("NEW_KEY"))));
   }
 
+  @Test
+  public void shouldPushDownSingleSourcePredicatesBelowInnerJoin() {
+    // Given:
+    givenPlanOptimizerEnabled();
+    final String simpleQuery = "SELECT t1.col1, t2.col1 FROM test1 t1 JOIN test2 t2 ON "
+        + "t1.col0 = t2.col0 WHERE t1.col3 > 10.8 AND t2.col2 = 'foo' EMIT CHANGES;";
+
+    // When:
+    final PlanNode logicalPlan = buildLogicalPlan(simpleQuery);
+
+    // Then:
+    final PlanNode joinNode = logicalPlan.getSources().get(0).getSources().get(0);
+    assertThat(joinNode, instanceOf(JoinNode.class));
+
+    final FilterNode leftFilter = (FilterNode) joinNode.getSources().get(0)
+        .getSources().get(0)
+        .getSources().get(0);
+    assertThat(leftFilter.getId().toString(), is("PushDownFilterLeft"));
+    assertThat(leftFilter.getPredicate().toString(), is("(COL3 > 10.8)"));
+    assertThat(leftFilter.getSources().get(0), instanceOf(DataSourceNode.class));
+
+    final FilterNode rightFilter = (FilterNode) joinNode.getSources().get(1)
+        .getSources().get(0)
+        .getSources().get(0);
+    assertThat(rightFilter.getId().toString(), is("PushDownFilterRight"));
+    assertThat(rightFilter.getPredicate().toString(), is("(COL2 = 'foo')"));
+    assertThat(rightFilter.getSources().get(0), instanceOf(DataSourceNode.class));
+  }
+
+  @Test
+  public void shouldNotPushDownPredicatesOnNullPaddedSideOfLeftJoin() {
+    // Given:
+    givenPlanOptimizerEnabled();
+    final String simpleQuery = "SELECT t1.col1, t2.col1 FROM test1 t1 LEFT JOIN test2 t2 ON "
+        + "t1.col0 = t2.col0 WHERE t1.col3 > 10.8 AND t2.col2 = 'foo' EMIT CHANGES;";
+
+    // When:
+    final PlanNode logicalPlan = buildLogicalPlan(simpleQuery);
+
+    // Then:
+    final FilterNode filterNode = (FilterNode) logicalPlan.getSources().get(0)
+        .getSources().get(0);
+    assertThat(filterNode.getId().toString(), is("OptimizedWhereFilter"));
+    assertThat(filterNode.getPredicate().toString(), is("(T2_COL2 = 'foo')"));
+
+    final JoinNode joinNode = (JoinNode) filterNode.getSources().get(0);
+    final PlanNode leftSource = joinNode.getSources().get(0)
+        .getSources().get(0)
+        .getSources().get(0);
+    assertThat(leftSource, instanceOf(FilterNode.class));
+    final PlanNode rightSource = joinNode.getSources().get(1)
+        .getSources().get(0)
+        .getSources().get(0);
+    assertThat(rightSource, instanceOf(DataSourceNode.class));
+  }
+
+  @Test
+  public void shouldNotPushDownPredicatesReferencingBothSources() {
+    // Given:
+    givenPlanOptimizerEnabled();
+    final String simpleQuery = "SELECT t1.col1, t2.col1 FROM test1 t1 JOIN test2 t2 ON "
+        + "t1.col0 = t2.col0 WHERE t1.col1 = t2.col1 EMIT CHANGES;";
+
+    // When:
+    final PlanNode logicalPlan = buildLogicalPlan(simpleQuery);
+
+    // Then:
+    final FilterNode filterNode = (FilterNode) logicalPlan.getSources().get(0)
+        .getSources().get(0);
+    assertThat(filterNode.getId().toString(), is("WhereFilter"));
+    assertThat(filterNode.getPredicate().toString(), is("(T1_COL1 = T2_COL1)"));
+  }
+
+  @Test
+  public void shouldFoldConstantsInWhereClause() {
+    // Given:
+    givenPlanOptimizerEnabled();
+
+    // When:
+    final PlanNode logicalPlan = buildLogicalPlan(
+        "SELECT col0 FROM test1 WHERE col0 > 100 + 1 AND 1 = 1 EMIT CHANGES;");
+
+    // Then:
+    final FilterNode filterNode = (FilterNode) logicalPlan.getSources().get(0)
+        .getSources().get(0);
+    assertThat(filterNode.getId().toString(), is("OptimizedWhereFilter"));
+    assertThat(filterNode.getPredicate().toString(), is("(COL0 > 101)"));
+  }
+
+  @Test
+  public void shouldRemoveWhereClauseThatFoldsToTrue() {
+    // Given:
+    givenPlanOptimizerEnabled();
+
+    // When:
+    final PlanNode logicalPlan = buildLogicalPlan(
+        "SELECT col0 FROM test1 WHERE 1 < 2 EMIT CHANGES;");
+
+    // Then:
+    assertThat(logicalPlan.getSources().get(0).getSources().get(0),
+        instanceOf(DataSourceNode.class));
+  }
+
+  @Test
+  public void shouldPruneUnreferencedColumnsOfJoinSources() {
+    // Given:
+    givenColumnPruningEnabled();
+    final String simpleQuery = "SELECT t1.col1, t2.col1 FROM test1 t1 JOIN test2 t2 ON "
+        + "t1.col0 = t2.col0 WHERE t1.col3 > 10.8 EMIT CHANGES;";
+
+    // When:
+    final PlanNode logicalPlan = buildLogicalPlan(simpleQuery);
+
+    // Then:
+    final JoinNode joinNode = (JoinNode) logicalPlan.getSources().get(0)
+        .getSources().get(0)
+        .getSources().get(0);
+
+    final PlanNode leftPrune = joinNode.getSources().get(0)
+        .getSources().get(0)
+        .getSources().get(0);
+    assertThat(leftPrune, instanceOf(ProjectNode.class));
+    assertThat(leftPrune.getId().toString(), is("PruneColumnsLeft"));
+    assertThat(leftPrune.getSources().get(0), instanceOf(DataSourceNode.class));
+    assertThat(valueColumnNames(leftPrune), containsInAnyOrder(
+        "COL0", "COL1", "COL3", "ROWTIME", "ROWKEY"));
+
+    final PlanNode rightPrune = joinNode.getSources().get(1)
+        .getSources().get(0)
+        .getSources().get(0);
+    assertThat(rightPrune.getId().toString(), is("PruneColumnsRight"));
+    assertThat(valueColumnNames(rightPrune), containsInAnyOrder(
+        "COL0", "COL1", "ROWTIME", "ROWKEY"));
+  }
+
+  @Test
+  public void shouldNotPruneColumnsOfJoinSourceWhenAllColumnsSelected() {
+    // Given:
+    givenColumnPruningEnabled();
+    final String simpleQuery = "SELECT t1.*, t2.col1 FROM test1 t1 JOIN test2 t2 ON "
+        + "t1.col0 = t2.col0 EMIT CHANGES;";
+
+    // When:
+    final PlanNode logicalPlan = buildLogicalPlan(simpleQuery);
+
+    // Then:
+    final JoinNode joinNode = (JoinNode) logicalPlan.getSources().get(0)
+        .getSources().get(0);
+
+    assertThat(joinNode.getSources().get(0).getSources().get(0).getSources().get(0),
+        instanceOf(DataSourceNode.class));
+    assertThat(joinNode.getSources().get(1).getSources().get(0).getSources().get(0).getId()
+        .toString(), is("PruneColumnsRight"));
+  }
+
+  @Test
+  public void shouldPruneUnreferencedColumnsBeforePartitionBy() {
+    // Given:
+    givenColumnPruningEnabled();
+    final String simpleQuery = "SELECT col0, col2 FROM test1 WHERE col3 > 10.8 "
+        + "PARTITION BY col1 EMIT CHANGES;";
+
+    // When:
+    final PlanNode logicalPlan = buildLogicalPlan(simpleQuery);
+
+    // Then:
+    final PlanNode repartition = logicalPlan.getSources().get(0)
+        .getSources().get(0);
+    assertThat(repartition, instanceOf(RepartitionNode.class));
+
+    final PlanNode prune = repartition.getSources().get(0);
+    assertThat(prune.getId().toString(), is("PruneColumns"));
+    assertThat(prune.getSources().get(0), instanceOf(FilterNode.class));
+    assertThat(valueColumnNames(prune), containsInAnyOrder(
+        "COL0", "COL1", "COL2", "COL3", "ROWTIME", "ROWKEY"));
+  }
+
+  @Test
+  public void shouldNotPruneColumnsBeforePartitionByWhenAllColumnsSelected() {
+    // Given:
+    givenColumnPruningEnabled();
+    final String simpleQuery = "SELECT * FROM test1 PARTITION BY col1 EMIT CHANGES;";
+
+    // When:
+    final PlanNode logicalPlan = buildLogicalPlan(simpleQuery);
+
+    // Then:
+    assertThat(logicalPlan.getSources().get(0).getSources().get(0).getSources().get(0),
+        instanceOf(DataSourceNode.class));
+  }
+
+  private static List<String> valueColumnNames(final PlanNode node) {
+    return node.getSchema().value().stream()
+        .map(Column::name)
+        .map(ColumnName::text)
+        .collect(Collectors.toList());
+  }
+
+  private void givenColumnPruningEnabled() {
+    ksqlConfig = new KsqlConfig(ImmutableMap.of(
+        KsqlConfig.KSQL_QUERY_COLUMN_PRUNING_ENABLE_CONFIG, true
+    ));
+  }
+
+  private void givenPlanOptimizerEnabled() {
+    ksqlConfig = new KsqlConfig(ImmutableMap.of(
+        KsqlConfig.KSQL_QUERY_PLAN_OPTIMIZER_ENABLE_CONFIG, true
+    ));
+  }
+
   private PlanNode buildLogicalPlan(final String query) {
     return AnalysisTestUtil.buildLogicalPlan(ksqlConfig, query, metaStore);
   }
@@ -194,7 +194,8 @@ public class QueryExecutorTest {
         kafkaStreamsBuilder,
         streamsBuilder,
         ksqlMaterializationFactory,
-        ksMaterializationFactory
+        ksMaterializationFactory,
+        new SharedPushQueries()
     );
   }
 
@@ -617,5 +618,7 @@ public class QueryExecutorTest {
   private void givenTransientQuery() {
     when(physicalPlan.build(any())).thenReturn(streamHolder);
     when(streamHolder.getStream()).thenReturn(kstream);
+    when(ksqlConfig.getString(KsqlConfig.KSQL_QUERY_PUSH_OVERFLOW_POLICY_CONFIG))
+        .thenReturn(PushQueryOverflowPolicy.BLOCK.name());
   }
 }
\ No newline at end of file
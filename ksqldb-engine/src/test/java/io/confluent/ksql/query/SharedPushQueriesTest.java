@@ -0,0 +1,232 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.query;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.plan.KStreamHolder;
+import io.confluent.ksql.execution.plan.StreamSource;
+import io.confluent.ksql.query.KafkaStreamsBuilder.BuildResult;
+import io.confluent.ksql.query.SharedPushQueries.SharedQuery;
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.Topology;
+import org.apache.kafka.streams.kstream.KStream;
+import org.apache.kafka.streams.processor.Processor;
+import org.apache.kafka.streams.processor.ProcessorContext;
+import org.apache.kafka.streams.processor.ProcessorSupplier;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SharedPushQueriesTest {
+
+  private static final Map<String, Object> OVERRIDES = ImmutableMap.of("some", "override");
+  private static final GenericRow ROW = GenericRow.genericRow("a", 1);
+
+  @Mock
+  private StreamSource source;
+  @Mock
+  private StreamSource otherSource;
+  @Mock
+  private KStreamHolder<Struct> sourceStream;
+  @Mock
+  private KStream<Struct, GenericRow> kstream;
+  @Mock
+  private KafkaStreams kafkaStreams;
+  @Mock
+  private Topology topology;
+  @Mock
+  private SharedTransientQueryMetadata subscriber1;
+  @Mock
+  private SharedTransientQueryMetadata subscriber2;
+  @Mock
+  private ProcessorContext processorContext;
+  @Mock
+  private Struct key;
+  @Captor
+  private ArgumentCaptor<ProcessorSupplier<Struct, GenericRow>> processorCaptor;
+  @Captor
+  private ArgumentCaptor<UncaughtExceptionHandler> handlerCaptor;
+
+  private SharedPushQueries sharedPushQueries;
+
+  @Before
+  public void setUp() {
+    when(sourceStream.getStream()).thenReturn(kstream);
+
+    sharedPushQueries = new SharedPushQueries();
+  }
+
+  @Test
+  public void shouldShareQueryOnSameSourceWithSameOverrides() {
+    // Given:
+    final SharedQuery first = sharedPushQueries.acquire(source, OVERRIDES, this::sharedQuery);
+
+    // When:
+    final SharedQuery second = sharedPushQueries.acquire(source, OVERRIDES, this::sharedQuery);
+
+    // Then:
+    assertThat(second, is(sameInstance(first)));
+    assertThat(sharedPushQueries.size(), is(1));
+  }
+
+  @Test
+  public void shouldNotShareQueryOnOtherSource() {
+    // Given:
+    final SharedQuery first = sharedPushQueries.acquire(source, OVERRIDES, this::sharedQuery);
+
+    // When:
+    final SharedQuery second = sharedPushQueries.acquire(otherSource, OVERRIDES, this::sharedQuery);
+
+    // Then:
+    assertThat(second, is(not(sameInstance(first))));
+  }
+
+  @Test
+  public void shouldNotShareQueryWithOtherOverrides() {
+    // Given:
+    final SharedQuery first = sharedPushQueries.acquire(source, OVERRIDES, this::sharedQuery);
+
+    // When:
+    final SharedQuery second = sharedPushQueries
+        .acquire(source, Collections.emptyMap(), this::sharedQuery);
+
+    // Then:
+    assertThat(second, is(not(sameInstance(first))));
+  }
+
+  @Test
+  public void shouldOnlyCloseQueryOnceLastReferenceReleased() {
+    // Given:
+    final SharedQuery query = sharedPushQueries.acquire(source, OVERRIDES, this::sharedQuery);
+    sharedPushQueries.acquire(source, OVERRIDES, this::sharedQuery);
+
+    // When:
+    sharedPushQueries.release(query);
+
+    // Then:
+    verify(kafkaStreams, never()).close(any(Duration.class));
+
+    // When:
+    sharedPushQueries.release(query);
+
+    // Then:
+    verify(kafkaStreams).close(Duration.ofMillis(10));
+    verify(kafkaStreams).cleanUp();
+    assertThat(sharedPushQueries.size(), is(0));
+  }
+
+  @Test
+  public void shouldStartAppOnFirstSubscribe() {
+    // Given:
+    final SharedQuery query = sharedPushQueries.acquire(source, OVERRIDES, this::sharedQuery);
+
+    // When:
+    query.subscribe(subscriber1);
+    query.subscribe(subscriber2);
+
+    // Then:
+    verify(kafkaStreams, times(1)).start();
+  }
+
+  @Test
+  public void shouldPassRowsToSubscribers() {
+    // Given:
+    final SharedQuery query = sharedPushQueries.acquire(source, OVERRIDES, this::sharedQuery);
+    query.subscribe(subscriber1);
+    query.subscribe(subscriber2);
+    final Processor<Struct, GenericRow> processor = processor();
+
+    // When:
+    processor.process(key, ROW);
+
+    // Then:
+    verify(subscriber1).onRow(eq(key), eq(ROW), any());
+    verify(subscriber2).onRow(eq(key), eq(ROW), any());
+  }
+
+  @Test
+  public void shouldNotPassRowsToUnsubscribedQueries() {
+    // Given:
+    final SharedQuery query = sharedPushQueries.acquire(source, OVERRIDES, this::sharedQuery);
+    query.subscribe(subscriber1);
+    query.subscribe(subscriber2);
+    final Processor<Struct, GenericRow> processor = processor();
+
+    // When:
+    query.unsubscribe(subscriber1);
+    processor.process(key, ROW);
+
+    // Then:
+    verify(subscriber1, never()).onRow(any(), any(), any());
+    verify(subscriber2).onRow(eq(key), eq(ROW), any());
+  }
+
+  @Test
+  public void shouldPassErrorsToSubscribers() {
+    // Given:
+    final SharedQuery query = sharedPushQueries.acquire(source, OVERRIDES, this::sharedQuery);
+    query.subscribe(subscriber1);
+    verify(kafkaStreams).setUncaughtExceptionHandler(handlerCaptor.capture());
+    final Thread thread = mock(Thread.class);
+    final Exception error = new RuntimeException("Boom");
+
+    // When:
+    handlerCaptor.getValue().uncaughtException(thread, error);
+
+    // Then:
+    verify(subscriber1).onError(thread, error);
+  }
+
+  private SharedQuery sharedQuery() {
+    return new SharedQuery(
+        sourceStream,
+        () -> new BuildResult(topology, kafkaStreams),
+        "app-id",
+        Collections.emptyMap(),
+        10L
+    );
+  }
+
+  private Processor<Struct, GenericRow> processor() {
+    verify(kstream).process(processorCaptor.capture());
+    final Processor<Struct, GenericRow> processor = processorCaptor.getValue().get();
+    processor.init(processorContext);
+    return processor;
+  }
+}
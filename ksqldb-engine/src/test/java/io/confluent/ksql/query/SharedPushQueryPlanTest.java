@@ -0,0 +1,96 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.query;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+import io.confluent.ksql.execution.plan.StreamFilter;
+import io.confluent.ksql.execution.plan.StreamSelect;
+import io.confluent.ksql.execution.plan.StreamSource;
+import io.confluent.ksql.execution.plan.WindowedStreamSource;
+import java.util.Optional;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.kstream.Windowed;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SharedPushQueryPlanTest {
+
+  @Mock
+  private StreamSelect<Struct> select;
+  @Mock
+  private StreamFilter<Struct> filter;
+  @Mock
+  private StreamFilter<Struct> otherFilter;
+  @Mock
+  private StreamSource source;
+  @Mock
+  private StreamSelect<Windowed<Struct>> windowedSelect;
+  @Mock
+  private WindowedStreamSource windowedSource;
+
+  @Test
+  public void shouldShareProjectionOfSource() {
+    // Given:
+    when(select.getSource()).thenReturn(source);
+
+    // When:
+    final Optional<SharedPushQueryPlan> result = SharedPushQueryPlan.of(select);
+
+    // Then:
+    assertThat(result.map(SharedPushQueryPlan::getSource), is(Optional.of(source)));
+  }
+
+  @Test
+  public void shouldShareProjectionOfFiltersOfSource() {
+    // Given:
+    when(select.getSource()).thenReturn(filter);
+    when(filter.getSource()).thenReturn(otherFilter);
+    when(otherFilter.getSource()).thenReturn(source);
+
+    // When:
+    final Optional<SharedPushQueryPlan> result = SharedPushQueryPlan.of(select);
+
+    // Then:
+    assertThat(result.map(SharedPushQueryPlan::getSource), is(Optional.of(source)));
+  }
+
+  @Test
+  public void shouldNotShareProjectionOfWindowedSource() {
+    // Given:
+    when(windowedSelect.getSource()).thenReturn(windowedSource);
+
+    // When:
+    final Optional<SharedPushQueryPlan> result = SharedPushQueryPlan.of(windowedSelect);
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldNotShareOtherPlans() {
+    // When:
+    final Optional<SharedPushQueryPlan> result = SharedPushQueryPlan.of(filter);
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+  }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.query;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableSet;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.transform.KsqlProcessingContext;
+import io.confluent.ksql.execution.transform.KsqlTransformer;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.name.SourceName;
+import io.confluent.ksql.query.SharedPushQueries.SharedQuery;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import io.confluent.ksql.util.KsqlException;
+import io.confluent.ksql.util.QueryMetadata;
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.Consumer;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.Topology;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SharedTransientQueryMetadataTest {
+
+  private static final LogicalSchema SCHEMA = LogicalSchema.builder()
+      .valueColumn(ColumnName.of("col0"), SqlTypes.STRING)
+      .build();
+  private static final GenericRow ROW = GenericRow.genericRow("a", 1);
+  private static final GenericRow RESULT = GenericRow.genericRow("a");
+
+  @Mock
+  private SharedPushQueries sharedPushQueries;
+  @Mock
+  private SharedQuery sharedQuery;
+  @Mock
+  private KafkaStreams kafkaStreams;
+  @Mock
+  private Topology topology;
+  @Mock
+  private KsqlTransformer<Struct, Optional<GenericRow>> transformer;
+  @Mock
+  private Consumer<QueryMetadata> closeCallback;
+  @Mock
+  private UncaughtExceptionHandler handler;
+  @Mock
+  private KsqlProcessingContext ctx;
+  @Mock
+  private Struct key;
+
+  private TransientQueryQueue queue;
+  private SharedTransientQueryMetadata query;
+
+  @Before
+  public void setUp() {
+    when(sharedQuery.getKafkaStreams()).thenReturn(kafkaStreams);
+    when(sharedQuery.getTopology()).thenReturn(topology);
+    when(sharedQuery.getStreamsProperties()).thenReturn(Collections.emptyMap());
+
+    queue = new TransientQueryQueue(OptionalInt.empty(), PushQueryOverflowPolicy.BLOCK, 1);
+
+    query = new SharedTransientQueryMetadata(
+        "SELECT",
+        SCHEMA,
+        ImmutableSet.of(SourceName.of("S")),
+        "plan",
+        queue,
+        "app-id",
+        Collections.emptyMap(),
+        closeCallback,
+        10L,
+        sharedPushQueries,
+        sharedQuery,
+        transformer
+    );
+    query.setUncaughtExceptionHandler(handler);
+  }
+
+  @Test
+  public void shouldSubscribeOnStart() {
+    // When:
+    query.start();
+
+    // Then:
+    verify(sharedQuery).subscribe(query);
+    verify(kafkaStreams, never()).start();
+  }
+
+  @Test
+  public void shouldQueueTransformedRows() {
+    // Given:
+    when(transformer.transform(key, ROW, ctx)).thenReturn(Optional.of(RESULT));
+
+    // When:
+    query.onRow(key, ROW, ctx);
+
+    // Then:
+    assertThat(queue.size(), is(1));
+  }
+
+  @Test
+  public void shouldNotQueueFilteredRows() {
+    // Given:
+    when(transformer.transform(key, ROW, ctx)).thenReturn(Optional.empty());
+
+    // When:
+    query.onRow(key, ROW, ctx);
+
+    // Then:
+    assertThat(queue.size(), is(0));
+  }
+
+  @Test
+  public void shouldDropQueryRatherThanBlockWhenQueueFull() {
+    // Given:
+    when(transformer.transform(key, ROW, ctx)).thenReturn(Optional.of(RESULT));
+    query.onRow(key, ROW, ctx);
+
+    // When:
+    query.onRow(key, ROW, ctx);
+
+    // Then:
+    verify(sharedQuery).unsubscribe(query);
+    verify(handler).uncaughtException(any(), isA(KsqlException.class));
+  }
+
+  @Test
+  public void shouldReleaseSharedQueryOnlyOnceOnClose() {
+    // When:
+    query.close();
+    query.close();
+
+    // Then:
+    verify(sharedPushQueries, times(1)).release(sharedQuery);
+    verify(kafkaStreams, never()).close(any(Duration.class));
+  }
+
+  @Test
+  public void shouldReportNotRunningOnceClosed() {
+    // When:
+    query.close();
+
+    // Then:
+    assertThat(query.isRunning(), is(false));
+    assertThat(query.getState(), is("NOT_RUNNING"));
+  }
+
+  @Test
+  public void shouldPassErrorsToHandler() {
+    // Given:
+    final Exception error = new RuntimeException("Boom");
+
+    // When:
+    query.onError(Thread.currentThread(), error);
+
+    // Then:
+    verify(handler).uncaughtException(Thread.currentThread(), error);
+  }
+}
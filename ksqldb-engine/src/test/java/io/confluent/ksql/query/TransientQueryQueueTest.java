@@ -15,9 +15,15 @@
 
 package io.confluent.ksql.query;
 
+import static io.confluent.ksql.query.PushQueryOverflowPolicy.BLOCK;
+import static io.confluent.ksql.query.PushQueryOverflowPolicy.DISCONNECT;
+import static io.confluent.ksql.query.PushQueryOverflowPolicy.DROP_OLDEST;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
 import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -26,6 +32,7 @@ import static org.mockito.Mockito.verify;
 
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.query.TransientQueryQueue.QueuePopulator;
+import io.confluent.ksql.util.KsqlException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.OptionalInt;
@@ -61,6 +68,8 @@ public class TransientQueryQueueTest {
   @Mock
   private LimitHandler limitHandler;
   @Mock
+  private Runnable queuedCallback;
+  @Mock
   private KStream<String, GenericRow> kStreamsApp;
   @Captor
   private ArgumentCaptor<QueuePopulator<String>> queuePopulatorCaptor;
@@ -93,6 +102,44 @@ public class TransientQueryQueueTest {
     ));
   }
 
+  @Test
+  public void shouldCallQueuedCallbackOnEachRowQueued() {
+    // Given:
+    queue.setQueuedCallback(queuedCallback);
+
+    // When:
+    queuePopulator.apply("key1", ROW_ONE);
+    queuePopulator.apply("key2", ROW_TWO);
+
+    // Then:
+    verify(queuedCallback, times(2)).run();
+  }
+
+  @Test
+  public void shouldCallQueuedCallbackOnRowOffered() {
+    // Given:
+    queue = new TransientQueryQueue(OptionalInt.empty(), BLOCK, MAX_LIMIT);
+    queue.setQueuedCallback(queuedCallback);
+
+    // When:
+    queue.offer("key1", ROW_ONE);
+
+    // Then:
+    verify(queuedCallback).run();
+  }
+
+  @Test
+  public void shouldNotCallQueuedCallbackIfRowNotQueued() {
+    // Given:
+    queue.setQueuedCallback(queuedCallback);
+
+    // When:
+    queuePopulator.apply("key1", null);
+
+    // Then:
+    verify(queuedCallback, never()).run();
+  }
+
   @Test
   public void shouldNotQueueNullValues() {
     // When:
@@ -173,14 +220,145 @@ public class TransientQueryQueueTest {
     assertThat(queue.size(), is(MAX_LIMIT));
   }
 
+  @Test
+  public void shouldThrowIfBlockedForLongerThanBlockTimeout() {
+    // Given:
+    givenQueue(OptionalInt.empty(), BLOCK, 10);
+
+    IntStream.range(0, MAX_LIMIT)
+        .forEach(idx -> queuePopulator.apply("key1", ROW_ONE));
+
+    // When:
+    final Exception e = assertThrows(
+        KsqlException.class,
+        () -> queuePopulator.apply("should not be queued", ROW_TWO)
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString("queue stayed full for 10ms"));
+    assertThat(queue.size(), is(MAX_LIMIT));
+  }
+
+  @Test
+  public void shouldDropOldestRowsOnceQueueLimitReachedIfPolicyIsDropOldest() {
+    // Given:
+    givenQueue(OptionalInt.empty(), DROP_OLDEST);
+
+    queuePopulator.apply("oldest", ROW_ONE);
+    IntStream.range(1, MAX_LIMIT)
+        .forEach(idx -> queuePopulator.apply("key1", ROW_ONE));
+
+    // When:
+    queuePopulator.apply("newest", ROW_TWO);
+
+    // Then: did not block and:
+    assertThat(queue.size(), is(MAX_LIMIT));
+    assertThat(queue.droppedRows(), is(1L));
+    assertThat(drainValues(), hasItem(new KeyValue<>("newest", ROW_TWO)));
+  }
+
+  @Test
+  public void shouldThrowOnceQueueLimitReachedIfPolicyIsDisconnect() {
+    // Given:
+    givenQueue(OptionalInt.empty(), DISCONNECT);
+
+    IntStream.range(0, MAX_LIMIT)
+        .forEach(idx -> queuePopulator.apply("key1", ROW_ONE));
+
+    // When:
+    final Exception e = assertThrows(
+        KsqlException.class,
+        () -> queuePopulator.apply("should not be queued", ROW_TWO)
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString("client is not reading rows"));
+    assertThat(queue.size(), is(MAX_LIMIT));
+  }
+
+  @Test
+  public void shouldQueueOfferedRows() {
+    // Given:
+    queue = new TransientQueryQueue(OptionalInt.empty(), BLOCK, MAX_LIMIT);
+
+    // When:
+    final boolean result = queue.offer("key1", ROW_ONE);
+
+    // Then:
+    assertThat(result, is(true));
+    assertThat(drainValues(), contains(new KeyValue<>("key1", ROW_ONE)));
+  }
+
+  @Test
+  public void shouldNotBlockOfferingRowsOnceQueueLimitReached() {
+    // Given:
+    queue = new TransientQueryQueue(OptionalInt.empty(), BLOCK, MAX_LIMIT);
+    IntStream.range(0, MAX_LIMIT)
+        .forEach(idx -> queue.offer("key1", ROW_ONE));
+
+    // When:
+    final boolean result = queue.offer("should not be queued", ROW_TWO);
+
+    // Then:
+    assertThat(result, is(false));
+    assertThat(queue.size(), is(MAX_LIMIT));
+  }
+
+  @Test
+  public void shouldDropOldestRowToQueueOfferedRowIfPolicyIsDropOldest() {
+    // Given:
+    queue = new TransientQueryQueue(OptionalInt.empty(), DROP_OLDEST, MAX_LIMIT);
+    queue.offer("oldest", ROW_ONE);
+    IntStream.range(1, MAX_LIMIT)
+        .forEach(idx -> queue.offer("key1", ROW_ONE));
+
+    // When:
+    final boolean result = queue.offer("newest", ROW_TWO);
+
+    // Then:
+    assertThat(result, is(true));
+    assertThat(queue.droppedRows(), is(1L));
+    final List<KeyValue<String, GenericRow>> rows = drainValues();
+    assertThat(rows.get(0), is(new KeyValue<>("key1", ROW_ONE)));
+    assertThat(rows.get(MAX_LIMIT - 1), is(new KeyValue<>("newest", ROW_TWO)));
+  }
+
+  @Test
+  public void shouldAcceptOfferedRowsOnceRowLimitReached() {
+    // Given:
+    queue = new TransientQueryQueue(OptionalInt.of(SOME_LIMIT), BLOCK, MAX_LIMIT);
+    queue.setLimitHandler(limitHandler);
+
+    // When:
+    IntStream.range(0, SOME_LIMIT + 1)
+        .forEach(idx -> assertThat(queue.offer("key1", ROW_ONE), is(true)));
+
+    // Then:
+    assertThat(queue.size(), is(SOME_LIMIT));
+    verify(limitHandler).limitReached();
+  }
+
   private void givenWillCloseQueueAsync() {
     executorService = Executors.newSingleThreadScheduledExecutor();
     executorService.schedule(queue::close, 200, TimeUnit.MILLISECONDS);
   }
 
   private void givenQueue(final OptionalInt limit) {
+    givenQueue(limit, BLOCK);
+  }
+
+  private void givenQueue(final OptionalInt limit, final PushQueryOverflowPolicy overflowPolicy) {
+    givenQueue(limit, overflowPolicy, 0);
+  }
+
+  private void givenQueue(
+      final OptionalInt limit,
+      final PushQueryOverflowPolicy overflowPolicy,
+      final long blockTimeoutMs
+  ) {
     clearInvocations(kStreamsApp);
-    queue = new TransientQueryQueue(kStreamsApp, limit, MAX_LIMIT, 1);
+    queue = new TransientQueryQueue(
+        kStreamsApp, limit, overflowPolicy, MAX_LIMIT, 1, blockTimeoutMs);
 
     queue.setLimitHandler(limitHandler);
 
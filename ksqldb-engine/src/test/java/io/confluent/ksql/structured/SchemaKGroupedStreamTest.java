@@ -163,6 +163,40 @@ public class SchemaKGroupedStreamTest {
     );
   }
 
+  @Test
+  public void shouldBuildStepWithBinaryStateStoreFormatIfEnabled() {
+    // Given:
+    when(config.getBoolean(KsqlConfig.KSQL_QUERY_STATE_STORE_BINARY_FORMAT_ENABLE_CONFIG))
+        .thenReturn(true);
+
+    // When:
+    final SchemaKTable result = schemaGroupedStream.aggregate(
+        NON_AGGREGATE_COLUMNS,
+        ImmutableList.of(AGG),
+        Optional.empty(),
+        valueFormat,
+        queryContext
+    );
+
+    // Then:
+    assertThat(
+        result.getSourceTableStep(),
+        equalTo(
+            ExecutionStepFactory.streamAggregate(
+                queryContext,
+                schemaGroupedStream.getSourceStep(),
+                io.confluent.ksql.execution.plan.Formats.of(
+                    keyFormat,
+                    ValueFormat.of(FormatInfo.of(FormatFactory.BINARY.name())),
+                    SerdeOption.none()
+                ),
+                NON_AGGREGATE_COLUMNS,
+                ImmutableList.of(AGG)
+            )
+        )
+    );
+  }
+
   @Test
   public void shouldBuildStepForWindowedAggregate() {
     // When:
@@ -20,7 +20,9 @@ import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableList;
 import io.confluent.ksql.execution.context.QueryContext;
@@ -28,7 +30,9 @@ import io.confluent.ksql.execution.expression.tree.FunctionCall;
 import io.confluent.ksql.execution.expression.tree.UnqualifiedColumnReferenceExp;
 import io.confluent.ksql.execution.plan.ExecutionStep;
 import io.confluent.ksql.execution.streams.ExecutionStepFactory;
+import io.confluent.ksql.function.AggregateFunctionFactory;
 import io.confluent.ksql.function.InternalFunctionRegistry;
+import io.confluent.ksql.function.KsqlAggregateFunction;
 import io.confluent.ksql.metastore.model.KeyField;
 import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.name.FunctionName;
@@ -109,6 +113,13 @@ public class SchemaKGroupedTableTest {
   @Test
   public void shouldFailUnsupportedAggregateFunction() {
     // Given:
+    final KsqlAggregateFunction nonTableFunction = mock(KsqlAggregateFunction.class);
+    when(nonTableFunction.name()).thenReturn(FunctionName.of("NON_TABLE"));
+    final AggregateFunctionFactory factory = mock(AggregateFunctionFactory.class);
+    when(factory.getName()).thenReturn("NON_TABLE");
+    when(factory.createAggregateFunction(any(), any())).thenReturn(nonTableFunction);
+    functionRegistry.addAggregateFunctionFactory(factory);
+
     final SchemaKGroupedTable kGroupedTable = buildSchemaKGroupedTable();
 
     // When:
@@ -116,7 +127,7 @@ public class SchemaKGroupedTableTest {
         KsqlException.class,
         () -> kGroupedTable.aggregate(
             NON_AGG_COLUMNS,
-            ImmutableList.of(MIN, MAX),
+            ImmutableList.of(udaf("NON_TABLE"), MIN, MAX),
             Optional.empty(),
             valueFormat,
             queryContext
@@ -124,7 +135,26 @@ public class SchemaKGroupedTableTest {
     );
 
     // Then:
-    assertThat(e.getMessage(), containsString("The aggregation functions MIN and MAX cannot be applied to a table source, only to a stream source."));
+    assertThat(e.getMessage(), containsString("The aggregation function NON_TABLE cannot be applied to a table source, only to a stream source."));
+  }
+
+  @Test
+  public void shouldSupportAggregateFunctionsWithTableVariants() {
+    // Given:
+    final SchemaKGroupedTable kGroupedTable = buildSchemaKGroupedTable();
+
+    // When:
+    final SchemaKTable result = kGroupedTable.aggregate(
+        NON_AGG_COLUMNS,
+        ImmutableList.of(MIN, MAX),
+        Optional.empty(),
+        valueFormat,
+        queryContext
+    );
+
+    // Then:
+    assertThat(result.getSchema().value().get(1).type(), is(SqlTypes.INTEGER));
+    assertThat(result.getSchema().value().get(2).type(), is(SqlTypes.INTEGER));
   }
 
   private SchemaKGroupedTable buildSchemaKGroupedTable() {
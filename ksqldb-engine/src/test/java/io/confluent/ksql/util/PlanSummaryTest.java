@@ -24,8 +24,15 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import io.confluent.ksql.execution.context.QueryContext;
+import io.confluent.ksql.execution.expression.tree.ComparisonExpression;
+import io.confluent.ksql.execution.expression.tree.ComparisonExpression.Type;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.IntegerLiteral;
+import io.confluent.ksql.execution.expression.tree.UnqualifiedColumnReferenceExp;
 import io.confluent.ksql.execution.plan.ExecutionStep;
 import io.confluent.ksql.execution.plan.ExecutionStepPropertiesV1;
+import io.confluent.ksql.execution.plan.Formats;
+import io.confluent.ksql.execution.plan.StreamFilter;
 import io.confluent.ksql.execution.plan.StreamSelect;
 import io.confluent.ksql.execution.plan.StreamSource;
 import io.confluent.ksql.execution.plan.StreamStreamJoin;
@@ -35,7 +42,12 @@ import io.confluent.ksql.query.QueryId;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.schema.ksql.SystemColumns;
 import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import io.confluent.ksql.serde.FormatFactory;
+import io.confluent.ksql.serde.FormatInfo;
+import io.confluent.ksql.serde.SerdeOption;
 import java.util.Arrays;
+import java.util.Optional;
+import org.apache.kafka.connect.data.Struct;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -60,7 +72,7 @@ public class PlanSummaryTest {
 
   @Before
   public void setup() {
-    planSummaryBuilder = new PlanSummary(QUERY_ID, schemaResolver);
+    planSummaryBuilder = new PlanSummary(QUERY_ID, schemaResolver, false);
     sourceStep = givenStep(StreamSource.class, "src", SOURCE_SCHEMA);
   }
 
@@ -123,6 +135,46 @@ public class PlanSummaryTest {
     ));
   }
 
+  @Test
+  public void shouldSummarizeSourcePreFilter() {
+    // Given:
+    planSummaryBuilder = new PlanSummary(QUERY_ID, schemaResolver, true);
+
+    final StreamSource source = new StreamSource(
+        new ExecutionStepPropertiesV1(new QueryContext.Stacker().push("src").getQueryContext()),
+        "topic",
+        Formats.of(
+            FormatInfo.of(FormatFactory.KAFKA.name()),
+            FormatInfo.of(FormatFactory.JSON.name()),
+            SerdeOption.none()
+        ),
+        Optional.empty(),
+        SOURCE_SCHEMA
+    );
+    final Expression expression = new ComparisonExpression(
+        Type.EQUAL,
+        new UnqualifiedColumnReferenceExp(ColumnName.of("L0")),
+        new IntegerLiteral(10)
+    );
+    final StreamFilter<Struct> filter = new StreamFilter<>(
+        new ExecutionStepPropertiesV1(new QueryContext.Stacker().push("filter").getQueryContext()),
+        source,
+        expression
+    );
+    when(schemaResolver.resolve(same(source), any())).thenReturn(SOURCE_SCHEMA);
+    when(schemaResolver.resolve(same(filter), any())).thenReturn(SOURCE_SCHEMA);
+
+    // When:
+    final String summary = planSummaryBuilder.summarize(filter);
+
+    // Then:
+    assertThat(summary, is(
+        " > [ FILTER ] | Schema: ROWKEY STRING KEY, L0 INTEGER | Logger: QID.filter"
+            + "\n\t\t > [ SOURCE ] | Schema: ROWKEY STRING KEY, L0 INTEGER | Logger: QID.src"
+            + " | PreFilter: " + expression + "\n"
+    ));
+  }
+
   @Test
   public void shouldThrowOnUnsupportedStepType() {
     // Given:
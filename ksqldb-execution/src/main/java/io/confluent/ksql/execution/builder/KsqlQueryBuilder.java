@@ -24,6 +24,7 @@ import io.confluent.ksql.execution.context.QueryLoggerUtil;
 import io.confluent.ksql.function.FunctionRegistry;
 import io.confluent.ksql.logging.processing.ProcessingLogContext;
 import io.confluent.ksql.logging.processing.ProcessingLogger;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.query.QueryId;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
 import io.confluent.ksql.schema.ksql.PhysicalSchema;
@@ -37,6 +38,9 @@ import io.confluent.ksql.services.ServiceContext;
 import io.confluent.ksql.util.KsqlConfig;
 import io.confluent.ksql.util.QuerySchemas;
 import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.Set;
+import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serde;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.StreamsBuilder;
@@ -195,6 +199,41 @@ public final class KsqlQueryBuilder {
     );
   }
 
+  public Serde<GenericRow> buildValueSerde(
+      final FormatInfo format,
+      final PhysicalSchema schema,
+      final QueryContext queryContext,
+      final Set<ColumnName> requiredColumns
+  ) {
+    final String loggerNamePrefix = QueryLoggerUtil.queryLoggerName(queryId, queryContext);
+
+    track(loggerNamePrefix, schema.valueSchema());
+
+    return valueSerdeFactory.create(
+        format,
+        schema.valueSchema(),
+        ksqlConfig,
+        serviceContext.getSchemaRegistryClientFactory(),
+        loggerNamePrefix,
+        processingLogContext,
+        requiredColumns
+    );
+  }
+
+  /**
+   * Build a deserializer that reads only the supplied value columns.
+   *
+   * <p>The deserializer reads data already read by a value serde built for the same source,
+   * so its schema is not tracked.
+   */
+  public Optional<Deserializer<GenericRow>> buildValueColumnReader(
+      final FormatInfo format,
+      final PhysicalSchema schema,
+      final Set<ColumnName> columns
+  ) {
+    return valueSerdeFactory.createColumnReader(format, schema.valueSchema(), columns);
+  }
+
   private void track(final String loggerNamePrefix, final PersistenceSchema schema) {
     if (schemas.containsKey(loggerNamePrefix)) {
       throw new IllegalStateException("Schema with tracked:" + loggerNamePrefix);
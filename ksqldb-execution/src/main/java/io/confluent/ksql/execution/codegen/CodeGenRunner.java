@@ -17,6 +17,10 @@ package io.confluent.ksql.execution.codegen;
 
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.collect.ImmutableSet;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.codegen.CodeGenSpec.ArgumentSpec;
+import io.confluent.ksql.execution.codegen.CodeGenSpec.ValueArgumentSpec;
 import io.confluent.ksql.execution.expression.tree.CreateArrayExpression;
 import io.confluent.ksql.execution.expression.tree.CreateMapExpression;
 import io.confluent.ksql.execution.expression.tree.CreateStructExpression;
@@ -31,6 +35,7 @@ import io.confluent.ksql.execution.util.ExpressionTypeManager;
 import io.confluent.ksql.function.FunctionRegistry;
 import io.confluent.ksql.function.KsqlScalarFunction;
 import io.confluent.ksql.function.UdfFactory;
+import io.confluent.ksql.function.udf.Kudf;
 import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.name.FunctionName;
 import io.confluent.ksql.schema.ksql.Column;
@@ -48,6 +53,7 @@ import java.util.stream.Stream;
 import org.apache.kafka.connect.data.Schema;
 import org.codehaus.commons.compiler.CompileException;
 import org.codehaus.commons.compiler.CompilerFactoryFactory;
+import org.codehaus.commons.compiler.IClassBodyEvaluator;
 import org.codehaus.commons.compiler.IExpressionEvaluator;
 
 public class CodeGenRunner {
@@ -55,6 +61,12 @@ public class CodeGenRunner {
   private static final SqlToJavaTypeConverter SQL_TO_JAVA_TYPE_CONVERTER =
       SchemaConverters.sqlToJavaConverter();
 
+  private static final ImmutableSet<FunctionName> NON_DETERMINISTIC_FUNCTIONS = ImmutableSet.of(
+      FunctionName.of("RANDOM"),
+      FunctionName.of("UNIX_DATE"),
+      FunctionName.of("UNIX_TIMESTAMP")
+  );
+
   private final LogicalSchema schema;
   private final FunctionRegistry functionRegistry;
   private final ExpressionTypeManager expressionTypeManager;
@@ -136,6 +148,160 @@ public class CodeGenRunner {
     }
   }
 
+  /**
+   * Compile the supplied {@code expressions} into a single class.
+   *
+   * <p>Columns referenced by more than one expression are read from the row once, and expressions
+   * that appear more than once are evaluated once. Only whole expressions are shared: a common
+   * subexpression of two different expressions is evaluated by each of them. Expressions that call
+   * a non-deterministic function, e.g. {@code RANDOM()}, are never shared.
+   *
+   * @param expressions the expressions to compile.
+   * @param type the type of the expressions, used in error messages, e.g. {@code Select}.
+   * @return the compiled expressions.
+   */
+  public CompiledProjection buildProjection(
+      final List<Expression> expressions,
+      final String type
+  ) {
+    try {
+      final List<Expression> distinct = new ArrayList<>(expressions.size());
+      final List<Integer> distinctIndexes = new ArrayList<>(expressions.size());
+      for (final Expression expression : expressions) {
+        final int found = distinct.indexOf(expression);
+        if (found >= 0 && isDeterministic(expression)) {
+          distinctIndexes.add(found);
+        } else {
+          distinctIndexes.add(distinct.size());
+          distinct.add(expression);
+        }
+      }
+
+      final List<SqlType> distinctTypes = new ArrayList<>(distinct.size());
+      for (final Expression expression : distinct) {
+        final SqlType expressionType = expressionTypeManager.getExpressionSqlType(expression);
+        if (expressionType == null) {
+          // expressionType can be null if expression is NULL.
+          throw new KsqlException("NULL expression not supported. expression:" + expression);
+        }
+        distinctTypes.add(expressionType);
+      }
+
+      final Visitor visitor = new Visitor();
+      distinct.forEach(expression -> visitor.process(expression, null));
+      final CodeGenSpec spec = visitor.spec.build();
+
+      final SqlToJavaVisitor sqlToJava = SqlToJavaVisitor.of(schema, functionRegistry, spec);
+      final List<String> javaCode = distinct.stream()
+          .map(sqlToJava::process)
+          .collect(Collectors.toList());
+
+      final IClassBodyEvaluator cbe =
+          CompilerFactoryFactory.getDefaultCompilerFactory().newClassBodyEvaluator();
+      cbe.setDefaultImports(SqlToJavaVisitor.JAVA_IMPORTS.toArray(new String[0]));
+      cbe.setImplementedInterfaces(new Class<?>[]{CompiledProjection.Evaluator.class});
+      cbe.cook(projectionSource(spec, distinctIndexes, distinctTypes, javaCode));
+
+      final Object[] arguments = spec.arguments().stream()
+          .map(arg -> arg instanceof ValueArgumentSpec ? null : arg.resolve(null))
+          .toArray();
+
+      return new CompiledProjection(
+          (CompiledProjection.Evaluator) cbe.getClazz().getConstructor().newInstance(),
+          arguments,
+          expressions,
+          distinctIndexes.stream()
+              .map(distinctTypes::get)
+              .collect(Collectors.toList())
+      );
+    } catch (KsqlException | CompileException e) {
+      throw new KsqlException("Invalid " + type + ": " + e.getMessage()
+          + ". expressions:" + expressions + ", schema:" + schema, e);
+    } catch (final Exception e) {
+      throw new RuntimeException("Unexpected error generating code for " + type
+          + ". expressions:" + expressions, e);
+    }
+  }
+
+  /**
+   * @return {@code false} if the expression calls a function that may return a different result
+   *         each time it is called with the same arguments.
+   */
+  private boolean isDeterministic(final Expression expression) {
+    final boolean[] deterministic = {true};
+    new TraversalExpressionVisitor<Void>() {
+      @Override
+      public Void visitFunctionCall(final FunctionCall node, final Void context) {
+        final FunctionName name = node.getName();
+        if (NON_DETERMINISTIC_FUNCTIONS.contains(name)
+            || !KsqlScalarFunction.INTERNAL_PATH.equals(
+                functionRegistry.getUdfFactory(name).getMetadata().getPath())) {
+          // User defined functions are not known to be deterministic:
+          deterministic[0] = false;
+        }
+        return super.visitFunctionCall(node, context);
+      }
+    }.process(expression, null);
+    return deterministic[0];
+  }
+
+  /**
+   * Generate the body of a {@link CompiledProjection.Evaluator} that evaluates each distinct
+   * expression once, inside its own try/catch, and appends the results in the requested order.
+   */
+  private static String projectionSource(
+      final CodeGenSpec spec,
+      final List<Integer> distinctIndexes,
+      final List<SqlType> distinctTypes,
+      final List<String> javaCode
+  ) {
+    final StringBuilder code = new StringBuilder()
+        .append("public void evaluate(final Object[] arguments, final ")
+        .append(GenericRow.class.getCanonicalName()).append(" row, final ")
+        .append(GenericRow.class.getCanonicalName()).append(" output, final ")
+        .append(CompiledProjection.ErrorHandler.class.getCanonicalName()).append(" errors) {\n");
+
+    final List<ArgumentSpec> arguments = spec.arguments();
+    for (int i = 0; i < arguments.size(); i++) {
+      final ArgumentSpec arg = arguments.get(i);
+      final String javaType = Kudf.class.isAssignableFrom(arg.type())
+          ? Kudf.class.getCanonicalName()
+          : arg.type().getCanonicalName();
+
+      final String source = arg instanceof ValueArgumentSpec
+          ? "row.get(" + ((ValueArgumentSpec) arg).columnIndex() + ")"
+          : "arguments[" + i + "]";
+
+      code.append("  final ").append(javaType).append(' ').append(arg.name())
+          .append(" = (").append(javaType).append(") ").append(source).append(";\n");
+    }
+
+    for (int i = 0; i < distinctTypes.size(); i++) {
+      final String javaType = SQL_TO_JAVA_TYPE_CONVERTER
+          .toJavaType(distinctTypes.get(i))
+          .getCanonicalName();
+
+      code.append("  ").append(javaType).append(" result").append(i).append(" = null;\n")
+          .append("  try {\n")
+          .append("    result").append(i).append(" = ").append(javaCode.get(i)).append(";\n")
+          .append("  } catch (final Exception exception) {\n");
+
+      for (int idx = 0; idx < distinctIndexes.size(); idx++) {
+        if (distinctIndexes.get(idx) == i) {
+          code.append("    errors.onError(").append(idx).append(", row, exception);\n");
+        }
+      }
+
+      code.append("  }\n");
+    }
+
+    for (final int distinctIndex : distinctIndexes) {
+      code.append("  output.append(result").append(distinctIndex).append(");\n");
+    }
+
+    return code.append("}\n").toString();
+  }
+
   private final class Visitor extends TraversalExpressionVisitor<Void> {
 
     private final CodeGenSpec.Builder spec;
@@ -101,8 +101,7 @@ public final class CodeGenSpec {
     private final Map<ColumnName, String> columnRefToName = new HashMap<>();
     private final ImmutableListMultimap.Builder<FunctionName, String> functionNameBuilder =
         ImmutableListMultimap.builder();
-    private final ImmutableMap.Builder<CreateStructExpression, String> structToSchemaName =
-        ImmutableMap.builder();
+    private final Map<CreateStructExpression, String> structToSchemaName = new HashMap<>();
 
     private int argumentCount = 0;
     private int structSchemaCount = 0;
@@ -112,6 +111,11 @@ public final class CodeGenSpec {
         final Class<?> type,
         final int colIndex
     ) {
+      if (columnRefToName.containsKey(columnName)) {
+        // Each column is only passed once, however many times it is referenced:
+        return;
+      }
+
       final String codeName = CodeGenUtil.paramName(argumentCount++);
       columnRefToName.put(columnName, codeName);
       argumentBuilder.add(new ValueArgumentSpec(codeName, type, colIndex));
@@ -124,6 +128,10 @@ public final class CodeGenSpec {
     }
 
     void addStructSchema(final CreateStructExpression struct, final Schema schema) {
+      if (structToSchemaName.containsKey(struct)) {
+        return;
+      }
+
       final String structSchemaName = CodeGenUtil.schemaName(structSchemaCount++);
       structToSchemaName.put(struct, structSchemaName);
       argumentBuilder.add(new SchemaArgumentSpec(structSchemaName, schema));
@@ -134,7 +142,7 @@ public final class CodeGenSpec {
           argumentBuilder.build(),
           ImmutableMap.copyOf(columnRefToName),
           functionNameBuilder.build(),
-          structToSchemaName.build()
+          ImmutableMap.copyOf(structToSchemaName)
       );
     }
   }
@@ -222,6 +230,10 @@ public final class CodeGenSpec {
       this.columnIndex = columnIndex;
     }
 
+    public int columnIndex() {
+      return columnIndex;
+    }
+
     @Override
     public Object resolve(final GenericRow value) {
       return value.get(columnIndex);
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.codegen;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.annotations.Immutable;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.schema.ksql.types.SqlType;
+import io.confluent.ksql.testing.EffectivelyImmutable;
+import java.util.List;
+
+/**
+ * A list of expressions compiled into a single generated class.
+ *
+ * <p>Unlike evaluating each expression through its own {@link ExpressionMetadata}, the generated
+ * code reads each column it needs from the row once, evaluates expressions that appear more than
+ * once only once, and appends the results straight to the output row without reflection.
+ */
+@Immutable
+public final class CompiledProjection {
+
+  @EffectivelyImmutable
+  private final Evaluator evaluator;
+  @EffectivelyImmutable
+  private final Object[] arguments;
+  private final ImmutableList<Expression> expressions;
+  private final ImmutableList<SqlType> expressionTypes;
+
+  CompiledProjection(
+      final Evaluator evaluator,
+      final Object[] arguments,
+      final List<Expression> expressions,
+      final List<SqlType> expressionTypes
+  ) {
+    this.evaluator = requireNonNull(evaluator, "evaluator");
+    this.arguments = requireNonNull(arguments, "arguments").clone();
+    this.expressions = ImmutableList.copyOf(requireNonNull(expressions, "expressions"));
+    this.expressionTypes = ImmutableList.copyOf(
+        requireNonNull(expressionTypes, "expressionTypes"));
+
+    if (expressions.size() != expressionTypes.size()) {
+      throw new IllegalArgumentException("expression and type count mismatch");
+    }
+  }
+
+  public int size() {
+    return expressions.size();
+  }
+
+  public Expression getExpression(final int index) {
+    return expressions.get(index);
+  }
+
+  public SqlType getExpressionType(final int index) {
+    return expressionTypes.get(index);
+  }
+
+  /**
+   * Evaluate the expressions against the supplied {@code row}, appending the result of each, in
+   * order, to the supplied {@code output}.
+   *
+   * <p>Expressions that fail to evaluate append {@code null}, after passing the error to the
+   * supplied {@code errors} handler.
+   *
+   * @param row the row of data to evaluate the expressions against.
+   * @param output the row to append the results to.
+   * @param errors the handler to pass any errors to.
+   */
+  public void evaluate(
+      final GenericRow row,
+      final GenericRow output,
+      final ErrorHandler errors
+  ) {
+    evaluator.evaluate(arguments, row, output, errors);
+  }
+
+  /**
+   * Implemented by the generated class.
+   */
+  public interface Evaluator {
+
+    void evaluate(Object[] arguments, GenericRow row, GenericRow output, ErrorHandler errors);
+  }
+
+  /**
+   * Handles an error evaluating one of the expressions.
+   */
+  public interface ErrorHandler {
+
+    /**
+     * @param index the index of the expression that failed.
+     * @param row the row the expression was evaluated against.
+     * @param e the error.
+     */
+    void onError(int index, GenericRow row, Exception e);
+  }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.function;
+
+/**
+ * An aggregate function that can not undo a value from its aggregate, but can provide an
+ * equivalent function that can, for use when aggregating a table.
+ *
+ * <p>The equivalent function typically has a larger aggregate type, e.g. all the values of the
+ * group rather than just the current result, so it is only used where undo is required.
+ *
+ * @param <I> the input type.
+ * @param <O> the output type.
+ */
+public interface TableAggregationFunctionProvider<I, O> {
+
+  /**
+   * @param maxDistinctValues the maximum number of distinct values the equivalent function may
+   *     track per group, for those that track values.
+   * @return the equivalent function that supports undo.
+   */
+  TableAggregationFunction<I, ?, O> getTableAggregationFunction(int maxDistinctValues);
+}
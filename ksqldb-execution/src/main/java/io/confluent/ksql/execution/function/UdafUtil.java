@@ -73,6 +73,33 @@ public final class UdafUtil {
     }
   }
 
+  /**
+   * Get the version of an aggregate function that can undo values, as required when aggregating
+   * a table.
+   *
+   * @param function the resolved aggregate function.
+   * @param maxDistinctValues the maximum number of distinct values an equivalent function may
+   *     track per group.
+   * @return the function itself, if it supports undo, the equivalent function it provides, if
+   *     any, otherwise empty.
+   */
+  public static Optional<TableAggregationFunction<?, ?, ?>> resolveTableAggregationFunction(
+      final KsqlAggregateFunction<?, ?, ?> function,
+      final int maxDistinctValues
+  ) {
+    if (function instanceof TableAggregationFunction) {
+      return Optional.of((TableAggregationFunction<?, ?, ?>) function);
+    }
+
+    if (function instanceof TableAggregationFunctionProvider) {
+      return Optional.of(
+          ((TableAggregationFunctionProvider<?, ?>) function).getTableAggregationFunction(
+              maxDistinctValues));
+    }
+
+    return Optional.empty();
+  }
+
   public static AggregateFunctionInitArguments createAggregateFunctionInitArgs(
       final int udafIndex, final FunctionCall functionCall
   ) {
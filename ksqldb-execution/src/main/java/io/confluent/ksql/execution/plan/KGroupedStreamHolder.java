@@ -18,34 +18,120 @@ package io.confluent.ksql.execution.plan;
 import com.google.errorprone.annotations.Immutable;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.testing.EffectivelyImmutable;
 import java.util.Objects;
+import java.util.Optional;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.kstream.KGroupedStream;
+import org.apache.kafka.streams.kstream.KStream;
 
 @Immutable
 public final class KGroupedStreamHolder {
 
-  private final KGroupedStream<Struct, GenericRow> groupedStream;
+  private final Optional<KGroupedStream<Struct, GenericRow>> groupedStream;
   private final LogicalSchema schema;
+  private final Optional<KeyedStream> keyedStream;
 
   private KGroupedStreamHolder(
-      final KGroupedStream<Struct, GenericRow> groupedStream,
-      final LogicalSchema schema) {
+      final Optional<KGroupedStream<Struct, GenericRow>> groupedStream,
+      final LogicalSchema schema,
+      final Optional<KeyedStream> keyedStream) {
     this.groupedStream = Objects.requireNonNull(groupedStream, "groupedStream");
     this.schema = Objects.requireNonNull(schema, "schema");
+    this.keyedStream = Objects.requireNonNull(keyedStream, "keyedStream");
   }
 
   public static KGroupedStreamHolder of(
       final KGroupedStream<Struct, GenericRow> groupedStream,
       final LogicalSchema schema) {
-    return new KGroupedStreamHolder(groupedStream, schema);
+    return new KGroupedStreamHolder(Optional.of(groupedStream), schema, Optional.empty());
+  }
+
+  public static KGroupedStreamHolder of(
+      final KStream<Struct, GenericRow> keyedStream,
+      final LogicalSchema schema,
+      final StreamGrouper grouper) {
+    return new KGroupedStreamHolder(
+        Optional.empty(),
+        schema,
+        Optional.of(new KeyedStream(keyedStream, grouper))
+    );
   }
 
   public LogicalSchema getSchema() {
     return schema;
   }
 
+  /**
+   * Get the grouped stream.
+   *
+   * <p>If this holder was built from a keyed stream, the stream is grouped by this call, so it
+   * should be called at most once, and not if the keyed stream is grouped instead.
+   *
+   * @return the grouped stream.
+   */
   public KGroupedStream<Struct, GenericRow> getGroupedStream() {
-    return groupedStream;
+    return groupedStream.orElseGet(() -> {
+      final KeyedStream keyed = keyedStream
+          .orElseThrow(() -> new IllegalStateException("No stream to group"));
+      return keyed.groupByKey(keyed.getStream(), schema);
+    });
+  }
+
+  /**
+   * @return the stream before it was grouped, if available, so that it can be transformed, e.g.
+   *     partially aggregated, before it is grouped.
+   */
+  public Optional<KeyedStream> getKeyedStream() {
+    return keyedStream;
+  }
+
+  /**
+   * Groups a stream that is already keyed by the grouping key, repartitioning it if required.
+   */
+  @EffectivelyImmutable
+  @FunctionalInterface
+  public interface StreamGrouper {
+
+    KGroupedStream<Struct, GenericRow> groupByKey(
+        KStream<Struct, GenericRow> stream,
+        LogicalSchema schema
+    );
+  }
+
+  /**
+   * A stream keyed by the grouping key, that has not yet been grouped.
+   */
+  @Immutable
+  public static final class KeyedStream {
+
+    private final KStream<Struct, GenericRow> stream;
+    private final StreamGrouper grouper;
+
+    private KeyedStream(
+        final KStream<Struct, GenericRow> stream,
+        final StreamGrouper grouper
+    ) {
+      this.stream = Objects.requireNonNull(stream, "stream");
+      this.grouper = Objects.requireNonNull(grouper, "grouper");
+    }
+
+    public KStream<Struct, GenericRow> getStream() {
+      return stream;
+    }
+
+    /**
+     * Group a stream derived from this one, in the same way as this one was grouped.
+     *
+     * @param derived the derived stream, keyed by the same key.
+     * @param schema the schema of the derived stream.
+     * @return the grouped stream.
+     */
+    public KGroupedStream<Struct, GenericRow> groupByKey(
+        final KStream<Struct, GenericRow> derived,
+        final LogicalSchema schema
+    ) {
+      return grouper.groupByKey(derived, schema);
+    }
   }
 }
@@ -19,22 +19,45 @@ import static java.util.Objects.requireNonNull;
 
 import com.google.common.collect.ImmutableList;
 import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.codegen.CompiledProjection;
 import io.confluent.ksql.execution.codegen.ExpressionMetadata;
+import io.confluent.ksql.execution.expression.tree.Expression;
 import io.confluent.ksql.execution.transform.KsqlProcessingContext;
 import io.confluent.ksql.execution.transform.KsqlTransformer;
 import io.confluent.ksql.logging.processing.ProcessingLogger;
+import io.confluent.ksql.logging.processing.RecordProcessingError;
 import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.schema.ksql.types.SqlType;
 import io.confluent.ksql.schema.utils.FormatOptions;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Supplier;
 
 public class SelectValueMapper<K> {
 
   private final ImmutableList<SelectInfo> selects;
+  private final Optional<CompiledProjection> projection;
 
   SelectValueMapper(final List<SelectInfo> selects) {
+    this(selects, Optional.empty());
+  }
+
+  /**
+   * @param selects the columns to select.
+   * @param projection if present, the {@code selects} compiled into a single class, which is then
+   *                   used in place of the per-column evaluators.
+   */
+  SelectValueMapper(
+      final List<SelectInfo> selects,
+      final Optional<CompiledProjection> projection
+  ) {
     this.selects = ImmutableList.copyOf(requireNonNull(selects, "selects"));
+    this.projection = requireNonNull(projection, "projection");
+
+    if (projection.isPresent() && projection.get().size() != selects.size()) {
+      throw new IllegalArgumentException("projection and select count mismatch");
+    }
   }
 
   List<SelectInfo> getSelects() {
@@ -44,29 +67,76 @@ public class SelectValueMapper<K> {
   public KsqlTransformer<K, GenericRow> getTransformer(
       final ProcessingLogger processingLogger
   ) {
+    if (projection.isPresent()) {
+      return new CompiledSelectMapper<>(selects, projection.get(), processingLogger);
+    }
     return new SelectMapper<>(selects, processingLogger);
   }
 
   public static final class SelectInfo {
 
     final ColumnName fieldName;
-    final ExpressionMetadata evaluator;
+    private final Optional<ExpressionMetadata> evaluator;
+    private final Optional<Expression> expression;
+    private final Optional<SqlType> expressionType;
 
     static SelectInfo of(final ColumnName fieldName, final ExpressionMetadata evaluator) {
-      return new SelectInfo(fieldName, evaluator);
+      return new SelectInfo(
+          fieldName,
+          Optional.of(requireNonNull(evaluator, "evaluator")),
+          Optional.empty(),
+          Optional.empty()
+      );
     }
 
-    private SelectInfo(final ColumnName fieldName, final ExpressionMetadata evaluator) {
+    /**
+     * Create a select whose expression is compiled as part of a {@link CompiledProjection}, rather
+     * than having its own evaluator.
+     */
+    static SelectInfo of(
+        final ColumnName fieldName,
+        final Expression expression,
+        final SqlType expressionType
+    ) {
+      return new SelectInfo(
+          fieldName,
+          Optional.empty(),
+          Optional.of(requireNonNull(expression, "expression")),
+          Optional.of(requireNonNull(expressionType, "expressionType"))
+      );
+    }
+
+    private SelectInfo(
+        final ColumnName fieldName,
+        final Optional<ExpressionMetadata> evaluator,
+        final Optional<Expression> expression,
+        final Optional<SqlType> expressionType
+    ) {
       this.fieldName = requireNonNull(fieldName, "fieldName");
-      this.evaluator = requireNonNull(evaluator, "evaluator");
+      this.evaluator = evaluator;
+      this.expression = expression;
+      this.expressionType = expressionType;
     }
 
     public ColumnName getFieldName() {
       return fieldName;
     }
 
+    Expression getExpression() {
+      return evaluator
+          .map(ExpressionMetadata::getExpression)
+          .orElseGet(expression::get);
+    }
+
+    SqlType getExpressionType() {
+      return evaluator
+          .map(ExpressionMetadata::getExpressionType)
+          .orElseGet(expressionType::get);
+    }
+
     ExpressionMetadata getEvaluator() {
-      return evaluator;
+      return evaluator.orElseThrow(() -> new IllegalStateException(
+          "Select is compiled as part of a projection: " + fieldName));
     }
 
     @Override
@@ -79,15 +149,23 @@ public class SelectValueMapper<K> {
       }
       final SelectInfo that = (SelectInfo) o;
       return Objects.equals(fieldName, that.fieldName)
-          && Objects.equals(evaluator, that.evaluator);
+          && Objects.equals(evaluator, that.evaluator)
+          && Objects.equals(expression, that.expression)
+          && Objects.equals(expressionType, that.expressionType);
     }
 
     @Override
     public int hashCode() {
-      return Objects.hash(fieldName, evaluator);
+      return Objects.hash(fieldName, evaluator, expression, expressionType);
     }
   }
 
+  private static String errorMessage(final SelectInfo select, final int column) {
+    return "Error computing expression " + select.getExpression()
+        + " for column " + select.fieldName.toString(FormatOptions.noEscape())
+        + " with index " + column;
+  }
+
   private static final class SelectMapper<K> implements KsqlTransformer<K, GenericRow> {
 
     private final ImmutableList<SelectInfo> selects;
@@ -123,12 +201,48 @@ public class SelectValueMapper<K> {
     private Object processColumn(final int column, final GenericRow row) {
       final SelectInfo select = selects.get(column);
 
-      final Supplier<String> errorMsgSupplier = () ->
-          "Error computing expression " + select.evaluator.getExpression()
-              + " for column " + select.fieldName.toString(FormatOptions.noEscape())
-              + " with index " + column;
+      final Supplier<String> errorMsgSupplier = () -> errorMessage(select, column);
+
+      return select.getEvaluator().evaluate(row, null, processingLogger, errorMsgSupplier);
+    }
+  }
+
+  private static final class CompiledSelectMapper<K>
+      implements KsqlTransformer<K, GenericRow>, CompiledProjection.ErrorHandler {
+
+    private final ImmutableList<SelectInfo> selects;
+    private final CompiledProjection projection;
+    private final ProcessingLogger processingLogger;
 
-      return select.evaluator.evaluate(row, null, processingLogger, errorMsgSupplier);
+    private CompiledSelectMapper(
+        final ImmutableList<SelectInfo> selects,
+        final CompiledProjection projection,
+        final ProcessingLogger processingLogger
+    ) {
+      this.selects = requireNonNull(selects, "selects");
+      this.projection = requireNonNull(projection, "projection");
+      this.processingLogger = requireNonNull(processingLogger, "processingLogger");
+    }
+
+    @Override
+    public GenericRow transform(
+        final K readOnlyKey,
+        final GenericRow value,
+        final KsqlProcessingContext ctx
+    ) {
+      if (value == null) {
+        return null;
+      }
+
+      final GenericRow row = new GenericRow(selects.size());
+      projection.evaluate(value, row, this);
+      return row;
+    }
+
+    @Override
+    public void onError(final int index, final GenericRow row, final Exception e) {
+      processingLogger.error(RecordProcessingError.recordProcessingError(
+          errorMessage(selects.get(index), index), e, row));
     }
   }
 }
@@ -19,6 +19,7 @@ import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.VisibleForTesting;
 import io.confluent.ksql.execution.codegen.CodeGenRunner;
+import io.confluent.ksql.execution.codegen.CompiledProjection;
 import io.confluent.ksql.execution.codegen.ExpressionMetadata;
 import io.confluent.ksql.execution.plan.SelectExpression;
 import io.confluent.ksql.execution.transform.select.SelectValueMapper.SelectInfo;
@@ -26,7 +27,9 @@ import io.confluent.ksql.function.FunctionRegistry;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.util.KsqlConfig;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Factor class for {@link SelectValueMapper}.
@@ -36,10 +39,12 @@ public final class SelectValueMapperFactory {
   private static final String EXP_TYPE = "Select";
 
   private final CodeGenRunner codeGenerator;
+  private final boolean fusedProjection;
 
   @VisibleForTesting
-  SelectValueMapperFactory(final CodeGenRunner codeGenerator) {
+  SelectValueMapperFactory(final CodeGenRunner codeGenerator, final boolean fusedProjection) {
     this.codeGenerator = requireNonNull(codeGenerator, "codeGenerator");
+    this.fusedProjection = fusedProjection;
   }
 
   public static <K> SelectValueMapper<K> create(
@@ -50,16 +55,42 @@ public final class SelectValueMapperFactory {
   ) {
     final CodeGenRunner codeGen = new CodeGenRunner(sourceSchema, ksqlConfig, functionRegistry);
 
-    return new SelectValueMapperFactory(codeGen).create(selectExpressions);
+    final boolean fusedProjection =
+        ksqlConfig.getBoolean(KsqlConfig.KSQL_QUERY_FUSED_PROJECTION_ENABLE_CONFIG);
+
+    return new SelectValueMapperFactory(codeGen, fusedProjection).create(selectExpressions);
   }
 
   @VisibleForTesting
   <K> SelectValueMapper<K> create(
       final List<SelectExpression> selectExpressions
   ) {
+    if (fusedProjection) {
+      return buildFused(selectExpressions);
+    }
+
     return new SelectValueMapper<>(buildSelects(selectExpressions));
   }
 
+  private <K> SelectValueMapper<K> buildFused(final List<SelectExpression> selectExpressions) {
+    final CompiledProjection projection = codeGenerator.buildProjection(
+        selectExpressions.stream()
+            .map(SelectExpression::getExpression)
+            .collect(Collectors.toList()),
+        EXP_TYPE
+    );
+
+    final List<SelectInfo> selects = IntStream.range(0, selectExpressions.size())
+        .mapToObj(i -> SelectInfo.of(
+            selectExpressions.get(i).getAlias(),
+            projection.getExpression(i),
+            projection.getExpressionType(i)
+        ))
+        .collect(Collectors.toList());
+
+    return new SelectValueMapper<>(selects, Optional.of(projection));
+  }
+
   private List<SelectInfo> buildSelects(final List<SelectExpression> selectExpressions) {
     return selectExpressions.stream()
         .map(this::buildSelect)
@@ -24,6 +24,7 @@ import io.confluent.ksql.util.KsqlHostInfo;
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import javax.annotation.concurrent.ThreadSafe;
 
 @ThreadSafe
@@ -57,6 +58,24 @@ public interface SimpleKsqlClient {
       Map<String, ?> requestProperties
   );
 
+  /**
+   * Send pull query request to remote Ksql server, passing the rows of the response to the
+   * supplied {@code rowConsumer} as they are received rather than buffering them all.
+   * @param serverEndPoint the remote destination
+   * @param sql the pull query statement
+   * @param configOverrides the config overrides provided by the client
+   * @param requestProperties the request metadata provided by the server
+   * @param rowConsumer receives each batch of rows as it is read from the response
+   * @return the number of rows received
+   */
+  RestResponse<Integer> makeQueryRequest(
+      URI serverEndPoint,
+      String sql,
+      Map<String, ?> configOverrides,
+      Map<String, ?> requestProperties,
+      Consumer<List<StreamedRow>> rowConsumer
+  );
+
   /**
    * Send heartbeat to remote Ksql server.
    * @param serverEndPoint the remote destination.
@@ -23,6 +23,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.testing.NullPointerTester;
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
 import io.confluent.ksql.GenericRow;
@@ -229,6 +230,46 @@ public class KsqlQueryBuilderTest {
     );
   }
 
+  @Test
+  public void shouldBuildValueSerdeWithRequiredColumns() {
+    // When:
+    ksqlQueryBuilder.buildValueSerde(
+        FORMAT_INFO,
+        SOME_SCHEMA,
+        queryContext,
+        ImmutableSet.of(ColumnName.of("f0"))
+    );
+
+    // Then:
+    verify(valueSerdeFactory).create(
+        FORMAT_INFO,
+        SOME_SCHEMA.valueSchema(),
+        ksqlConfig,
+        srClientFactory,
+        QueryLoggerUtil.queryLoggerName(QUERY_ID, queryContext),
+        processingLogContext,
+        ImmutableSet.of(ColumnName.of("f0"))
+    );
+  }
+
+  @Test
+  public void shouldBuildValueColumnReaderWithoutTrackingSchema() {
+    // When:
+    ksqlQueryBuilder.buildValueColumnReader(
+        FORMAT_INFO,
+        SOME_SCHEMA,
+        ImmutableSet.of(ColumnName.of("f0"))
+    );
+
+    // Then:
+    verify(valueSerdeFactory).createColumnReader(
+        FORMAT_INFO,
+        SOME_SCHEMA.valueSchema(),
+        ImmutableSet.of(ColumnName.of("f0"))
+    );
+    assertThat(ksqlQueryBuilder.getSchemas().getSchemasDescription().isEmpty(), is(true));
+  }
+
   @Test
   public void shouldTrackSchemasUsed() {
     // When:
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.codegen;
+
+import static io.confluent.ksql.GenericRow.genericRow;
+import static io.confluent.ksql.execution.testutil.TestExpressions.COL0;
+import static io.confluent.ksql.execution.testutil.TestExpressions.COL1;
+import static io.confluent.ksql.execution.testutil.TestExpressions.COL7;
+import static io.confluent.ksql.execution.testutil.TestExpressions.SCHEMA;
+import static io.confluent.ksql.execution.testutil.TestExpressions.literal;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.expression.tree.ArithmeticBinaryExpression;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.FunctionCall;
+import io.confluent.ksql.function.FunctionRegistry;
+import io.confluent.ksql.function.KsqlScalarFunction;
+import io.confluent.ksql.function.UdfFactory;
+import io.confluent.ksql.function.udf.Kudf;
+import io.confluent.ksql.function.udf.UdfMetadata;
+import io.confluent.ksql.name.FunctionName;
+import io.confluent.ksql.schema.Operator;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import io.confluent.ksql.util.KsqlConfig;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CompiledProjectionTest {
+
+  private static final Expression COL0_PLUS_1 =
+      new ArithmeticBinaryExpression(Operator.ADD, COL0, literal(1));
+
+  private static final Expression COL7_PLUS_1 =
+      new ArithmeticBinaryExpression(Operator.ADD, COL7, literal(1));
+
+  @Mock
+  private FunctionRegistry functionRegistry;
+  @Mock
+  private CompiledProjection.ErrorHandler errorHandler;
+  @Mock
+  private UdfFactory udfFactory;
+  @Mock
+  private KsqlScalarFunction udf;
+  @Mock
+  private UdfMetadata udfMetadata;
+  private CodeGenRunner codeGenRunner;
+
+  @Before
+  public void setUp() {
+    codeGenRunner = new CodeGenRunner(
+        SCHEMA,
+        new KsqlConfig(ImmutableMap.of()),
+        functionRegistry
+    );
+  }
+
+  @Test
+  public void shouldEvaluateExpressionsInOrder() {
+    // Given:
+    final CompiledProjection projection = codeGenRunner
+        .buildProjection(ImmutableList.of(COL0_PLUS_1, COL1, COL7), "Select");
+
+    final GenericRow output = new GenericRow();
+
+    // When:
+    projection.evaluate(row(10L, "foo", 3), output, errorHandler);
+
+    // Then:
+    assertThat(output, is(genericRow(11L, "foo", 3)));
+  }
+
+  @Test
+  public void shouldReturnExpressionTypes() {
+    // When:
+    final CompiledProjection projection = codeGenRunner
+        .buildProjection(ImmutableList.of(COL0_PLUS_1, COL1, COL7), "Select");
+
+    // Then:
+    assertThat(projection.size(), is(3));
+    assertThat(projection.getExpression(0), is(COL0_PLUS_1));
+    assertThat(projection.getExpressionType(0), is(SqlTypes.BIGINT));
+    assertThat(projection.getExpressionType(1), is(SqlTypes.STRING));
+    assertThat(projection.getExpressionType(2), is(SqlTypes.INTEGER));
+  }
+
+  @Test
+  public void shouldEvaluateRepeatedExpressions() {
+    // Given:
+    final CompiledProjection projection = codeGenRunner
+        .buildProjection(ImmutableList.of(COL7_PLUS_1, COL7, COL7_PLUS_1), "Select");
+
+    final GenericRow output = new GenericRow();
+
+    // When:
+    projection.evaluate(row(10L, "foo", 3), output, errorHandler);
+
+    // Then:
+    assertThat(output, is(genericRow(4, 3, 4)));
+    assertThat(projection.getExpressionType(2), is(SqlTypes.INTEGER));
+  }
+
+  @Test
+  public void shouldEvaluateRepeatedNonDeterministicExpressionsSeparately() {
+    // Given:
+    final AtomicInteger calls = new AtomicInteger();
+    givenUserUdf("NEXT", args -> calls.incrementAndGet());
+
+    final Expression next = new FunctionCall(FunctionName.of("NEXT"), ImmutableList.of());
+    final CompiledProjection projection = codeGenRunner
+        .buildProjection(ImmutableList.of(next, next), "Select");
+
+    final GenericRow output = new GenericRow();
+
+    // When:
+    projection.evaluate(row(10L, "foo", 3), output, errorHandler);
+
+    // Then:
+    assertThat(output, is(genericRow(1, 2)));
+  }
+
+  @Test
+  public void shouldReportErrorsAndContinueWithOtherExpressions() {
+    // Given:
+    final CompiledProjection projection = codeGenRunner
+        .buildProjection(ImmutableList.of(COL1, COL7_PLUS_1), "Select");
+
+    final GenericRow row = row(10L, "foo", null);
+    final GenericRow output = new GenericRow();
+
+    // When:
+    projection.evaluate(row, output, errorHandler);
+
+    // Then:
+    assertThat(output, is(genericRow("foo", null)));
+
+    final ArgumentCaptor<Exception> error = ArgumentCaptor.forClass(Exception.class);
+    verify(errorHandler).onError(eq(1), eq(row), error.capture());
+    assertThat(error.getValue(), is(instanceOf(NullPointerException.class)));
+  }
+
+  @Test
+  public void shouldReportErrorForEachRepeatedExpression() {
+    // Given:
+    final CompiledProjection projection = codeGenRunner
+        .buildProjection(ImmutableList.of(COL7_PLUS_1, COL1, COL7_PLUS_1), "Select");
+
+    final GenericRow row = row(10L, "foo", null);
+
+    // When:
+    projection.evaluate(row, new GenericRow(), errorHandler);
+
+    // Then:
+    verify(errorHandler).onError(eq(0), eq(row), any());
+    verify(errorHandler).onError(eq(2), eq(row), any());
+    verify(errorHandler, never()).onError(eq(1), any(), any());
+  }
+
+  @Test
+  public void shouldNotReportErrorsIfNoneOccur() {
+    // Given:
+    final CompiledProjection projection = codeGenRunner
+        .buildProjection(ImmutableList.of(COL0_PLUS_1), "Select");
+
+    // When:
+    projection.evaluate(row(10L, "foo", 3), new GenericRow(), errorHandler);
+
+    // Then:
+    verify(errorHandler, never()).onError(anyInt(), any(), any());
+  }
+
+  private void givenUserUdf(final String name, final Kudf kudf) {
+    when(functionRegistry.getUdfFactory(FunctionName.of(name))).thenReturn(udfFactory);
+    when(udfFactory.getFunction(anyList())).thenReturn(udf);
+    when(udfFactory.getMetadata()).thenReturn(udfMetadata);
+    when(udfMetadata.getPath()).thenReturn("/ext/udfs.jar");
+    when(udf.name()).thenReturn(FunctionName.of(name));
+    when(udf.getReturnType(anyList())).thenReturn(SqlTypes.INTEGER);
+    when(udf.newInstance(any())).thenReturn(kudf);
+  }
+
+  private static GenericRow row(final Long col0, final String col1, final Integer col7) {
+    return genericRow(col0, col1, null, null, null, null, null, col7, null, null);
+  }
+}
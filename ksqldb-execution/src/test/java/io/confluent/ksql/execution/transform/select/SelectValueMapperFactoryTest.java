@@ -57,7 +57,7 @@ public class SelectValueMapperFactoryTest {
 
   @Before
   public void setUp() {
-    factory = new SelectValueMapperFactory(codeGenerator);
+    factory = new SelectValueMapperFactory(codeGenerator, false);
 
     when(select_0.getAlias()).thenReturn(ColumnName.of("field_0"));
     when(select_1.getAlias()).thenReturn(ColumnName.of("field_1"));
@@ -64,6 +64,8 @@ public final class CreateSourceAsProperties {
     this.props = new PropertiesConfig(CreateAsConfigs.CONFIG_METADATA, originals);
 
     props.validateDateTimeFormat(CommonCreateConfigs.TIMESTAMP_FORMAT_PROPERTY);
+    Optional.ofNullable(props.getString(CommonCreateConfigs.VALUE_FORMAT_PROPERTY))
+        .ifPresent(FormatFactory::throwOnInternalFormat);
   }
 
   public Optional<Format> getValueFormat() {
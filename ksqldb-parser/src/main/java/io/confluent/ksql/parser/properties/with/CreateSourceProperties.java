@@ -72,6 +72,8 @@ public final class CreateSourceProperties {
     this.durationParser = Objects.requireNonNull(durationParser, "durationParser");
 
     props.validateDateTimeFormat(CommonCreateConfigs.TIMESTAMP_FORMAT_PROPERTY);
+    Optional.ofNullable(props.getString(CommonCreateConfigs.VALUE_FORMAT_PROPERTY))
+        .ifPresent(FormatFactory::throwOnInternalFormat);
     validateWindowInfo();
   }
 
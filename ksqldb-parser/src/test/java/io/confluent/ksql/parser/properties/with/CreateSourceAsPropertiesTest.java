@@ -94,6 +94,19 @@ public class CreateSourceAsPropertiesTest {
     assertThat(properties.getTimestampFormat(), is(Optional.of("yyyy-MM-dd'T'HH:mm:ss.SSS")));
   }
 
+  @Test
+  public void shouldThrowOnInternalValueFormat() {
+    // When:
+    final Exception e = assertThrows(
+        KsqlException.class,
+        () -> from(
+            of(CommonCreateConfigs.VALUE_FORMAT_PROPERTY, new StringLiteral("KSQL_BINARY")))
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString("Unknown format: KSQL_BINARY"));
+  }
+
   @Test
   public void shouldThrowOnInvalidTimestampFormat() {
     // When:
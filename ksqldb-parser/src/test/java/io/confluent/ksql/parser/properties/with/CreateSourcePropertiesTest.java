@@ -133,6 +133,21 @@ public class CreateSourcePropertiesTest {
     assertThat(properties.getTimestampFormat(), is(Optional.of("yyyy-MM-dd'T'HH:mm:ss.SSS")));
   }
 
+  @Test
+  public void shouldThrowOnInternalValueFormat() {
+    // When:
+    final Exception e = assertThrows(
+        KsqlException.class,
+        () -> CreateSourceProperties.from(ImmutableMap.of(
+            CommonCreateConfigs.VALUE_FORMAT_PROPERTY, new StringLiteral("ksql_binary"),
+            CommonCreateConfigs.KAFKA_TOPIC_NAME_PROPERTY, new StringLiteral("foo")
+        ))
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString("Unknown format: ksql_binary"));
+  }
+
   @Test
   public void shouldThrowOnConstructionInvalidTimestampFormat() {
     // When:
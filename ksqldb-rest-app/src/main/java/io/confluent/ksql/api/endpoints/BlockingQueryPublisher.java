@@ -19,15 +19,16 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.api.server.PushQueryHandle;
 import io.confluent.ksql.api.spi.QueryPublisher;
+import io.confluent.ksql.query.PushQueryBuffer;
+import io.confluent.ksql.query.PushQueryOverflowPolicy;
 import io.confluent.ksql.reactive.BasePublisher;
+import io.confluent.ksql.util.KsqlConfig;
+import io.confluent.ksql.util.KsqlException;
 import io.vertx.core.Context;
 import io.vertx.core.WorkerExecutor;
 import java.util.List;
 import java.util.Objects;
 import java.util.OptionalInt;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,6 +41,9 @@ import org.slf4j.LoggerFactory;
  * slow streams down is to block the thread. Kafka Streams uses dedicated streams per topology so
  * this won't prevent the thread from doing useful work elsewhere but it does mean we can't have too
  * many push queries in the server at any one time as we can end up with a lot of threads.
+ *
+ * <p>Blocking is the default {@link PushQueryOverflowPolicy}. A query can instead drop the oldest
+ * queued rows, or fail, when the subscriber is slow.
  */
 public class BlockingQueryPublisher extends BasePublisher<GenericRow>
     implements QueryPublisher, Consumer<GenericRow> {
@@ -49,8 +53,7 @@ public class BlockingQueryPublisher extends BasePublisher<GenericRow>
   public static final int SEND_MAX_BATCH_SIZE = 200;
   public static final int BLOCKING_QUEUE_CAPACITY = 500;
 
-  private final BlockingQueue<GenericRow> queue = new LinkedBlockingQueue<>(
-      BLOCKING_QUEUE_CAPACITY);
+  private final PushQueryBuffer<GenericRow> queue;
   private final WorkerExecutor workerExecutor;
   private PushQueryHandle queryHandle;
   private List<String> columnNames;
@@ -62,8 +65,19 @@ public class BlockingQueryPublisher extends BasePublisher<GenericRow>
 
   public BlockingQueryPublisher(final Context ctx,
       final WorkerExecutor workerExecutor) {
+    this(ctx, workerExecutor, PushQueryOverflowPolicy.BLOCK,
+        KsqlConfig.KSQL_QUERY_PUSH_OVERFLOW_BLOCK_TIMEOUT_MS_DEFAULT);
+  }
+
+  public BlockingQueryPublisher(final Context ctx,
+      final WorkerExecutor workerExecutor,
+      final PushQueryOverflowPolicy overflowPolicy,
+      final long blockTimeoutMs) {
     super(ctx);
     this.workerExecutor = Objects.requireNonNull(workerExecutor);
+    // Don't block for more than a little while each time to allow close to work
+    this.queue = new PushQueryBuffer<>(
+        BLOCKING_QUEUE_CAPACITY, overflowPolicy, 250, blockTimeoutMs);
   }
 
   public void setQueryHandle(final PushQueryHandle queryHandle) {
@@ -101,17 +115,17 @@ public class BlockingQueryPublisher extends BasePublisher<GenericRow>
       return;
     }
 
-    while (!closed) {
-      try {
-        // Don't block for more than a little while each time to allow close to work
-        if (queue.offer(row, 250, TimeUnit.MILLISECONDS)) {
-          numAccepted++;
-          maybeSend();
-          return;
-        }
-      } catch (InterruptedException ignore) {
-        return;
+    try {
+      if (queue.put(row, () -> closed)) {
+        numAccepted++;
+        maybeSend();
       }
+    } catch (InterruptedException ignore) {
+      return;
+    } catch (KsqlException e) {
+      log.warn("Closing push query as its subscriber is not keeping up");
+      ctx.runOnContext(v -> sendError(e));
+      close();
     }
   }
 
@@ -119,6 +133,10 @@ public class BlockingQueryPublisher extends BasePublisher<GenericRow>
     return queue.size();
   }
 
+  public long droppedRows() {
+    return queue.droppedRows();
+  }
+
   @Override
   public boolean isPullQuery() {
     return false;
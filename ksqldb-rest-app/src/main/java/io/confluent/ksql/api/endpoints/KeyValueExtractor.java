@@ -85,6 +85,8 @@ public final class KeyValueExtractor {
         return new BigDecimal((Integer) value).setScale(decType.getScale(), RoundingMode.HALF_UP);
       } else if (value instanceof Long) {
         return new BigDecimal((Long) value).setScale(decType.getScale(), RoundingMode.HALF_UP);
+      } else if (value instanceof BigDecimal) {
+        return ((BigDecimal) value).setScale(decType.getScale(), RoundingMode.HALF_UP);
       }
     }
     return sqlValueCoercer.coerce(value, sqlType)
@@ -120,7 +120,9 @@ public class KsqlServerEndpoints implements Endpoints {
         () -> new QueryEndpoint(ksqlEngine, ksqlConfig, pullQueryExecutor)
             .createQueryPublisher(sql, properties, context, workerExecutor,
                 ksqlSecurityContextProvider.provide(apiSecurityContext).getServiceContext()),
-        workerExecutor);
+        workerExecutor)
+        // Wait for the publisher without holding the worker thread:
+        .thenCompose(Function.identity());
   }
 
   @Override
@@ -17,35 +17,57 @@ package io.confluent.ksql.api.endpoints;
 
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.api.spi.QueryPublisher;
-import io.confluent.ksql.reactive.BufferedPublisher;
-import io.confluent.ksql.rest.entity.TableRowsEntity;
+import io.confluent.ksql.reactive.BasePublisher;
+import io.confluent.ksql.rest.server.execution.PullQueryResult;
 import io.vertx.core.Context;
-import java.util.ArrayList;
+import io.vertx.core.WorkerExecutor;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
-public class PullQueryPublisher extends BufferedPublisher<GenericRow> implements QueryPublisher {
+/**
+ * A query publisher that delivers the rows of a pull query as they are read.
+ *
+ * <p>Rows are read from the state store, or from the nodes the query was forwarded to, on a worker
+ * thread and handed to the event loop via a bounded blocking queue. If the subscriber is slow the
+ * worker blocks, so reading the rows is paced by the subscriber's demand rather than the result
+ * being built up in memory.
+ *
+ * <p>Reading starts when {@link #start()} is called. The response is only written once the
+ * future it returns completes, so that errors before the first row, e.g. failing to route the
+ * query, are still reported with an error status. Errors once rows have been read are sent to the
+ * subscriber.
+ */
+public class PullQueryPublisher extends BasePublisher<GenericRow> implements QueryPublisher {
+
+  public static final int SEND_MAX_BATCH_SIZE = 200;
+  public static final int BLOCKING_QUEUE_CAPACITY = 500;
 
+  private final BlockingQueue<GenericRow> queue = new LinkedBlockingQueue<>(
+      BLOCKING_QUEUE_CAPACITY);
+  private final WorkerExecutor workerExecutor;
+  private final PullQueryResult result;
   private final List<String> columnNames;
   private final List<String> columnTypes;
+  private final CompletableFuture<Void> started = new CompletableFuture<>();
+  private volatile boolean complete;
+  private volatile Exception error;
+  private volatile boolean closed;
 
-  public PullQueryPublisher(final Context ctx, final TableRowsEntity tableRows,
-      final List<String> columnNames, final List<String> columnTypes) {
-    super(ctx, toGenericRows(tableRows));
+  public PullQueryPublisher(final Context ctx, final WorkerExecutor workerExecutor,
+      final PullQueryResult result, final List<String> columnNames,
+      final List<String> columnTypes) {
+    super(ctx);
+    this.workerExecutor = Objects.requireNonNull(workerExecutor);
+    this.result = Objects.requireNonNull(result);
     this.columnNames = Objects.requireNonNull(columnNames);
     this.columnTypes = Objects.requireNonNull(columnTypes);
   }
 
-  @SuppressWarnings({"unchecked", "rawtypes"})
-  private static List<GenericRow> toGenericRows(final TableRowsEntity tableRows) {
-    final List<GenericRow> genericRows = new ArrayList<>(tableRows.getRows().size());
-    for (List row : tableRows.getRows()) {
-      final GenericRow genericRow = GenericRow.fromList(row);
-      genericRows.add(genericRow);
-    }
-    return genericRows;
-  }
-
   @Override
   public List<String> getColumnNames() {
     return columnNames;
@@ -60,4 +82,104 @@ public class PullQueryPublisher extends BufferedPublisher<GenericRow> implements
   public boolean isPullQuery() {
     return true;
   }
+
+  @Override
+  public void close() {
+    closed = true;
+    super.close();
+  }
+
+  /**
+   * Start reading the rows on a worker thread, without waiting for them.
+   *
+   * <p>The returned future completes, on the publisher's context, once the first row has been
+   * read or the query has completed, or completes exceptionally if the query failed before
+   * reading any rows. The caller must not block waiting for it on a worker thread, as reading
+   * the rows itself needs a worker thread.
+   *
+   * @return the future.
+   */
+  public CompletableFuture<Void> start() {
+    // Run async as reading the rows blocks
+    workerExecutor.<Void>executeBlocking(p -> {
+      result.consume(this::enqueue);
+      p.complete();
+    }, false, ar -> {
+      if (ar.failed()) {
+        error = ar.cause() instanceof Exception
+            ? (Exception) ar.cause()
+            : new RuntimeException(ar.cause());
+        if (started.completeExceptionally(ar.cause())) {
+          // Failed before the first row, so there is no subscriber to tell:
+          closed = true;
+        }
+      } else {
+        started.complete(null);
+      }
+      complete = true;
+      maybeSend();
+    });
+
+    return started;
+  }
+
+  @Override
+  protected void maybeSend() {
+    ctx.runOnContext(v -> doSend());
+  }
+
+  @Override
+  protected void afterSubscribe() {
+    doSend();
+  }
+
+  private void enqueue(final List<?> values) {
+    final GenericRow row = new GenericRow().appendAll(values);
+    while (!closed) {
+      try {
+        // Don't block for more than a little while each time to allow close to work
+        if (queue.offer(row, 250, TimeUnit.MILLISECONDS)) {
+          if (!started.isDone()) {
+            ctx.runOnContext(v -> started.complete(null));
+          }
+          maybeSend();
+          return;
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+    // Stop reading any more rows:
+    throw new CancellationException("Pull query publisher closed");
+  }
+
+  private void doSend() {
+    checkContext();
+
+    if (getSubscriber() == null) {
+      return;
+    }
+
+    int num = 0;
+    while (getDemand() > 0 && !queue.isEmpty()) {
+      if (num < SEND_MAX_BATCH_SIZE) {
+        doOnNext(queue.poll());
+        num++;
+      } else {
+        // Schedule another batch async
+        ctx.runOnContext(v -> doSend());
+        return;
+      }
+    }
+
+    if (complete && queue.isEmpty() && !closed) {
+      closed = true;
+      if (error != null) {
+        sendError(error);
+      } else {
+        sendComplete();
+      }
+    }
+  }
 }
@@ -18,12 +18,15 @@ package io.confluent.ksql.api.endpoints;
 import io.confluent.ksql.api.server.PushQueryHandle;
 import io.confluent.ksql.api.spi.QueryPublisher;
 import io.confluent.ksql.engine.KsqlEngine;
+import io.confluent.ksql.internal.PushQueryQueueMetrics;
+import io.confluent.ksql.metrics.MetricCollectors;
 import io.confluent.ksql.parser.KsqlParser.ParsedStatement;
 import io.confluent.ksql.parser.KsqlParser.PreparedStatement;
 import io.confluent.ksql.parser.tree.Query;
 import io.confluent.ksql.parser.tree.Statement;
-import io.confluent.ksql.rest.entity.TableRowsEntity;
+import io.confluent.ksql.query.PushQueryOverflowPolicy;
 import io.confluent.ksql.rest.server.execution.PullQueryExecutor;
+import io.confluent.ksql.rest.server.execution.PullQueryResult;
 import io.confluent.ksql.schema.ksql.Column;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.schema.utils.FormatOptions;
@@ -41,6 +44,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
 
 public class QueryEndpoint {
 
@@ -55,7 +59,14 @@ public class QueryEndpoint {
     this.pullQueryExecutor = pullQueryExecutor;
   }
 
-  public QueryPublisher createQueryPublisher(
+  /**
+   * Create the publisher of a query's rows.
+   *
+   * <p>The returned future completes once the publisher is ready to be subscribed to. For pull
+   * queries, this is once the first row has been read, so it must not be waited on from a worker
+   * thread.
+   */
+  public CompletableFuture<QueryPublisher> createQueryPublisher(
       final String sql, final JsonObject properties,
       final Context context,
       final WorkerExecutor workerExecutor,
@@ -69,9 +80,10 @@ public class QueryEndpoint {
     final ConfiguredStatement<Query> statement = createStatement(sql, properties.getMap());
 
     if (statement.getStatement().isPullQuery()) {
-      return createPullQueryPublisher(context, serviceContext, statement);
+      return createPullQueryPublisher(context, serviceContext, statement, workerExecutor);
     } else {
-      return createPushQueryPublisher(context, serviceContext, statement, workerExecutor);
+      return CompletableFuture.completedFuture(
+          createPushQueryPublisher(context, serviceContext, statement, workerExecutor));
     }
   }
 
@@ -79,23 +91,37 @@ public class QueryEndpoint {
       final ServiceContext serviceContext,
       final ConfiguredStatement<Query> statement, final WorkerExecutor workerExecutor) {
 
+    final KsqlConfig queryConfig = statement.getConfig()
+        .cloneWithPropertyOverwrite(statement.getConfigOverrides());
+    final PushQueryOverflowPolicy overflowPolicy = PushQueryOverflowPolicy.parse(
+        queryConfig.getString(KsqlConfig.KSQL_QUERY_PUSH_OVERFLOW_POLICY_CONFIG));
+
     final BlockingQueryPublisher publisher = new BlockingQueryPublisher(context,
-        workerExecutor);
+        workerExecutor, overflowPolicy,
+        queryConfig.getLong(KsqlConfig.KSQL_QUERY_PUSH_OVERFLOW_BLOCK_TIMEOUT_MS_CONFIG));
     final QueryMetadata queryMetadata = ksqlEngine
         .executeQuery(serviceContext, statement, publisher);
+    final PushQueryQueueMetrics queueMetrics = new PushQueryQueueMetrics(
+        MetricCollectors.getMetrics(),
+        "",
+        queryMetadata.getQueryApplicationId(),
+        publisher::queueSize,
+        publisher::droppedRows
+    );
     final KsqlQueryHandle queryHandle = new KsqlQueryHandle(queryMetadata,
-        statement.getStatement().getLimit());
+        statement.getStatement().getLimit(), queueMetrics);
     publisher.setQueryHandle(queryHandle);
     return publisher;
   }
 
-  private QueryPublisher createPullQueryPublisher(final Context context,
+  private CompletableFuture<QueryPublisher> createPullQueryPublisher(final Context context,
       final ServiceContext serviceContext,
-      final ConfiguredStatement<Query> statement) {
-    final TableRowsEntity tableRows = pullQueryExecutor.execute(
+      final ConfiguredStatement<Query> statement, final WorkerExecutor workerExecutor) {
+    final PullQueryResult result = pullQueryExecutor.stream(
         statement, serviceContext, Optional.empty());
-    return new PullQueryPublisher(context, tableRows, colNamesFromSchema(tableRows.getSchema()),
-        colTypesFromSchema(tableRows.getSchema()));
+    final PullQueryPublisher publisher = new PullQueryPublisher(context, workerExecutor, result,
+        colNamesFromSchema(result.getSchema()), colTypesFromSchema(result.getSchema()));
+    return publisher.start().thenApply(v -> publisher);
   }
 
   private ConfiguredStatement<Query> createStatement(final String queryString,
@@ -147,10 +173,13 @@ public class QueryEndpoint {
 
     private final QueryMetadata queryMetadata;
     private final OptionalInt limit;
+    private final PushQueryQueueMetrics queueMetrics;
 
-    KsqlQueryHandle(final QueryMetadata queryMetadata, final OptionalInt limit) {
+    KsqlQueryHandle(final QueryMetadata queryMetadata, final OptionalInt limit,
+        final PushQueryQueueMetrics queueMetrics) {
       this.queryMetadata = queryMetadata;
       this.limit = limit;
+      this.queueMetrics = queueMetrics;
     }
 
     @Override
@@ -176,6 +205,7 @@ public class QueryEndpoint {
     @Override
     public void stop() {
       queryMetadata.close();
+      queueMetrics.close();
     }
   }
 
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.api.server;
+
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.api.server.protocol.BinaryRowCodec;
+import io.confluent.ksql.api.server.protocol.ErrorResponse;
+import io.confluent.ksql.api.server.protocol.QueryResponseMetadata;
+import io.vertx.core.http.HttpServerResponse;
+import java.util.Objects;
+
+/**
+ * Writes the query response stream in binary format.
+ *
+ * <p>The response comprises a sequence of length-prefixed frames. The first frame holds the
+ * metadata of the query as a JSON object, exactly as in the delimited format. Each subsequent
+ * frame holds a row, with each column value written in a compact binary form, avoiding the cost
+ * of formatting rows as JSON text at the server and parsing them at the client.
+ *
+ * <p>See {@link BinaryRowCodec} for a full description of the format.
+ */
+public class BinaryQueryStreamResponseWriter implements QueryStreamResponseWriter {
+
+  private final HttpServerResponse response;
+
+  public BinaryQueryStreamResponseWriter(final HttpServerResponse response) {
+    this.response = Objects.requireNonNull(response);
+  }
+
+  @Override
+  public QueryStreamResponseWriter writeMetadata(final QueryResponseMetadata metaData) {
+    response.write(BinaryRowCodec.frame(BinaryRowCodec.METADATA_FRAME, metaData.toBuffer()));
+    return this;
+  }
+
+  @Override
+  public QueryStreamResponseWriter writeRow(final GenericRow row) {
+    response.write(BinaryRowCodec.encodeRow(row.values()));
+    return this;
+  }
+
+  @Override
+  public QueryStreamResponseWriter writeError(final ErrorResponse error) {
+    response.write(BinaryRowCodec.frame(BinaryRowCodec.ERROR_FRAME, error.toBuffer()));
+    return this;
+  }
+
+  @Override
+  public void end() {
+    response.end();
+  }
+}
@@ -18,9 +18,11 @@ package io.confluent.ksql.api.server;
 import static io.confluent.ksql.api.server.QueryStreamHandler.DELIMITED_CONTENT_TYPE;
 import static io.confluent.ksql.api.server.ServerUtils.checkHttp2;
 import static io.confluent.ksql.api.server.ServerUtils.deserialiseObject;
+import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 import static io.netty.handler.codec.http.HttpResponseStatus.INTERNAL_SERVER_ERROR;
 
 import io.confluent.ksql.api.auth.DefaultApiSecurityContext;
+import io.confluent.ksql.api.server.protocol.BinaryRowCodec;
 import io.confluent.ksql.api.server.protocol.InsertError;
 import io.confluent.ksql.api.server.protocol.InsertsStreamArgs;
 import io.confluent.ksql.api.spi.Endpoints;
@@ -29,6 +31,7 @@ import io.vertx.core.Context;
 import io.vertx.core.Handler;
 import io.vertx.core.WorkerExecutor;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.json.DecodeException;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.parsetools.RecordParser;
@@ -47,6 +50,10 @@ import org.slf4j.LoggerFactory;
  * are wanted) This must be followed by a new line, and then followed by zero or more JSON objects
  * (also encoded as UTF-8 text) each representing a row to insert. The last JSON object must be
  * followed by a new-line.
+ *
+ * <p>Alternatively, if the request has a content type of {@link BinaryRowCodec#CONTENT_TYPE}, the
+ * arguments and rows are sent as binary frames, as described by {@link BinaryRowCodec}. This
+ * avoids the cost of formatting and parsing each row as JSON text.
  */
 public class InsertsStreamHandler implements Handler<RoutingContext> {
 
@@ -70,18 +77,79 @@ public class InsertsStreamHandler implements Handler<RoutingContext> {
       return;
     }
 
+    if (isBinary(routingContext)) {
+      // The record parser takes in potentially fragmented buffers from the request and spits
+      // out frame headers and payloads, switching between the two as it goes
+      final RecordParser recordParser =
+          RecordParser.newFixed(BinaryRowCodec.FRAME_HEADER_SIZE, routingContext.request());
+      final RequestHandler requestHandler = new RequestHandler(routingContext, recordParser, true);
+      recordParser.handler(new BinaryFrameParser(recordParser, requestHandler));
+      recordParser.endHandler(requestHandler::handleBodyEnd);
+      return;
+    }
+
     // The record parser takes in potentially fragmented buffers from the request and spits
     // out the chunks delimited by newline
     final RecordParser recordParser = RecordParser.newDelimited("\n", routingContext.request());
-    final RequestHandler requestHandler = new RequestHandler(routingContext, recordParser);
+    final RequestHandler requestHandler = new RequestHandler(routingContext, recordParser, false);
     recordParser.handler(requestHandler::handleBodyBuffer);
     recordParser.endHandler(requestHandler::handleBodyEnd);
   }
 
+  private static boolean isBinary(final RoutingContext routingContext) {
+    final String contentType = routingContext.request().getHeader(HttpHeaders.CONTENT_TYPE);
+    return contentType != null
+        && BinaryRowCodec.CONTENT_TYPE.equals(contentType.split(";")[0].trim());
+  }
+
+  /**
+   * Splits a binary request body into frames.
+   */
+  private static final class BinaryFrameParser implements Handler<Buffer> {
+
+    private final RecordParser recordParser;
+    private final RequestHandler requestHandler;
+    private byte frameType;
+    private boolean readingPayload;
+    private boolean malformed;
+
+    BinaryFrameParser(final RecordParser recordParser, final RequestHandler requestHandler) {
+      this.recordParser = Objects.requireNonNull(recordParser);
+      this.requestHandler = Objects.requireNonNull(requestHandler);
+    }
+
+    @Override
+    public void handle(final Buffer buff) {
+      if (malformed) {
+        // Once a frame header is malformed, where later frames start is unknown:
+        return;
+      }
+
+      if (readingPayload) {
+        readingPayload = false;
+        recordParser.fixedSizeMode(BinaryRowCodec.FRAME_HEADER_SIZE);
+        requestHandler.handleBinaryFrame(frameType, buff);
+        return;
+      }
+
+      frameType = buff.getByte(0);
+      final int payloadLength = buff.getInt(1);
+      if (payloadLength <= 0 || payloadLength > BinaryRowCodec.MAX_PAYLOAD_LENGTH) {
+        malformed = true;
+        requestHandler.handleMalformedFrame();
+        return;
+      }
+
+      readingPayload = true;
+      recordParser.fixedSizeMode(payloadLength);
+    }
+  }
+
   private class RequestHandler {
 
     private final RoutingContext routingContext;
     private final RecordParser recordParser;
+    private final boolean binary;
     private final InsertsStreamResponseWriter insertsStreamResponseWriter;
     private boolean hasReadArguments;
     private BufferedPublisher<JsonObject> publisher;
@@ -93,9 +161,11 @@ public class InsertsStreamHandler implements Handler<RoutingContext> {
     private InsertsStreamSubscriber insertsSubscriber;
 
     RequestHandler(final RoutingContext routingContext,
-        final RecordParser recordParser) {
+        final RecordParser recordParser,
+        final boolean binary) {
       this.routingContext = Objects.requireNonNull(routingContext);
       this.recordParser = Objects.requireNonNull(recordParser);
+      this.binary = binary;
       final String contentType = routingContext.getAcceptableContentType();
       if (DELIMITED_CONTENT_TYPE.equals(contentType) || contentType == null) {
         // Default
@@ -121,6 +191,36 @@ public class InsertsStreamHandler implements Handler<RoutingContext> {
       }
     }
 
+    public void handleBinaryFrame(final byte frameType, final Buffer payload) {
+      final byte expected = hasReadArguments
+          ? BinaryRowCodec.ROW_FRAME
+          : BinaryRowCodec.ARGS_FRAME;
+
+      if (frameType != expected) {
+        handleMalformedFrame();
+        return;
+      }
+
+      handleBodyBuffer(payload);
+    }
+
+    public void handleMalformedFrame() {
+      if (responseEnded) {
+        return;
+      }
+
+      if (!hasReadArguments) {
+        hasReadArguments = true;
+        routingContext.fail(BAD_REQUEST.code(), new KsqlApiException(
+            "Malformed binary frame in request", ErrorCodes.ERROR_CODE_MALFORMED_REQUEST));
+        return;
+      }
+
+      if (publisher != null) {
+        writeRowError(sendSequence++, "Malformed binary frame in inserts stream");
+      }
+    }
+
     private void handleArgs(final Buffer buff) {
       hasReadArguments = true;
       final Optional<InsertsStreamArgs> insertsStreamArgs = deserialiseObject(buff,
@@ -175,14 +275,11 @@ public class InsertsStreamHandler implements Handler<RoutingContext> {
       final long seq = sendSequence++;
       final JsonObject row;
       try {
-        row = new JsonObject(buff);
-      } catch (DecodeException e) {
-        final InsertError errorResponse = new InsertError(
-            seq,
-            ErrorCodes.ERROR_CODE_MALFORMED_REQUEST,
-            "Invalid JSON in inserts stream");
-        insertsStreamResponseWriter.writeError(errorResponse).end();
-        acksSubscriber.cancel();
+        row = binary ? BinaryRowCodec.decodeNamedRow(buff) : new JsonObject(buff);
+      } catch (DecodeException | IllegalArgumentException e) {
+        writeRowError(seq, binary
+            ? "Invalid row in inserts stream"
+            : "Invalid JSON in inserts stream");
         return;
       }
 
@@ -195,6 +292,15 @@ public class InsertsStreamHandler implements Handler<RoutingContext> {
       rowsReceived++;
     }
 
+    private void writeRowError(final long seq, final String message) {
+      final InsertError errorResponse = new InsertError(
+          seq,
+          ErrorCodes.ERROR_CODE_MALFORMED_REQUEST,
+          message);
+      insertsStreamResponseWriter.writeError(errorResponse).end();
+      acksSubscriber.cancel();
+    }
+
     private void publisherReceptive() {
       paused = false;
       recordParser.resume();
@@ -49,6 +49,7 @@ import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.handler.BodyHandler;
 import java.io.BufferedOutputStream;
+import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -307,14 +308,18 @@ class PortedEndpoints {
     // a plain String, other times it's an object that needs to be JSON encoded, other times
     // it represents a stream.
     if (endpointResponse.getEntity() instanceof StreamingOutput) {
+      final StreamingOutput streamingOutput = (StreamingOutput) endpointResponse.getEntity();
       if (routingContext.request().version() == HttpVersion.HTTP_2) {
-        // The old /query endpoint uses chunked encoding which is not supported in HTTP2
-        routingContext.response().setStatusCode(METHOD_NOT_ALLOWED.code())
-            .setStatusMessage("The /query endpoint is not available using HTTP2").end();
-        return;
+        if (!streamingOutput.isHttp2Supported()) {
+          // The old /query endpoint uses chunked encoding which is not supported in HTTP2
+          routingContext.response().setStatusCode(METHOD_NOT_ALLOWED.code())
+              .setStatusMessage("The /query endpoint is not available using HTTP2").end();
+          return;
+        }
+      } else {
+        response.putHeader(TRANSFER_ENCODING, CHUNKED_ENCODING);
       }
-      response.putHeader(TRANSFER_ENCODING, CHUNKED_ENCODING);
-      streamEndpointResponse(server, response, (StreamingOutput) endpointResponse.getEntity());
+      streamEndpointResponse(server, routingContext, response, streamingOutput);
     } else {
       if (endpointResponse.getEntity() == null) {
         response.end();
@@ -338,15 +343,28 @@ class PortedEndpoints {
     }
   }
 
-  private static void streamEndpointResponse(final Server server, final HttpServerResponse response,
+  private static void streamEndpointResponse(final Server server,
+      final RoutingContext routingContext, final HttpServerResponse response,
       final StreamingOutput streamingOutput) {
     final WorkerExecutor workerExecutor = server.getWorkerExecutor();
     final VertxCompletableFuture<Void> vcf = new VertxCompletableFuture<>();
     workerExecutor.executeBlocking(promise -> {
-      try (OutputStream os = new BufferedOutputStream(new ResponseOutputStream(response))) {
+      final OutputStream os = new BufferedOutputStream(new ResponseOutputStream(response));
+      try {
         streamingOutput.write(os);
       } catch (Exception e) {
         promise.fail(e);
+        if (!response.headWritten()) {
+          // Nothing has been sent yet, so the error can still be returned with its status:
+          handleOldApiResponse(server, routingContext, response,
+              OldApiExceptionMapper.mapException(e));
+          return;
+        }
+      }
+      try {
+        os.close();
+      } catch (IOException e) {
+        promise.tryFail(e);
       }
     }, vcf);
   }
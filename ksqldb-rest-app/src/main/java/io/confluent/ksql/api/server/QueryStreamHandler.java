@@ -20,6 +20,7 @@ import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 import static io.netty.handler.codec.http.HttpResponseStatus.INTERNAL_SERVER_ERROR;
 
 import io.confluent.ksql.api.auth.DefaultApiSecurityContext;
+import io.confluent.ksql.api.server.protocol.BinaryRowCodec;
 import io.confluent.ksql.api.server.protocol.QueryResponseMetadata;
 import io.confluent.ksql.api.server.protocol.QueryStreamArgs;
 import io.confluent.ksql.api.spi.Endpoints;
@@ -71,6 +72,8 @@ public class QueryStreamHandler implements Handler<RoutingContext> {
       // Default
       queryStreamResponseWriter =
           new DelimitedQueryStreamResponseWriter(routingContext.response());
+    } else if (BinaryRowCodec.CONTENT_TYPE.equals(contentType)) {
+      queryStreamResponseWriter = new BinaryQueryStreamResponseWriter(routingContext.response());
     } else {
       queryStreamResponseWriter = new JsonQueryStreamResponseWriter(routingContext.response());
     }
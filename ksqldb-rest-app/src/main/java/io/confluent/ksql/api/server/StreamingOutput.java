@@ -21,4 +21,12 @@ import java.io.OutputStream;
 public interface StreamingOutput {
 
   void write(OutputStream output) throws IOException;
+
+  /**
+   * @return true if the output may be streamed over HTTP/2, false if it is only available over
+   *     HTTP/1.1 using chunked encoding.
+   */
+  default boolean isHttp2Supported() {
+    return false;
+  }
 }
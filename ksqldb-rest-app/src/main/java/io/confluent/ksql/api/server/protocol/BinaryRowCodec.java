@@ -0,0 +1,332 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.api.server.protocol;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes and decodes the binary streaming format, {@link #CONTENT_TYPE}.
+ *
+ * <p>A binary stream is a sequence of frames. Each frame starts with a one byte frame type and
+ * the four byte, big-endian, length of the payload that follows, which is at most
+ * {@link #MAX_PAYLOAD_LENGTH}. Metadata, error and argument payloads are the same JSON objects as
+ * in the delimited format, as they are sent only once.
+ *
+ * <p>Row payloads start with the four byte number of columns. Each column of a query result row is
+ * then a tagged value. Each column of an inserted row is its name, as a string, followed by a
+ * tagged value. A tagged value is a one byte type tag followed by:
+ * <ul>
+ *   <li>{@link #NULL}: nothing.</li>
+ *   <li>{@link #BOOLEAN}: one byte, 0 or 1.</li>
+ *   <li>{@link #INTEGER}: four bytes.</li>
+ *   <li>{@link #BIGINT}: eight bytes.</li>
+ *   <li>{@link #DOUBLE}: eight byte IEEE 754 double.</li>
+ *   <li>{@link #STRING}: a string.</li>
+ *   <li>{@link #DECIMAL}: the plain string representation of the decimal, as a string.</li>
+ *   <li>{@link #JSON}: arrays, maps and structs as JSON text, as a string.</li>
+ * </ul>
+ * Strings are the four byte number of bytes followed by the UTF-8 encoded bytes. All multi-byte
+ * numbers are big-endian.
+ */
+public final class BinaryRowCodec {
+
+  public static final String CONTENT_TYPE = "application/vnd.ksqlapi.binary.v1";
+
+  public static final int FRAME_HEADER_SIZE = 5;
+
+  /**
+   * The largest frame payload accepted, in bytes.
+   */
+  public static final int MAX_PAYLOAD_LENGTH = 16 * 1024 * 1024;
+
+  public static final byte ARGS_FRAME = 'A';
+  public static final byte METADATA_FRAME = 'M';
+  public static final byte ROW_FRAME = 'R';
+  public static final byte ERROR_FRAME = 'E';
+
+  public static final byte NULL = 0;
+  public static final byte BOOLEAN = 1;
+  public static final byte INTEGER = 2;
+  public static final byte BIGINT = 3;
+  public static final byte DOUBLE = 4;
+  public static final byte STRING = 5;
+  public static final byte DECIMAL = 6;
+  public static final byte JSON = 7;
+
+  // Most columns are small, so this avoids resizing the buffer for most rows:
+  private static final int ESTIMATED_BYTES_PER_COLUMN = 16;
+
+  private BinaryRowCodec() {
+  }
+
+  /**
+   * @param frameType the frame type.
+   * @param payload the frame's payload.
+   * @return the frame.
+   */
+  public static Buffer frame(final byte frameType, final Buffer payload) {
+    return Buffer.buffer(FRAME_HEADER_SIZE + payload.length())
+        .appendByte(frameType)
+        .appendInt(payload.length())
+        .appendBuffer(payload);
+  }
+
+  /**
+   * Encodes a query result row as a complete {@link #ROW_FRAME}.
+   *
+   * @param values the column values.
+   * @return the frame.
+   */
+  public static Buffer encodeRow(final List<?> values) {
+    final Buffer buffer = startRowFrame(values.size());
+    for (final Object value : values) {
+      appendValue(buffer, value);
+    }
+    return endFrame(buffer);
+  }
+
+  /**
+   * Encodes a row to insert as a complete {@link #ROW_FRAME}.
+   *
+   * @param row the row, keyed by column name.
+   * @return the frame.
+   */
+  public static Buffer encodeNamedRow(final JsonObject row) {
+    final Buffer buffer = startRowFrame(row.size());
+    for (final Map.Entry<String, Object> column : row) {
+      appendString(buffer, column.getKey());
+      appendValue(buffer, column.getValue());
+    }
+    return endFrame(buffer);
+  }
+
+  /**
+   * Decodes the payload of a {@link #ROW_FRAME} encoded by {@link #encodeRow}.
+   *
+   * @param payload the frame payload.
+   * @return the column values.
+   * @throws IllegalArgumentException if the payload is malformed.
+   */
+  public static List<Object> decodeRow(final Buffer payload) {
+    final Reader reader = new Reader(payload);
+    final int numColumns = reader.readColumnCount();
+    final List<Object> values = new ArrayList<>(numColumns);
+    for (int i = 0; i < numColumns; i++) {
+      values.add(reader.readValue());
+    }
+    reader.checkFullyRead();
+    return values;
+  }
+
+  /**
+   * Decodes the payload of a {@link #ROW_FRAME} encoded by {@link #encodeNamedRow}.
+   *
+   * <p>Decimal values are decoded as {@link BigDecimal}, and JSON values as {@link JsonObject} or
+   * {@link JsonArray}.
+   *
+   * @param payload the frame payload.
+   * @return the row, keyed by column name.
+   * @throws IllegalArgumentException if the payload is malformed.
+   */
+  public static JsonObject decodeNamedRow(final Buffer payload) {
+    final Reader reader = new Reader(payload);
+    final int numColumns = reader.readColumnCount();
+    final JsonObject row = new JsonObject();
+    for (int i = 0; i < numColumns; i++) {
+      final String name = reader.readString();
+      row.put(name, reader.readValue());
+    }
+    reader.checkFullyRead();
+    return row;
+  }
+
+  private static Buffer startRowFrame(final int numColumns) {
+    return Buffer.buffer(FRAME_HEADER_SIZE + 4 + numColumns * ESTIMATED_BYTES_PER_COLUMN)
+        .appendByte(ROW_FRAME)
+        .appendInt(0) // Payload length, set once known
+        .appendInt(numColumns);
+  }
+
+  private static Buffer endFrame(final Buffer buffer) {
+    return buffer.setInt(1, buffer.length() - FRAME_HEADER_SIZE);
+  }
+
+  private static void appendValue(final Buffer buffer, final Object value) {
+    if (value == null) {
+      buffer.appendByte(NULL);
+    } else if (value instanceof Boolean) {
+      buffer.appendByte(BOOLEAN).appendByte((byte) ((Boolean) value ? 1 : 0));
+    } else if (value instanceof Integer) {
+      buffer.appendByte(INTEGER).appendInt((Integer) value);
+    } else if (value instanceof Long) {
+      buffer.appendByte(BIGINT).appendLong((Long) value);
+    } else if (value instanceof Double) {
+      buffer.appendByte(DOUBLE).appendDouble((Double) value);
+    } else if (value instanceof String) {
+      buffer.appendByte(STRING);
+      appendString(buffer, (String) value);
+    } else if (value instanceof BigDecimal) {
+      buffer.appendByte(DECIMAL);
+      appendString(buffer, ((BigDecimal) value).toPlainString());
+    } else {
+      buffer.appendByte(JSON);
+      final Buffer json = toJson(value);
+      buffer.appendInt(json.length()).appendBuffer(json);
+    }
+  }
+
+  private static Buffer toJson(final Object value) {
+    if (value instanceof JsonObject) {
+      return ((JsonObject) value).toBuffer();
+    }
+    if (value instanceof JsonArray) {
+      return ((JsonArray) value).toBuffer();
+    }
+    return PojoCodec.serializeObject(value);
+  }
+
+  private static void appendString(final Buffer buffer, final String value) {
+    final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    buffer.appendInt(bytes.length).appendBytes(bytes);
+  }
+
+  private static byte firstNonWhitespace(final Buffer buffer) {
+    for (int i = 0; i < buffer.length(); i++) {
+      final byte b = buffer.getByte(i);
+      if (!Character.isWhitespace(b)) {
+        return b;
+      }
+    }
+    return 0;
+  }
+
+  private static final class Reader {
+
+    private final Buffer buffer;
+    private int pos;
+
+    Reader(final Buffer buffer) {
+      this.buffer = buffer;
+    }
+
+    int readColumnCount() {
+      final int numColumns = readInt();
+      // Every column takes at least one byte:
+      if (numColumns < 0 || numColumns > remaining()) {
+        throw new IllegalArgumentException("Invalid column count: " + numColumns);
+      }
+      return numColumns;
+    }
+
+    Object readValue() {
+      final byte tag = readByte();
+      switch (tag) {
+        case NULL:
+          return null;
+        case BOOLEAN:
+          return readByte() != 0;
+        case INTEGER:
+          return readInt();
+        case BIGINT:
+          return readLong();
+        case DOUBLE:
+          return Double.longBitsToDouble(readLong());
+        case STRING:
+          return readString();
+        case DECIMAL:
+          return new BigDecimal(readString());
+        case JSON:
+          return readJson();
+        default:
+          throw new IllegalArgumentException("Unknown value type: " + tag);
+      }
+    }
+
+    String readString() {
+      return new String(readBytes(), StandardCharsets.UTF_8);
+    }
+
+    void checkFullyRead() {
+      if (pos != buffer.length()) {
+        throw new IllegalArgumentException("Unexpected trailing bytes in row");
+      }
+    }
+
+    private Object readJson() {
+      final Buffer json = Buffer.buffer(readBytes());
+      try {
+        switch (firstNonWhitespace(json)) {
+          case '{':
+            return new JsonObject(json);
+          case '[':
+            return new JsonArray(json);
+          default:
+            throw new IllegalArgumentException("JSON values must be objects or arrays");
+        }
+      } catch (final DecodeException e) {
+        throw new IllegalArgumentException("Invalid JSON value", e);
+      }
+    }
+
+    private byte readByte() {
+      checkAvailable(1);
+      return buffer.getByte(pos++);
+    }
+
+    private int readInt() {
+      checkAvailable(4);
+      final int i = buffer.getInt(pos);
+      pos += 4;
+      return i;
+    }
+
+    private long readLong() {
+      checkAvailable(8);
+      final long l = buffer.getLong(pos);
+      pos += 8;
+      return l;
+    }
+
+    private byte[] readBytes() {
+      final int length = readInt();
+      if (length < 0) {
+        throw new IllegalArgumentException("Invalid length: " + length);
+      }
+      checkAvailable(length);
+      final byte[] bytes = buffer.getBytes(pos, pos + length);
+      pos += length;
+      return bytes;
+    }
+
+    private int remaining() {
+      return buffer.length() - pos;
+    }
+
+    private void checkAvailable(final int length) {
+      if (length > remaining()) {
+        throw new IllegalArgumentException("Truncated row");
+      }
+    }
+  }
+}
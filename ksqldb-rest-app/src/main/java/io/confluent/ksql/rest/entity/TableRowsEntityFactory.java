@@ -59,7 +59,7 @@ public final class TableRowsEntityFactory {
         .build();
   }
 
-  private static List<?> createRow(final TableRow row) {
+  public static List<?> createRow(final TableRow row) {
     final List<Object> rowList = new ArrayList<>();
 
     keyFields(row.key()).forEach(rowList::add);
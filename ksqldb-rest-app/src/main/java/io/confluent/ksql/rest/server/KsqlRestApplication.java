@@ -60,6 +60,7 @@ import io.confluent.ksql.rest.server.HeartbeatAgent.Builder;
 import io.confluent.ksql.rest.server.computation.CommandRunner;
 import io.confluent.ksql.rest.server.computation.CommandStore;
 import io.confluent.ksql.rest.server.computation.InteractiveStatementExecutor;
+import io.confluent.ksql.rest.server.execution.CustomExecutors;
 import io.confluent.ksql.rest.server.execution.PullQueryExecutor;
 import io.confluent.ksql.rest.server.resources.ClusterStatusResource;
 import io.confluent.ksql.rest.server.resources.HealthCheckResource;
@@ -72,6 +73,7 @@ import io.confluent.ksql.rest.server.resources.ServerMetadataResource;
 import io.confluent.ksql.rest.server.resources.StatusResource;
 import io.confluent.ksql.rest.server.resources.streaming.StreamedQueryResource;
 import io.confluent.ksql.rest.server.resources.streaming.WSQueryEndpoint;
+import io.confluent.ksql.rest.server.services.PullQueryForwardingClient;
 import io.confluent.ksql.rest.server.services.RestServiceContextFactory;
 import io.confluent.ksql.rest.server.services.ServerInternalKsqlClient;
 import io.confluent.ksql.rest.server.state.ServerState;
@@ -161,6 +163,7 @@ public final class KsqlRestApplication implements Executable {
   private final Consumer<KsqlConfig> rocksDBConfigSetterHandler;
   private final Optional<HeartbeatAgent> heartbeatAgent;
   private final Optional<LagReportingAgent> lagReportingAgent;
+  private final Optional<PullQueryForwardingClient> pullQueryForwardingClient;
   private final PullQueryExecutor pullQueryExecutor;
   private final AtomicBoolean shuttingDown = new AtomicBoolean(false);
   private final ServerInfoResource serverInfoResource;
@@ -208,7 +211,8 @@ public final class KsqlRestApplication implements Executable {
       final Consumer<KsqlConfig> rocksDBConfigSetterHandler,
       final PullQueryExecutor pullQueryExecutor,
       final Optional<HeartbeatAgent> heartbeatAgent,
-      final Optional<LagReportingAgent> lagReportingAgent
+      final Optional<LagReportingAgent> lagReportingAgent,
+      final Optional<PullQueryForwardingClient> pullQueryForwardingClient
   ) {
     log.debug("Creating instance of ksqlDB API server");
     this.serviceContext = requireNonNull(serviceContext, "serviceContext");
@@ -234,6 +238,8 @@ public final class KsqlRestApplication implements Executable {
     this.pullQueryExecutor = requireNonNull(pullQueryExecutor, "pullQueryExecutor");
     this.heartbeatAgent = requireNonNull(heartbeatAgent, "heartbeatAgent");
     this.lagReportingAgent = requireNonNull(lagReportingAgent, "lagReportingAgent");
+    this.pullQueryForwardingClient =
+        requireNonNull(pullQueryForwardingClient, "pullQueryForwardingClient");
     this.vertx = Vertx.vertx(
         new VertxOptions().setMaxWorkerExecuteTimeUnit(TimeUnit.MILLISECONDS)
             .setMaxWorkerExecuteTime(Long.MAX_VALUE));
@@ -451,6 +457,11 @@ public final class KsqlRestApplication implements Executable {
     } catch (final Exception e) {
       log.error("Exception while waiting for pull query metrics to close", e);
     }
+    try {
+      pullQueryExecutor.close();
+    } catch (final Exception e) {
+      log.error("Exception while closing pull query executor", e);
+    }
     try {
       ksqlEngine.close();
     } catch (final Exception e) {
@@ -463,6 +474,12 @@ public final class KsqlRestApplication implements Executable {
       log.error("Exception while waiting for CommandRunner thread to complete", e);
     }
 
+    try {
+      CustomExecutors.closeInsertValuesProducers();
+    } catch (final Exception e) {
+      log.error("Exception while closing INSERT VALUES producers", e);
+    }
+
     try {
       serviceContext.close();
     } catch (final Exception e) {
@@ -520,6 +537,13 @@ public final class KsqlRestApplication implements Executable {
         log.error("Exception while shutting down LagReportingAgent", e);
       }
     }
+    if (pullQueryForwardingClient.isPresent()) {
+      try {
+        pullQueryForwardingClient.get().close();
+      } catch (final Exception e) {
+        log.error("Exception while closing PullQueryForwardingClient", e);
+      }
+    }
   }
 
   // Current tests require URIs as URLs, even though they're not URLs
@@ -611,11 +635,20 @@ public final class KsqlRestApplication implements Executable {
 
     final KsqlSecurityExtension securityExtension = loadSecurityExtension(ksqlConfig);
 
+    final Optional<PullQueryForwardingClient> pullQueryForwardingClient =
+        restConfig.getBoolean(KsqlRestConfig.KSQL_PULL_QUERY_FORWARDING_HTTP2_ENABLE_CONFIG)
+            ? Optional.of(PullQueryForwardingClient.create(ksqlConfig, ksqlEngine.getServiceId()))
+            : Optional.empty();
+
     final KsqlSecurityContextProvider ksqlSecurityContextProvider =
         new DefaultKsqlSecurityContextProvider(
             securityExtension,
-            RestServiceContextFactory::create,
-            RestServiceContextFactory::create, ksqlConfig, schemaRegistryClientFactory);
+            (config, authHeader, srClientFactory) -> RestServiceContextFactory.create(
+                config, authHeader, srClientFactory, pullQueryForwardingClient),
+            (config, authHeader, kafkaClientSupplier, srClientFactory) ->
+                RestServiceContextFactory.create(config, authHeader, kafkaClientSupplier,
+                    srClientFactory, pullQueryForwardingClient),
+            ksqlConfig, schemaRegistryClientFactory);
 
     final Optional<AuthenticationPlugin> securityHandlerPlugin = loadAuthenticationPlugin(
         restConfig);
@@ -631,7 +664,8 @@ public final class KsqlRestApplication implements Executable {
     final Optional<LagReportingAgent> lagReportingAgent =
         initializeLagReportingAgent(restConfig, ksqlEngine, serviceContext);
     final Optional<HeartbeatAgent> heartbeatAgent =
-        initializeHeartbeatAgent(restConfig, ksqlEngine, serviceContext, lagReportingAgent);
+        initializeHeartbeatAgent(restConfig, ksqlEngine, serviceContext, lagReportingAgent,
+            pullQueryForwardingClient);
     final RoutingFilterFactory routingFilterFactory = initializeRoutingFilterFactory(ksqlConfig,
         heartbeatAgent, lagReportingAgent);
 
@@ -712,7 +746,8 @@ public final class KsqlRestApplication implements Executable {
         rocksDBConfigSetterHandler,
         pullQueryExecutor,
         heartbeatAgent,
-        lagReportingAgent
+        lagReportingAgent,
+        pullQueryForwardingClient
     );
   }
 
@@ -720,7 +755,8 @@ public final class KsqlRestApplication implements Executable {
       final KsqlRestConfig restConfig,
       final KsqlEngine ksqlEngine,
       final ServiceContext serviceContext,
-      final Optional<LagReportingAgent> lagReportingAgent
+      final Optional<LagReportingAgent> lagReportingAgent,
+      final Optional<PullQueryForwardingClient> pullQueryForwardingClient
   ) {
     if (restConfig.getBoolean(KsqlRestConfig.KSQL_HEARTBEAT_ENABLE_CONFIG)) {
       final Builder builder = HeartbeatAgent.builder();
@@ -741,6 +777,9 @@ public final class KsqlRestApplication implements Executable {
       if (lagReportingAgent.isPresent()) {
         builder.addHostStatusListener(lagReportingAgent.get());
       }
+      if (pullQueryForwardingClient.isPresent()) {
+        builder.addHostStatusListener(pullQueryForwardingClient.get());
+      }
 
       return Optional.of(builder.build(ksqlEngine, serviceContext));
     }
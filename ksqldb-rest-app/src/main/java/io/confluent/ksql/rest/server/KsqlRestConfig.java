@@ -237,6 +237,13 @@ public class KsqlRestConfig extends AbstractConfig {
   private static final String KSQL_LAG_REPORTING_SEND_INTERVAL_MS_DOC =
       "Interval at which lag reports are broadcasted to servers.";
 
+  public static final String KSQL_PULL_QUERY_FORWARDING_HTTP2_ENABLE_CONFIG =
+      KSQL_CONFIG_PREFIX + "query.pull.forwarding.http2.enable";
+  private static final String KSQL_PULL_QUERY_FORWARDING_HTTP2_ENABLE_DOC =
+      "Whether pull queries are forwarded to other servers over persistent, pooled HTTP/2 "
+          + "connections. Only enable once every server in the cluster accepts pull queries over "
+          + "HTTP/2, as older servers reject them, failing the forwarded query.";
+
   public static final String VERTICLE_INSTANCES = KSQL_CONFIG_PREFIX + "verticle.instances";
   public static final int DEFAULT_VERTICLE_INSTANCES =
       2 * Runtime.getRuntime().availableProcessors();
@@ -466,6 +473,12 @@ public class KsqlRestConfig extends AbstractConfig {
             5000L,
             Importance.MEDIUM,
             KSQL_LAG_REPORTING_SEND_INTERVAL_MS_DOC
+        ).define(
+            KSQL_PULL_QUERY_FORWARDING_HTTP2_ENABLE_CONFIG,
+            Type.BOOLEAN,
+            false,
+            Importance.LOW,
+            KSQL_PULL_QUERY_FORWARDING_HTTP2_ENABLE_DOC
         ).define(
             VERTICLE_INSTANCES,
             Type.INT,
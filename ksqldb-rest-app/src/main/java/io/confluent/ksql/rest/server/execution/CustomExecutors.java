@@ -112,12 +112,23 @@ public enum CustomExecutors {
     return executor.execute(statement, sessionProperties, executionCtx, serviceCtx);
   }
 
-  private static StatementExecutor insertValuesExecutor() {
-    final InsertValuesExecutor executor = new InsertValuesExecutor();
+  /**
+   * Close the producers shared between {@code INSERT VALUES} statements, e.g. on shutdown.
+   */
+  public static void closeInsertValuesProducers() {
+    InsertValuesHolder.EXECUTOR.close();
+  }
 
+  private static StatementExecutor insertValuesExecutor() {
     return (statement, sessionProperties, executionContext, serviceContext) -> {
-      executor.execute(statement, sessionProperties, executionContext, serviceContext);
+      InsertValuesHolder.EXECUTOR
+          .execute(statement, sessionProperties, executionContext, serviceContext);
       return Optional.empty();
     };
   }
+
+  private static final class InsertValuesHolder {
+
+    private static final InsertValuesExecutor EXECUTOR = new InsertValuesExecutor();
+  }
 }
@@ -25,19 +25,24 @@ import com.google.common.collect.Range;
 import com.google.common.collect.Sets;
 import com.google.common.collect.Sets.SetView;
 import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.KsqlExecutionContext;
 import io.confluent.ksql.analyzer.ImmutableAnalysis;
 import io.confluent.ksql.analyzer.PullQueryValidator;
 import io.confluent.ksql.analyzer.QueryAnalyzer;
 import io.confluent.ksql.analyzer.RewrittenAnalysis;
+import io.confluent.ksql.engine.rewrite.ExpressionTreeRewriter;
 import io.confluent.ksql.engine.rewrite.ExpressionTreeRewriter.Context;
 import io.confluent.ksql.execution.context.QueryContext;
 import io.confluent.ksql.execution.context.QueryContext.Stacker;
 import io.confluent.ksql.execution.context.QueryLoggerUtil;
+import io.confluent.ksql.execution.expression.tree.BetweenPredicate;
 import io.confluent.ksql.execution.expression.tree.ComparisonExpression;
 import io.confluent.ksql.execution.expression.tree.ComparisonExpression.Type;
 import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.InListExpression;
+import io.confluent.ksql.execution.expression.tree.InPredicate;
 import io.confluent.ksql.execution.expression.tree.IntegerLiteral;
 import io.confluent.ksql.execution.expression.tree.Literal;
 import io.confluent.ksql.execution.expression.tree.LogicalBinaryExpression;
@@ -50,12 +55,16 @@ import io.confluent.ksql.execution.expression.tree.VisitParentExpressionVisitor;
 import io.confluent.ksql.execution.plan.SelectExpression;
 import io.confluent.ksql.execution.streams.RoutingFilter.RoutingFilterFactory;
 import io.confluent.ksql.execution.streams.RoutingOptions;
+import io.confluent.ksql.execution.streams.materialization.CloseableIterator;
 import io.confluent.ksql.execution.streams.materialization.Locator;
 import io.confluent.ksql.execution.streams.materialization.Locator.KsqlNode;
 import io.confluent.ksql.execution.streams.materialization.Materialization;
 import io.confluent.ksql.execution.streams.materialization.MaterializationException;
+import io.confluent.ksql.execution.streams.materialization.MaterializedTable;
 import io.confluent.ksql.execution.streams.materialization.PullProcessingContext;
+import io.confluent.ksql.execution.streams.materialization.Row;
 import io.confluent.ksql.execution.streams.materialization.TableRow;
+import io.confluent.ksql.execution.streams.materialization.WindowedRow;
 import io.confluent.ksql.execution.transform.KsqlTransformer;
 import io.confluent.ksql.execution.transform.select.SelectValueMapper;
 import io.confluent.ksql.execution.transform.select.SelectValueMapperFactory;
@@ -66,6 +75,7 @@ import io.confluent.ksql.metastore.model.DataSource;
 import io.confluent.ksql.model.WindowType;
 import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.name.SourceName;
+import io.confluent.ksql.parser.SqlFormatter;
 import io.confluent.ksql.parser.tree.AllColumns;
 import io.confluent.ksql.parser.tree.Query;
 import io.confluent.ksql.parser.tree.Select;
@@ -75,7 +85,6 @@ import io.confluent.ksql.rest.Errors;
 import io.confluent.ksql.rest.SessionProperties;
 import io.confluent.ksql.rest.client.RestResponse;
 import io.confluent.ksql.rest.entity.StreamedRow;
-import io.confluent.ksql.rest.entity.StreamedRow.Header;
 import io.confluent.ksql.rest.entity.TableRowsEntity;
 import io.confluent.ksql.rest.entity.TableRowsEntityFactory;
 import io.confluent.ksql.rest.server.resources.KsqlRestException;
@@ -85,6 +94,7 @@ import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.schema.ksql.LogicalSchema.Builder;
 import io.confluent.ksql.schema.ksql.PhysicalSchema;
 import io.confluent.ksql.schema.ksql.SystemColumns;
+import io.confluent.ksql.schema.ksql.types.SqlBaseType;
 import io.confluent.ksql.schema.ksql.types.SqlType;
 import io.confluent.ksql.schema.utils.FormatOptions;
 import io.confluent.ksql.serde.SerdeOption;
@@ -99,12 +109,27 @@ import io.confluent.ksql.util.KsqlStatementException;
 import io.confluent.ksql.util.PersistentQueryMetadata;
 import io.confluent.ksql.util.timestamp.PartialStringToTimestampParser;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -131,9 +156,19 @@ public final class PullQueryExecutor {
   private static final String VALID_WINDOW_BOUNDS_TYPES_STRING =
       VALID_WINDOW_BOUNDS_TYPES.toString();
 
+  private static final Set<Type> VALID_KEY_RANGE_TYPES = ImmutableSet.of(
+      Type.GREATER_THAN,
+      Type.GREATER_THAN_OR_EQUAL,
+      Type.LESS_THAN,
+      Type.LESS_THAN_OR_EQUAL
+  );
+
   private final KsqlExecutionContext executionContext;
   private final RoutingFilterFactory routingFilterFactory;
   private final RateLimiter rateLimiter;
+  private final PullQueryPlanCache planCache;
+  private final PullQueryHedgePolicy hedgePolicy;
+  private final Optional<ExecutorService> hedgeExecutor;
 
   public PullQueryExecutor(
       final KsqlExecutionContext executionContext,
@@ -145,6 +180,26 @@ public final class PullQueryExecutor {
         Objects.requireNonNull(routingFilterFactory, "routingFilterFactory");
     this.rateLimiter = RateLimiter.create(ksqlConfig.getInt(
         KsqlConfig.KSQL_QUERY_PULL_MAX_QPS_CONFIG));
+    this.planCache = new PullQueryPlanCache(ksqlConfig.getInt(
+        KsqlConfig.KSQL_QUERY_PULL_PLAN_CACHE_SIZE_CONFIG));
+    this.hedgePolicy = PullQueryHedgePolicy.from(ksqlConfig);
+    this.hedgeExecutor = hedgePolicy.isEnabled()
+        ? Optional.of(new ThreadPoolExecutor(
+            0,
+            ksqlConfig.getInt(KsqlConfig.KSQL_QUERY_PULL_HEDGE_THREAD_POOL_SIZE_CONFIG),
+            60L,
+            TimeUnit.SECONDS,
+            new SynchronousQueue<>(),
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("pull-query-hedge-%d")
+                .build(),
+            new ThreadPoolExecutor.AbortPolicy()))
+        : Optional.empty();
+  }
+
+  public void close() {
+    hedgeExecutor.ifPresent(ExecutorService::shutdownNow);
   }
 
   @SuppressWarnings("unused") // Needs to match validator API.
@@ -161,6 +216,37 @@ public final class PullQueryExecutor {
       final ConfiguredStatement<Query> statement,
       final ServiceContext serviceContext,
       final Optional<PullQueryExecutorMetrics> pullQueryMetrics
+  ) {
+    final PullQueryResult result = stream(statement, serviceContext, pullQueryMetrics);
+
+    final ImmutableList.Builder<List<?>> rows = ImmutableList.builder();
+    result.consume(rows::add);
+
+    return new TableRowsEntity(
+        statement.getStatementText(),
+        result.getQueryId(),
+        result.getSchema(),
+        rows.build()
+    );
+  }
+
+  /**
+   * Plan and route the supplied pull query, returning a result whose rows are read only as they
+   * are consumed.
+   *
+   * <p>Any error in the statement, or in locating the nodes that can serve it, is thrown from
+   * this method. Errors reading the rows, including from remote nodes, are thrown when the result
+   * is consumed.
+   *
+   * @param statement the pull query.
+   * @param serviceContext the service context.
+   * @param pullQueryMetrics the metrics to record against, if any.
+   * @return the result.
+   */
+  public PullQueryResult stream(
+      final ConfiguredStatement<Query> statement,
+      final ServiceContext serviceContext,
+      final Optional<PullQueryExecutorMetrics> pullQueryMetrics
   ) {
     if (!statement.getStatement().isPullQuery()) {
       throw new IllegalArgumentException("Executor can only handle pull queries");
@@ -185,14 +271,15 @@ public final class PullQueryExecutor {
         checkRateLimit();
       }
 
-      final ImmutableAnalysis analysis = new RewrittenAnalysis(
-          analyze(statement, executionContext),
-          new ColumnReferenceRewriter()::process
-      );
+      final PullQueryPlan plan = getPlan(statement, pullQueryMetrics);
 
-      final PersistentQueryMetadata query = findMaterializingQuery(executionContext, analysis);
+      final PersistentQueryMetadata query = plan.getQuery();
 
-      final WhereInfo whereInfo = extractWhereInfo(analysis, query);
+      final WhereInfo whereInfo = extractWhereInfo(
+          rewriteWhere(statement),
+          query,
+          statement.getStatement().getLimit()
+      );
 
       final QueryId queryId = uniqueQueryId();
 
@@ -200,34 +287,72 @@ public final class PullQueryExecutor {
 
       final Materialization mat = query
           .getMaterialization(queryId, contextStacker)
-          .orElseThrow(() -> notMaterializedException(getSourceName(analysis)));
+          .orElseThrow(() -> notMaterializedException(plan.getSource().getName()));
 
-      final Struct key = asKeyStruct(whereInfo.keyBound, query.getPhysicalSchema());
+      final Map<Struct, Expression> keys = new LinkedHashMap<>();
+      whereInfo.keyBounds.forEach((keyValue, literal) ->
+          keys.put(asKeyStruct(keyValue, query.getPhysicalSchema()), literal));
 
       final PullQueryContext pullQueryContext = new PullQueryContext(
-          key,
+          keys,
           mat,
-          analysis,
+          plan,
           whereInfo,
+          statement.getStatement().getLimit(),
           queryId,
           contextStacker,
           pullQueryMetrics);
 
-      return handlePullQuery(
+      final PullQueryResult.RowProducer rowProducer = handlePullQuery(
           statement,
           executionContext,
           serviceContext,
           pullQueryContext,
           routingOptions
       );
+
+      return new PullQueryResult(queryId, plan.getOutputSchema(), rowConsumer -> {
+        try {
+          rowProducer.produce(rowConsumer);
+        } catch (final Exception e) {
+          throw pullQueryFailed(statement, pullQueryMetrics, e);
+        }
+      });
     } catch (final Exception e) {
-      pullQueryMetrics.ifPresent(metrics -> metrics.recordErrorRate(1));
-      throw new KsqlStatementException(
-          e.getMessage() == null ? "Server Error" : e.getMessage(),
-          statement.getStatementText(),
-          e
-      );
+      throw pullQueryFailed(statement, pullQueryMetrics, e);
+    }
+  }
+
+  private static KsqlStatementException pullQueryFailed(
+      final ConfiguredStatement<Query> statement,
+      final Optional<PullQueryExecutorMetrics> pullQueryMetrics,
+      final Exception e
+  ) {
+    pullQueryMetrics.ifPresent(metrics -> metrics.recordErrorRate(1));
+    return new KsqlStatementException(
+        e.getMessage() == null ? "Server Error" : e.getMessage(),
+        statement.getStatementText(),
+        e
+    );
+  }
+
+  private PullQueryPlan getPlan(
+      final ConfiguredStatement<Query> statement,
+      final Optional<PullQueryExecutorMetrics> pullQueryMetrics
+  ) {
+    final Optional<PullQueryPlan> cached = planCache.get(statement, executionContext);
+    if (cached.isPresent()) {
+      pullQueryMetrics.ifPresent(metrics -> metrics.recordPlanCacheHit(1));
+      return cached.get();
     }
+
+    if (planCache.isEnabled()) {
+      pullQueryMetrics.ifPresent(metrics -> metrics.recordPlanCacheMiss(1));
+    }
+
+    final PullQueryPlan plan = buildPlan(statement, executionContext);
+    planCache.put(statement, plan);
+    return plan;
   }
 
   @VisibleForTesting
@@ -238,180 +363,656 @@ public final class PullQueryExecutor {
     }
   }
 
-  private TableRowsEntity handlePullQuery(
+  /**
+   * Locate the nodes that can serve the query, returning a producer that routes the query to them
+   * once its rows are consumed.
+   */
+  private PullQueryResult.RowProducer handlePullQuery(
       final ConfiguredStatement<Query> statement,
       final KsqlExecutionContext executionContext,
       final ServiceContext serviceContext,
       final PullQueryContext pullQueryContext,
       final RoutingOptions routingOptions
   ) {
-    // Get active and standby nodes for this key
-    final Locator locator = pullQueryContext.mat.locator();
-    final List<KsqlNode> filteredAndOrderedNodes = locator.locate(
-        pullQueryContext.key,
-        routingOptions,
-        routingFilterFactory
+    final int limit = pullQueryContext.limit.orElse(Integer.MAX_VALUE);
+
+    if (!pullQueryContext.whereInfo.keyRange.isPresent()) {
+      final Map<Struct, List<KsqlNode>> keyNodes =
+          requireNodes(locateKeys(pullQueryContext, routingOptions));
+
+      // Only key lookups are hedged, as their results are small enough to buffer:
+      final boolean hedged = hedgeExecutor.isPresent() && !routingOptions.skipForwardRequest();
+
+      return rowConsumer -> routeToNodes(
+          statement,
+          pullQueryContext,
+          keyNodes,
+          new RowSink(rowConsumer, limit),
+          hedged,
+          (node, keys, sink) -> routeQuery(
+              node,
+              statement,
+              pullQueryContext,
+              () -> queryRowsLocally(executionContext, pullQueryContext, keys, sink),
+              () -> forwardTo(
+                  node,
+                  statement,
+                  forwardedStatementText(statement, pullQueryContext, keys),
+                  ImmutableMap.of(),
+                  serviceContext,
+                  sink)
+          )
+      );
+    }
+
+    if (pullQueryContext.whereInfo.keyRange.get().isEmpty()) {
+      // No key is within the range, e.g. WHERE ROWKEY > '2' AND ROWKEY < '1':
+      return rowConsumer -> { };
+    }
+
+    final Optional<List<Integer>> forwardedPartitions = forwardedPartitions(statement);
+    if (routingOptions.skipForwardRequest() && forwardedPartitions.isPresent()) {
+      // The forwarding host has already selected the partitions this node is to scan:
+      return rowConsumer -> scanRowsLocally(
+          executionContext,
+          pullQueryContext,
+          forwardedPartitions.get(),
+          new RowSink(rowConsumer, limit)
+      );
+    }
+
+    final Map<Integer, List<KsqlNode>> partitionNodes =
+        requireNodes(locatePartitions(pullQueryContext, routingOptions));
+
+    return rowConsumer -> routeToNodes(
+        statement,
+        pullQueryContext,
+        partitionNodes,
+        new RowSink(rowConsumer, limit),
+        false,
+        (node, partitions, sink) -> routeQuery(
+            node,
+            statement,
+            pullQueryContext,
+            () -> scanRowsLocally(executionContext, pullQueryContext, partitions, sink),
+            () -> forwardTo(
+                node,
+                statement,
+                statement.getStatementText(),
+                ImmutableMap.of(
+                    KsqlRequestConfig.KSQL_REQUEST_QUERY_PULL_PARTITIONS,
+                    partitions.stream()
+                        .map(String::valueOf)
+                        .collect(Collectors.joining(","))),
+                serviceContext,
+                sink)
+        )
     );
+  }
 
-    if (filteredAndOrderedNodes.isEmpty()) {
-      throw new MaterializationException("All nodes are dead or exceed max allowed lag.");
+  /**
+   * @return the active and standby nodes for each key, in order of preference.
+   */
+  private Map<Struct, List<KsqlNode>> locateKeys(
+      final PullQueryContext pullQueryContext,
+      final RoutingOptions routingOptions
+  ) {
+    final Locator locator = pullQueryContext.mat.locator();
+    final Map<Struct, List<KsqlNode>> nodes = new LinkedHashMap<>();
+    for (final Struct key : pullQueryContext.keys.keySet()) {
+      nodes.put(key, locator.locate(key, routingOptions, routingFilterFactory));
     }
+    return nodes;
+  }
+
+  /**
+   * @return the active and standby nodes for each partition, in order of preference.
+   */
+  private Map<Integer, List<KsqlNode>> locatePartitions(
+      final PullQueryContext pullQueryContext,
+      final RoutingOptions routingOptions
+  ) {
+    return pullQueryContext.mat.locator()
+        .locatePartitions(routingOptions, routingFilterFactory);
+  }
 
-    // Nodes are ordered by preference: active is first if alive then standby nodes in
-    // increasing order of lag.
-    for (KsqlNode node : filteredAndOrderedNodes) {
+  private static <T> Map<T, List<KsqlNode>> requireNodes(final Map<T, List<KsqlNode>> targets) {
+    targets.values().forEach(nodes -> {
+      if (nodes.isEmpty()) {
+        throw new MaterializationException("All nodes are dead or exceed max allowed lag.");
+      }
+    });
+    return targets;
+  }
+
+  /**
+   * Route the query to the nodes that own each of the supplied {@code targets}, i.e. keys or
+   * partitions, writing the rows returned to the supplied {@code sink}.
+   *
+   * <p>Nodes are ordered by preference: active is first if alive then standby nodes in
+   * increasing order of lag. Targets are batched by their most preferred node, so each node
+   * receives a single request. Targets whose request fails move on to their next node, unless
+   * the failed request had already written rows to the sink, as retrying would duplicate them.
+   * Routing stops early once the sink is full, i.e. the query's LIMIT has been reached.
+   *
+   * <p>If {@code hedged}, targets that have a standby are also sent to it should their node be
+   * slow to respond. See {@link #routeHedged}.
+   */
+  private <T> void routeToNodes(
+      final ConfiguredStatement<Query> statement,
+      final PullQueryContext pullQueryContext,
+      final Map<T, List<KsqlNode>> targets,
+      final RowSink sink,
+      final boolean hedged,
+      final NodeRouter<T> router
+  ) {
+    final Map<T, List<KsqlNode>> remainingNodes = new LinkedHashMap<>();
+    targets.forEach((target, nodes) -> remainingNodes.put(target, new ArrayList<>(nodes)));
+
+    while (!remainingNodes.isEmpty()) {
+      final Map<KsqlNode, List<T>> targetsByNode = remainingNodes.entrySet().stream()
+          .collect(Collectors.groupingBy(
+              e -> e.getValue().get(0),
+              LinkedHashMap::new,
+              Collectors.mapping(Entry::getKey, Collectors.toList())
+          ));
+
+      for (final Entry<KsqlNode, List<T>> e : targetsByNode.entrySet()) {
+        if (sink.isFull()) {
+          return;
+        }
+
+        final KsqlNode node = e.getKey();
+        final List<T> nodeTargets = e.getValue();
+        final int rowCount = sink.rowCount();
+        try {
+          final Optional<Map<KsqlNode, List<T>>> standbyTargets = hedged
+              ? standbyTargets(nodeTargets, remainingNodes)
+              : Optional.empty();
+
+          if (standbyTargets.isPresent()) {
+            routeHedged(
+                statement, pullQueryContext, node, nodeTargets, standbyTargets.get(), sink, router);
+          } else {
+            routeTimed(node, nodeTargets, sink, router);
+          }
+          nodeTargets.forEach(remainingNodes::remove);
+        } catch (Exception t) {
+          LOG.debug("Error routing query {} to host {} at timestamp {}",
+                   statement.getStatementText(), node, System.currentTimeMillis());
+
+          if (sink.rowCount() != rowCount) {
+            throw new MaterializationException(String.format(
+                "Unable to execute pull query: %s", statement.getStatementText()), t);
+          }
+
+          for (final T target : nodeTargets) {
+            final List<KsqlNode> nodes = remainingNodes.get(target);
+            nodes.remove(0);
+            if (nodes.isEmpty()) {
+              throw new MaterializationException(String.format(
+                  "Unable to execute pull query: %s", statement.getStatementText()));
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the supplied {@code targets} grouped by their best standby, i.e. their next most
+   *         preferred node, or empty if any of them has no standby.
+   */
+  private static <T> Optional<Map<KsqlNode, List<T>>> standbyTargets(
+      final List<T> targets,
+      final Map<T, List<KsqlNode>> remainingNodes
+  ) {
+    final Map<KsqlNode, List<T>> byStandby = new LinkedHashMap<>();
+    for (final T target : targets) {
+      final List<KsqlNode> nodes = remainingNodes.get(target);
+      if (nodes.size() < 2) {
+        return Optional.empty();
+      }
+      byStandby.computeIfAbsent(nodes.get(1), standby -> new ArrayList<>()).add(target);
+    }
+    return Optional.of(byStandby);
+  }
+
+  /**
+   * Route the supplied {@code targets} to their {@code node} and, if it has not responded within
+   * the hedge delay, also to their standbys.
+   *
+   * <p>The rows returned by each attempt are buffered, and only those of the first attempt to
+   * succeed are written to the {@code sink}. The other attempt is then cancelled. The attempts
+   * only fail if both do, in which case the error from the {@code node} is thrown.
+   *
+   * <p>Should the hedge thread pool be full, the query is not hedged: it is routed to the
+   * {@code node} on the calling thread or, if the primary attempt was already submitted, the
+   * hedge is skipped and the primary attempt awaited.
+   */
+  private <T> void routeHedged(
+      final ConfiguredStatement<Query> statement,
+      final PullQueryContext pullQueryContext,
+      final KsqlNode node,
+      final List<T> targets,
+      final Map<KsqlNode, List<T>> standbyTargets,
+      final RowSink sink,
+      final NodeRouter<T> router
+  ) {
+    final CompletionService<List<List<?>>> attempts = new ExecutorCompletionService<>(
+        hedgeExecutor.orElseThrow(IllegalStateException::new));
+
+    final List<List<?>> primaryRows = new ArrayList<>();
+    final RowSink primarySink = new RowSink(primaryRows::add, sink.remaining());
+    final List<List<?>> hedgeRows = new ArrayList<>();
+    final RowSink hedgeSink = new RowSink(hedgeRows::add, sink.remaining());
+
+    final Future<List<List<?>>> primary;
+    try {
+      primary = attempts.submit(() -> {
+        routeTimed(node, targets, primarySink, router);
+        return primaryRows;
+      });
+    } catch (final RejectedExecutionException e) {
+      LOG.debug("Not hedging query {} sent to host {} as the hedge thread pool is full",
+          statement.getStatementText(), node.location());
+      routeTimed(node, targets, sink, router);
+      return;
+    }
+    Future<List<List<?>>> hedge = null;
+
+    try {
+      Future<List<List<?>>> first = attempts.poll(hedgePolicy.delayMs(node), TimeUnit.MILLISECONDS);
+      if (first == null) {
+        try {
+          hedge = attempts.submit(() -> {
+            standbyTargets.forEach((standby, standbyKeys) ->
+                routeTimed(standby, standbyKeys, hedgeSink, router));
+            return hedgeRows;
+          });
+          LOG.debug("Hedging query {} sent to host {} to standbys {}",
+              statement.getStatementText(), node.location(), standbyTargets.keySet());
+          pullQueryContext.pullQueryMetrics
+              .ifPresent(queryExecutorMetrics -> queryExecutorMetrics.recordHedgedRequests(1));
+        } catch (final RejectedExecutionException e) {
+          LOG.debug("Not hedging query {} sent to host {} as the hedge thread pool is full",
+              statement.getStatementText(), node.location());
+        }
+        first = attempts.take();
+      }
+
+      final List<List<?>> rows = firstSuccessful(first, primary, hedge, attempts);
+      if (rows == hedgeRows) {
+        pullQueryContext.pullQueryMetrics
+            .ifPresent(queryExecutorMetrics -> queryExecutorMetrics.recordHedgeWins(1));
+      }
+
+      rows.forEach(sink::accept);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MaterializationException("Interrupted while routing pull query", e);
+    } finally {
+      primarySink.cancel();
+      hedgeSink.cancel();
+      primary.cancel(true);
+      if (hedge != null) {
+        hedge.cancel(true);
+      }
+    }
+  }
+
+  /**
+   * Route the supplied {@code targets} to their {@code node}, recording the time it took to
+   * respond with the hedge policy.
+   *
+   * <p>Requests whose sink is cancelled, as another hedged attempt won, are recorded as taking
+   * the time they had run for when they ended: the node's latency was at least that long, and
+   * leaving them out would record only the faster responses. Requests that otherwise fail are
+   * not recorded.
+   */
+  private <T> void routeTimed(
+      final KsqlNode node,
+      final List<T> targets,
+      final RowSink sink,
+      final NodeRouter<T> router
+  ) {
+    final long start = System.nanoTime();
+    boolean completed = false;
+    try {
+      router.route(node, targets, sink);
+      completed = true;
+    } finally {
+      if (completed || sink.isCancelled()) {
+        hedgePolicy.recordLatency(node, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+      }
+    }
+  }
+
+  private static List<List<?>> firstSuccessful(
+      final Future<List<List<?>>> first,
+      final Future<List<List<?>>> primary,
+      final Future<List<List<?>>> hedge,
+      final CompletionService<List<List<?>>> attempts
+  ) throws InterruptedException {
+    try {
+      return first.get();
+    } catch (final ExecutionException e) {
+      if (hedge == null) {
+        throw asRuntimeException(e);
+      }
+    }
+
+    try {
+      return attempts.take().get();
+    } catch (final ExecutionException e) {
       try {
-        return routeQuery(node, statement, executionContext, serviceContext, pullQueryContext);
-      } catch (Exception t) {
-        LOG.debug("Error routing query {} to host {} at timestamp {}",
-                 statement.getStatementText(), node, System.currentTimeMillis());
+        primary.get();
+        throw new IllegalStateException("Primary attempt unexpectedly succeeded");
+      } catch (final ExecutionException primaryError) {
+        throw asRuntimeException(primaryError);
       }
     }
-    throw new MaterializationException(String.format(
-        "Unable to execute pull query: %s", statement.getStatementText()));
   }
 
-  private static TableRowsEntity routeQuery(
+  private static RuntimeException asRuntimeException(final ExecutionException e) {
+    return e.getCause() instanceof RuntimeException
+        ? (RuntimeException) e.getCause()
+        : new MaterializationException("Failed to route pull query", e.getCause());
+  }
+
+  private static void routeQuery(
       final KsqlNode node,
       final ConfiguredStatement<Query> statement,
-      final KsqlExecutionContext executionContext,
-      final ServiceContext serviceContext,
-      final PullQueryContext pullQueryContext
+      final PullQueryContext pullQueryContext,
+      final Runnable local,
+      final Runnable remote
   ) {
     if (node.isLocal()) {
       LOG.debug("Query {} executed locally at host {} at timestamp {}.",
                statement.getStatementText(), node.location(), System.currentTimeMillis());
       pullQueryContext.pullQueryMetrics
           .ifPresent(queryExecutorMetrics -> queryExecutorMetrics.recordLocalRequests(1));
-      return queryRowsLocally(
-          statement,
-          executionContext,
-          pullQueryContext);
+      local.run();
     } else {
       LOG.debug("Query {} routed to host {} at timestamp {}.",
                 statement.getStatementText(), node.location(), System.currentTimeMillis());
       pullQueryContext.pullQueryMetrics
           .ifPresent(queryExecutorMetrics -> queryExecutorMetrics.recordRemoteRequests(1));
-      return forwardTo(node, statement, serviceContext);
+      remote.run();
     }
   }
 
-  private static TableRowsEntity queryRowsLocally(
-      final ConfiguredStatement<Query> statement,
+  /**
+   * Look up the supplied {@code keys} in the local store.
+   *
+   * <p>Windowed rows are read from the store and projected one at a time, so lookups over long
+   * window ranges do not hold all their rows in memory.
+   */
+  private static void queryRowsLocally(
       final KsqlExecutionContext executionContext,
-      final PullQueryContext pullQueryContext
+      final PullQueryContext pullQueryContext,
+      final List<Struct> keys,
+      final RowSink sink
   ) {
-    final Result result;
+    final Function<TableRow, List<?>> rowMapper = rowMapper(executionContext, pullQueryContext);
+
     if (pullQueryContext.whereInfo.windowStartBounds.isPresent()) {
       final Range<Instant> windowStart = pullQueryContext.whereInfo.windowStartBounds.get();
 
-      final List<? extends TableRow> rows = pullQueryContext.mat.windowed()
-          .get(pullQueryContext.key, windowStart);
-
-      result = new Result(pullQueryContext.mat.schema(), rows);
+      for (final Struct key : keys) {
+        try (CloseableIterator<WindowedRow> it =
+            pullQueryContext.mat.windowed().fetch(key, windowStart)) {
+          while (!sink.isFull() && it.hasNext()) {
+            sink.accept(rowMapper.apply(it.next()));
+          }
+        }
+      }
     } else {
-      final List<? extends TableRow> rows = pullQueryContext.mat.nonWindowed()
-          .get(pullQueryContext.key)
-          .map(ImmutableList::of)
-          .orElse(ImmutableList.of());
+      for (final Row row : pullQueryContext.mat.nonWindowed().getBatch(keys)) {
+        if (sink.isFull()) {
+          return;
+        }
+        sink.accept(rowMapper.apply(row));
+      }
+    }
+  }
 
-      result = new Result(pullQueryContext.mat.schema(), rows);
+  /**
+   * Scan the rows within the query's key range from the supplied {@code partitions} of the
+   * local store.
+   *
+   * <p>Rows are read from the store and projected one at a time, stopping once any LIMIT is
+   * reached.
+   */
+  private static void scanRowsLocally(
+      final KsqlExecutionContext executionContext,
+      final PullQueryContext pullQueryContext,
+      final List<Integer> partitions,
+      final RowSink sink
+  ) {
+    final Range<Comparable<Object>> keyRange = pullQueryContext.whereInfo.keyRange
+        .orElseThrow(IllegalStateException::new);
+
+    final Function<TableRow, List<?>> rowMapper = rowMapper(executionContext, pullQueryContext);
+
+    for (final int partition : partitions) {
+      try (CloseableIterator<Row> it = scanPartition(pullQueryContext, keyRange, partition)) {
+        while (!sink.isFull() && it.hasNext()) {
+          final Row row = it.next();
+          if (keyRange.contains(keyValue(row.key()))) {
+            sink.accept(rowMapper.apply(row));
+          }
+        }
+      }
     }
+  }
 
-    final LogicalSchema outputSchema;
-    final List<List<?>> rows;
-    if (isSelectStar(statement.getStatement().getSelect())) {
-      outputSchema = TableRowsEntityFactory.buildSchema(
-          result.schema, pullQueryContext.mat.windowType().isPresent());
-      rows = TableRowsEntityFactory.createRows(result.rows);
-    } else {
-      final List<SelectExpression> projection = pullQueryContext.analysis.getSelectItems().stream()
-          .map(SingleColumn.class::cast)
-          .map(si -> SelectExpression
-              .of(si.getAlias().orElseThrow(IllegalStateException::new), si.getExpression()))
-          .collect(Collectors.toList());
+  private static CloseableIterator<Row> scanPartition(
+      final PullQueryContext pullQueryContext,
+      final Range<Comparable<Object>> keyRange,
+      final int partition
+  ) {
+    final MaterializedTable table = pullQueryContext.mat.nonWindowed();
+
+    // The store orders keys by their serialized form, which only matches the logical order
+    // for STRING keys. Other key types, and open-ended ranges, scan the whole partition:
+    final SqlType keyType = Iterables.getOnlyElement(pullQueryContext.mat.schema().key()).type();
+    if (keyType.baseType() != SqlBaseType.STRING
+        || !keyRange.hasLowerBound()
+        || !keyRange.hasUpperBound()) {
+      return table.all(partition);
+    }
 
-      outputSchema = selectOutputSchema(
-          result, executionContext, projection, pullQueryContext.mat.windowType());
+    final PhysicalSchema physicalSchema = pullQueryContext.plan.getQuery().getPhysicalSchema();
+    return table.range(
+        partition,
+        asKeyStruct(keyRange.lowerEndpoint(), physicalSchema),
+        asKeyStruct(keyRange.upperEndpoint(), physicalSchema)
+    );
+  }
 
-      rows = handleSelects(
-          result,
-          statement,
-          executionContext,
-          pullQueryContext.analysis,
-          outputSchema,
-          projection,
-          pullQueryContext.mat.windowType(),
-          pullQueryContext.queryId,
-          pullQueryContext.contextStacker
-      );
+  @SuppressWarnings("unchecked")
+  private static Comparable<Object> keyValue(final Struct key) {
+    return (Comparable<Object>) key.get(Iterables.getOnlyElement(key.schema().fields()));
+  }
+
+  /**
+   * @return the partitions a forwarding node has requested this node to scan, if any.
+   */
+  private static Optional<List<Integer>> forwardedPartitions(
+      final ConfiguredStatement<Query> statement
+  ) {
+    final Object partitions = statement.getRequestProperties()
+        .get(KsqlRequestConfig.KSQL_REQUEST_QUERY_PULL_PARTITIONS);
+
+    if (partitions == null) {
+      return Optional.empty();
     }
-    return new TableRowsEntity(
-        statement.getStatementText(),
-        pullQueryContext.queryId,
-        outputSchema,
-        rows
+
+    final List<?> values = partitions instanceof List
+        ? (List<?>) partitions
+        : Arrays.asList(partitions.toString().split(","));
+
+    return Optional.of(values.stream()
+        .map(String::valueOf)
+        .map(String::trim)
+        .filter(v -> !v.isEmpty())
+        .map(Integer::valueOf)
+        .collect(Collectors.toList()));
+  }
+
+  /**
+   * @return the text of the statement to forward to a node that is to look up only the supplied
+   *         {@code keys}.
+   */
+  private static String forwardedStatementText(
+      final ConfiguredStatement<Query> statement,
+      final PullQueryContext pullQueryContext,
+      final List<Struct> keys
+  ) {
+    if (keys.size() == pullQueryContext.keys.size()) {
+      return statement.getStatementText();
+    }
+
+    final InListExpression keyLiterals = new InListExpression(keys.stream()
+        .map(pullQueryContext.keys::get)
+        .collect(Collectors.toList()));
+
+    final BiFunction<Expression, Context<Void>, Optional<Expression>> restrictKeys =
+        (exp, ctx) -> exp instanceof InPredicate
+            ? Optional.of(new InPredicate(((InPredicate) exp).getValue(), keyLiterals))
+            : Optional.empty();
+
+    final Query query = statement.getStatement();
+    final Query restricted = new Query(
+        query.getLocation(),
+        query.getSelect(),
+        query.getFrom(),
+        query.getWindow(),
+        query.getWhere().map(where -> ExpressionTreeRewriter.rewriteWith(restrictKeys, where)),
+        query.getGroupBy(),
+        query.getPartitionBy(),
+        query.getHaving(),
+        query.getResultMaterialization(),
+        query.isPullQuery(),
+        query.getLimit()
     );
+
+    return SqlFormatter.formatSql(restricted) + ";";
   }
 
-  private static TableRowsEntity forwardTo(
+  /**
+   * Forward the query to the supplied {@code owner}, writing the rows it returns to the supplied
+   * {@code sink} as they are received.
+   */
+  private static void forwardTo(
       final KsqlNode owner,
       final ConfiguredStatement<Query> statement,
-      final ServiceContext serviceContext
+      final String statementText,
+      final Map<String, Object> additionalRequestProperties,
+      final ServiceContext serviceContext,
+      final RowSink sink
   ) {
     // Add skip forward flag to properties
-    final Map<String, Object> requestProperties = ImmutableMap.of(
-        KsqlRequestConfig.KSQL_REQUEST_QUERY_PULL_SKIP_FORWARDING, true);
-    final RestResponse<List<StreamedRow>> response = serviceContext
+    final Map<String, Object> requestProperties = ImmutableMap.<String, Object>builder()
+        .putAll(additionalRequestProperties)
+        .put(KsqlRequestConfig.KSQL_REQUEST_QUERY_PULL_SKIP_FORWARDING, true)
+        .build();
+
+    final ForwardedRowConsumer rowConsumer = new ForwardedRowConsumer(statement, sink);
+
+    final RestResponse<Integer> response = serviceContext
         .getKsqlClient()
         .makeQueryRequest(
             owner.location(),
-            statement.getStatementText(),
+            statementText,
             statement.getConfigOverrides(),
-            requestProperties
+            requestProperties,
+            rowConsumer
         );
 
     if (response.isErroneous()) {
       throw new KsqlServerException("Forwarding attempt failed: " + response.getErrorMessage());
     }
 
-    final List<StreamedRow> streamedRows = response.getResponse();
-    if (streamedRows.isEmpty()) {
+    if (response.getResponse() == 0) {
       throw new KsqlServerException("Invalid empty response from forwarding call");
     }
+  }
 
-    // Temporary code to convert from QueryStream to TableRowsEntity
-    // Tracked by: https://github.com/confluentinc/ksql/issues/3865
-    final Header header = streamedRows.get(0).getHeader()
-        .orElseThrow(() -> new KsqlServerException("Expected header in first row"));
+  private static QueryId uniqueQueryId() {
+    return new QueryId("query_" + System.currentTimeMillis());
+  }
 
-    final ImmutableList.Builder<List<?>> rows = ImmutableList.builder();
+  private static PullQueryPlan buildPlan(
+      final ConfiguredStatement<Query> statement,
+      final KsqlExecutionContext executionContext
+  ) {
+    final ImmutableAnalysis analysis = new RewrittenAnalysis(
+        analyze(statement, executionContext),
+        new ColumnReferenceRewriter()::process
+    );
 
-    for (final StreamedRow row : streamedRows.subList(1, streamedRows.size())) {
-      if (row.getErrorMessage().isPresent()) {
-        throw new KsqlStatementException(
-            row.getErrorMessage().get().getMessage(),
-            statement.getStatementText()
-        );
-      }
+    final PersistentQueryMetadata query = findMaterializingQuery(executionContext, analysis);
 
-      if (!row.getRow().isPresent()) {
-        throw new KsqlServerException("Unexpected forwarding response");
-      }
+    final Materialization mat = query
+        .getMaterialization(uniqueQueryId(), new Stacker())
+        .orElseThrow(() -> notMaterializedException(getSourceName(analysis)));
+
+    final Optional<WindowType> windowType = mat.windowType();
 
-      rows.add(row.getRow().get().values());
+    if (isSelectStar(statement.getStatement().getSelect())) {
+      return new PullQueryPlan(
+          analysis.getFrom().getDataSource(),
+          query,
+          TableRowsEntityFactory.buildSchema(mat.schema(), windowType.isPresent()),
+          Optional.empty(),
+          false
+      );
     }
 
-    return new TableRowsEntity(
-        statement.getStatementText(),
-        header.getQueryId(),
-        header.getSchema(),
-        rows.build()
+    final List<SelectExpression> projection = analysis.getSelectItems().stream()
+        .map(SingleColumn.class::cast)
+        .map(si -> SelectExpression
+            .of(si.getAlias().orElseThrow(IllegalStateException::new), si.getExpression()))
+        .collect(Collectors.toList());
+
+    final boolean noSystemColumns = analysis.getSelectColumnNames().stream()
+        .noneMatch(SystemColumns::isSystemColumn);
+
+    final boolean noKeyColumns = analysis.getSelectColumnNames().stream()
+        .noneMatch(mat.schema()::isKeyColumn);
+
+    final boolean requiresPseudoAndKeyColumns = !(noSystemColumns && noKeyColumns);
+
+    // SelectValueMapper requires the rowTime & key fields in the value schema :(
+    final LogicalSchema intermediateSchema = requiresPseudoAndKeyColumns
+        ? mat.schema().withPseudoAndKeyColsInValue(windowType.isPresent())
+        : mat.schema();
+
+    final KsqlConfig ksqlConfig = statement.getConfig()
+        .cloneWithPropertyOverwrite(statement.getConfigOverrides());
+
+    final SelectValueMapper<Object> select = SelectValueMapperFactory.create(
+        projection,
+        intermediateSchema,
+        ksqlConfig,
+        executionContext.getMetaStore()
+    );
+
+    return new PullQueryPlan(
+        analysis.getFrom().getDataSource(),
+        query,
+        selectOutputSchema(mat.schema(), executionContext, projection, windowType),
+        Optional.of(select),
+        requiresPseudoAndKeyColumns
     );
   }
 
-  private static QueryId uniqueQueryId() {
-    return new QueryId("query_" + System.currentTimeMillis());
+  private static Optional<Expression> rewriteWhere(final ConfiguredStatement<Query> statement) {
+    return statement.getStatement().getWhere()
+        .map(where -> ExpressionTreeRewriter.rewriteWith(
+            new ColumnReferenceRewriter()::process, where));
   }
 
   private static ImmutableAnalysis analyze(
@@ -429,44 +1030,47 @@ public final class PullQueryExecutor {
 
   private static final class PullQueryContext {
 
-    private final Struct key;
+    private final Map<Struct, Expression> keys;
     private final Materialization mat;
-    private final ImmutableAnalysis analysis;
+    private final PullQueryPlan plan;
     private final WhereInfo whereInfo;
+    private final OptionalInt limit;
     private final QueryId queryId;
     private final QueryContext.Stacker contextStacker;
     private final Optional<PullQueryExecutorMetrics> pullQueryMetrics;
 
     private PullQueryContext(
-        final Struct key,
+        final Map<Struct, Expression> keys,
         final Materialization mat,
-        final ImmutableAnalysis analysis,
+        final PullQueryPlan plan,
         final WhereInfo whereInfo,
+        final OptionalInt limit,
         final QueryId queryId,
         final QueryContext.Stacker contextStacker,
         final Optional<PullQueryExecutorMetrics> pullQueryMetrics
 
     ) {
-      this.key = Objects.requireNonNull(key, "key");
+      this.keys = Objects.requireNonNull(keys, "keys");
       this.mat = Objects.requireNonNull(mat, "materialization");
-      this.analysis = Objects.requireNonNull(analysis, "analysis");
+      this.plan = Objects.requireNonNull(plan, "plan");
       this.whereInfo = Objects.requireNonNull(whereInfo, "whereInfo");
+      this.limit = Objects.requireNonNull(limit, "limit");
       this.queryId = Objects.requireNonNull(queryId, "queryId");
       this.contextStacker = Objects.requireNonNull(contextStacker, "contextStacker");
       this.pullQueryMetrics = Objects.requireNonNull(
           pullQueryMetrics, "pullQueryExecutorMetrics");
     }
 
-    public Struct getKey() {
-      return key;
+    public Map<Struct, Expression> getKeys() {
+      return keys;
     }
 
     public Materialization getMat() {
       return mat;
     }
 
-    public ImmutableAnalysis getAnalysis() {
-      return analysis;
+    public PullQueryPlan getPlan() {
+      return plan;
     }
 
     public WhereInfo getWhereInfo() {
@@ -484,73 +1088,92 @@ public final class PullQueryExecutor {
 
   private static final class WhereInfo {
 
-    private final Object keyBound;
+    private final Map<Object, Expression> keyBounds;
+    private final Optional<Range<Comparable<Object>>> keyRange;
     private final Optional<Range<Instant>> windowStartBounds;
 
     private WhereInfo(
-        final Object keyBound,
+        final Map<Object, Expression> keyBounds,
+        final Optional<Range<Comparable<Object>>> keyRange,
         final Optional<Range<Instant>> windowStartBounds
     ) {
-      this.keyBound = keyBound;
+      this.keyBounds = keyBounds;
+      this.keyRange = keyRange;
       this.windowStartBounds = windowStartBounds;
     }
-  }
-
-  private static final class Result {
 
-    private final LogicalSchema schema;
-    private final List<? extends TableRow> rows;
-
-    private Result(
-        final LogicalSchema schema,
-        final List<? extends TableRow> rows
+    private static WhereInfo keyLookup(
+        final Map<Object, Expression> keyBounds,
+        final Optional<Range<Instant>> windowStartBounds
     ) {
-      this.schema = Objects.requireNonNull(schema, "schema");
-      this.rows = Objects.requireNonNull(rows, "rows");
+      return new WhereInfo(keyBounds, Optional.empty(), windowStartBounds);
+    }
+
+    private static WhereInfo keyScan(final Range<Comparable<Object>> keyRange) {
+      return new WhereInfo(ImmutableMap.of(), Optional.of(keyRange), Optional.empty());
     }
   }
 
   private static WhereInfo extractWhereInfo(
-      final ImmutableAnalysis analysis,
-      final PersistentQueryMetadata query
+      final Optional<Expression> whereExpression,
+      final PersistentQueryMetadata query,
+      final OptionalInt limit
   ) {
     final boolean windowed = query.getResultTopic().getKeyFormat().isWindowed();
 
-    final Expression where = analysis.getWhereExpression()
+    if (!whereExpression.isPresent() && !windowed && limit.isPresent()) {
+      return WhereInfo.keyScan(Range.all());
+    }
+
+    final Expression where = whereExpression
         .orElseThrow(() -> invalidWhereClauseException("Missing WHERE clause", windowed));
 
-    final Map<ComparisonTarget, List<ComparisonExpression>> comparisons =
+    final Map<ComparisonTarget, List<Expression>> comparisons =
         extractComparisons(where, query);
 
-    final List<ComparisonExpression> keyComparison = comparisons.get(ComparisonTarget.KEYCOL);
+    final List<Expression> keyComparison = comparisons.get(ComparisonTarget.KEYCOL);
     if (keyComparison == null) {
       throw invalidWhereClauseException("WHERE clause missing key column", windowed);
     }
 
-    final Object key = extractKeyWhereClause(
-        keyComparison,
-        windowed,
-        query.getLogicalSchema()
-    );
-
     if (!windowed) {
       if (comparisons.size() > 1) {
         throw invalidWhereClauseException("Unsupported WHERE clause", false);
       }
 
-      return new WhereInfo(key, Optional.empty());
+      if (isKeyRange(keyComparison)) {
+        return WhereInfo.keyScan(extractKeyRange(keyComparison, query.getLogicalSchema()));
+      }
+
+      final Map<Object, Expression> keys = extractKeyWhereClause(
+          keyComparison,
+          false,
+          query.getLogicalSchema()
+      );
+
+      return WhereInfo.keyLookup(keys, Optional.empty());
     }
 
-    final Optional<List<ComparisonExpression>> windowBoundsComparison =
+    final Map<Object, Expression> keys = extractKeyWhereClause(
+        keyComparison,
+        true,
+        query.getLogicalSchema()
+    );
+
+    final Optional<List<Expression>> windowBoundsComparison =
         Optional.ofNullable(comparisons.get(ComparisonTarget.WINDOWSTART));
 
     final Range<Instant> windowStart = extractWhereClauseWindowBounds(windowBoundsComparison);
 
-    return new WhereInfo(key, Optional.of(windowStart));
+    return WhereInfo.keyLookup(keys, Optional.of(windowStart));
   }
 
-  private static Object extractKeyWhereClause(
-      final List<ComparisonExpression> comparisons,
+  /**
+   * @return the coerced key values bound by the WHERE clause, mapped to the literal each was
+   *         parsed from, in the order they appear in the statement.
+   */
+  private static Map<Object, Expression> extractKeyWhereClause(
+      final List<Expression> comparisons,
       final boolean windowed,
       final LogicalSchema schema
   ) {
@@ -558,16 +1181,92 @@ public final class PullQueryExecutor {
       throw invalidWhereClauseException("Multiple bounds on key column", windowed);
     }
 
-    final ComparisonExpression comparison = comparisons.get(0);
-    if (comparison.getType() != Type.EQUAL) {
+    final Expression comparison = comparisons.get(0);
+
+    final List<Expression> literals;
+    if (comparison instanceof InPredicate) {
+      literals = ((InPredicate) comparison).getValueList().getValues();
+    } else if (comparison instanceof ComparisonExpression
+        && ((ComparisonExpression) comparison).getType() == Type.EQUAL) {
+      literals = ImmutableList.of(getNonColumnRefSide((ComparisonExpression) comparison));
+    } else {
       final ColumnName keyColumn = Iterables.getOnlyElement(schema.key()).name();
       throw invalidWhereClauseException("Bound on '" + keyColumn.text()
-          + "' must currently be '='", windowed);
+          + (windowed
+              ? "' must currently be '=' or 'IN'"
+              : "' must currently be '=', 'IN' or a range"), windowed);
+    }
+
+    final Map<Object, Expression> keys = new LinkedHashMap<>();
+    for (final Expression other : literals) {
+      keys.putIfAbsent(extractKeyValue(other, comparison, schema, windowed), other);
     }
 
-    final Expression other = getNonColumnRefSide(comparison);
+    return keys;
+  }
+
+  private static boolean isKeyRange(final List<Expression> comparisons) {
+    return comparisons.stream().allMatch(exp -> exp instanceof BetweenPredicate
+        || (exp instanceof ComparisonExpression
+            && VALID_KEY_RANGE_TYPES.contains(((ComparisonExpression) exp).getType())));
+  }
+
+  /**
+   * @return the intersection of the range bounds on the key column.
+   */
+  private static Range<Comparable<Object>> extractKeyRange(
+      final List<Expression> comparisons,
+      final LogicalSchema schema
+  ) {
+    Range<Comparable<Object>> range = Range.all();
+    for (final Expression comparison : comparisons) {
+      final Range<Comparable<Object>> bound;
+      if (comparison instanceof BetweenPredicate) {
+        final BetweenPredicate between = (BetweenPredicate) comparison;
+        final Comparable<Object> min = asComparable(
+            extractKeyValue(between.getMin(), comparison, schema, false));
+        final Comparable<Object> max = asComparable(
+            extractKeyValue(between.getMax(), comparison, schema, false));
+
+        bound = min.compareTo(max) <= 0
+            ? Range.closed(min, max)
+            : emptyRange(Range.singleton(min));
+      } else {
+        final ComparisonExpression inequality = (ComparisonExpression) comparison;
+        final Comparable<Object> value = asComparable(extractKeyValue(
+            getNonColumnRefSide(inequality), comparison, schema, false));
+        final BoundType boundType = getRangeBoundType(inequality);
+
+        bound = getSimplifiedBoundType(inequality) == Type.LESS_THAN
+            ? Range.upTo(value, boundType)
+            : Range.downTo(value, boundType);
+      }
+
+      range = range.isConnected(bound)
+          ? range.intersection(bound)
+          : emptyRange(bound);
+    }
+
+    return range;
+  }
+
+  private static Range<Comparable<Object>> emptyRange(final Range<Comparable<Object>> bound) {
+    final Comparable<Object> endpoint = bound.hasLowerBound()
+        ? bound.lowerEndpoint()
+        : bound.upperEndpoint();
+
+    return Range.closedOpen(endpoint, endpoint);
+  }
+
+  private static Object extractKeyValue(
+      final Expression other,
+      final Expression comparison,
+      final LogicalSchema schema,
+      final boolean windowed
+  ) {
     if (!(other instanceof Literal)) {
-      throw new KsqlException("Ony comparison to literals is currently supported: " + comparison);
+      throw new KsqlException("Ony comparison to literals is currently supported: "
+          + comparison);
     }
 
     if (other instanceof NullLiteral) {
@@ -578,6 +1277,11 @@ public final class PullQueryExecutor {
     return coerceKey(schema, right, windowed);
   }
 
+  @SuppressWarnings("unchecked")
+  private static Comparable<Object> asComparable(final Object keyValue) {
+    return (Comparable<Object>) keyValue;
+  }
+
   private static Object coerceKey(
       final LogicalSchema schema,
       final Object right,
@@ -596,13 +1300,23 @@ public final class PullQueryExecutor {
   }
 
   private static Range<Instant> extractWhereClauseWindowBounds(
-      final Optional<List<ComparisonExpression>> maybeComparisons
+      final Optional<List<Expression>> maybeComparisons
   ) {
     if (!maybeComparisons.isPresent()) {
       return Range.all();
     }
 
-    final List<ComparisonExpression> comparisons = maybeComparisons.get();
+    final List<ComparisonExpression> comparisons = maybeComparisons.get().stream()
+        .map(exp -> {
+          if (!(exp instanceof ComparisonExpression)) {
+            throw invalidWhereClauseException(
+                "Unsupported " + ComparisonTarget.WINDOWSTART + " bound: " + exp,
+                true
+            );
+          }
+          return (ComparisonExpression) exp;
+        })
+        .collect(Collectors.toList());
 
     final Map<Type, List<ComparisonExpression>> byType = comparisons.stream()
         .collect(Collectors.groupingBy(PullQueryExecutor::getSimplifiedBoundType));
@@ -744,32 +1458,54 @@ public final class PullQueryExecutor {
     WINDOWSTART
   }
 
-  private static Map<ComparisonTarget, List<ComparisonExpression>> extractComparisons(
+  private static Map<ComparisonTarget, List<Expression>> extractComparisons(
       final Expression exp,
       final PersistentQueryMetadata query
   ) {
     if (exp instanceof ComparisonExpression) {
       final ComparisonExpression comparison = (ComparisonExpression) exp;
-      final ComparisonTarget target = extractWhereClauseTarget(comparison, query);
+      final ComparisonTarget target = extractWhereClauseTarget(
+          comparison, comparison.getLeft(), comparison.getRight(), query);
       return ImmutableMap.of(target, ImmutableList.of(comparison));
     }
 
+    if (exp instanceof InPredicate) {
+      final InPredicate inPredicate = (InPredicate) exp;
+      final ComparisonTarget target = extractWhereClauseTarget(
+          inPredicate, inPredicate.getValue(), inPredicate.getValue(), query);
+      if (target != ComparisonTarget.KEYCOL) {
+        throw invalidWhereClauseException("IN is only supported on the key column: " + exp, true);
+      }
+      return ImmutableMap.of(target, ImmutableList.of(inPredicate));
+    }
+
+    if (exp instanceof BetweenPredicate) {
+      final BetweenPredicate between = (BetweenPredicate) exp;
+      final ComparisonTarget target = extractWhereClauseTarget(
+          between, between.getValue(), between.getValue(), query);
+      if (target != ComparisonTarget.KEYCOL) {
+        throw invalidWhereClauseException(
+            "BETWEEN is only supported on the key column: " + exp, true);
+      }
+      return ImmutableMap.of(target, ImmutableList.of(between));
+    }
+
     if (exp instanceof LogicalBinaryExpression) {
       final LogicalBinaryExpression binary = (LogicalBinaryExpression) exp;
       if (binary.getType() != LogicalBinaryExpression.Type.AND) {
         throw invalidWhereClauseException("Only AND expressions are supported: " + exp, false);
       }
 
-      final Map<ComparisonTarget, List<ComparisonExpression>> left =
+      final Map<ComparisonTarget, List<Expression>> left =
           extractComparisons(binary.getLeft(), query);
 
-      final Map<ComparisonTarget, List<ComparisonExpression>> right =
+      final Map<ComparisonTarget, List<Expression>> right =
           extractComparisons(binary.getRight(), query);
 
       return Stream
           .concat(left.entrySet().stream(), right.entrySet().stream())
           .collect(Collectors.toMap(Entry::getKey, Entry::getValue, (l, r) ->
-              ImmutableList.<ComparisonExpression>builder().addAll(l).addAll(r).build()
+              ImmutableList.<Expression>builder().addAll(l).addAll(r).build()
           ));
     }
 
@@ -777,14 +1513,16 @@ public final class PullQueryExecutor {
   }
 
   private static ComparisonTarget extractWhereClauseTarget(
-      final ComparisonExpression comparison,
+      final Expression comparison,
+      final Expression left,
+      final Expression right,
       final PersistentQueryMetadata query
   ) {
     final UnqualifiedColumnReferenceExp column;
-    if (comparison.getRight() instanceof UnqualifiedColumnReferenceExp) {
-      column = (UnqualifiedColumnReferenceExp) comparison.getRight();
-    } else if (comparison.getLeft() instanceof UnqualifiedColumnReferenceExp) {
-      column = (UnqualifiedColumnReferenceExp) comparison.getLeft();
+    if (right instanceof UnqualifiedColumnReferenceExp) {
+      column = (UnqualifiedColumnReferenceExp) right;
+    } else if (left instanceof UnqualifiedColumnReferenceExp) {
+      column = (UnqualifiedColumnReferenceExp) left;
     } else {
       throw invalidWhereClauseException("Invalid WHERE clause: " + comparison, false);
     }
@@ -817,35 +1555,23 @@ public final class PullQueryExecutor {
     return someStars;
   }
 
-  private static List<List<?>> handleSelects(
-      final Result input,
-      final ConfiguredStatement<Query> statement,
+  /**
+   * @return a function that converts a materialized row into an output row, applying any
+   *         projection.
+   */
+  private static Function<TableRow, List<?>> rowMapper(
       final KsqlExecutionContext executionContext,
-      final ImmutableAnalysis analysis,
-      final LogicalSchema outputSchema,
-      final List<SelectExpression> projection,
-      final Optional<WindowType> windowType,
-      final QueryId queryId,
-      final Stacker contextStacker
+      final PullQueryContext pullQueryContext
   ) {
-    final boolean noSystemColumns = analysis.getSelectColumnNames().stream()
-        .noneMatch(SystemColumns::isSystemColumn);
-
-    final boolean noKeyColumns = analysis.getSelectColumnNames().stream()
-        .noneMatch(input.schema::isKeyColumn);
+    final PullQueryPlan plan = pullQueryContext.plan;
+    if (!plan.getSelect().isPresent()) {
+      return TableRowsEntityFactory::createRow;
+    }
 
-    final LogicalSchema intermediateSchema;
     final Function<TableRow, GenericRow> preSelectTransform;
-    if (noSystemColumns && noKeyColumns) {
-      intermediateSchema = input.schema;
+    if (!plan.requiresPseudoAndKeyColumns()) {
       preSelectTransform = TableRow::value;
     } else {
-      // SelectValueMapper requires the rowTime & key fields in the value schema :(
-      final boolean windowed = windowType.isPresent();
-
-      intermediateSchema = input.schema
-          .withPseudoAndKeyColsInValue(windowed);
-
       preSelectTransform = row -> {
         final Struct key = row.key();
         final GenericRow value = row.value();
@@ -872,29 +1598,21 @@ public final class PullQueryExecutor {
       };
     }
 
-    final KsqlConfig ksqlConfig = statement.getConfig()
-        .cloneWithPropertyOverwrite(statement.getConfigOverrides());
-
-    final SelectValueMapper<Object> select = SelectValueMapperFactory.create(
-        projection,
-        intermediateSchema,
-        ksqlConfig,
-        executionContext.getMetaStore()
-    );
+    final SelectValueMapper<Object> select = plan.getSelect().get();
 
     final ProcessingLogger logger = executionContext
         .getProcessingLogContext()
         .getLoggerFactory()
         .getLogger(
-            QueryLoggerUtil
-                .queryLoggerName(queryId, contextStacker.push("PROJECT").getQueryContext())
+            QueryLoggerUtil.queryLoggerName(
+                pullQueryContext.queryId,
+                pullQueryContext.contextStacker.push("PROJECT").getQueryContext())
         );
 
     final KsqlTransformer<Object, GenericRow> transformer = select
         .getTransformer(logger);
 
-    final ImmutableList.Builder<List<?>> output = ImmutableList.builder();
-    input.rows.forEach(r -> {
+    return r -> {
       final GenericRow intermediate = preSelectTransform.apply(r);
 
       final GenericRow mapped = transformer.transform(
@@ -902,11 +1620,9 @@ public final class PullQueryExecutor {
           intermediate,
           new PullProcessingContext(r.rowTime())
       );
-      validateProjection(mapped, outputSchema);
-      output.add(mapped.values());
-    });
-
-    return output.build();
+      validateProjection(mapped, plan.getOutputSchema());
+      return mapped.values();
+    };
   }
 
   private static void validateProjection(
@@ -924,7 +1640,7 @@ public final class PullQueryExecutor {
   }
 
   private static LogicalSchema selectOutputSchema(
-      final Result input,
+      final LogicalSchema inputSchema,
       final KsqlExecutionContext executionContext,
       final List<SelectExpression> selectExpressions,
       final Optional<WindowType> windowType
@@ -932,7 +1648,7 @@ public final class PullQueryExecutor {
     final Builder schemaBuilder = LogicalSchema.builder();
 
     // Copy meta & key columns into the value schema as SelectValueMapper expects it:
-    final LogicalSchema schema = input.schema
+    final LogicalSchema schema = inputSchema
         .withPseudoAndKeyColsInValue(windowType.isPresent());
 
     final ExpressionTypeManager expressionTypeManager =
@@ -941,7 +1657,7 @@ public final class PullQueryExecutor {
     for (final SelectExpression select : selectExpressions) {
       final SqlType type = expressionTypeManager.getExpressionSqlType(select.getExpression());
 
-      if (input.schema.isKeyColumn(select.getAlias())
+      if (inputSchema.isKeyColumn(select.getAlias())
           || select.getAlias().equals(SystemColumns.WINDOWSTART_NAME)
           || select.getAlias().equals(SystemColumns.WINDOWEND_NAME)
       ) {
@@ -1019,7 +1735,15 @@ public final class PullQueryExecutor {
         + System.lineSeparator()
         + "Pull queries require a WHERE clause that:"
         + System.lineSeparator()
-        + " - limits the query to a single key, e.g. `SELECT * FROM X WHERE <key-column>>=Y;`."
+        + " - limits the query to a single key, e.g. `SELECT * FROM X WHERE <key-column>>=Y;`,"
+        + System.lineSeparator()
+        + "   or a list of keys, e.g. `SELECT * FROM X WHERE <key-column> IN (Y, Z);`,"
+        + System.lineSeparator()
+        + "   or, for non-windowed tables, a range of keys, "
+        + "e.g. `SELECT * FROM X WHERE <key-column> BETWEEN Y AND Z;`."
+        + System.lineSeparator()
+        + "Non-windowed tables can also be scanned in full with a LIMIT clause, "
+        + "e.g. `SELECT * FROM X LIMIT 10;`."
         + additional
     );
   }
@@ -1033,6 +1757,108 @@ public final class PullQueryExecutor {
     return key;
   }
 
+  /**
+   * Passes rows on to the consumer of the query's result, dropping any beyond the query's LIMIT.
+   */
+  private static final class RowSink {
+
+    private final Consumer<List<?>> rowConsumer;
+    private final int limit;
+    private int rowCount;
+    private volatile boolean cancelled;
+
+    RowSink(final Consumer<List<?>> rowConsumer, final int limit) {
+      this.rowConsumer = Objects.requireNonNull(rowConsumer, "rowConsumer");
+      this.limit = limit;
+    }
+
+    void accept(final List<?> row) {
+      if (isFull()) {
+        return;
+      }
+
+      rowConsumer.accept(row);
+      rowCount++;
+    }
+
+    boolean isFull() {
+      return cancelled || rowCount >= limit;
+    }
+
+    int rowCount() {
+      return rowCount;
+    }
+
+    int remaining() {
+      return limit - rowCount;
+    }
+
+    /**
+     * Stop accepting rows, e.g. because another hedged attempt has already returned them.
+     */
+    void cancel() {
+      cancelled = true;
+    }
+
+    boolean isCancelled() {
+      return cancelled;
+    }
+  }
+
+  /**
+   * Routes the query for some targets, i.e. keys or partitions, to a node, writing the rows
+   * returned to the supplied sink.
+   */
+  private interface NodeRouter<T> {
+
+    void route(KsqlNode node, List<T> targets, RowSink sink);
+  }
+
+  /**
+   * Validates the rows streamed back from a forwarded query, passing them on to the sink.
+   */
+  private static final class ForwardedRowConsumer implements Consumer<List<StreamedRow>> {
+
+    private final ConfiguredStatement<Query> statement;
+    private final RowSink sink;
+    private boolean receivedHeader;
+
+    ForwardedRowConsumer(final ConfiguredStatement<Query> statement, final RowSink sink) {
+      this.statement = Objects.requireNonNull(statement, "statement");
+      this.sink = Objects.requireNonNull(sink, "sink");
+    }
+
+    @Override
+    public void accept(final List<StreamedRow> rows) {
+      if (sink.isCancelled()) {
+        // Stop reading the response:
+        throw new KsqlServerException("Forwarded query cancelled");
+      }
+
+      for (final StreamedRow row : rows) {
+        if (!receivedHeader) {
+          row.getHeader()
+              .orElseThrow(() -> new KsqlServerException("Expected header in first row"));
+          receivedHeader = true;
+          continue;
+        }
+
+        if (row.getErrorMessage().isPresent()) {
+          throw new KsqlStatementException(
+              row.getErrorMessage().get().getMessage(),
+              statement.getStatementText()
+          );
+        }
+
+        if (!row.getRow().isPresent()) {
+          throw new KsqlServerException("Unexpected forwarding response");
+        }
+
+        sink.accept(row.getRow().get().values());
+      }
+    }
+  }
+
   private static final class ColumnReferenceRewriter
       extends VisitParentExpressionVisitor<Optional<Expression>, Context<Void>> {
 
@@ -44,6 +44,10 @@ public class PullQueryExecutorMetrics implements Closeable {
   private final Sensor latencySensor;
   private final Sensor requestRateSensor;
   private final Sensor errorRateSensor;
+  private final Sensor planCacheHitSensor;
+  private final Sensor planCacheMissSensor;
+  private final Sensor hedgedRequestsSensor;
+  private final Sensor hedgeWinsSensor;
   private final Metrics metrics;
   private final Map<String, String> customMetricsTags;
   private final String ksqlServiceId;
@@ -63,6 +67,12 @@ public class PullQueryExecutorMetrics implements Closeable {
     this.latencySensor = configureRequestSensor();
     this.requestRateSensor = configureRateSensor();
     this.errorRateSensor = configureErrorRateSensor();
+    this.planCacheHitSensor = configurePlanCacheSensor("hit", "hits");
+    this.planCacheMissSensor = configurePlanCacheSensor("miss", "misses");
+    this.hedgedRequestsSensor = configureHedgeSensor(
+        "hedged", "pull query requests hedged to a standby");
+    this.hedgeWinsSensor = configureHedgeSensor(
+        "hedge-wins", "hedged pull query requests answered first by the standby");
   }
 
   @Override
@@ -90,6 +100,22 @@ public class PullQueryExecutorMetrics implements Closeable {
     this.errorRateSensor.record(value);
   }
 
+  public void recordPlanCacheHit(final double value) {
+    this.planCacheHitSensor.record(value);
+  }
+
+  public void recordPlanCacheMiss(final double value) {
+    this.planCacheMissSensor.record(value);
+  }
+
+  public void recordHedgedRequests(final double value) {
+    this.hedgedRequestsSensor.record(value);
+  }
+
+  public void recordHedgeWins(final double value) {
+    this.hedgeWinsSensor.record(value);
+  }
+
   List<Sensor> getSensors() {
     return sensors;
   }
@@ -190,6 +216,62 @@ public class PullQueryExecutorMetrics implements Closeable {
     return sensor;
   }
 
+  private Sensor configurePlanCacheSensor(
+      final String outcome,
+      final String description
+  ) {
+    final Sensor sensor = metrics.sensor(
+        PULL_QUERY_METRIC_GROUP + "-" + PULL_REQUESTS + "-plan-cache-" + outcome);
+    sensor.add(
+        metrics.metricName(
+            PULL_REQUESTS + "-plan-cache-" + outcome + "-count",
+            ksqlServiceId + PULL_QUERY_METRIC_GROUP,
+            "Count of pull query plan cache " + description,
+            customMetricsTags
+        ),
+        new WindowedCount()
+    );
+    sensor.add(
+        metrics.metricName(
+            PULL_REQUESTS + "-plan-cache-" + outcome + "-rate",
+            ksqlServiceId + PULL_QUERY_METRIC_GROUP,
+            "Rate of pull query plan cache " + description,
+            customMetricsTags
+        ),
+        new Rate()
+    );
+    sensors.add(sensor);
+    return sensor;
+  }
+
+  private Sensor configureHedgeSensor(
+      final String name,
+      final String description
+  ) {
+    final Sensor sensor = metrics.sensor(
+        PULL_QUERY_METRIC_GROUP + "-" + PULL_REQUESTS + "-" + name);
+    sensor.add(
+        metrics.metricName(
+            PULL_REQUESTS + "-" + name + "-count",
+            ksqlServiceId + PULL_QUERY_METRIC_GROUP,
+            "Count of " + description,
+            customMetricsTags
+        ),
+        new WindowedCount()
+    );
+    sensor.add(
+        metrics.metricName(
+            PULL_REQUESTS + "-" + name + "-rate",
+            ksqlServiceId + PULL_QUERY_METRIC_GROUP,
+            "Rate of " + description,
+            customMetricsTags
+        ),
+        new Rate()
+    );
+    sensors.add(sensor);
+    return sensor;
+  }
+
   private Sensor configureRequestSensor() {
     final Sensor sensor = metrics.sensor(
         PULL_QUERY_METRIC_GROUP + "-" + PULL_REQUESTS + "-latency");
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.server.execution;
+
+import io.confluent.ksql.execution.streams.materialization.Locator.KsqlNode;
+import io.confluent.ksql.util.KsqlConfig;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Decides whether, and after how long, a pull query is hedged to a standby.
+ *
+ * <p>The delay is either fixed or, if a latency percentile is configured, that percentile of the
+ * latencies recently recorded for the host the query was first sent to.
+ */
+final class PullQueryHedgePolicy {
+
+  static final int LATENCY_SAMPLES = 128;
+  static final int MIN_LATENCY_SAMPLES = 16;
+
+  private final boolean enabled;
+  private final long delayMs;
+  private final double latencyPercentile;
+  private final ConcurrentMap<URI, LatencyWindow> latencies = new ConcurrentHashMap<>();
+
+  static PullQueryHedgePolicy from(final KsqlConfig ksqlConfig) {
+    return new PullQueryHedgePolicy(
+        ksqlConfig.getBoolean(KsqlConfig.KSQL_QUERY_PULL_HEDGE_ENABLE_CONFIG),
+        ksqlConfig.getLong(KsqlConfig.KSQL_QUERY_PULL_HEDGE_DELAY_MS_CONFIG),
+        ksqlConfig.getDouble(KsqlConfig.KSQL_QUERY_PULL_HEDGE_LATENCY_PERCENTILE_CONFIG)
+    );
+  }
+
+  PullQueryHedgePolicy(
+      final boolean enabled,
+      final long delayMs,
+      final double latencyPercentile
+  ) {
+    if (delayMs < 0) {
+      throw new IllegalArgumentException("delayMs must not be negative: " + delayMs);
+    }
+    if (latencyPercentile < 0 || latencyPercentile > 100) {
+      throw new IllegalArgumentException(
+          "latencyPercentile must be between 0 and 100: " + latencyPercentile);
+    }
+    this.enabled = enabled;
+    this.delayMs = delayMs;
+    this.latencyPercentile = latencyPercentile;
+  }
+
+  boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * @return the time in ms to wait for a response from the supplied {@code node} before hedging.
+   */
+  long delayMs(final KsqlNode node) {
+    if (latencyPercentile == 0) {
+      return delayMs;
+    }
+
+    final LatencyWindow window = latencies.get(node.location());
+    if (window == null) {
+      return delayMs;
+    }
+
+    return window.percentile(latencyPercentile).orElse(delayMs);
+  }
+
+  /**
+   * Record the time taken for a query sent to the supplied {@code node}.
+   */
+  void recordLatency(final KsqlNode node, final long latencyMs) {
+    if (latencyPercentile == 0) {
+      return;
+    }
+
+    latencies
+        .computeIfAbsent(node.location(), location -> new LatencyWindow())
+        .record(latencyMs);
+  }
+
+  /**
+   * The most recent latencies recorded for a host.
+   */
+  private static final class LatencyWindow {
+
+    private final long[] samples = new long[LATENCY_SAMPLES];
+    private int count;
+    private int next;
+
+    synchronized void record(final long latencyMs) {
+      samples[next] = latencyMs;
+      next = (next + 1) % samples.length;
+      count = Math.min(count + 1, samples.length);
+    }
+
+    OptionalLong percentile(final double percentile) {
+      final long[] sorted;
+      synchronized (this) {
+        if (count < MIN_LATENCY_SAMPLES) {
+          return OptionalLong.empty();
+        }
+        sorted = Arrays.copyOf(samples, count);
+      }
+
+      Arrays.sort(sorted);
+      final int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+      return OptionalLong.of(sorted[Math.max(0, index)]);
+    }
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.server.execution;
+
+import static java.util.Objects.requireNonNull;
+
+import io.confluent.ksql.KsqlExecutionContext;
+import io.confluent.ksql.execution.transform.select.SelectValueMapper;
+import io.confluent.ksql.metastore.MetaStore;
+import io.confluent.ksql.metastore.model.DataSource;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.util.PersistentQueryMetadata;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The parts of an executed pull query that depend only on the shape of the statement, and not on
+ * the literal key or window bounds in its WHERE clause.
+ *
+ * <p>A plan captures the materializing query it was built against, so it can be reused for as
+ * long as that query, and the source it materializes, are unchanged.
+ */
+class PullQueryPlan {
+
+  private final DataSource source;
+  private final PersistentQueryMetadata query;
+  private final LogicalSchema outputSchema;
+  private final Optional<SelectValueMapper<Object>> select;
+  private final boolean requiresPseudoAndKeyColumns;
+
+  PullQueryPlan(
+      final DataSource source,
+      final PersistentQueryMetadata query,
+      final LogicalSchema outputSchema,
+      final Optional<SelectValueMapper<Object>> select,
+      final boolean requiresPseudoAndKeyColumns
+  ) {
+    this.source = requireNonNull(source, "source");
+    this.query = requireNonNull(query, "query");
+    this.outputSchema = requireNonNull(outputSchema, "outputSchema");
+    this.select = requireNonNull(select, "select");
+    this.requiresPseudoAndKeyColumns = requiresPseudoAndKeyColumns;
+  }
+
+  DataSource getSource() {
+    return source;
+  }
+
+  PersistentQueryMetadata getQuery() {
+    return query;
+  }
+
+  LogicalSchema getOutputSchema() {
+    return outputSchema;
+  }
+
+  /**
+   * @return the compiled projection, or empty if the query is a {@code SELECT *}.
+   */
+  Optional<SelectValueMapper<Object>> getSelect() {
+    return select;
+  }
+
+  /**
+   * @return {@code true} if the projection references pseudo or key columns, which must be copied
+   *         into the value before the projection is applied.
+   */
+  boolean requiresPseudoAndKeyColumns() {
+    return requiresPseudoAndKeyColumns;
+  }
+
+  /**
+   * Check the plan is still valid to execute, i.e. the source has not been dropped or replaced
+   * and it is still materialized by the same, single, running query.
+   *
+   * @param executionContext the context to validate against.
+   * @return {@code true} if the plan can be reused.
+   */
+  boolean isValid(final KsqlExecutionContext executionContext) {
+    final MetaStore metaStore = executionContext.getMetaStore();
+    if (metaStore.getSource(source.getName()) != source) {
+      return false;
+    }
+
+    final Set<String> sinkQueries = metaStore.getQueriesWithSink(source.getName());
+    if (sinkQueries.size() != 1
+        || !sinkQueries.contains(query.getQueryId().toString())) {
+      return false;
+    }
+
+    return executionContext.getPersistentQuery(query.getQueryId())
+        .map(current -> current == query)
+        .orElse(false);
+  }
+}
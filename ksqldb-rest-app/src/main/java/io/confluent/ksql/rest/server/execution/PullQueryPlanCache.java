@@ -0,0 +1,190 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.server.execution;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.KsqlExecutionContext;
+import io.confluent.ksql.engine.rewrite.ExpressionTreeRewriter;
+import io.confluent.ksql.engine.rewrite.ExpressionTreeRewriter.Context;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.InListExpression;
+import io.confluent.ksql.execution.expression.tree.Literal;
+import io.confluent.ksql.execution.expression.tree.StringLiteral;
+import io.confluent.ksql.execution.expression.tree.VisitParentExpressionVisitor;
+import io.confluent.ksql.parser.tree.Query;
+import io.confluent.ksql.statement.ConfiguredStatement;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+/**
+ * Bounded LRU cache of {@link PullQueryPlan}s, keyed on the shape of the pull query.
+ *
+ * <p>Literals in the WHERE clause are lifted out of the key, so pull queries that differ only in
+ * the key or window bounds they look up share a plan. IN lists are collapsed, so lookups of
+ * different numbers of keys also share a plan, as do queries differing only in their LIMIT.
+ * Cached plans are validated on each lookup and evicted if the source or its materializing
+ * query has changed.
+ */
+final class PullQueryPlanCache {
+
+  private static final Expression PLACEHOLDER = new StringLiteral("?");
+  private static final Expression PLACEHOLDER_LIST =
+      new InListExpression(ImmutableList.of(PLACEHOLDER));
+
+  private final Optional<Cache<PlanKey, PullQueryPlan>> cache;
+
+  PullQueryPlanCache(final int maxSize) {
+    if (maxSize < 0) {
+      throw new IllegalArgumentException("maxSize must not be negative: " + maxSize);
+    }
+
+    this.cache = maxSize == 0
+        ? Optional.empty()
+        : Optional.of(CacheBuilder.newBuilder()
+            .maximumSize(maxSize)
+            .build());
+  }
+
+  boolean isEnabled() {
+    return cache.isPresent();
+  }
+
+  /**
+   * Get the cached plan for the supplied {@code statement}, if one exists and is still valid.
+   *
+   * @param statement the pull query.
+   * @param executionContext the context to validate any cached plan against.
+   * @return the plan, or empty if no valid plan is cached.
+   */
+  Optional<PullQueryPlan> get(
+      final ConfiguredStatement<Query> statement,
+      final KsqlExecutionContext executionContext
+  ) {
+    if (!cache.isPresent()) {
+      return Optional.empty();
+    }
+
+    final PlanKey key = PlanKey.of(statement);
+    final PullQueryPlan plan = cache.get().getIfPresent(key);
+    if (plan == null) {
+      return Optional.empty();
+    }
+
+    if (!plan.isValid(executionContext)) {
+      cache.get().invalidate(key);
+      return Optional.empty();
+    }
+
+    return Optional.of(plan);
+  }
+
+  void put(final ConfiguredStatement<Query> statement, final PullQueryPlan plan) {
+    cache.ifPresent(c -> c.put(PlanKey.of(statement), plan));
+  }
+
+  void invalidateAll() {
+    cache.ifPresent(Cache::invalidateAll);
+  }
+
+  @VisibleForTesting
+  long size() {
+    return cache.map(Cache::size).orElse(0L);
+  }
+
+  @VisibleForTesting
+  static final class PlanKey {
+
+    private final Query shape;
+    private final ImmutableMap<String, Object> configOverrides;
+
+    static PlanKey of(final ConfiguredStatement<Query> statement) {
+      final Query query = statement.getStatement();
+
+      final Query shape = new Query(
+          Optional.empty(),
+          query.getSelect(),
+          query.getFrom(),
+          query.getWindow(),
+          query.getWhere().map(PlanKey::liftLiterals),
+          query.getGroupBy(),
+          query.getPartitionBy(),
+          query.getHaving(),
+          query.getResultMaterialization(),
+          query.isPullQuery(),
+          OptionalInt.empty()
+      );
+
+      return new PlanKey(shape, statement.getConfigOverrides());
+    }
+
+    private PlanKey(final Query shape, final Map<String, Object> configOverrides) {
+      this.shape = Objects.requireNonNull(shape, "shape");
+      this.configOverrides = ImmutableMap.copyOf(configOverrides);
+    }
+
+    private static Expression liftLiterals(final Expression where) {
+      return ExpressionTreeRewriter.rewriteWith(new LiteralLifter()::process, where);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final PlanKey planKey = (PlanKey) o;
+      return Objects.equals(shape, planKey.shape)
+          && Objects.equals(configOverrides, planKey.configOverrides);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(shape, configOverrides);
+    }
+  }
+
+  private static final class LiteralLifter
+      extends VisitParentExpressionVisitor<Optional<Expression>, Context<Void>> {
+
+    private LiteralLifter() {
+      super(Optional.empty());
+    }
+
+    @Override
+    protected Optional<Expression> visitLiteral(
+        final Literal node,
+        final Context<Void> context
+    ) {
+      return Optional.of(PLACEHOLDER);
+    }
+
+    @Override
+    public Optional<Expression> visitInListExpression(
+        final InListExpression node,
+        final Context<Void> context
+    ) {
+      return Optional.of(PLACEHOLDER_LIST);
+    }
+  }
+}
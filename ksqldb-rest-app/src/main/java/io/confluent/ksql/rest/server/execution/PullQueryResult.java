@@ -0,0 +1,82 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.server.execution;
+
+import static java.util.Objects.requireNonNull;
+
+import io.confluent.ksql.query.QueryId;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * The result of a pull query that has been planned and routed, but whose rows have not yet been
+ * read.
+ *
+ * <p>Rows are passed to the consumer supplied to {@link #consume} as they are read from the state
+ * store, or from the remote nodes the query was forwarded to, so the result never need be held in
+ * memory in full. The consumer may block to apply back-pressure.
+ */
+public final class PullQueryResult {
+
+  private final QueryId queryId;
+  private final LogicalSchema schema;
+  private final RowProducer rowProducer;
+  private final AtomicBoolean consumed = new AtomicBoolean();
+
+  public PullQueryResult(
+      final QueryId queryId,
+      final LogicalSchema schema,
+      final RowProducer rowProducer
+  ) {
+    this.queryId = requireNonNull(queryId, "queryId");
+    this.schema = requireNonNull(schema, "schema");
+    this.rowProducer = requireNonNull(rowProducer, "rowProducer");
+  }
+
+  public QueryId getQueryId() {
+    return queryId;
+  }
+
+  public LogicalSchema getSchema() {
+    return schema;
+  }
+
+  /**
+   * Read the rows of the result, passing each to the supplied {@code rowConsumer}.
+   *
+   * <p>Blocks until all rows have been consumed. May only be called once.
+   *
+   * @param rowConsumer the consumer of the rows.
+   */
+  public void consume(final Consumer<List<?>> rowConsumer) {
+    if (!consumed.compareAndSet(false, true)) {
+      throw new IllegalStateException("Pull query result has already been consumed");
+    }
+
+    rowProducer.produce(requireNonNull(rowConsumer, "rowConsumer"));
+  }
+
+  /**
+   * Produces the rows of a pull query.
+   */
+  @FunctionalInterface
+  public interface RowProducer {
+
+    void produce(Consumer<List<?>> rowConsumer);
+  }
+}
@@ -21,7 +21,16 @@ import com.google.common.util.concurrent.ListeningScheduledExecutorService;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * A subscription that polls for items on an executor.
+ *
+ * <p>When there is nothing to poll, a subscription that is signalled of new items through
+ * {@link #onDataAvailable()} waits for the signal before polling again, so an idle subscription
+ * costs nothing. Other subscriptions poll again after a back off.
+ */
 public abstract class PollingSubscription<T> implements Flow.Subscription {
 
   private static final int BACKOFF_DELAY_MS = 100;
@@ -29,6 +38,8 @@ public abstract class PollingSubscription<T> implements Flow.Subscription {
   private final Flow.Subscriber<T> subscriber;
   private final ListeningScheduledExecutorService exec;
   private final LogicalSchema schema;
+  private final AtomicLong signals = new AtomicLong();
+  private final AtomicBoolean waiting = new AtomicBoolean(false);
 
   private boolean needsSchema = true;
   private volatile boolean done = false;
@@ -48,6 +59,7 @@ public abstract class PollingSubscription<T> implements Flow.Subscription {
 
   @Override
   public void cancel() {
+    waiting.set(false);
     if (future != null) {
       future.cancel(false);
     }
@@ -70,6 +82,7 @@ public abstract class PollingSubscription<T> implements Flow.Subscription {
     // with the last element polled from the queue after being marked done.
     if (!draining) {
       future = exec.submit(() -> {
+        final long signalsSeen = signals.get();
 
         if (done) {
           draining = true;
@@ -77,7 +90,7 @@ public abstract class PollingSubscription<T> implements Flow.Subscription {
         final T item = poll();
         if (item == null) {
           if (!draining) {
-            future = exec.schedule(() -> request(1), BACKOFF_DELAY_MS, TimeUnit.MILLISECONDS);
+            awaitData(signalsSeen);
           }
         } else {
           subscriber.onNext(item);
@@ -97,13 +110,54 @@ public abstract class PollingSubscription<T> implements Flow.Subscription {
   protected void setError(final Throwable e) {
     exception = e;
     done = true;
+    onDataAvailable();
   }
 
   protected void setDone() {
     done = true;
+    onDataAvailable();
+  }
+
+  /**
+   * Signal that there is new data to poll.
+   *
+   * <p>Only subscriptions that call this each time there is new data should return {@code true}
+   * from {@link #signalsDataAvailable()}. May be called from any thread.
+   */
+  protected void onDataAvailable() {
+    signals.incrementAndGet();
+    wake();
+  }
+
+  /**
+   * @return {@code true} if {@link #onDataAvailable()} is called whenever there is new data,
+   *         so there is no need to poll again until it is.
+   */
+  protected boolean signalsDataAvailable() {
+    return false;
   }
 
   abstract T poll();
 
   abstract void close();
+
+  private void awaitData(final long signalsSeen) {
+    if (!signalsDataAvailable()) {
+      future = exec.schedule(() -> request(1), BACKOFF_DELAY_MS, TimeUnit.MILLISECONDS);
+      return;
+    }
+
+    waiting.set(true);
+
+    // Data may have arrived after polling, but before waiting:
+    if (signals.get() != signalsSeen) {
+      wake();
+    }
+  }
+
+  private void wake() {
+    if (waiting.compareAndSet(true, false)) {
+      request(1);
+    }
+  }
 }
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.server.resources.streaming;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.api.server.StreamingOutput;
+import io.confluent.ksql.rest.Errors;
+import io.confluent.ksql.rest.entity.StreamedRow;
+import io.confluent.ksql.rest.server.execution.PullQueryResult;
+import io.confluent.ksql.rest.server.resources.KsqlRestException;
+import io.confluent.ksql.util.KsqlException;
+import io.confluent.ksql.util.KsqlStatementException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes the rows of a pull query to the response as they are read, rather than first building
+ * the full result in memory.
+ *
+ * <p>The output is the same JSON array of header and rows previously written in one go. The
+ * header is only written once the first row has been read, or the query has completed. Errors
+ * before then, e.g. failing to route the query, are thrown, so that they are returned with an
+ * error status as before. Errors encountered once rows have been written are reported as a final
+ * error row, as the response has already started.
+ */
+class PullQueryStreamWriter implements StreamingOutput {
+
+  private static final Logger log = LoggerFactory.getLogger(PullQueryStreamWriter.class);
+
+  private static final byte[] ROW_SEPARATOR =
+      ("," + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+
+  private final PullQueryResult result;
+  private final ObjectMapper objectMapper;
+  private final Runnable onComplete;
+  private boolean headerWritten;
+
+  PullQueryStreamWriter(
+      final PullQueryResult result,
+      final ObjectMapper objectMapper,
+      final Runnable onComplete
+  ) {
+    this.result = Objects.requireNonNull(result, "result");
+    this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper");
+    this.onComplete = Objects.requireNonNull(onComplete, "onComplete");
+  }
+
+  @Override
+  public boolean isHttp2Supported() {
+    // Pull queries are finite, so are streamed without needing chunked encoding. This allows
+    // other servers to forward pull queries over HTTP/2.
+    return true;
+  }
+
+  @Override
+  public void write(final OutputStream out) {
+    try {
+      result.consume(values -> writeRow(out, values));
+
+      writeHeader(out);
+      out.write("]".getBytes(StandardCharsets.UTF_8));
+      out.flush();
+    } catch (final Exception exception) {
+      log.error("Exception occurred while writing pull query results: ", exception);
+      if (!headerWritten) {
+        throw errorResponse(exception);
+      }
+      outputException(out, exception);
+    } finally {
+      onComplete.run();
+    }
+  }
+
+  private void writeHeader(final OutputStream out) throws IOException {
+    if (headerWritten) {
+      return;
+    }
+
+    headerWritten = true;
+    out.write("[".getBytes(StandardCharsets.UTF_8));
+    objectMapper.writeValue(out, StreamedRow.header(result.getQueryId(), result.getSchema()));
+  }
+
+  private void writeRow(final OutputStream out, final List<?> values) {
+    try {
+      writeHeader(out);
+      out.write(ROW_SEPARATOR);
+      objectMapper.writeValue(out, StreamedRow.row(new GenericRow().appendAll(values)));
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static RuntimeException errorResponse(final Exception exception) {
+    if (exception instanceof KsqlStatementException) {
+      final KsqlStatementException e = (KsqlStatementException) exception;
+      return new KsqlRestException(Errors.badStatement(e.getRawMessage(), e.getSqlStatement()));
+    }
+
+    if (exception instanceof KsqlException) {
+      return new KsqlRestException(Errors.badRequest(exception));
+    }
+
+    return exception instanceof RuntimeException
+        ? (RuntimeException) exception
+        : new RuntimeException(exception);
+  }
+
+  private void outputException(final OutputStream out, final Exception exception) {
+    try {
+      out.write(ROW_SEPARATOR);
+      objectMapper.writeValue(out, StreamedRow
+          .error(exception, Errors.ERROR_CODE_SERVER_ERROR));
+      out.write("]".getBytes(StandardCharsets.UTF_8));
+      out.flush();
+    } catch (final IOException e) {
+      log.debug("Client disconnected while attempting to write an error message");
+    }
+  }
+}
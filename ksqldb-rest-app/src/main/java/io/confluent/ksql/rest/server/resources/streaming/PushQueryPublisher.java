@@ -83,6 +83,12 @@ class PushQueryPublisher implements Flow.Publisher<Collection<StreamedRow>> {
       queryMetadata.setUncaughtExceptionHandler(
           (thread, e) -> setError(e)
       );
+      queryMetadata.getRowQueue().setQueuedCallback(this::onDataAvailable);
+    }
+
+    @Override
+    protected boolean signalsDataAvailable() {
+      return true;
     }
 
     @Override
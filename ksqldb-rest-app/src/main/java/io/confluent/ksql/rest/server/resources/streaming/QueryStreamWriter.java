@@ -15,8 +15,10 @@
 
 package io.confluent.ksql.rest.server.resources.streaming;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.common.collect.Lists;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.api.server.StreamingOutput;
 import io.confluent.ksql.query.QueryId;
@@ -26,10 +28,13 @@ import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.schema.ksql.LogicalSchema.Builder;
 import io.confluent.ksql.util.KsqlException;
 import io.confluent.ksql.util.TransientQueryMetadata;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
@@ -38,14 +43,26 @@ import org.apache.kafka.streams.KeyValue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Writes the rows of a push query to a chunked response.
+ *
+ * <p>Rows are drained from the query's queue in batches and serialized into a buffer, which is
+ * only written to the connection and flushed once it reaches {@link #FLUSH_SIZE_BYTES}, or rows
+ * have been waiting {@link #FLUSH_DELAY_MS}. When no rows have been written for the disconnect
+ * check interval, a newline is written to detect whether the client has gone away.
+ */
 class QueryStreamWriter implements StreamingOutput {
 
   private static final Logger log = LoggerFactory.getLogger(QueryStreamWriter.class);
   private static final QueryId NO_QUERY_ID = new QueryId("none");
+  private static final int FLUSH_SIZE_BYTES = 64 * 1024;
+  private static final long FLUSH_DELAY_MS = 5;
 
   private final TransientQueryMetadata queryMetadata;
   private final long disconnectCheckInterval;
   private final ObjectMapper objectMapper;
+  private final ObjectWriter rowWriter;
+  private final List<KeyValue<String, GenericRow>> batch = new ArrayList<>();
   private volatile Exception streamsException;
   private volatile boolean limitReached = false;
   private volatile boolean connectionClosed;
@@ -57,6 +74,8 @@ class QueryStreamWriter implements StreamingOutput {
       final CompletableFuture<Void> connectionClosedFuture
   ) {
     this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper");
+    this.rowWriter = objectMapper.writer()
+        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     this.disconnectCheckInterval = disconnectCheckInterval;
     this.queryMetadata = Objects.requireNonNull(queryMetadata, "queryMetadata");
     this.queryMetadata.setLimitHandler(new LimitHandler());
@@ -67,27 +86,33 @@ class QueryStreamWriter implements StreamingOutput {
 
   @Override
   public void write(final OutputStream out) {
-    try {
+    try (RowBuffer buffer = new RowBuffer(out)) {
       out.write("[".getBytes(StandardCharsets.UTF_8));
-      write(out, buildHeader());
+      buffer.add(buildHeader());
+      buffer.flush();
 
       while (!connectionClosed && queryMetadata.isRunning() && !limitReached) {
         final KeyValue<String, GenericRow> value = queryMetadata.getRowQueue().poll(
-            disconnectCheckInterval,
+            buffer.pollTimeoutMs(),
             TimeUnit.MILLISECONDS
         );
         if (value != null) {
-          write(out, StreamedRow.row(value.value));
-        } else {
-          // If no new rows have been written, the user may have terminated the connection without
-          // us knowing. Check by trying to write a single newline.
-          out.write("\n".getBytes(StandardCharsets.UTF_8));
-          out.flush();
+          buffer.add(StreamedRow.row(value.value));
+          drain(buffer);
+          buffer.maybeFlush();
+        } else if (!buffer.isEmpty()) {
+          // No more rows arrived in time to be batched with those buffered:
+          buffer.flush();
+        } else if (buffer.msSinceLastFlush() >= disconnectCheckInterval) {
+          // If no new rows have been written, the user may have terminated the connection
+          // without us knowing. Check by trying to write a single newline.
+          buffer.writeKeepAlive();
         }
-        drainAndThrowOnError(out);
+        drainAndThrowOnError(buffer);
       }
 
-      drain(out);
+      drain(buffer);
+      buffer.flush();
 
       if (limitReached) {
         objectMapper.writeValue(out, StreamedRow.finalMessage("Limit Reached"));
@@ -109,12 +134,6 @@ class QueryStreamWriter implements StreamingOutput {
     }
   }
 
-  private void write(final OutputStream output, final StreamedRow row) throws IOException {
-    objectMapper.writeValue(output, row);
-    output.write(",\n".getBytes(StandardCharsets.UTF_8));
-    output.flush();
-  }
-
   private StreamedRow buildHeader() {
     // Push queries only return value columns, but query metadata schema includes key and meta:
     final LogicalSchema storedSchema = queryMetadata.getLogicalSchema();
@@ -143,19 +162,98 @@ class QueryStreamWriter implements StreamingOutput {
     }
   }
 
-  private void drainAndThrowOnError(final OutputStream out) throws Exception {
+  private void drainAndThrowOnError(final RowBuffer buffer) throws Exception {
     if (streamsException != null) {
-      drain(out);
+      drain(buffer);
+      buffer.flush();
       throw streamsException;
     }
   }
 
-  private void drain(final OutputStream out) throws IOException {
-    final List<KeyValue<String, GenericRow>> rows = Lists.newArrayList();
-    queryMetadata.getRowQueue().drainTo(rows);
+  private void drain(final RowBuffer buffer) throws IOException {
+    queryMetadata.getRowQueue().drainTo(batch);
+
+    for (final KeyValue<String, GenericRow> row : batch) {
+      buffer.add(StreamedRow.row(row.value));
+    }
+    batch.clear();
+  }
+
+  /**
+   * Buffers serialized rows until they are flushed to the connection.
+   *
+   * <p>The generator is reused for every row, and takes its own buffers from Jackson's
+   * recycled buffer pool.
+   */
+  private final class RowBuffer implements Closeable {
+
+    private final OutputStream out;
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(FLUSH_SIZE_BYTES);
+    private final JsonGenerator generator;
+    private long lastFlushMs = System.currentTimeMillis();
+    private long firstBufferedMs;
+    private boolean empty = true;
+
+    RowBuffer(final OutputStream out) throws IOException {
+      this.out = Objects.requireNonNull(out, "out");
+      this.generator = objectMapper.getFactory().createGenerator(bytes);
+      this.generator.setRootValueSeparator(null);
+    }
+
+    void add(final StreamedRow row) throws IOException {
+      if (empty) {
+        empty = false;
+        firstBufferedMs = System.currentTimeMillis();
+      }
+      rowWriter.writeValue(generator, row);
+      generator.writeRaw(",\n");
+    }
+
+    boolean isEmpty() {
+      return empty;
+    }
 
-    for (final KeyValue<String, GenericRow> row : rows) {
-      write(out, StreamedRow.row(row.value));
+    long msSinceLastFlush() {
+      return System.currentTimeMillis() - lastFlushMs;
+    }
+
+    /**
+     * @return how long to wait for the next row: until buffered rows are due to be flushed,
+     *         or, if there are none, until the next disconnect check.
+     */
+    long pollTimeoutMs() {
+      final long now = System.currentTimeMillis();
+      if (!empty) {
+        return Math.max(0, firstBufferedMs + FLUSH_DELAY_MS - now);
+      }
+      return Math.max(1, lastFlushMs + disconnectCheckInterval - now);
+    }
+
+    void maybeFlush() throws IOException {
+      if (bytes.size() + generator.getOutputBuffered() >= FLUSH_SIZE_BYTES
+          || System.currentTimeMillis() - firstBufferedMs >= FLUSH_DELAY_MS) {
+        flush();
+      }
+    }
+
+    void flush() throws IOException {
+      generator.flush();
+      bytes.writeTo(out);
+      bytes.reset();
+      out.flush();
+      empty = true;
+      lastFlushMs = System.currentTimeMillis();
+    }
+
+    void writeKeepAlive() throws IOException {
+      out.write("\n".getBytes(StandardCharsets.UTF_8));
+      out.flush();
+      lastFlushMs = System.currentTimeMillis();
+    }
+
+    @Override
+    public void close() throws IOException {
+      generator.close();
     }
   }
 
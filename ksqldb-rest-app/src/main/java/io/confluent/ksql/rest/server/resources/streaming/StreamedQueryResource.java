@@ -17,10 +17,8 @@ package io.confluent.ksql.rest.server.resources.streaming;
 
 import static java.util.Optional.empty;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.annotations.VisibleForTesting;
-import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.engine.KsqlEngine;
 import io.confluent.ksql.parser.KsqlParser.PreparedStatement;
 import io.confluent.ksql.parser.tree.PrintTopic;
@@ -29,12 +27,11 @@ import io.confluent.ksql.rest.ApiJsonMapper;
 import io.confluent.ksql.rest.EndpointResponse;
 import io.confluent.ksql.rest.Errors;
 import io.confluent.ksql.rest.entity.KsqlRequest;
-import io.confluent.ksql.rest.entity.StreamedRow;
-import io.confluent.ksql.rest.entity.TableRowsEntity;
 import io.confluent.ksql.rest.server.StatementParser;
 import io.confluent.ksql.rest.server.computation.CommandQueue;
 import io.confluent.ksql.rest.server.execution.PullQueryExecutor;
 import io.confluent.ksql.rest.server.execution.PullQueryExecutorMetrics;
+import io.confluent.ksql.rest.server.execution.PullQueryResult;
 import io.confluent.ksql.rest.server.resources.KsqlConfigurable;
 import io.confluent.ksql.rest.server.resources.KsqlRestException;
 import io.confluent.ksql.rest.util.CommandStoreUtil;
@@ -50,7 +47,6 @@ import io.confluent.ksql.version.metrics.ActivenessRegistrar;
 import java.time.Duration;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -212,19 +208,13 @@ public class StreamedQueryResource implements KsqlConfigurable {
         final PreparedStatement<Query> queryStmt = (PreparedStatement<Query>) statement;
 
         if (queryStmt.getStatement().isPullQuery()) {
-          final EndpointResponse response = handlePullQuery(
+          return handlePullQuery(
               securityContext.getServiceContext(),
               queryStmt,
               request.getConfigOverrides(),
-              request.getRequestProperties()
+              request.getRequestProperties(),
+              startTime
           );
-          if (pullQueryMetrics.isPresent()) {
-            //Record latency at microsecond scale
-            final double latency = (time.nanoseconds() - startTime) / 1000f;
-            pullQueryMetrics.get().recordLatency(latency);
-            pullQueryMetrics.get().recordRate(1);
-          }
-          return response;
         }
 
         return handlePushQuery(
@@ -259,28 +249,26 @@ public class StreamedQueryResource implements KsqlConfigurable {
       final ServiceContext serviceContext,
       final PreparedStatement<Query> statement,
       final Map<String, Object> configOverrides,
-      final Map<String, Object> requestProperties
+      final Map<String, Object> requestProperties,
+      final long startTime
   ) {
     final ConfiguredStatement<Query> configured =
         ConfiguredStatement.of(statement, configOverrides, requestProperties, ksqlConfig);
 
-    final TableRowsEntity entity = pullQueryExecutor
-        .execute(configured, serviceContext, pullQueryMetrics);
+    final PullQueryResult result = pullQueryExecutor
+        .stream(configured, serviceContext, pullQueryMetrics);
 
-    final StreamedRow header = StreamedRow.header(entity.getQueryId(), entity.getSchema());
-
-    final List<StreamedRow> rows = entity.getRows().stream()
-        .map(StreamedQueryResource::toGenericRow)
-        .map(StreamedRow::row)
-        .collect(Collectors.toList());
-
-    rows.add(0, header);
-
-    final String data = rows.stream()
-        .map(this::writeValueAsString)
-        .collect(Collectors.joining("," + System.lineSeparator(), "[", "]"));
-
-    return EndpointResponse.ok(data);
+    final PullQueryStreamWriter pullQueryStreamWriter = new PullQueryStreamWriter(
+        result,
+        OBJECT_MAPPER,
+        () -> pullQueryMetrics.ifPresent(metrics -> {
+          //Record latency at microsecond scale
+          final double latency = (time.nanoseconds() - startTime) / 1000f;
+          metrics.recordLatency(latency);
+          metrics.recordRate(1);
+        }));
+
+    return EndpointResponse.ok(pullQueryStreamWriter);
   }
 
   private EndpointResponse handlePushQuery(
@@ -304,14 +292,6 @@ public class StreamedQueryResource implements KsqlConfigurable {
     return EndpointResponse.ok(queryStreamWriter);
   }
 
-  private String writeValueAsString(final Object object) {
-    try {
-      return OBJECT_MAPPER.writeValueAsString(object);
-    } catch (final JsonProcessingException e) {
-      throw new RuntimeException(e);
-    }
-  }
-
   private EndpointResponse handlePrintTopic(
       final ServiceContext serviceContext,
       final Map<String, Object> streamProperties,
@@ -368,10 +348,6 @@ public class StreamedQueryResource implements KsqlConfigurable {
         .filter(name -> name.equalsIgnoreCase(topicName))
         .collect(Collectors.toSet());
   }
-
-  private static GenericRow toGenericRow(final List<?> values) {
-    return new GenericRow().appendAll(values);
-  }
 }
 
 
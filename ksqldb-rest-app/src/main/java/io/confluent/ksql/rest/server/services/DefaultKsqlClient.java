@@ -36,6 +36,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,17 +46,28 @@ final class DefaultKsqlClient implements SimpleKsqlClient {
   private static final Logger LOG = LoggerFactory.getLogger(DefaultKsqlClient.class);
 
   private final Optional<String> authHeader;
-  private final KsqlClient sharedClient;
+  private final Supplier<KsqlClient> sharedClientFactory;
+  private final Optional<PullQueryForwardingClient> forwardingClient;
+  private KsqlClient sharedClient;
 
   DefaultKsqlClient(final Optional<String> authHeader, final Map<String, Object> clientProps) {
+    this(authHeader, clientProps, Optional.empty());
+  }
+
+  DefaultKsqlClient(
+      final Optional<String> authHeader,
+      final Map<String, Object> clientProps,
+      final Optional<PullQueryForwardingClient> forwardingClient
+  ) {
     this(
         authHeader,
-        new KsqlClient(
+        () -> new KsqlClient(
             toClientProps(clientProps),
             Optional.empty(),
             new LocalProperties(ImmutableMap.of()),
             createClientOptions()
-        )
+        ),
+        forwardingClient
     );
   }
 
@@ -62,9 +75,20 @@ final class DefaultKsqlClient implements SimpleKsqlClient {
   DefaultKsqlClient(
       final Optional<String> authHeader,
       final KsqlClient sharedClient
+  ) {
+    this(authHeader, () -> sharedClient, Optional.empty());
+    requireNonNull(sharedClient, "sharedClient");
+  }
+
+  @VisibleForTesting
+  DefaultKsqlClient(
+      final Optional<String> authHeader,
+      final Supplier<KsqlClient> sharedClientFactory,
+      final Optional<PullQueryForwardingClient> forwardingClient
   ) {
     this.authHeader = requireNonNull(authHeader, "authHeader");
-    this.sharedClient = requireNonNull(sharedClient, "sharedClient");
+    this.sharedClientFactory = requireNonNull(sharedClientFactory, "sharedClientFactory");
+    this.forwardingClient = requireNonNull(forwardingClient, "forwardingClient");
   }
 
   @Override
@@ -72,7 +96,7 @@ final class DefaultKsqlClient implements SimpleKsqlClient {
       final URI serverEndPoint,
       final String sql,
       final Map<String, ?> requestProperties) {
-    final KsqlTarget target = sharedClient
+    final KsqlTarget target = sharedClient()
         .target(serverEndPoint);
 
     return getTarget(target, authHeader)
@@ -86,7 +110,7 @@ final class DefaultKsqlClient implements SimpleKsqlClient {
       final Map<String, ?> configOverrides,
       final Map<String, ?> requestProperties
   ) {
-    final KsqlTarget target = sharedClient
+    final KsqlTarget target = sharedClient()
         .target(serverEndPoint)
         .properties(configOverrides);
 
@@ -100,12 +124,33 @@ final class DefaultKsqlClient implements SimpleKsqlClient {
     return RestResponse.successful(resp.getStatusCode(), resp.getResponse());
   }
 
+  @Override
+  public RestResponse<Integer> makeQueryRequest(
+      final URI serverEndPoint,
+      final String sql,
+      final Map<String, ?> configOverrides,
+      final Map<String, ?> requestProperties,
+      final Consumer<List<StreamedRow>> rowConsumer
+  ) {
+    if (forwardingClient.isPresent()) {
+      return forwardingClient.get().makeQueryRequest(
+          serverEndPoint, authHeader, sql, configOverrides, requestProperties, rowConsumer);
+    }
+
+    final KsqlTarget target = sharedClient()
+        .target(serverEndPoint)
+        .properties(configOverrides);
+
+    return getTarget(target, authHeader)
+        .postQueryRequest(sql, requestProperties, Optional.empty(), rowConsumer);
+  }
+
   @Override
   public void makeAsyncHeartbeatRequest(
       final URI serverEndPoint,
       final KsqlHostInfo host,
       final long timestamp) {
-    final KsqlTarget target = sharedClient
+    final KsqlTarget target = sharedClient()
         .target(serverEndPoint);
 
     getTarget(target, authHeader)
@@ -120,7 +165,7 @@ final class DefaultKsqlClient implements SimpleKsqlClient {
 
   @Override
   public RestResponse<ClusterStatusResponse> makeClusterStatusRequest(final URI serverEndPoint) {
-    final KsqlTarget target = sharedClient
+    final KsqlTarget target = sharedClient()
         .target(serverEndPoint);
 
     return getTarget(target, authHeader).getClusterStatus();
@@ -131,7 +176,7 @@ final class DefaultKsqlClient implements SimpleKsqlClient {
       final URI serverEndPoint,
       final LagReportingMessage lagReportingMessage
   ) {
-    final KsqlTarget target = sharedClient
+    final KsqlTarget target = sharedClient()
         .target(serverEndPoint);
 
     getTarget(target, authHeader).postAsyncLagReportingRequest(lagReportingMessage)
@@ -142,8 +187,18 @@ final class DefaultKsqlClient implements SimpleKsqlClient {
   }
 
   @Override
-  public void close() {
-    sharedClient.close();
+  public synchronized void close() {
+    // The forwarding client is shared between requests, so is not closed here
+    if (sharedClient != null) {
+      sharedClient.close();
+    }
+  }
+
+  private synchronized KsqlClient sharedClient() {
+    if (sharedClient == null) {
+      sharedClient = sharedClientFactory.get();
+    }
+    return sharedClient;
   }
 
   private KsqlTarget getTarget(final KsqlTarget target, final Optional<String> authHeader) {
@@ -156,7 +211,7 @@ final class DefaultKsqlClient implements SimpleKsqlClient {
     return new HttpClientOptions().setMaxPoolSize(100);
   }
 
-  private static Map<String, String> toClientProps(final Map<String, Object> config) {
+  static Map<String, String> toClientProps(final Map<String, Object> config) {
     final Map<String, String> clientProps = new HashMap<>();
     for (Map.Entry<String, Object> entry : config.entrySet()) {
       clientProps.put(entry.getKey(), entry.getValue().toString());
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.server.services;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.metrics.MetricCollectors;
+import io.confluent.ksql.properties.LocalProperties;
+import io.confluent.ksql.rest.client.KsqlClient;
+import io.confluent.ksql.rest.client.KsqlTarget;
+import io.confluent.ksql.rest.client.RestResponse;
+import io.confluent.ksql.rest.entity.StreamedRow;
+import io.confluent.ksql.rest.server.HeartbeatAgent.HostStatusListener;
+import io.confluent.ksql.util.HostStatus;
+import io.confluent.ksql.util.KsqlConfig;
+import io.confluent.ksql.util.KsqlHostInfo;
+import io.confluent.ksql.util.ReservedInternalTopics;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpVersion;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.apache.kafka.common.metrics.Metrics;
+import org.apache.kafka.common.metrics.Sensor;
+import org.apache.kafka.common.metrics.stats.Avg;
+import org.apache.kafka.common.metrics.stats.Max;
+import org.apache.kafka.common.metrics.stats.Percentile;
+import org.apache.kafka.common.metrics.stats.Percentiles;
+import org.apache.kafka.common.metrics.stats.Percentiles.BucketSizing;
+import org.apache.kafka.common.utils.Time;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Long-lived client used to forward pull queries to the other servers in the cluster.
+ *
+ * <p>Each host has its own pooled client, over which forwarded queries are multiplexed on a
+ * persistent HTTP/2 connection, so forwarding a query does not pay for connection setup. The
+ * clients of hosts the {@link io.confluent.ksql.rest.server.HeartbeatAgent} reports as dead are
+ * closed, dropping any broken connections, and are recreated once queries are next forwarded to
+ * the host.
+ *
+ * <p>The latency of the queries forwarded to each host is recorded in a per-host histogram.
+ */
+public final class PullQueryForwardingClient implements HostStatusListener, AutoCloseable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(PullQueryForwardingClient.class);
+
+  private static final String METRIC_GROUP = "pull-query-forwarding";
+  private static final String FORWARDED_REQUESTS = "pull-query-forwarded-requests";
+  private static final int LATENCY_HISTOGRAM_MAX_MS = 10_000;
+
+  private final Vertx vertx;
+  private final Function<Vertx, KsqlClient> clientFactory;
+  private final ConcurrentMap<KsqlHostInfo, KsqlClient> clients = new ConcurrentHashMap<>();
+  private final ConcurrentMap<KsqlHostInfo, Sensor> latencySensors = new ConcurrentHashMap<>();
+  private final Metrics metrics;
+  private final String metricGroup;
+  private final Map<String, String> customMetricsTags;
+  private final Time time;
+  private volatile boolean closed;
+
+  public static PullQueryForwardingClient create(
+      final KsqlConfig ksqlConfig,
+      final String ksqlServiceId
+  ) {
+    final Map<String, String> clientProps =
+        DefaultKsqlClient.toClientProps(ksqlConfig.originals());
+    return new PullQueryForwardingClient(
+        Vertx.vertx(),
+        vertx -> new KsqlClient(
+            vertx,
+            clientProps,
+            Optional.empty(),
+            new LocalProperties(ImmutableMap.of()),
+            createClientOptions()
+        ),
+        MetricCollectors.getMetrics(),
+        ReservedInternalTopics.KSQL_INTERNAL_TOPIC_PREFIX + ksqlServiceId,
+        ksqlConfig.getStringAsMap(KsqlConfig.KSQL_CUSTOM_METRICS_TAGS),
+        Time.SYSTEM
+    );
+  }
+
+  @VisibleForTesting
+  PullQueryForwardingClient(
+      final Vertx vertx,
+      final Function<Vertx, KsqlClient> clientFactory,
+      final Metrics metrics,
+      final String ksqlServiceId,
+      final Map<String, String> customMetricsTags,
+      final Time time
+  ) {
+    this.vertx = requireNonNull(vertx, "vertx");
+    this.clientFactory = requireNonNull(clientFactory, "clientFactory");
+    this.metrics = requireNonNull(metrics, "metrics");
+    this.metricGroup = requireNonNull(ksqlServiceId, "ksqlServiceId") + METRIC_GROUP;
+    this.customMetricsTags = ImmutableMap.copyOf(customMetricsTags);
+    this.time = requireNonNull(time, "time");
+  }
+
+  /**
+   * Forward a query to the server at the supplied {@code target}, passing batches of the rows it
+   * returns to the supplied {@code rowConsumer}.
+   *
+   * @return the total number of rows returned, including the header.
+   */
+  RestResponse<Integer> makeQueryRequest(
+      final URI target,
+      final Optional<String> authHeader,
+      final String sql,
+      final Map<String, ?> configOverrides,
+      final Map<String, ?> requestProperties,
+      final Consumer<List<StreamedRow>> rowConsumer
+  ) {
+    final KsqlHostInfo host = new KsqlHostInfo(target.getHost(), target.getPort());
+
+    final KsqlTarget ksqlTarget = client(host)
+        .target(target)
+        .properties(configOverrides);
+
+    final long start = time.nanoseconds();
+    try {
+      return authHeader
+          .map(ksqlTarget::authorizationHeader)
+          .orElse(ksqlTarget)
+          .postQueryRequest(sql, requestProperties, Optional.empty(), rowConsumer);
+    } finally {
+      latencySensor(host).record((time.nanoseconds() - start) / 1_000_000d);
+    }
+  }
+
+  @Override
+  public void onHostStatusUpdated(final Map<KsqlHostInfo, HostStatus> hostsStatusMap) {
+    hostsStatusMap.forEach((host, status) -> {
+      if (!status.isHostAlive()) {
+        final KsqlClient client = clients.remove(host);
+        if (client != null) {
+          LOG.debug("Closing forwarding connections to dead host {}", host);
+          closeClient(client);
+        }
+      }
+    });
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    clients.values().forEach(PullQueryForwardingClient::closeClient);
+    clients.clear();
+    latencySensors.values().forEach(sensor -> metrics.removeSensor(sensor.name()));
+    latencySensors.clear();
+    vertx.close();
+  }
+
+  private KsqlClient client(final KsqlHostInfo host) {
+    if (closed) {
+      throw new IllegalStateException("Forwarding client closed");
+    }
+    return clients.computeIfAbsent(host, h -> clientFactory.apply(vertx));
+  }
+
+  private Sensor latencySensor(final KsqlHostInfo host) {
+    return latencySensors.computeIfAbsent(host, this::configureLatencySensor);
+  }
+
+  private Sensor configureLatencySensor(final KsqlHostInfo host) {
+    final String hostAndPort = host.host() + ":" + host.port();
+    final Map<String, String> tags = new HashMap<>(customMetricsTags);
+    tags.put("host", hostAndPort);
+
+    final Sensor sensor = metrics.sensor(
+        METRIC_GROUP + "-" + FORWARDED_REQUESTS + "-latency-" + hostAndPort);
+    sensor.add(
+        metrics.metricName(
+            FORWARDED_REQUESTS + "-latency-avg",
+            metricGroup,
+            "Average time in ms for a pull query forwarded to the host",
+            tags
+        ),
+        new Avg()
+    );
+    sensor.add(
+        metrics.metricName(
+            FORWARDED_REQUESTS + "-latency-max",
+            metricGroup,
+            "Max time in ms for a pull query forwarded to the host",
+            tags
+        ),
+        new Max()
+    );
+    sensor.add(new Percentiles(
+        4 * LATENCY_HISTOGRAM_MAX_MS,
+        0,
+        LATENCY_HISTOGRAM_MAX_MS,
+        BucketSizing.CONSTANT,
+        percentile(tags, 50.0),
+        percentile(tags, 75.0),
+        percentile(tags, 90.0),
+        percentile(tags, 99.0)
+    ));
+    return sensor;
+  }
+
+  private Percentile percentile(final Map<String, String> tags, final double percentile) {
+    return new Percentile(metrics.metricName(
+        FORWARDED_REQUESTS + "-distribution-" + (int) percentile,
+        metricGroup,
+        "Latency distribution in ms of pull queries forwarded to the host",
+        tags
+    ), percentile);
+  }
+
+  private static void closeClient(final KsqlClient client) {
+    try {
+      client.close();
+    } catch (final Exception e) {
+      LOG.warn("Failed to close forwarding client", e);
+    }
+  }
+
+  private static HttpClientOptions createClientOptions() {
+    // A single multiplexed HTTP/2 connection per host, opened without an upgrade round trip:
+    return new HttpClientOptions()
+        .setProtocolVersion(HttpVersion.HTTP_2)
+        .setHttp2ClearTextUpgrade(false)
+        .setHttp2MaxPoolSize(1)
+        .setKeepAlive(true);
+  }
+}
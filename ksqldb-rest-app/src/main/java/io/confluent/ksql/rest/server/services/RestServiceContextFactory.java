@@ -62,11 +62,46 @@ public final class RestServiceContextFactory {
     );
   }
 
+  /**
+   * Create a service context whose ksqlDB client forwards pull queries using the supplied
+   * long-lived {@code forwardingClient}, if present.
+   */
+  public static ServiceContext create(
+      final KsqlConfig ksqlConfig,
+      final Optional<String> authHeader,
+      final Supplier<SchemaRegistryClient> schemaRegistryClientFactory,
+      final Optional<PullQueryForwardingClient> forwardingClient
+  ) {
+    return create(
+        ksqlConfig,
+        authHeader,
+        new DefaultKafkaClientSupplier(),
+        schemaRegistryClientFactory,
+        forwardingClient
+    );
+  }
+
   public static ServiceContext create(
       final KsqlConfig ksqlConfig,
       final Optional<String> authHeader,
       final KafkaClientSupplier kafkaClientSupplier,
       final Supplier<SchemaRegistryClient> srClientFactory
+  ) {
+    return create(
+        ksqlConfig,
+        authHeader,
+        kafkaClientSupplier,
+        srClientFactory,
+        Optional.empty()
+    );
+  }
+
+  public static ServiceContext create(
+      final KsqlConfig ksqlConfig,
+      final Optional<String> authHeader,
+      final KafkaClientSupplier kafkaClientSupplier,
+      final Supplier<SchemaRegistryClient> srClientFactory,
+      final Optional<PullQueryForwardingClient> forwardingClient
   ) {
     return ServiceContextFactory.create(
         ksqlConfig,
@@ -74,7 +109,7 @@ public final class RestServiceContextFactory {
         srClientFactory,
         () -> new DefaultConnectClient(ksqlConfig.getString(KsqlConfig.CONNECT_URL_PROPERTY),
             authHeader),
-        () -> new DefaultKsqlClient(authHeader, ksqlConfig.originals())
+        () -> new DefaultKsqlClient(authHeader, ksqlConfig.originals(), forwardingClient)
     );
   }
 
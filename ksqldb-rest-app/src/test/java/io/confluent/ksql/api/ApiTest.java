@@ -30,6 +30,7 @@ import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 
 import io.confluent.ksql.api.server.PushQueryId;
+import io.confluent.ksql.api.server.protocol.BinaryRowCodec;
 import io.confluent.ksql.api.utils.InsertsResponse;
 import io.confluent.ksql.api.utils.QueryResponse;
 import io.confluent.ksql.api.utils.ReceiveStream;
@@ -634,6 +635,141 @@ public class ApiTest extends BaseApiTest {
     }
   }
 
+  @Test
+  public void shouldUseBinaryFormatWhenBinaryAcceptHeaderQuery() throws Exception {
+    // When
+    JsonObject requestBody = new JsonObject().put("sql", DEFAULT_PULL_QUERY);
+    VertxCompletableFuture<HttpResponse<Buffer>> requestFuture = new VertxCompletableFuture<>();
+    client
+        .post("/query-stream")
+        .putHeader("accept", BinaryRowCodec.CONTENT_TYPE)
+        .sendBuffer(requestBody.toBuffer(), requestFuture);
+
+    // Then
+    HttpResponse<Buffer> response = requestFuture.get();
+    assertThat(response.statusCode(), is(200));
+    Buffer body = response.body();
+    List<Buffer> rows = new ArrayList<>();
+    JsonObject metaData = null;
+    int pos = 0;
+    while (pos < body.length()) {
+      byte frameType = body.getByte(pos);
+      int length = body.getInt(pos + 1);
+      Buffer payload = body.getBuffer(pos + 5, pos + 5 + length);
+      if (frameType == BinaryRowCodec.METADATA_FRAME) {
+        metaData = new JsonObject(payload);
+      } else {
+        assertThat(frameType, is(BinaryRowCodec.ROW_FRAME));
+        rows.add(payload);
+      }
+      pos += 5 + length;
+    }
+    assertThat(metaData.getJsonArray("columnNames"), is(DEFAULT_COLUMN_NAMES));
+    assertThat(metaData.getJsonArray("columnTypes"), is(DEFAULT_COLUMN_TYPES));
+    assertThat(rows, hasSize(DEFAULT_ROWS.size()));
+    for (int i = 0; i < DEFAULT_ROWS.size(); i++) {
+      assertThat(BinaryRowCodec.decodeRow(rows.get(i)), is(DEFAULT_ROWS.get(i).getList()));
+    }
+  }
+
+  @Test
+  public void shouldInsertWithBinaryContentType() throws Exception {
+    // Given
+    JsonObject params = new JsonObject().put("target", "test-stream");
+    Buffer requestBody = BinaryRowCodec.frame(BinaryRowCodec.ARGS_FRAME, params.toBuffer());
+    for (JsonObject row : DEFAULT_INSERT_ROWS) {
+      requestBody.appendBuffer(BinaryRowCodec.encodeNamedRow(row));
+    }
+
+    // When
+    VertxCompletableFuture<HttpResponse<Buffer>> requestFuture = new VertxCompletableFuture<>();
+    client
+        .post("/inserts-stream")
+        .putHeader("content-type", BinaryRowCodec.CONTENT_TYPE)
+        .sendBuffer(requestBody, requestFuture);
+
+    // Then
+    HttpResponse<Buffer> response = requestFuture.get();
+    assertThat(response.statusCode(), is(200));
+    InsertsResponse insertsResponse = new InsertsResponse(response.bodyAsString());
+    assertThat(insertsResponse.acks, hasSize(DEFAULT_INSERT_ROWS.size()));
+    assertThatEventually(() -> testEndpoints.getInsertsSubscriber().getRowsInserted(),
+        is(DEFAULT_INSERT_ROWS));
+    assertThat(testEndpoints.getLastTarget(), is("test-stream"));
+  }
+
+  @Test
+  public void shouldHandleMalformedBinaryRowInInserts() throws Exception {
+    // Given
+    JsonObject params = new JsonObject().put("target", "test-stream");
+    Buffer requestBody = BinaryRowCodec.frame(BinaryRowCodec.ARGS_FRAME, params.toBuffer())
+        .appendBuffer(BinaryRowCodec.encodeNamedRow(DEFAULT_INSERT_ROWS.get(0)))
+        .appendBuffer(BinaryRowCodec.frame(BinaryRowCodec.ROW_FRAME, Buffer.buffer("junk")));
+
+    // When
+    VertxCompletableFuture<HttpResponse<Buffer>> requestFuture = new VertxCompletableFuture<>();
+    client
+        .post("/inserts-stream")
+        .putHeader("content-type", BinaryRowCodec.CONTENT_TYPE)
+        .sendBuffer(requestBody, requestFuture);
+
+    // Then
+    HttpResponse<Buffer> response = requestFuture.get();
+    assertThat(response.statusCode(), is(200));
+    InsertsResponse insertsResponse = new InsertsResponse(response.bodyAsString());
+    validateInsertStreamError(ERROR_CODE_MALFORMED_REQUEST, "Invalid row in inserts stream",
+        insertsResponse.error, 1L);
+  }
+
+  @Test
+  public void shouldRejectOversizedBinaryFrameInInserts() throws Exception {
+    // Given
+    JsonObject params = new JsonObject().put("target", "test-stream");
+    Buffer requestBody = BinaryRowCodec.frame(BinaryRowCodec.ARGS_FRAME, params.toBuffer())
+        .appendBuffer(BinaryRowCodec.encodeNamedRow(DEFAULT_INSERT_ROWS.get(0)))
+        .appendByte(BinaryRowCodec.ROW_FRAME)
+        .appendInt(BinaryRowCodec.MAX_PAYLOAD_LENGTH + 1)
+        .appendBuffer(BinaryRowCodec.encodeNamedRow(DEFAULT_INSERT_ROWS.get(1)));
+
+    // When
+    VertxCompletableFuture<HttpResponse<Buffer>> requestFuture = new VertxCompletableFuture<>();
+    client
+        .post("/inserts-stream")
+        .putHeader("content-type", BinaryRowCodec.CONTENT_TYPE)
+        .sendBuffer(requestBody, requestFuture);
+
+    // Then
+    HttpResponse<Buffer> response = requestFuture.get();
+    assertThat(response.statusCode(), is(200));
+    InsertsResponse insertsResponse = new InsertsResponse(response.bodyAsString());
+    validateInsertStreamError(ERROR_CODE_MALFORMED_REQUEST,
+        "Malformed binary frame in inserts stream", insertsResponse.error, 1L);
+  }
+
+  @Test
+  public void shouldRejectTruncatedBinaryRowInInserts() throws Exception {
+    // Given
+    JsonObject params = new JsonObject().put("target", "test-stream");
+    Buffer row = BinaryRowCodec.encodeNamedRow(DEFAULT_INSERT_ROWS.get(0));
+    Buffer payload = row.getBuffer(BinaryRowCodec.FRAME_HEADER_SIZE, row.length() - 3);
+    Buffer requestBody = BinaryRowCodec.frame(BinaryRowCodec.ARGS_FRAME, params.toBuffer())
+        .appendBuffer(BinaryRowCodec.frame(BinaryRowCodec.ROW_FRAME, payload));
+
+    // When
+    VertxCompletableFuture<HttpResponse<Buffer>> requestFuture = new VertxCompletableFuture<>();
+    client
+        .post("/inserts-stream")
+        .putHeader("content-type", BinaryRowCodec.CONTENT_TYPE)
+        .sendBuffer(requestBody, requestFuture);
+
+    // Then
+    HttpResponse<Buffer> response = requestFuture.get();
+    assertThat(response.statusCode(), is(200));
+    InsertsResponse insertsResponse = new InsertsResponse(response.bodyAsString());
+    validateInsertStreamError(ERROR_CODE_MALFORMED_REQUEST, "Invalid row in inserts stream",
+        insertsResponse.error, 0L);
+  }
+
   @Test
   public void shouldUseDelimitedFormatWhenNoAcceptHeaderInserts() throws Exception {
     // When
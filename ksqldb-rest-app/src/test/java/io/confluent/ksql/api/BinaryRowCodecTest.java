@@ -0,0 +1,239 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.api;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.api.server.protocol.BinaryRowCodec;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.junit.Test;
+
+public class BinaryRowCodecTest {
+
+  private static final Schema STRUCT_SCHEMA = SchemaBuilder.struct()
+      .field("F0", Schema.OPTIONAL_INT32_SCHEMA)
+      .optional()
+      .build();
+
+  @Test
+  public void shouldRoundTripPrimitiveValues() {
+    // Given:
+    final List<Object> values = Arrays.asList(
+        null, true, false, 10, 20L, 1.5, "héllo", new BigDecimal("12.340"));
+
+    // When:
+    final Buffer frame = BinaryRowCodec.encodeRow(values);
+
+    // Then:
+    assertThat(BinaryRowCodec.decodeRow(payload(frame)), is(values));
+  }
+
+  @Test
+  public void shouldEncodeComplexValuesAsJson() {
+    // Given:
+    final Struct struct = new Struct(STRUCT_SCHEMA).put("F0", 1);
+    final List<Object> values = Arrays.asList(
+        ImmutableList.of(1, 2), ImmutableMap.of("a", "b"), struct);
+
+    // When:
+    final Buffer frame = BinaryRowCodec.encodeRow(values);
+
+    // Then:
+    assertThat(BinaryRowCodec.decodeRow(payload(frame)), is(Arrays.asList(
+        new JsonArray().add(1).add(2),
+        new JsonObject().put("a", "b"),
+        new JsonObject().put("F0", 1)
+    )));
+  }
+
+  @Test
+  public void shouldWriteFrameHeader() {
+    // When:
+    final Buffer frame = BinaryRowCodec.encodeRow(ImmutableList.of(1));
+
+    // Then:
+    assertThat(frame.getByte(0), is(BinaryRowCodec.ROW_FRAME));
+    assertThat(frame.getInt(1), is(frame.length() - BinaryRowCodec.FRAME_HEADER_SIZE));
+    assertThat(frame.getInt(1), is(4 + 1 + 4));
+  }
+
+  @Test
+  public void shouldFrameJsonPayloads() {
+    // Given:
+    final Buffer payload = new JsonObject().put("a", 1).toBuffer();
+
+    // When:
+    final Buffer frame = BinaryRowCodec.frame(BinaryRowCodec.METADATA_FRAME, payload);
+
+    // Then:
+    assertThat(frame.getByte(0), is(BinaryRowCodec.METADATA_FRAME));
+    assertThat(frame.getInt(1), is(payload.length()));
+    assertThat(payload(frame), is(payload));
+  }
+
+  @Test
+  public void shouldRoundTripNamedRow() {
+    // Given:
+    final JsonObject row = new JsonObject()
+        .put("name", "foo")
+        .put("age", 10)
+        .put("dec", new BigDecimal("1.50"))
+        .put("tags", new JsonArray().add("x"))
+        .put("missing", (Object) null);
+
+    // When:
+    final Buffer frame = BinaryRowCodec.encodeNamedRow(row);
+
+    // Then:
+    assertThat(BinaryRowCodec.decodeNamedRow(payload(frame)), is(row));
+  }
+
+  @Test
+  public void shouldThrowOnTruncatedRow() {
+    // Given:
+    final Buffer frame = BinaryRowCodec.encodeRow(ImmutableList.of("foo", 1L));
+    final Buffer truncated = payload(frame).getBuffer(0, frame.length() - 10);
+
+    // When:
+    final Exception e = assertThrows(
+        IllegalArgumentException.class,
+        () -> BinaryRowCodec.decodeRow(truncated)
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString("Truncated row"));
+  }
+
+  @Test
+  public void shouldThrowOnTruncatedFixedWidthValue() {
+    // Given:
+    final Buffer payload = Buffer.buffer()
+        .appendInt(1)
+        .appendByte(BinaryRowCodec.BIGINT)
+        .appendInt(1);
+
+    // When:
+    final Exception e = assertThrows(
+        IllegalArgumentException.class,
+        () -> BinaryRowCodec.decodeRow(payload)
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString("Truncated row"));
+  }
+
+  @Test
+  public void shouldThrowOnLengthLargerThanRemainingPayload() {
+    // Given:
+    final Buffer payload = Buffer.buffer()
+        .appendInt(1)
+        .appendByte(BinaryRowCodec.STRING)
+        .appendInt(Integer.MAX_VALUE)
+        .appendString("foo");
+
+    // When:
+    final Exception e = assertThrows(
+        IllegalArgumentException.class,
+        () -> BinaryRowCodec.decodeRow(payload)
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString("Truncated row"));
+  }
+
+  @Test
+  public void shouldThrowOnTruncatedColumnName() {
+    // Given:
+    final Buffer payload = Buffer.buffer()
+        .appendInt(1)
+        .appendInt(10)
+        .appendString("F0");
+
+    // When:
+    final Exception e = assertThrows(
+        IllegalArgumentException.class,
+        () -> BinaryRowCodec.decodeNamedRow(payload)
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString("Truncated row"));
+  }
+
+  @Test
+  public void shouldThrowOnColumnCountLargerThanRemainingPayload() {
+    // Given:
+    final Buffer payload = Buffer.buffer()
+        .appendInt(Integer.MAX_VALUE)
+        .appendByte(BinaryRowCodec.NULL);
+
+    // When:
+    final Exception e = assertThrows(
+        IllegalArgumentException.class,
+        () -> BinaryRowCodec.decodeRow(payload)
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString("Invalid column count: " + Integer.MAX_VALUE));
+  }
+
+  @Test
+  public void shouldThrowOnTrailingBytes() {
+    // Given:
+    final Buffer payload = payload(BinaryRowCodec.encodeRow(ImmutableList.of(1)))
+        .appendByte((byte) 0);
+
+    // When:
+    final Exception e = assertThrows(
+        IllegalArgumentException.class,
+        () -> BinaryRowCodec.decodeRow(payload)
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString("Unexpected trailing bytes"));
+  }
+
+  @Test
+  public void shouldThrowOnUnknownValueType() {
+    // Given:
+    final Buffer payload = Buffer.buffer().appendInt(1).appendByte((byte) 99);
+
+    // When:
+    final Exception e = assertThrows(
+        IllegalArgumentException.class,
+        () -> BinaryRowCodec.decodeRow(payload)
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString("Unknown value type: 99"));
+  }
+
+  private static Buffer payload(final Buffer frame) {
+    return frame.getBuffer(BinaryRowCodec.FRAME_HEADER_SIZE, frame.length());
+  }
+}
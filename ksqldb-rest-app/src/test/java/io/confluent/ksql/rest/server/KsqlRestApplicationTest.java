@@ -439,7 +439,8 @@ public class KsqlRestApplicationTest {
         rocksDBConfigSetterHandler,
         pullQueryExecutor,
         Optional.of(heartbeatAgent),
-        Optional.of(lagReportingAgent)
+        Optional.of(lagReportingAgent),
+        Optional.empty()
     );
   }
 
@@ -124,6 +124,62 @@ public class PullQueryExecutorMetricsTest {
     assertThat(rate, closeTo(0.03, 0.001));
   }
 
+  @Test
+  public void shouldRecordPlanCacheHits() {
+    // Given:
+    pullMetrics.recordPlanCacheHit(1);
+
+    // When:
+    final double value = getMetricValue("-plan-cache-hit-count");
+    final double rate = getMetricValue("-plan-cache-hit-rate");
+
+    // Then:
+    assertThat(value, equalTo(1.0));
+    assertThat(rate, closeTo(0.01, 0.001));
+  }
+
+  @Test
+  public void shouldRecordPlanCacheMisses() {
+    // Given:
+    pullMetrics.recordPlanCacheMiss(1);
+
+    // When:
+    final double value = getMetricValue("-plan-cache-miss-count");
+    final double rate = getMetricValue("-plan-cache-miss-rate");
+
+    // Then:
+    assertThat(value, equalTo(1.0));
+    assertThat(rate, closeTo(0.01, 0.001));
+  }
+
+  @Test
+  public void shouldRecordHedgedRequests() {
+    // Given:
+    pullMetrics.recordHedgedRequests(1);
+
+    // When:
+    final double value = getMetricValue("-hedged-count");
+    final double rate = getMetricValue("-hedged-rate");
+
+    // Then:
+    assertThat(value, equalTo(1.0));
+    assertThat(rate, closeTo(0.01, 0.001));
+  }
+
+  @Test
+  public void shouldRecordHedgeWins() {
+    // Given:
+    pullMetrics.recordHedgeWins(1);
+
+    // When:
+    final double value = getMetricValue("-hedge-wins-count");
+    final double rate = getMetricValue("-hedge-wins-rate");
+
+    // Then:
+    assertThat(value, equalTo(1.0));
+    assertThat(rate, closeTo(0.01, 0.001));
+  }
+
   @Test
   public void shouldRecordLatency() {
     // Given:
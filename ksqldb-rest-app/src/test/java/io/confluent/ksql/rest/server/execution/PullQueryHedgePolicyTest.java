@@ -0,0 +1,141 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.server.execution;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.execution.streams.materialization.Locator.KsqlNode;
+import io.confluent.ksql.util.KsqlConfig;
+import java.net.URI;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PullQueryHedgePolicyTest {
+
+  @Mock
+  private KsqlNode node1;
+  @Mock
+  private KsqlNode node2;
+
+  @Test
+  public void shouldBeDisabledByDefault() {
+    // When:
+    final PullQueryHedgePolicy policy =
+        PullQueryHedgePolicy.from(new KsqlConfig(ImmutableMap.of()));
+
+    // Then:
+    assertThat(policy.isEnabled(), is(false));
+  }
+
+  @Test
+  public void shouldUseFixedDelayIfNoPercentile() {
+    // Given:
+    final PullQueryHedgePolicy policy = new PullQueryHedgePolicy(true, 20, 0);
+    recordLatencies(policy, node1, PullQueryHedgePolicy.LATENCY_SAMPLES, 100);
+
+    // When:
+    final long delay = policy.delayMs(node1);
+
+    // Then:
+    assertThat(delay, is(20L));
+  }
+
+  @Test
+  public void shouldUseFixedDelayUntilEnoughLatenciesRecorded() {
+    // Given:
+    when(node1.location()).thenReturn(URI.create("http://node1:8088"));
+    final PullQueryHedgePolicy policy = new PullQueryHedgePolicy(true, 20, 90);
+    recordLatencies(policy, node1, PullQueryHedgePolicy.MIN_LATENCY_SAMPLES - 1, 100);
+
+    // When:
+    final long delay = policy.delayMs(node1);
+
+    // Then:
+    assertThat(delay, is(20L));
+  }
+
+  @Test
+  public void shouldUsePercentileOfRecentLatencies() {
+    // Given:
+    when(node1.location()).thenReturn(URI.create("http://node1:8088"));
+    final PullQueryHedgePolicy policy = new PullQueryHedgePolicy(true, 20, 90);
+    for (int i = 1; i <= 100; i++) {
+      policy.recordLatency(node1, i);
+    }
+
+    // When:
+    final long delay = policy.delayMs(node1);
+
+    // Then:
+    assertThat(delay, is(90L));
+  }
+
+  @Test
+  public void shouldOnlyUseMostRecentLatencies() {
+    // Given:
+    when(node1.location()).thenReturn(URI.create("http://node1:8088"));
+    final PullQueryHedgePolicy policy = new PullQueryHedgePolicy(true, 20, 50);
+    recordLatencies(policy, node1, PullQueryHedgePolicy.LATENCY_SAMPLES, 1000);
+    recordLatencies(policy, node1, PullQueryHedgePolicy.LATENCY_SAMPLES, 5);
+
+    // When:
+    final long delay = policy.delayMs(node1);
+
+    // Then:
+    assertThat(delay, is(5L));
+  }
+
+  @Test
+  public void shouldTrackLatenciesPerHost() {
+    // Given:
+    when(node1.location()).thenReturn(URI.create("http://node1:8088"));
+    when(node2.location()).thenReturn(URI.create("http://node2:8088"));
+    final PullQueryHedgePolicy policy = new PullQueryHedgePolicy(true, 20, 50);
+    recordLatencies(policy, node1, PullQueryHedgePolicy.LATENCY_SAMPLES, 100);
+
+    // When:
+    final long delay = policy.delayMs(node2);
+
+    // Then:
+    assertThat(delay, is(20L));
+  }
+
+  @Test
+  public void shouldThrowOnInvalidPercentile() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new PullQueryHedgePolicy(true, 20, 101)
+    );
+  }
+
+  private static void recordLatencies(
+      final PullQueryHedgePolicy policy,
+      final KsqlNode node,
+      final int count,
+      final long latencyMs
+  ) {
+    for (int i = 0; i < count; i++) {
+      policy.recordLatency(node, latencyMs);
+    }
+  }
+}
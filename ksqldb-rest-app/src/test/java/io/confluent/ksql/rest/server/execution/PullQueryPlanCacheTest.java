@@ -0,0 +1,184 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.server.execution;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.KsqlExecutionContext;
+import io.confluent.ksql.execution.expression.tree.ComparisonExpression;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.StringLiteral;
+import io.confluent.ksql.execution.expression.tree.UnqualifiedColumnReferenceExp;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.name.SourceName;
+import io.confluent.ksql.parser.KsqlParser.PreparedStatement;
+import io.confluent.ksql.parser.tree.AllColumns;
+import io.confluent.ksql.parser.tree.Query;
+import io.confluent.ksql.parser.tree.ResultMaterialization;
+import io.confluent.ksql.parser.tree.Select;
+import io.confluent.ksql.parser.tree.Table;
+import io.confluent.ksql.statement.ConfiguredStatement;
+import io.confluent.ksql.util.KsqlConfig;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PullQueryPlanCacheTest {
+
+  private static final KsqlConfig KSQL_CONFIG = new KsqlConfig(ImmutableMap.of());
+
+  @Mock
+  private KsqlExecutionContext executionContext;
+  @Mock
+  private PullQueryPlan plan;
+  @Mock
+  private PullQueryPlan otherPlan;
+
+  private PullQueryPlanCache cache;
+
+  @Before
+  public void setUp() {
+    cache = new PullQueryPlanCache(2);
+  }
+
+  @Test
+  public void shouldReturnEmptyOnMiss() {
+    assertThat(cache.get(statement("a"), executionContext), is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldShareCachedPlanBetweenKeyLiterals() {
+    // Given:
+    when(plan.isValid(executionContext)).thenReturn(true);
+    cache.put(statement("a"), plan);
+
+    // When:
+    final Optional<PullQueryPlan> result = cache.get(statement("b"), executionContext);
+
+    // Then:
+    assertThat(result, is(Optional.of(plan)));
+  }
+
+  @Test
+  public void shouldNotSharePlanBetweenDifferentConfigOverrides() {
+    // Given:
+    cache.put(statement("a"), plan);
+
+    // When:
+    final Optional<PullQueryPlan> result = cache.get(
+        statement("a", ImmutableMap.of("ksql.some.property", 10)),
+        executionContext
+    );
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldEvictInvalidPlan() {
+    // Given:
+    when(plan.isValid(executionContext)).thenReturn(false);
+    cache.put(statement("a"), plan);
+
+    // When:
+    final Optional<PullQueryPlan> result = cache.get(statement("a"), executionContext);
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+    assertThat(cache.size(), is(0L));
+  }
+
+  @Test
+  public void shouldReplaceExistingPlan() {
+    // Given:
+    when(otherPlan.isValid(executionContext)).thenReturn(true);
+    cache.put(statement("a"), plan);
+
+    // When:
+    cache.put(statement("b"), otherPlan);
+
+    // Then:
+    assertThat(cache.get(statement("a"), executionContext), is(Optional.of(otherPlan)));
+    assertThat(cache.size(), is(1L));
+  }
+
+  @Test
+  public void shouldInvalidateAll() {
+    // Given:
+    cache.put(statement("a"), plan);
+
+    // When:
+    cache.invalidateAll();
+
+    // Then:
+    assertThat(cache.size(), is(0L));
+  }
+
+  @Test
+  public void shouldNotCacheIfDisabled() {
+    // Given:
+    cache = new PullQueryPlanCache(0);
+
+    // When:
+    cache.put(statement("a"), plan);
+
+    // Then:
+    assertThat(cache.isEnabled(), is(false));
+    assertThat(cache.get(statement("a"), executionContext), is(Optional.empty()));
+  }
+
+  private static ConfiguredStatement<Query> statement(final String key) {
+    return statement(key, ImmutableMap.of());
+  }
+
+  private static ConfiguredStatement<Query> statement(
+      final String key,
+      final Map<String, Object> overrides
+  ) {
+    final Expression where = new ComparisonExpression(
+        ComparisonExpression.Type.EQUAL,
+        new UnqualifiedColumnReferenceExp(ColumnName.of("ROWKEY")),
+        new StringLiteral(key)
+    );
+
+    final Query query = new Query(
+        Optional.empty(),
+        new Select(ImmutableList.of(new AllColumns(Optional.empty()))),
+        new Table(SourceName.of("T")),
+        Optional.empty(),
+        Optional.of(where),
+        Optional.empty(),
+        Optional.empty(),
+        Optional.empty(),
+        ResultMaterialization.FINAL,
+        true,
+        OptionalInt.empty()
+    );
+
+    final String text = "SELECT * FROM T WHERE ROWKEY='" + key + "';";
+    return ConfiguredStatement.of(PreparedStatement.of(text, query), overrides, KSQL_CONFIG);
+  }
+}
@@ -31,8 +31,14 @@ import io.confluent.ksql.rest.server.resources.streaming.StreamingTestUtils.Test
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.schema.ksql.types.SqlTypes;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Test;
 
 
@@ -227,6 +233,66 @@ public class PollingSubscriptionTest {
     assertEquals(ImmutableList.of(), testSubscriber.getElements());
   }
 
+  @Test
+  public void testSignalledFlowWaitsForDataWithoutBackOff() throws Exception {
+    final AtomicInteger delayedTasks = new AtomicInteger();
+    final ScheduledExecutorService countingExec = new ScheduledThreadPoolExecutor(1) {
+      @Override
+      public ScheduledFuture<?> schedule(
+          final Runnable command,
+          final long delay,
+          final TimeUnit unit
+      ) {
+        if (delay > 0) {
+          delayedTasks.incrementAndGet();
+        }
+        return super.schedule(command, delay, unit);
+      }
+    };
+    final Queue<String> arrivals = new ConcurrentLinkedQueue<>();
+    final AtomicBoolean finished = new AtomicBoolean(false);
+
+    final TestSubscriber<String> testSubscriber = new TestSubscriber<>();
+    final TestPublisher testPublisher = new TestPublisher() {
+      @Override
+      TestPollingSubscription createSubscription(
+          final Subscriber<String> subscriber
+      ) {
+        return new TestPollingSubscription(subscriber, countingExec) {
+          @Override
+          String poll() {
+            final String value = arrivals.poll();
+            if (value == null && finished.get()) {
+              setDone();
+            }
+            return value;
+          }
+
+          @Override
+          protected boolean signalsDataAvailable() {
+            return true;
+          }
+        };
+      }
+    };
+    testPublisher.subscribe(testSubscriber);
+
+    for (final String element : ELEMENTS) {
+      arrivals.add(element);
+      testPublisher.subscription.onDataAvailable();
+    }
+    finished.set(true);
+    testPublisher.subscription.onDataAvailable();
+
+    assertTrue(testSubscriber.await());
+    assertTrue(countingExec.shutdownNow().isEmpty());
+
+    assertTrue(testPublisher.subscription.closed);
+    assertNull(testSubscriber.getError());
+    assertEquals(ELEMENTS, testSubscriber.getElements());
+    assertEquals(0, delayedTasks.get());
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void testExpectsNEqualsOne() {
     final TestSubscriber<String> testSubscriber = new TestSubscriber<String>() {
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.server.resources.streaming;
+
+import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.query.QueryId;
+import io.confluent.ksql.rest.ApiJsonMapper;
+import io.confluent.ksql.rest.entity.StreamedRow;
+import io.confluent.ksql.rest.server.execution.PullQueryResult;
+import io.confluent.ksql.rest.server.resources.KsqlRestException;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import io.confluent.ksql.util.KsqlException;
+import io.confluent.ksql.util.KsqlStatementException;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PullQueryStreamWriterTest {
+
+  private static final ObjectMapper OBJECT_MAPPER = ApiJsonMapper.INSTANCE.get();
+
+  private static final QueryId QUERY_ID = new QueryId("pull_1");
+
+  private static final LogicalSchema SCHEMA = LogicalSchema.builder()
+      .keyColumn(ColumnName.of("K"), SqlTypes.STRING)
+      .valueColumn(ColumnName.of("V"), SqlTypes.STRING)
+      .build();
+
+  @Mock
+  private Runnable onComplete;
+  private ByteArrayOutputStream out;
+
+  @Before
+  public void setUp() {
+    out = new ByteArrayOutputStream();
+  }
+
+  @Test
+  public void shouldWriteHeaderAndRows() throws Exception {
+    // Given:
+    final PullQueryStreamWriter writer = givenWriter(rowConsumer -> {
+      rowConsumer.accept(ImmutableList.of("a", "x"));
+      rowConsumer.accept(ImmutableList.of("b", "y"));
+    });
+
+    // When:
+    writer.write(out);
+
+    // Then:
+    assertThat(readOutput(), contains(
+        StreamedRow.header(QUERY_ID, SCHEMA),
+        StreamedRow.row(GenericRow.genericRow("a", "x")),
+        StreamedRow.row(GenericRow.genericRow("b", "y"))
+    ));
+  }
+
+  @Test
+  public void shouldWriteHeaderOnlyIfNoRows() throws Exception {
+    // Given:
+    final PullQueryStreamWriter writer = givenWriter(rowConsumer -> { });
+
+    // When:
+    writer.write(out);
+
+    // Then:
+    assertThat(readOutput(), contains(StreamedRow.header(QUERY_ID, SCHEMA)));
+  }
+
+  @Test
+  public void shouldWriteErrorRowIfReadingRowsFails() throws Exception {
+    // Given:
+    final PullQueryStreamWriter writer = givenWriter(rowConsumer -> {
+      rowConsumer.accept(ImmutableList.of("a", "x"));
+      throw new KsqlException("Boom");
+    });
+
+    // When:
+    writer.write(out);
+
+    // Then:
+    final List<StreamedRow> rows = readOutput();
+    assertThat(rows.size(), is(3));
+    assertThat(rows.get(1), is(StreamedRow.row(GenericRow.genericRow("a", "x"))));
+    assertThat(rows.get(2).getErrorMessage().get().getMessage(), is("Boom"));
+  }
+
+  @Test
+  public void shouldThrowWithoutWritingIfFailsBeforeFirstRow() {
+    // Given:
+    final PullQueryStreamWriter writer = givenWriter(rowConsumer -> {
+      throw new KsqlStatementException("Unable to execute pull query", "SELECT ...");
+    });
+
+    // When:
+    final KsqlRestException e = assertThrows(
+        KsqlRestException.class,
+        () -> writer.write(out)
+    );
+
+    // Then:
+    assertThat(e.getResponse().getStatus(), is(BAD_REQUEST.code()));
+    assertThat(out.size(), is(0));
+    verify(onComplete).run();
+  }
+
+  @Test
+  public void shouldRunOnCompleteOnceWritten() {
+    // Given:
+    final PullQueryStreamWriter writer = givenWriter(rowConsumer -> { });
+
+    // When:
+    writer.write(out);
+
+    // Then:
+    verify(onComplete).run();
+  }
+
+  private PullQueryStreamWriter givenWriter(final PullQueryResult.RowProducer rowProducer) {
+    return new PullQueryStreamWriter(
+        new PullQueryResult(QUERY_ID, SCHEMA, rowProducer),
+        OBJECT_MAPPER,
+        onComplete
+    );
+  }
+
+  private List<StreamedRow> readOutput() throws Exception {
+    return OBJECT_MAPPER.readValue(
+        new String(out.toByteArray(), StandardCharsets.UTF_8),
+        new TypeReference<List<StreamedRow>>() { }
+    );
+  }
+}
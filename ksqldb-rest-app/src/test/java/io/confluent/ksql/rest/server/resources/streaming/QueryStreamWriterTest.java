@@ -15,6 +15,7 @@
 
 package io.confluent.ksql.rest.server.resources.streaming;
 
+import static org.easymock.EasyMock.anyLong;
 import static org.easymock.EasyMock.anyObject;
 import static org.easymock.EasyMock.capture;
 import static org.easymock.EasyMock.expect;
@@ -24,7 +25,10 @@ import static org.easymock.EasyMock.niceMock;
 import static org.easymock.EasyMock.replay;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableList;
@@ -34,6 +38,7 @@ import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.query.BlockingRowQueue;
 import io.confluent.ksql.query.LimitHandler;
 import io.confluent.ksql.rest.ApiJsonMapper;
+import io.confluent.ksql.rest.entity.StreamedRow;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.schema.ksql.SystemColumns;
 import io.confluent.ksql.schema.ksql.types.SqlTypes;
@@ -181,6 +186,30 @@ public class QueryStreamWriterTest {
         containsString("Row3")));
   }
 
+  @Test
+  public void shouldBatchQueuedRowsWithPolledRow() throws Exception {
+    // Given:
+    expect(queryMetadata.isRunning()).andReturn(true).andReturn(false);
+    expect(rowQueue.poll(anyLong(), anyObject()))
+        .andReturn(new KeyValue<>("no used", genericRow(ImmutableList.<Object>of("Row1"))));
+    rowQueue.drainTo(capture(drainCapture));
+    expectLastCall().andAnswer(rows("Row2", "Row3"));
+
+    createWriter();
+
+    // When:
+    writer.write(out);
+
+    // Then:
+    final List<String> lines = getOutput(out);
+    assertThat(lines, contains(
+        startsWith("[{\"header\""),
+        is(rowLine("Row1")),
+        is(rowLine("Row2")),
+        is(rowLine("Row3"))
+    ));
+  }
+
   private void createWriter() {
     replay(queryMetadata, ksqlEngine, rowQueue);
 
@@ -207,6 +236,11 @@ public class QueryStreamWriterTest {
     };
   }
 
+  private String rowLine(final String value) throws Exception {
+    return objectMapper
+        .writeValueAsString(StreamedRow.row(genericRow(ImmutableList.<Object>of(value)))) + ",";
+  }
+
   private static GenericRow genericRow(final List<Object> values) {
     return new GenericRow().appendAll(values);
   }
@@ -656,6 +656,11 @@ public class StreamedQueryResourceTest {
 
     }
 
+    @Override
+    public void setQueuedCallback(final Runnable queuedCallback) {
+
+    }
+
     @Override
     public KeyValue<String, GenericRow> poll(final long timeout, final TimeUnit unit)
         throws InterruptedException {
@@ -672,6 +677,11 @@ public class StreamedQueryResourceTest {
       return rowQueue.size();
     }
 
+    @Override
+    public long droppedRows() {
+      return 0;
+    }
+
     @Override
     public void close() {
 
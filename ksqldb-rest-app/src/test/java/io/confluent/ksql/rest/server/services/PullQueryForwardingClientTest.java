@@ -0,0 +1,244 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.server.services;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.rest.client.KsqlClient;
+import io.confluent.ksql.rest.client.KsqlTarget;
+import io.confluent.ksql.rest.client.RestResponse;
+import io.confluent.ksql.rest.entity.StreamedRow;
+import io.confluent.ksql.util.HostStatus;
+import io.confluent.ksql.util.KsqlHostInfo;
+import io.vertx.core.Vertx;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.metrics.KafkaMetric;
+import org.apache.kafka.common.metrics.Metrics;
+import org.apache.kafka.common.utils.Time;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PullQueryForwardingClientTest {
+
+  private static final URI HOST_1 = URI.create("http://host1:8088");
+  private static final URI HOST_2 = URI.create("http://host2:8088");
+  private static final String SQL = "SELECT * FROM T WHERE K=1;";
+  private static final String AUTH_HEADER = "BASIC auth header";
+
+  @Mock
+  private Vertx vertx;
+  @Mock
+  private Function<Vertx, KsqlClient> clientFactory;
+  @Mock
+  private KsqlClient client1;
+  @Mock
+  private KsqlClient client2;
+  @Mock
+  private KsqlTarget target;
+  @Mock
+  private RestResponse<Integer> response;
+  @Mock
+  private Consumer<List<StreamedRow>> rowConsumer;
+  @Mock
+  private Time time;
+  private Metrics metrics;
+  private PullQueryForwardingClient forwardingClient;
+
+  @Before
+  public void setUp() {
+    metrics = new Metrics();
+
+    when(clientFactory.apply(vertx)).thenReturn(client1, client2);
+    when(client1.target(any())).thenReturn(target);
+    when(target.properties(any())).thenReturn(target);
+    when(target.postQueryRequest(any(), any(), any(), any())).thenReturn(response);
+    when(time.nanoseconds()).thenReturn(0L, 5_000_000L);
+
+    forwardingClient = new PullQueryForwardingClient(
+        vertx,
+        clientFactory,
+        metrics,
+        "ksql-service-",
+        ImmutableMap.of(),
+        time
+    );
+  }
+
+  @After
+  public void tearDown() {
+    metrics.close();
+  }
+
+  @Test
+  public void shouldForwardQueryToTarget() {
+    // When:
+    final RestResponse<Integer> result = forwardingClient.makeQueryRequest(
+        HOST_1, Optional.empty(), SQL, ImmutableMap.of("a", "b"), ImmutableMap.of(), rowConsumer);
+
+    // Then:
+    verify(client1).target(HOST_1);
+    verify(target).properties(ImmutableMap.of("a", "b"));
+    verify(target).postQueryRequest(SQL, ImmutableMap.of(), Optional.empty(), rowConsumer);
+    verify(target, never()).authorizationHeader(any());
+    assertThat(result, is(response));
+  }
+
+  @Test
+  public void shouldSetAuthHeaderOnTarget() {
+    // Given:
+    when(target.authorizationHeader(any())).thenReturn(target);
+
+    // When:
+    forwardingClient.makeQueryRequest(
+        HOST_1, Optional.of(AUTH_HEADER), SQL, ImmutableMap.of(), ImmutableMap.of(), rowConsumer);
+
+    // Then:
+    verify(target).authorizationHeader(AUTH_HEADER);
+  }
+
+  @Test
+  public void shouldReuseClientForSameHost() {
+    // When:
+    forwardingClient.makeQueryRequest(
+        HOST_1, Optional.empty(), SQL, ImmutableMap.of(), ImmutableMap.of(), rowConsumer);
+    forwardingClient.makeQueryRequest(
+        HOST_1, Optional.empty(), SQL, ImmutableMap.of(), ImmutableMap.of(), rowConsumer);
+
+    // Then:
+    verify(clientFactory, times(1)).apply(vertx);
+    verify(client1, times(2)).target(HOST_1);
+  }
+
+  @Test
+  public void shouldUseSeparateClientPerHost() {
+    // Given:
+    when(client2.target(any())).thenReturn(target);
+
+    // When:
+    forwardingClient.makeQueryRequest(
+        HOST_1, Optional.empty(), SQL, ImmutableMap.of(), ImmutableMap.of(), rowConsumer);
+    forwardingClient.makeQueryRequest(
+        HOST_2, Optional.empty(), SQL, ImmutableMap.of(), ImmutableMap.of(), rowConsumer);
+
+    // Then:
+    verify(client1).target(HOST_1);
+    verify(client2).target(HOST_2);
+  }
+
+  @Test
+  public void shouldCloseClientOfDeadHost() {
+    // Given:
+    when(client2.target(any())).thenReturn(target);
+    forwardingClient.makeQueryRequest(
+        HOST_1, Optional.empty(), SQL, ImmutableMap.of(), ImmutableMap.of(), rowConsumer);
+
+    // When:
+    forwardingClient.onHostStatusUpdated(ImmutableMap.of(
+        new KsqlHostInfo("host1", 8088), new HostStatus(false, 0L)));
+
+    // Then:
+    verify(client1).close();
+
+    // When:
+    forwardingClient.makeQueryRequest(
+        HOST_1, Optional.empty(), SQL, ImmutableMap.of(), ImmutableMap.of(), rowConsumer);
+
+    // Then:
+    verify(client2).target(HOST_1);
+  }
+
+  @Test
+  public void shouldNotCloseClientOfLiveHost() {
+    // Given:
+    forwardingClient.makeQueryRequest(
+        HOST_1, Optional.empty(), SQL, ImmutableMap.of(), ImmutableMap.of(), rowConsumer);
+
+    // When:
+    forwardingClient.onHostStatusUpdated(ImmutableMap.of(
+        new KsqlHostInfo("host1", 8088), new HostStatus(true, 0L)));
+
+    // Then:
+    verify(client1, never()).close();
+  }
+
+  @Test
+  public void shouldRecordLatencyPerHost() {
+    // When:
+    forwardingClient.makeQueryRequest(
+        HOST_1, Optional.empty(), SQL, ImmutableMap.of(), ImmutableMap.of(), rowConsumer);
+
+    // Then:
+    assertThat(latencyMetric("host1:8088", "pull-query-forwarded-requests-latency-max"), is(5.0));
+  }
+
+  @Test
+  public void shouldCloseClientsAndVertxOnClose() {
+    // Given:
+    forwardingClient.makeQueryRequest(
+        HOST_1, Optional.empty(), SQL, ImmutableMap.of(), ImmutableMap.of(), rowConsumer);
+
+    // When:
+    forwardingClient.close();
+
+    // Then:
+    verify(client1).close();
+    verify(vertx).close();
+  }
+
+  @Test
+  public void shouldThrowIfUsedAfterClose() {
+    // Given:
+    forwardingClient.makeQueryRequest(
+        HOST_1, Optional.empty(), SQL, ImmutableMap.of(), ImmutableMap.of(), rowConsumer);
+    forwardingClient.close();
+
+    // When:
+    assertThrows(
+        IllegalStateException.class,
+        () -> forwardingClient.makeQueryRequest(
+            HOST_1, Optional.empty(), SQL, ImmutableMap.of(), ImmutableMap.of(), rowConsumer)
+    );
+  }
+
+  private double latencyMetric(final String host, final String name) {
+    final Map<MetricName, KafkaMetric> all = metrics.metrics();
+    final MetricName metricName = metrics.metricName(
+        name,
+        "ksql-service-pull-query-forwarding",
+        ImmutableMap.of("host", host)
+    );
+    return (Double) all.get(metricName).metricValue();
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.client;
+
+import io.confluent.ksql.reactive.BaseSubscriber;
+import io.vertx.core.Context;
+import java.util.ArrayList;
+import java.util.List;
+import org.reactivestreams.Subscription;
+
+/**
+ * A subscriber that hands the elements it receives over, in batches, to a thread that is blocked
+ * waiting for them.
+ *
+ * <p>At most {@code batchSize} elements are outstanding at any one time: more are only requested
+ * from the publisher once the blocked thread has taken those already received. A slow consumer
+ * therefore pauses the publisher, and so the underlying response, rather than buffering the whole
+ * stream in memory.
+ *
+ * @param <T> the type of the elements.
+ */
+final class BlockingStreamSubscriber<T> extends BaseSubscriber<T> {
+
+  private final int batchSize;
+  private final List<T> received;
+  private boolean done;
+  private Throwable error;
+
+  BlockingStreamSubscriber(final Context context, final int batchSize) {
+    super(context);
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+    }
+    this.batchSize = batchSize;
+    this.received = new ArrayList<>(batchSize);
+  }
+
+  /**
+   * Block until the next batch of elements is available.
+   *
+   * <p>Must not be called on a Vert.x event loop.
+   *
+   * @return the next batch of elements, or an empty list once the stream is complete.
+   * @throws KsqlRestClientException if the stream failed.
+   * @throws InterruptedException if interrupted while waiting.
+   */
+  List<T> nextBatch() throws InterruptedException {
+    final List<T> batch;
+    final boolean more;
+    synchronized (this) {
+      while (received.isEmpty() && !done) {
+        wait();
+      }
+
+      if (received.isEmpty()) {
+        if (error != null) {
+          throw new KsqlRestClientException("Error reading streamed response", error);
+        }
+        return new ArrayList<>();
+      }
+
+      batch = new ArrayList<>(received);
+      received.clear();
+      more = !done;
+    }
+
+    if (more) {
+      context.runOnContext(v -> makeRequest(batch.size()));
+    }
+    return batch;
+  }
+
+  /**
+   * Stop receiving elements, e.g. because the consumer has failed.
+   */
+  void close() {
+    context.runOnContext(v -> cancel());
+  }
+
+  @Override
+  protected void afterSubscribe(final Subscription subscription) {
+    makeRequest(batchSize);
+  }
+
+  @Override
+  protected synchronized void handleValue(final T value) {
+    received.add(value);
+    notifyAll();
+  }
+
+  @Override
+  protected synchronized void handleComplete() {
+    done = true;
+    notifyAll();
+  }
+
+  @Override
+  protected synchronized void handleError(final Throwable t) {
+    error = t;
+    done = true;
+    notifyAll();
+  }
+}
@@ -22,6 +22,7 @@ import io.vertx.core.Vertx;
 import io.vertx.core.VertxException;
 import io.vertx.core.http.HttpClient;
 import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpVersion;
 import io.vertx.core.net.JksOptions;
 import io.vertx.core.net.SocketAddress;
 import java.net.URI;
@@ -40,6 +41,7 @@ public final class KsqlClient implements AutoCloseable {
   }
 
   private final Vertx vertx;
+  private final boolean ownedVertx;
   private final HttpClient httpNonTlsClient;
   private final HttpClient httpTlsClient;
   private final LocalProperties localProperties;
@@ -51,7 +53,32 @@ public final class KsqlClient implements AutoCloseable {
       final LocalProperties localProperties,
       final HttpClientOptions httpClientOptions
   ) {
-    this.vertx = Vertx.vertx();
+    this(Vertx.vertx(), true, clientProps, credentials, localProperties, httpClientOptions);
+  }
+
+  /**
+   * Create a client that shares the supplied {@code vertx} instance, which it will not close.
+   */
+  public KsqlClient(
+      final Vertx vertx,
+      final Map<String, String> clientProps,
+      final Optional<BasicCredentials> credentials,
+      final LocalProperties localProperties,
+      final HttpClientOptions httpClientOptions
+  ) {
+    this(vertx, false, clientProps, credentials, localProperties, httpClientOptions);
+  }
+
+  private KsqlClient(
+      final Vertx vertx,
+      final boolean ownedVertx,
+      final Map<String, String> clientProps,
+      final Optional<BasicCredentials> credentials,
+      final LocalProperties localProperties,
+      final HttpClientOptions httpClientOptions
+  ) {
+    this.vertx = Objects.requireNonNull(vertx, "vertx");
+    this.ownedVertx = ownedVertx;
     this.basicAuthHeader = createBasicAuthHeader(
         Objects.requireNonNull(credentials, "credentials"));
     this.localProperties = Objects.requireNonNull(localProperties, "localProperties");
@@ -78,7 +105,7 @@ public final class KsqlClient implements AutoCloseable {
     } catch (Exception ignore) {
       // Ignore
     }
-    if (vertx != null) {
+    if (ownedVertx) {
       vertx.close();
     }
   }
@@ -98,6 +125,10 @@ public final class KsqlClient implements AutoCloseable {
     if (tls) {
       httpClientOptions.setVerifyHost(false);
       httpClientOptions.setSsl(true);
+      if (httpClientOptions.getProtocolVersion() == HttpVersion.HTTP_2) {
+        // HTTP/2 over TLS is negotiated using ALPN
+        httpClientOptions.setUseAlpn(true);
+      }
       final String trustStoreLocation = clientProps.get(SslConfigs.SSL_TRUSTSTORE_LOCATION_CONFIG);
       if (trustStoreLocation != null) {
         final String suppliedTruststorePassword = clientProps
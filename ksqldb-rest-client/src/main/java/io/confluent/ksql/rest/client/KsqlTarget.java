@@ -51,6 +51,7 @@ import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -68,6 +69,7 @@ public final class KsqlTarget {
   private static final String LAG_REPORT_PATH = "/lag";
   private static final String SERVER_METADATA_PATH = "/v1/metadata";
   private static final String SERVER_METADATA_ID_PATH = "/v1/metadata/id";
+  private static final int STREAMED_ROWS_BATCH_SIZE = 100;
 
   private final HttpClient httpClient;
   private final SocketAddress socketAddress;
@@ -172,19 +174,68 @@ public final class KsqlTarget {
     );
   }
 
+  /**
+   * Post a query request, passing batches of rows to the {@code rowConsumer} as they are read
+   * from the response. The response is read no faster than the consumer accepts the rows.
+   * Must not be called on a Vert.x event loop.
+   *
+   * @return the total number of rows read.
+   */
+  public RestResponse<Integer> postQueryRequest(
+      final String ksql,
+      final Map<String, ?> requestProperties,
+      final Optional<Long> previousCommandSeqNum,
+      final Consumer<List<StreamedRow>> rowConsumer
+  ) {
+    final RestResponse<StreamPublisher<StreamedRow>> response =
+        executeQueryRequestWithStreamResponse(ksql, requestProperties, previousCommandSeqNum,
+            buff -> deserialize(buff, StreamedRow.class));
+
+    if (response.isErroneous()) {
+      return RestResponse.erroneous(response.getStatusCode(), response.getErrorMessage());
+    }
+
+    final StreamPublisher<StreamedRow> publisher = response.getResponse();
+    final BlockingStreamSubscriber<StreamedRow> subscriber =
+        new BlockingStreamSubscriber<>(publisher.getContext(), STREAMED_ROWS_BATCH_SIZE);
+    publisher.subscribe(subscriber);
+
+    int numRows = 0;
+    try {
+      List<StreamedRow> rows = subscriber.nextBatch();
+      while (!rows.isEmpty()) {
+        rowConsumer.accept(rows);
+        numRows += rows.size();
+        rows = subscriber.nextBatch();
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      subscriber.close();
+      publisher.close();
+      throw new KsqlRestClientException("Interrupted while reading query response", e);
+    } catch (final RuntimeException e) {
+      subscriber.close();
+      publisher.close();
+      throw e;
+    }
+
+    return RestResponse.successful(response.getStatusCode(), numRows);
+  }
+
   public RestResponse<StreamPublisher<StreamedRow>> postQueryRequestStreamed(
       final String sql,
       final Optional<Long> previousCommandSeqNum
   ) {
-    return executeQueryRequestWithStreamResponse(sql, previousCommandSeqNum,
-        buff -> deserialize(buff, StreamedRow.class));
+    return executeQueryRequestWithStreamResponse(sql, Collections.emptyMap(),
+        previousCommandSeqNum, buff -> deserialize(buff, StreamedRow.class));
   }
 
   public RestResponse<StreamPublisher<String>> postPrintTopicRequest(
       final String ksql,
       final Optional<Long> previousCommandSeqNum
   ) {
-    return executeQueryRequestWithStreamResponse(ksql, previousCommandSeqNum, Object::toString);
+    return executeQueryRequestWithStreamResponse(ksql, Collections.emptyMap(),
+        previousCommandSeqNum, Object::toString);
   }
 
   private KsqlRequest createKsqlRequest(
@@ -236,11 +287,12 @@ public final class KsqlTarget {
 
   private <T> RestResponse<StreamPublisher<T>> executeQueryRequestWithStreamResponse(
       final String ksql,
+      final Map<String, ?> requestProperties,
       final Optional<Long> previousCommandSeqNum,
       final Function<Buffer, T> mapper
   ) {
     final KsqlRequest ksqlRequest = createKsqlRequest(
-        ksql, Collections.emptyMap(), previousCommandSeqNum);
+        ksql, requestProperties, previousCommandSeqNum);
     final AtomicReference<StreamPublisher<T>> pubRef = new AtomicReference<>();
     return executeSync(HttpMethod.POST, QUERY_PATH, ksqlRequest, resp -> pubRef.get(),
         (resp, vcf) -> {
@@ -50,14 +50,18 @@ public class StreamPublisher<T> extends BufferedPublisher<T> {
     super(context);
     this.response = response;
     final RecordParser recordParser = RecordParser.newDelimited("\n", response);
-    recordParser.exceptionHandler(bodyFuture::completeExceptionally)
+    recordParser.exceptionHandler(t -> {
+      bodyFuture.completeExceptionally(t);
+      sendError(new KsqlRestClientException("Error reading response", t));
+    })
         .handler(buff -> {
           if (buff.length() == 0) {
             // Ignore empty buffer - the server can insert random newlines!
             return;
           }
           final Buffer jsonMsg = toJsonMsg(buff);
-          if (!accept(mapper.apply(jsonMsg))) {
+          // accept returns true once the buffer is full: pause until it drains
+          if (accept(mapper.apply(jsonMsg))) {
             if (!drainHandlerSet) {
               recordParser.pause();
               drainHandlerSet = true;
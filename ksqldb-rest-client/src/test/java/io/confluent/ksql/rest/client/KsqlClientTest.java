@@ -311,6 +311,28 @@ public class KsqlClientTest {
     assertThat(response.get(), is(expectedResponse));
   }
 
+  @Test
+  public void shouldPostQueryRequestWithRowConsumer() {
+
+    // Given:
+    List<StreamedRow> expectedResponse = setQueryStreamResponse(10, false);
+    String sql = "some sql";
+    List<StreamedRow> rows = new ArrayList<>();
+
+    // When:
+    KsqlTarget target = ksqlClient.target(serverUri);
+    RestResponse<Integer> response = target.postQueryRequest(
+        sql, ImmutableMap.of("foo", "bar"), Optional.of(321L), rows::addAll);
+
+    // Then:
+    assertThat(server.getHttpMethod(), is(HttpMethod.POST));
+    assertThat(server.getPath(), is("/query"));
+    assertThat(getKsqlRequest(),
+        is(new KsqlRequest(sql, properties, ImmutableMap.of("foo", "bar"), 321L)));
+    assertThat(response.get(), is(10));
+    assertThat(rows, is(expectedResponse));
+  }
+
   @Test
   public void shouldNotTrimTrailingZerosOnDecimalDeserialization() {
     // Given:
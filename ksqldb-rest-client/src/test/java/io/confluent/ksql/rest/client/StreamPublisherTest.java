@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.client;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.verify;
+
+import io.confluent.ksql.reactive.BufferedPublisher;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClientResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class StreamPublisherTest {
+
+  @Mock
+  private HttpClientResponse response;
+  private Vertx vertx;
+  private Context context;
+  private AtomicInteger parsed;
+
+  @Before
+  public void setUp() {
+    vertx = Vertx.vertx();
+    context = vertx.getOrCreateContext();
+    parsed = new AtomicInteger();
+  }
+
+  @After
+  public void tearDown() {
+    vertx.close();
+  }
+
+  @Test
+  public void shouldKeepReadingUntilBufferFull() throws Exception {
+    // When:
+    receiveLines(10);
+
+    // Then:
+    assertThat(parsed.get(), is(10));
+  }
+
+  @Test
+  public void shouldStopReadingOnceBufferFull() throws Exception {
+    // When:
+    receiveLines(BufferedPublisher.DEFAULT_BUFFER_MAX_SIZE + 50);
+
+    // Then:
+    assertThat(parsed.get(), is(BufferedPublisher.DEFAULT_BUFFER_MAX_SIZE));
+  }
+
+  /**
+   * Receive a response of {@code count} lines in one go, without any subscriber to read them.
+   */
+  @SuppressWarnings("unchecked")
+  private void receiveLines(final int count) throws Exception {
+    final StringBuilder body = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      body.append("line").append(i).append('\n');
+    }
+
+    final CompletableFuture<Void> done = new CompletableFuture<>();
+    context.runOnContext(v -> {
+      try {
+        new StreamPublisher<>(context, response, buff -> {
+          parsed.incrementAndGet();
+          return buff.toString();
+        }, new CompletableFuture<>());
+
+        final ArgumentCaptor<Handler<Buffer>> handler = ArgumentCaptor.forClass(Handler.class);
+        verify(response).handler(handler.capture());
+        handler.getValue().handle(Buffer.buffer(body.toString()));
+        done.complete(null);
+      } catch (final Throwable t) {
+        done.completeExceptionally(t);
+      }
+    });
+    done.get(30, TimeUnit.SECONDS);
+  }
+}
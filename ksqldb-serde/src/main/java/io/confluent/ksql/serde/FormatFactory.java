@@ -16,6 +16,7 @@
 package io.confluent.ksql.serde;
 
 import io.confluent.ksql.serde.avro.AvroFormat;
+import io.confluent.ksql.serde.binary.BinaryFormat;
 import io.confluent.ksql.serde.delimited.DelimitedFormat;
 import io.confluent.ksql.serde.json.JsonFormat;
 import io.confluent.ksql.serde.json.JsonSchemaFormat;
@@ -34,6 +35,7 @@ public final class FormatFactory {
   public static final Format PROTOBUF   = new ProtobufFormat();
   public static final Format KAFKA      = new KafkaFormat();
   public static final Format DELIMITED  = new DelimitedFormat();
+  public static final Format BINARY     = new BinaryFormat();
 
   private FormatFactory() { }
 
@@ -50,6 +52,22 @@ public final class FormatFactory {
     return format;
   }
 
+  /**
+   * Check a format supplied by a user, e.g. in a WITH clause, is not internal to ksqlDB.
+   *
+   * <p>Internal formats, such as the format of aggregation state stores, are resolved by
+   * {@link #of(FormatInfo)} so that queries can use them, but can not be used by sources.
+   *
+   * @param name the name of the format.
+   * @throws KsqlException if the format is internal.
+   */
+  public static void throwOnInternalFormat(final String name) {
+    if (BinaryFormat.NAME.equalsIgnoreCase(name)) {
+      throw new KsqlException("Unknown format: " + name
+          + ". " + BinaryFormat.NAME + " is internal to ksqlDB.");
+    }
+  }
+
   public static Format fromName(final String name) {
     switch (name) {
       case AvroFormat.NAME:       return AVRO;
@@ -58,6 +76,7 @@ public final class FormatFactory {
       case ProtobufFormat.NAME:   return PROTOBUF;
       case KafkaFormat.NAME:      return KAFKA;
       case DelimitedFormat.NAME:  return DELIMITED;
+      case BinaryFormat.NAME:     return BINARY;
       default:
         throw new KsqlException("Unknown format: " + name);
     }
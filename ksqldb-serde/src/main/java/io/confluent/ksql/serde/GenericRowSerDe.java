@@ -25,6 +25,7 @@ import io.confluent.ksql.SchemaNotSupportedException;
 import io.confluent.ksql.logging.processing.LoggingDeserializer;
 import io.confluent.ksql.logging.processing.ProcessingLogContext;
 import io.confluent.ksql.logging.processing.ProcessingLogger;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
 import io.confluent.ksql.schema.ksql.SchemaConverters;
 import io.confluent.ksql.schema.ksql.SystemColumns;
@@ -33,7 +34,10 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import org.apache.kafka.common.errors.SerializationException;
 import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serde;
@@ -62,7 +66,7 @@ public final class GenericRowSerDe implements ValueSerdeFactory {
    * </ol>
    *
    */
-  private static final int ADDITIONAL_CAPACITY = 4;
+  public static final int ADDITIONAL_CAPACITY = 4;
 
   private final SerdeFactories serdeFactories;
 
@@ -91,10 +95,42 @@ public final class GenericRowSerDe implements ValueSerdeFactory {
         schemaRegistryClientFactory,
         loggerNamePrefix,
         processingLogContext,
-        getTargetType(schema)
+        getTargetType(schema),
+        Optional.empty()
     );
   }
 
+  @Override
+  public Serde<GenericRow> create(
+      final FormatInfo format,
+      final PersistenceSchema schema,
+      final KsqlConfig ksqlConfig,
+      final Supplier<SchemaRegistryClient> schemaRegistryClientFactory,
+      final String loggerNamePrefix,
+      final ProcessingLogContext processingLogContext,
+      final Set<ColumnName> requiredColumns
+  ) {
+    return from(
+        format,
+        schema,
+        ksqlConfig,
+        schemaRegistryClientFactory,
+        loggerNamePrefix,
+        processingLogContext,
+        getTargetType(schema),
+        Optional.of(requiredColumns)
+    );
+  }
+
+  @Override
+  public Optional<Deserializer<GenericRow>> createColumnReader(
+      final FormatInfo format,
+      final PersistenceSchema schema,
+      final Set<ColumnName> columns
+  ) {
+    return prunedDeserializer(format, schema, columns);
+  }
+
   public static Serde<GenericRow> from(
       final FormatInfo format,
       final PersistenceSchema schema,
@@ -120,7 +156,8 @@ public final class GenericRowSerDe implements ValueSerdeFactory {
       final Supplier<SchemaRegistryClient> schemaRegistryClientFactory,
       final String loggerNamePrefix,
       final ProcessingLogContext processingLogContext,
-      final Class<T> targetType
+      final Class<T> targetType,
+      final Optional<Set<ColumnName>> requiredColumns
   ) {
     try {
       serdeFactories.validate(format, schema);
@@ -146,9 +183,13 @@ public final class GenericRowSerDe implements ValueSerdeFactory {
           ? unwrapped(serde)
           : wrapped(serde, schema, targetType);
 
+    final Deserializer<GenericRow> deserializer = requiredColumns
+        .flatMap(columns -> prunedDeserializer(format, schema, columns))
+        .orElse(genericRowSerde.deserializer());
+
     final Serde<GenericRow> result = Serdes.serdeFrom(
         genericRowSerde.serializer(),
-        new LoggingDeserializer<>(genericRowSerde.deserializer(), processingLogger)
+        new LoggingDeserializer<>(deserializer, processingLogger)
     );
 
     result.configure(Collections.emptyMap(), false);
@@ -156,6 +197,38 @@ public final class GenericRowSerDe implements ValueSerdeFactory {
     return result;
   }
 
+  private Optional<Deserializer<GenericRow>> prunedDeserializer(
+      final FormatInfo format,
+      final PersistenceSchema schema,
+      final Set<ColumnName> requiredColumns
+  ) {
+    if (schema.isUnwrapped()) {
+      return Optional.empty();
+    }
+
+    final Set<String> fieldNames = schema.serializedSchema().fields().stream()
+        .map(Field::name)
+        .collect(Collectors.toSet());
+
+    final Set<String> requiredFields = requiredColumns.stream()
+        .map(ColumnName::text)
+        .collect(Collectors.toSet());
+
+    if (!fieldNames.containsAll(requiredFields)) {
+      throw new IllegalArgumentException("Required columns not in schema."
+          + " required: " + requiredColumns
+          + ", schema: " + schema
+      );
+    }
+
+    if (requiredFields.size() == fieldNames.size()) {
+      // Nothing to prune:
+      return Optional.empty();
+    }
+
+    return serdeFactories.createPrunedRowDeserializer(format, schema, requiredFields);
+  }
+
   private static Class<?> getTargetType(final PersistenceSchema schema) {
     return SchemaConverters.sqlToJavaConverter().toJavaType(
         SchemaConverters.connectToSqlConverter().toSqlType(schema.serializedSchema())
@@ -17,11 +17,15 @@ package io.confluent.ksql.serde;
 
 import com.google.common.annotations.VisibleForTesting;
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
 import io.confluent.ksql.util.KsqlConfig;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serde;
 
 final class KsqlSerdeFactories implements SerdeFactories {
@@ -57,6 +61,15 @@ final class KsqlSerdeFactories implements SerdeFactories {
     return ksqlSerdeFactory.createSerde(schema, ksqlConfig, schemaRegistryClientFactory, type);
   }
 
+  @Override
+  public Optional<Deserializer<GenericRow>> createPrunedRowDeserializer(
+      final FormatInfo format,
+      final PersistenceSchema schema,
+      final Set<String> requiredFields
+  ) {
+    return factoryMethod.apply(format).createPrunedRowDeserializer(schema, requiredFields);
+  }
+
   @VisibleForTesting
   static KsqlSerdeFactory create(final FormatInfo format) {
     return FormatFactory.of(format).getSerdeFactory(format);
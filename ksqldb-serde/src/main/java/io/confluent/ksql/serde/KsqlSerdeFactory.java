@@ -17,10 +17,14 @@ package io.confluent.ksql.serde;
 
 import com.google.errorprone.annotations.Immutable;
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
 import io.confluent.ksql.schema.ksql.SchemaConverters;
 import io.confluent.ksql.util.KsqlConfig;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
+import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serde;
 
 @Immutable
@@ -46,6 +50,24 @@ public interface KsqlSerdeFactory {
       Supplier<SchemaRegistryClient> schemaRegistryClientFactory
   );
 
+  /**
+   * Create a deserializer that only deserializes the required fields of a wrapped schema,
+   * leaving all other fields {@code null}.
+   *
+   * <p>Formats that can skip the fields that are not required more cheaply than deserializing
+   * them should override this method.
+   *
+   * @param schema the persistence schema, which must be wrapped.
+   * @param requiredFields the names of the fields to deserialize.
+   * @return the deserializer, or empty if the format does not support skipping fields.
+   */
+  default Optional<Deserializer<GenericRow>> createPrunedRowDeserializer(
+      final PersistenceSchema schema,
+      final Set<String> requiredFields
+  ) {
+    return Optional.empty();
+  }
+
   @SuppressWarnings("unchecked")
   default <T> Serde<T> createSerde(
       final PersistenceSchema schema,
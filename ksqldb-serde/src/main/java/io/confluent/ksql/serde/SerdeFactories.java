@@ -16,9 +16,13 @@
 package io.confluent.ksql.serde;
 
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
 import io.confluent.ksql.util.KsqlConfig;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
+import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serde;
 
 interface SerdeFactories {
@@ -51,4 +55,18 @@ interface SerdeFactories {
       Supplier<SchemaRegistryClient> schemaRegistryClientFactory,
       Class<T> type
   );
+
+  /**
+   * Create a deserializer that only deserializes the required fields of a wrapped schema.
+   *
+   * @param format required format.
+   * @param schema persitence schema
+   * @param requiredFields the names of the fields to deserialize.
+   * @return the deserializer, or empty if the format does not support skipping fields.
+   */
+  Optional<Deserializer<GenericRow>> createPrunedRowDeserializer(
+      FormatInfo format,
+      PersistenceSchema schema,
+      Set<String> requiredFields
+  );
 }
@@ -18,9 +18,13 @@ package io.confluent.ksql.serde;
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.logging.processing.ProcessingLogContext;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
 import io.confluent.ksql.util.KsqlConfig;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
+import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serde;
 
 /**
@@ -47,4 +51,59 @@ public interface ValueSerdeFactory {
       String loggerNamePrefix,
       ProcessingLogContext processingLogContext
   );
+
+  /**
+   * Create a value serde whose deserializer need only deserialize the required columns.
+   *
+   * <p>Columns that are not required may be left {@code null} by the deserializer, if the format
+   * supports skipping them. Otherwise, all columns are deserialized.
+   *
+   * @param format the format required.
+   * @param schema the schema of the serialized form.
+   * @param ksqlConfig the system config.
+   * @param schemaRegistryClientFactory supplier of SR client.
+   * @param loggerNamePrefix processing logger name prefix
+   * @param processingLogContext processing logger context.
+   * @param requiredColumns the value columns that must be deserialized.
+   * @return the value serde.
+   */
+  default Serde<GenericRow> create(
+      final FormatInfo format,
+      final PersistenceSchema schema,
+      final KsqlConfig ksqlConfig,
+      final Supplier<SchemaRegistryClient> schemaRegistryClientFactory,
+      final String loggerNamePrefix,
+      final ProcessingLogContext processingLogContext,
+      final Set<ColumnName> requiredColumns
+  ) {
+    return create(
+        format,
+        schema,
+        ksqlConfig,
+        schemaRegistryClientFactory,
+        loggerNamePrefix,
+        processingLogContext
+    );
+  }
+
+  /**
+   * Create a deserializer that reads only the supplied columns of a serialized value, leaving
+   * all other columns {@code null}.
+   *
+   * <p>Unlike the deserializers of the serdes this factory creates, the returned deserializer
+   * does not log errors to the processing log.
+   *
+   * @param format the format required.
+   * @param schema the schema of the serialized form.
+   * @param columns the value columns to read.
+   * @return the deserializer, or empty if the format can not read the columns any more cheaply
+   *         than deserializing the whole value.
+   */
+  default Optional<Deserializer<GenericRow>> createColumnReader(
+      final FormatInfo format,
+      final PersistenceSchema schema,
+      final Set<ColumnName> columns
+  ) {
+    return Optional.empty();
+  }
 }
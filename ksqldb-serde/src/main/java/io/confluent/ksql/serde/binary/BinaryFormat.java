@@ -0,0 +1,44 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.binary;
+
+import io.confluent.ksql.serde.Format;
+import io.confluent.ksql.serde.FormatInfo;
+import io.confluent.ksql.serde.KsqlSerdeFactory;
+
+/**
+ * A compact binary format, intended for ksqlDB's internal state stores and changelog topics.
+ *
+ * <p>Values are laid out in the order of their schema, without field names or type tags, so
+ * data can only be read with the schema it was written with. This is recorded in the query's
+ * persisted plan.
+ *
+ * @see KsqlBinarySerializer for the encoding.
+ */
+public final class BinaryFormat implements Format {
+
+  public static final String NAME = "KSQL_BINARY";
+
+  @Override
+  public String name() {
+    return NAME;
+  }
+
+  @Override
+  public KsqlSerdeFactory getSerdeFactory(final FormatInfo info) {
+    return new KsqlBinarySerdeFactory();
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.binary;
+
+import io.confluent.ksql.schema.ksql.PersistenceSchema;
+import io.confluent.ksql.util.DecimalUtil;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.connect.data.ConnectSchema;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+
+/**
+ * Deserializes values in the {@link BinaryFormat}.
+ *
+ * @see KsqlBinarySerializer for the encoding.
+ */
+public class KsqlBinaryDeserializer implements Deserializer<Object> {
+
+  private final ConnectSchema schema;
+
+  public KsqlBinaryDeserializer(final PersistenceSchema schema) {
+    this.schema = Objects.requireNonNull(schema, "schema").serializedSchema();
+  }
+
+  @Override
+  public Object deserialize(final String topic, final byte[] bytes) {
+    if (bytes == null) {
+      return null;
+    }
+
+    try {
+      final ByteBuffer input = ByteBuffer.wrap(bytes);
+      final Object value = readValue(input, schema);
+      if (input.hasRemaining()) {
+        throw new SerializationException(input.remaining() + " unexpected trailing bytes");
+      }
+      return value;
+    } catch (final Exception e) {
+      throw new SerializationException(
+          "Error deserializing " + BinaryFormat.NAME + " message from topic: " + topic, e);
+    }
+  }
+
+  private static Object readValue(final ByteBuffer input, final Schema schema) {
+    if (input.get() == 0) {
+      return null;
+    }
+
+    switch (schema.type()) {
+      case BOOLEAN:
+        return input.get() != 0;
+      case INT8:
+        return (byte) readZigZag(input);
+      case INT16:
+        return (short) readZigZag(input);
+      case INT32:
+        return (int) readZigZag(input);
+      case INT64:
+        return readZigZag(input);
+      case FLOAT32:
+        return input.getFloat();
+      case FLOAT64:
+        return input.getDouble();
+      case STRING:
+        final int length = readLength(input);
+        final String string =
+            new String(input.array(), input.position(), length, StandardCharsets.UTF_8);
+        input.position(input.position() + length);
+        return string;
+      case BYTES:
+        final byte[] bytes = readBytes(input);
+        return DecimalUtil.isDecimal(schema)
+            ? new BigDecimal(new BigInteger(bytes), DecimalUtil.scale(schema))
+            : bytes;
+      case ARRAY:
+        final int elements = readLength(input);
+        final List<Object> list = new ArrayList<>(elements);
+        for (int i = 0; i < elements; i++) {
+          list.add(readValue(input, schema.valueSchema()));
+        }
+        return list;
+      case MAP:
+        final int entries = readLength(input);
+        final Map<Object, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < entries; i++) {
+          final Object key = readValue(input, schema.keySchema());
+          map.put(key, readValue(input, schema.valueSchema()));
+        }
+        return map;
+      case STRUCT:
+        final Struct struct = new Struct(schema);
+        for (final Field field : schema.fields()) {
+          struct.put(field, readValue(input, field.schema()));
+        }
+        return struct;
+      default:
+        throw new SerializationException("Unsupported type: " + schema.type());
+    }
+  }
+
+  private static byte[] readBytes(final ByteBuffer input) {
+    final byte[] bytes = new byte[readLength(input)];
+    input.get(bytes);
+    return bytes;
+  }
+
+  private static int readLength(final ByteBuffer input) {
+    final long length = readVarLong(input);
+    if (length < 0 || length > input.remaining()) {
+      throw new SerializationException("Invalid length: " + length);
+    }
+    return (int) length;
+  }
+
+  private static long readZigZag(final ByteBuffer input) {
+    final long value = readVarLong(input);
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  private static long readVarLong(final ByteBuffer input) {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      final byte b = input.get();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new SerializationException("Malformed varint");
+  }
+}
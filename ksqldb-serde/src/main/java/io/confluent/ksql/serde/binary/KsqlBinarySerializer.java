@@ -0,0 +1,197 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.binary;
+
+import io.confluent.ksql.schema.ksql.PersistenceSchema;
+import io.confluent.ksql.util.DecimalUtil;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.connect.data.ConnectSchema;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+
+/**
+ * Serializes values in the {@link BinaryFormat}.
+ *
+ * <p>Each value is written as a presence byte, zero for null and one otherwise, followed, if not
+ * null, by its data:
+ * <ul>
+ *   <li>BOOLEAN: one byte.</li>
+ *   <li>INT8, INT16, INT32 and INT64: a zig-zag encoded varint.</li>
+ *   <li>FLOAT32 and FLOAT64: four and eight big-endian bytes.</li>
+ *   <li>STRING: a varint length, followed by that many bytes of UTF-8.</li>
+ *   <li>DECIMAL: the unscaled value, at the schema's scale, as a varint length followed by that
+ *   many bytes of two's-complement big-endian.</li>
+ *   <li>BYTES: a varint length, followed by that many bytes.</li>
+ *   <li>ARRAY: a varint element count, followed by the elements.</li>
+ *   <li>MAP: a varint entry count, followed by each entry's key then value.</li>
+ *   <li>STRUCT: the value of each field, in the schema's order.</li>
+ * </ul>
+ */
+public class KsqlBinarySerializer implements Serializer<Object> {
+
+  private final ConnectSchema schema;
+
+  public KsqlBinarySerializer(final PersistenceSchema schema) {
+    this.schema = Objects.requireNonNull(schema, "schema").serializedSchema();
+  }
+
+  @Override
+  public byte[] serialize(final String topic, final Object data) {
+    if (data == null) {
+      return null;
+    }
+
+    try {
+      final Output output = new Output();
+      writeValue(output, schema, data);
+      return output.toByteArray();
+    } catch (final Exception e) {
+      throw new SerializationException("Error serializing " + BinaryFormat.NAME + " message", e);
+    }
+  }
+
+  private static void writeValue(final Output output, final Schema schema, final Object value) {
+    if (value == null) {
+      output.write(0);
+      return;
+    }
+
+    output.write(1);
+
+    switch (schema.type()) {
+      case BOOLEAN:
+        output.write((Boolean) value ? 1 : 0);
+        break;
+      case INT8:
+      case INT16:
+      case INT32:
+      case INT64:
+        output.writeVarLong(zigZag(((Number) value).longValue()));
+        break;
+      case FLOAT32:
+        output.writeFixed(Float.floatToIntBits((Float) value), Integer.BYTES);
+        break;
+      case FLOAT64:
+        output.writeFixed(Double.doubleToLongBits((Double) value), Long.BYTES);
+        break;
+      case STRING:
+        output.writeBytes(((String) value).getBytes(StandardCharsets.UTF_8));
+        break;
+      case BYTES:
+        if (DecimalUtil.isDecimal(schema)) {
+          final BigDecimal decimal = ((BigDecimal) value)
+              .setScale(DecimalUtil.scale(schema), RoundingMode.UNNECESSARY);
+          output.writeBytes(decimal.unscaledValue().toByteArray());
+        } else {
+          output.writeBytes(toBytes(value));
+        }
+        break;
+      case ARRAY:
+        final List<?> list = (List<?>) value;
+        output.writeVarLong(list.size());
+        for (final Object element : list) {
+          writeValue(output, schema.valueSchema(), element);
+        }
+        break;
+      case MAP:
+        final Map<?, ?> map = (Map<?, ?>) value;
+        output.writeVarLong(map.size());
+        for (final Map.Entry<?, ?> entry : map.entrySet()) {
+          writeValue(output, schema.keySchema(), entry.getKey());
+          writeValue(output, schema.valueSchema(), entry.getValue());
+        }
+        break;
+      case STRUCT:
+        final Struct struct = (Struct) value;
+        for (final Field field : schema.fields()) {
+          writeValue(output, field.schema(), struct.get(field));
+        }
+        break;
+      default:
+        throw new SerializationException("Unsupported type: " + schema.type());
+    }
+  }
+
+  private static byte[] toBytes(final Object value) {
+    if (value instanceof byte[]) {
+      return (byte[]) value;
+    }
+
+    final ByteBuffer buffer = ((ByteBuffer) value).duplicate();
+    final byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    return bytes;
+  }
+
+  private static long zigZag(final long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  private static final class Output {
+
+    private byte[] buffer = new byte[64];
+    private int size;
+
+    void write(final int b) {
+      ensureCapacity(1);
+      buffer[size++] = (byte) b;
+    }
+
+    void writeVarLong(final long value) {
+      ensureCapacity(10);
+      long remaining = value;
+      while ((remaining & ~0x7FL) != 0) {
+        buffer[size++] = (byte) ((remaining & 0x7F) | 0x80);
+        remaining >>>= 7;
+      }
+      buffer[size++] = (byte) remaining;
+    }
+
+    void writeFixed(final long value, final int numBytes) {
+      ensureCapacity(numBytes);
+      for (int shift = (numBytes - 1) * 8; shift >= 0; shift -= 8) {
+        buffer[size++] = (byte) (value >>> shift);
+      }
+    }
+
+    void writeBytes(final byte[] bytes) {
+      writeVarLong(bytes.length);
+      ensureCapacity(bytes.length);
+      System.arraycopy(bytes, 0, buffer, size, bytes.length);
+      size += bytes.length;
+    }
+
+    byte[] toByteArray() {
+      return Arrays.copyOf(buffer, size);
+    }
+
+    private void ensureCapacity(final int additional) {
+      if (size + additional > buffer.length) {
+        buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + additional));
+      }
+    }
+  }
+}
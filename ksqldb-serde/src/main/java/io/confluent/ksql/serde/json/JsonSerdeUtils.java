@@ -56,13 +56,7 @@ public final class JsonSerdeUtils {
       final ObjectMapper mapper,
       final Class<? extends T> clazz
   ) throws IOException {
-    if (!hasMagicByte(jsonWithMagic)) {
-      // don't log contents of jsonWithMagic to avoid leaking data into the logs
-      throw new KsqlException(
-          "Got unexpected JSON serialization format that did not start with the magic byte. If "
-              + "this stream was not serialized using the JsonSchemaConverter, then make sure "
-              + "the stream is declared with JSON format (not JSON_SR).");
-    }
+    requireMagicByte(jsonWithMagic);
 
     return mapper.readValue(
         jsonWithMagic,
@@ -83,6 +77,16 @@ public final class JsonSerdeUtils {
     return json.length > 0 && json[0] == MAGIC_BYTE;
   }
 
+  static void requireMagicByte(@Nonnull final byte[] jsonWithMagic) {
+    if (!hasMagicByte(jsonWithMagic)) {
+      // don't log contents of jsonWithMagic to avoid leaking data into the logs
+      throw new KsqlException(
+          "Got unexpected JSON serialization format that did not start with the magic byte. If "
+              + "this stream was not serialized using the JsonSchemaConverter, then make sure "
+              + "the stream is declared with JSON format (not JSON_SR).");
+    }
+  }
+
   static PersistenceSchema validateSchema(final PersistenceSchema schema) {
 
     class SchemaValidator implements Visitor<Void, Void> {
@@ -15,6 +15,7 @@
 
 package io.confluent.ksql.serde.json;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -31,6 +32,7 @@ import io.confluent.ksql.schema.connect.SqlSchemaFormatter;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
 import io.confluent.ksql.util.DecimalUtil;
 import io.confluent.ksql.util.KsqlException;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -130,6 +132,14 @@ public class KsqlJsonDeserializer implements Deserializer<Object> {
     return MAPPER.reader();
   }
 
+  static JsonParser createParser(final byte[] bytes, final int offset) throws IOException {
+    return MAPPER.getFactory().createParser(bytes, offset, bytes.length - offset);
+  }
+
+  static Object coerce(final String path, final JsonNode value, final Schema schema) {
+    return enforceFieldType(path, new JsonValueContext(value, schema));
+  }
+
   private static Object enforceFieldType(
       final String pathPart,
       final JsonValueContext context
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.schema.ksql.PersistenceSchema;
+import io.confluent.ksql.serde.GenericRowSerDe;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Deserializes a wrapped JSON value straight into a {@link GenericRow}, materializing only the
+ * required fields.
+ *
+ * <p>The JSON is stream-parsed: the values of fields that are not required are skipped without
+ * being built into a tree, and are left {@code null} in the returned row. Required fields are
+ * matched and coerced exactly as {@link KsqlJsonDeserializer} would.
+ */
+final class KsqlJsonRowDeserializer implements Deserializer<GenericRow> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(KsqlJsonRowDeserializer.class);
+
+  private final Schema schema;
+  private final List<Field> fields;
+  private final Map<String, Integer> requiredFields;
+  private final boolean isJsonSchema;
+  private String target = "?";
+
+  KsqlJsonRowDeserializer(
+      final PersistenceSchema physicalSchema,
+      final Set<String> requiredFields,
+      final boolean isJsonSchema
+  ) {
+    if (physicalSchema.isUnwrapped()) {
+      throw new IllegalArgumentException("Only wrapped schemas are supported");
+    }
+
+    this.schema = JsonSerdeUtils.validateSchema(physicalSchema).serializedSchema();
+    this.fields = schema.fields();
+    this.requiredFields = requiredFieldIndexes(fields, requiredFields);
+    this.isJsonSchema = isJsonSchema;
+  }
+
+  @Override
+  public void configure(final Map<String, ?> map, final boolean isKey) {
+    this.target = isKey ? "key" : "value";
+  }
+
+  @Override
+  public GenericRow deserialize(final String topic, final byte[] bytes) {
+    try {
+      if (bytes == null) {
+        return null;
+      }
+
+      if (isJsonSchema) {
+        JsonSerdeUtils.requireMagicByte(bytes);
+      }
+
+      final int offset = isJsonSchema ? JsonSerdeUtils.SIZE_OF_SR_PREFIX : 0;
+
+      final GenericRow row;
+      try (JsonParser parser = KsqlJsonDeserializer.createParser(bytes, offset)) {
+        row = parseRow(parser);
+      }
+
+      if (LOG.isTraceEnabled()) {
+        LOG.trace("Deserialized {}. topic:{}, row:{}", target, topic, row);
+      }
+
+      return row;
+    } catch (final Exception e) {
+      throw new SerializationException(
+          "Failed to deserialize " + target + " from topic: " + topic, e);
+    }
+  }
+
+  @Override
+  public void close() {
+  }
+
+  private GenericRow parseRow(final JsonParser parser) throws IOException {
+    if (parser.nextToken() != JsonToken.START_OBJECT) {
+      // Anything other than an object is either null or invalid, in which case this throws:
+      final JsonNode value = parser.readValueAsTree();
+      KsqlJsonDeserializer.coerce("$", value, schema);
+      return null;
+    }
+
+    final JsonNode[] values = new JsonNode[fields.size()];
+    final boolean[] exactMatch = new boolean[fields.size()];
+
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final String name = parser.getCurrentName();
+      parser.nextToken();
+
+      // Matches the case insensitive strategy of KsqlJsonDeserializer: a field whose name
+      // matches exactly takes precedence over one whose upper-cased name matches:
+      final Integer exact = requiredFields.get(name);
+      if (exact != null) {
+        values[exact] = parser.readValueAsTree();
+        exactMatch[exact] = true;
+        continue;
+      }
+
+      final Integer upperCased = requiredFields.get(name.toUpperCase());
+      if (upperCased != null && !exactMatch[upperCased]) {
+        values[upperCased] = parser.readValueAsTree();
+        continue;
+      }
+
+      parser.skipChildren();
+    }
+
+    final GenericRow row = new GenericRow(fields.size() + GenericRowSerDe.ADDITIONAL_CAPACITY);
+    for (int idx = 0; idx < fields.size(); idx++) {
+      final JsonNode value = values[idx];
+      final Field field = fields.get(idx);
+      row.append(value == null
+          ? null
+          : KsqlJsonDeserializer.coerce("$." + field.name(), value, field.schema())
+      );
+    }
+
+    return row;
+  }
+
+  private static Map<String, Integer> requiredFieldIndexes(
+      final List<Field> fields,
+      final Set<String> requiredFields
+  ) {
+    Objects.requireNonNull(requiredFields, "requiredFields");
+
+    final ImmutableMap.Builder<String, Integer> builder = ImmutableMap.builder();
+    for (int idx = 0; idx < fields.size(); idx++) {
+      final String name = fields.get(idx).name();
+      if (requiredFields.contains(name)) {
+        builder.put(name, idx);
+      }
+    }
+
+    final Map<String, Integer> indexes = builder.build();
+    if (indexes.size() != requiredFields.size()) {
+      throw new IllegalArgumentException("Unknown required fields. "
+          + "required: " + requiredFields + ", schema: " + fields);
+    }
+    return indexes;
+  }
+}
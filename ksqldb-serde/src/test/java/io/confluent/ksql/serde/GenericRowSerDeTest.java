@@ -23,20 +23,25 @@ import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.SchemaNotSupportedException;
 import io.confluent.ksql.logging.processing.ProcessingLogContext;
 import io.confluent.ksql.logging.processing.ProcessingLogger;
 import io.confluent.ksql.logging.processing.ProcessingLoggerFactory;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
 import io.confluent.ksql.util.KsqlConfig;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
 import org.apache.kafka.common.errors.SerializationException;
 import org.apache.kafka.common.serialization.Deserializer;
@@ -102,6 +107,8 @@ public class GenericRowSerDeTest {
   private Deserializer<Object> delegateDeserializer;
   @Mock
   private SerdeFactories serdesFactories;
+  @Mock
+  private Deserializer<GenericRow> prunedDeserializer;
 
   private ValueSerdeFactory valueSerde;
 
@@ -528,6 +535,126 @@ public class GenericRowSerDeTest {
     assertThat(row, is(nullValue()));
   }
 
+  @Test
+  public void shouldUsePrunedDeserializerIfColumnsNotRequired() {
+    // Given:
+    when(serdesFactories.createPrunedRowDeserializer(any(), any(), any()))
+        .thenReturn(Optional.of(prunedDeserializer));
+    when(prunedDeserializer.deserialize(any(), any()))
+        .thenReturn(GenericRow.genericRow("str", null));
+
+    final Deserializer<GenericRow> deserializer =
+        givenSerdeForSchema(MUTLI_FIELD_SCHEMA, ImmutableSet.of(ColumnName.of("f0")))
+            .deserializer();
+
+    // When:
+    final GenericRow row = deserializer.deserialize(SOME_TOPIC, SOME_BYTES);
+
+    // Then:
+    verify(serdesFactories)
+        .createPrunedRowDeserializer(FORMAT, MUTLI_FIELD_SCHEMA, ImmutableSet.of("f0"));
+    verify(prunedDeserializer).deserialize(SOME_TOPIC, SOME_BYTES);
+    verify(delegateDeserializer, never()).deserialize(any(), any());
+    assertThat(row, is(GenericRow.genericRow("str", null)));
+  }
+
+  @Test
+  public void shouldNotPruneIfAllColumnsRequired() {
+    // When:
+    givenSerdeForSchema(
+        MUTLI_FIELD_SCHEMA,
+        ImmutableSet.of(ColumnName.of("f0"), ColumnName.of("f1"))
+    );
+
+    // Then:
+    verify(serdesFactories, never()).createPrunedRowDeserializer(any(), any(), any());
+  }
+
+  @Test
+  public void shouldNotPruneUnwrappedSchema() {
+    // When:
+    givenSerdeForSchema(UNWRAPPED_SINGLE_FIELD_SCHEMA, ImmutableSet.of());
+
+    // Then:
+    verify(serdesFactories, never()).createPrunedRowDeserializer(any(), any(), any());
+  }
+
+  @Test
+  public void shouldFallBackToFullDeserializerIfFormatCanNotPrune() {
+    // Given:
+    when(serdesFactories.createPrunedRowDeserializer(any(), any(), any()))
+        .thenReturn(Optional.empty());
+
+    final Deserializer<GenericRow> deserializer =
+        givenSerdeForSchema(MUTLI_FIELD_SCHEMA, ImmutableSet.of(ColumnName.of("f0")))
+            .deserializer();
+
+    // When:
+    deserializer.deserialize(SOME_TOPIC, SOME_BYTES);
+
+    // Then:
+    verify(delegateDeserializer).deserialize(SOME_TOPIC, SOME_BYTES);
+  }
+
+  @Test
+  public void shouldThrowIfRequiredColumnNotInSchema() {
+    // When:
+    final Exception e = assertThrows(
+        IllegalArgumentException.class,
+        () -> givenSerdeForSchema(MUTLI_FIELD_SCHEMA, ImmutableSet.of(ColumnName.of("f2")))
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString("Required columns not in schema."));
+  }
+
+  @Test
+  public void shouldCreateColumnReaderFromPrunedDeserializer() {
+    // Given:
+    when(serdesFactories.createPrunedRowDeserializer(any(), any(), any()))
+        .thenReturn(Optional.of(prunedDeserializer));
+
+    // When:
+    final Optional<Deserializer<GenericRow>> reader = valueSerde.createColumnReader(
+        FORMAT,
+        MUTLI_FIELD_SCHEMA,
+        ImmutableSet.of(ColumnName.of("f1"))
+    );
+
+    // Then:
+    verify(serdesFactories)
+        .createPrunedRowDeserializer(FORMAT, MUTLI_FIELD_SCHEMA, ImmutableSet.of("f1"));
+    assertThat(reader, is(Optional.of(prunedDeserializer)));
+  }
+
+  @Test
+  public void shouldNotCreateColumnReaderIfAllColumnsRead() {
+    // When:
+    final Optional<Deserializer<GenericRow>> reader = valueSerde.createColumnReader(
+        FORMAT,
+        MUTLI_FIELD_SCHEMA,
+        ImmutableSet.of(ColumnName.of("f0"), ColumnName.of("f1"))
+    );
+
+    // Then:
+    assertThat(reader, is(Optional.empty()));
+  }
+
+  private Serde<GenericRow> givenSerdeForSchema(
+      final PersistenceSchema schema,
+      final Set<ColumnName> requiredColumns
+  ) {
+    return valueSerde.create(
+        FORMAT,
+        schema,
+        ksqlConfig,
+        srClientFactory,
+        LOGGER_PREFIX,
+        processingContext,
+        requiredColumns
+    );
+  }
+
   private Serde<GenericRow> givenSerdeForSchema(final PersistenceSchema schema) {
     return valueSerde.create(
         FORMAT,
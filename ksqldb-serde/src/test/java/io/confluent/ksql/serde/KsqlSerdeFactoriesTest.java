@@ -29,15 +29,19 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.common.collect.ImmutableSet;
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
 import io.confluent.ksql.serde.avro.KsqlAvroSerdeFactory;
 import io.confluent.ksql.serde.delimited.KsqlDelimitedSerdeFactory;
 import io.confluent.ksql.serde.json.KsqlJsonSerdeFactory;
 import io.confluent.ksql.serde.kafka.KafkaSerdeFactory;
 import io.confluent.ksql.util.KsqlConfig;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serde;
 import org.junit.Before;
 import org.junit.Test;
@@ -64,6 +68,8 @@ public class KsqlSerdeFactoriesTest {
   private KsqlSerdeFactory ksqlSerdeFactory;
   @Mock
   private Serde<SomeType> serde;
+  @Mock
+  private Deserializer<GenericRow> rowDeserializer;
   private KsqlSerdeFactories factory;
 
   @Before
@@ -154,6 +160,24 @@ public class KsqlSerdeFactoriesTest {
     assertThat(result, is(serde));
   }
 
+  @Test
+  public void shouldCreatePrunedRowDeserializer() {
+    // Given:
+    when(ksqlSerdeFactory.createPrunedRowDeserializer(any(), any()))
+        .thenReturn(Optional.of(rowDeserializer));
+
+    // When:
+    final Optional<Deserializer<GenericRow>> result = factory.createPrunedRowDeserializer(
+        formatInfo,
+        schema,
+        ImmutableSet.of("f0")
+    );
+
+    // Then:
+    verify(ksqlSerdeFactory).createPrunedRowDeserializer(schema, ImmutableSet.of("f0"));
+    assertThat(result, is(Optional.of(rowDeserializer)));
+  }
+
   @Test
   public void shouldHandleAvro() {
     // When:
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.binary;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.schema.ksql.PersistenceSchema;
+import io.confluent.ksql.util.DecimalUtil;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.connect.data.ConnectSchema;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.junit.Test;
+
+public class KsqlBinarySerdeFactoryTest {
+
+  private static final Schema NESTED_SCHEMA = SchemaBuilder.struct()
+      .field("F0", Schema.OPTIONAL_STRING_SCHEMA)
+      .optional()
+      .build();
+
+  private static final ConnectSchema SCHEMA = (ConnectSchema) SchemaBuilder.struct()
+      .field("BOOL", Schema.OPTIONAL_BOOLEAN_SCHEMA)
+      .field("INT", Schema.OPTIONAL_INT32_SCHEMA)
+      .field("BIGINT", Schema.OPTIONAL_INT64_SCHEMA)
+      .field("DOUBLE", Schema.OPTIONAL_FLOAT64_SCHEMA)
+      .field("STRING", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("DECIMAL", DecimalUtil.builder(10, 2).optional().build())
+      .field("ARRAY", SchemaBuilder.array(Schema.OPTIONAL_INT64_SCHEMA).optional().build())
+      .field("MAP", SchemaBuilder
+          .map(Schema.OPTIONAL_STRING_SCHEMA, Schema.OPTIONAL_INT32_SCHEMA)
+          .optional()
+          .build())
+      .field("STRUCT", NESTED_SCHEMA)
+      .optional()
+      .build();
+
+  private static final PersistenceSchema PERSISTENCE_SCHEMA =
+      PersistenceSchema.from(SCHEMA, false);
+
+  private final Serde<Object> serde = new KsqlBinarySerdeFactory()
+      .createSerde(PERSISTENCE_SCHEMA, null, () -> null);
+
+  @Test
+  public void shouldRoundTripAllTypes() {
+    // Given:
+    final Struct row = new Struct(SCHEMA)
+        .put("BOOL", true)
+        .put("INT", -17)
+        .put("BIGINT", Long.MIN_VALUE)
+        .put("DOUBLE", 1.5d)
+        .put("STRING", "héllo")
+        .put("DECIMAL", new BigDecimal("-12345678.90"))
+        .put("ARRAY", ImmutableList.of(1L, 300L))
+        .put("MAP", ImmutableMap.of("a", 1, "b", 2))
+        .put("STRUCT", new Struct(NESTED_SCHEMA).put("F0", "nested"));
+
+    // When:
+    final Object result = roundTrip(row);
+
+    // Then:
+    assertThat(result, is(row));
+  }
+
+  @Test
+  public void shouldRoundTripNullFieldsAndElements() {
+    // Given:
+    final Struct row = new Struct(SCHEMA)
+        .put("ARRAY", Arrays.asList(null, 2L));
+
+    // When:
+    final Object result = roundTrip(row);
+
+    // Then:
+    assertThat(result, is(row));
+  }
+
+  @Test
+  public void shouldRescaleDecimalsToSchemaScale() {
+    // Given:
+    final Struct row = new Struct(SCHEMA)
+        .put("DECIMAL", new BigDecimal("1.5"));
+
+    // When:
+    final Struct result = (Struct) roundTrip(row);
+
+    // Then:
+    assertThat(result.get("DECIMAL"), is(new BigDecimal("1.50")));
+  }
+
+  @Test
+  public void shouldRoundTripUnwrappedValue() {
+    // Given:
+    final ConnectSchema schema = (ConnectSchema) SchemaBuilder.struct()
+        .field("BIGINT", Schema.OPTIONAL_INT64_SCHEMA)
+        .build();
+    final Serde<Object> unwrapped = new KsqlBinarySerdeFactory()
+        .createSerde(PersistenceSchema.from(schema, true), null, () -> null);
+
+    // When:
+    final Object result = unwrapped.deserializer()
+        .deserialize("t", unwrapped.serializer().serialize("t", 42L));
+
+    // Then:
+    assertThat(result, is(42L));
+  }
+
+  @Test
+  public void shouldHandleNullRow() {
+    assertThat(serde.serializer().serialize("t", null), is(nullValue()));
+    assertThat(serde.deserializer().deserialize("t", null), is(nullValue()));
+  }
+
+  @Test
+  public void shouldBeSmallerThanFieldNames() {
+    // Given:
+    final Struct row = new Struct(SCHEMA)
+        .put("INT", 1)
+        .put("BIGINT", 2L)
+        .put("STRING", "x");
+
+    // When:
+    final byte[] bytes = serde.serializer().serialize("t", row);
+
+    // Then:
+    assertThat(bytes.length, is(lessThan("INTBIGINTSTRING".getBytes(StandardCharsets.UTF_8).length)));
+  }
+
+  @Test
+  public void shouldThrowOnTruncatedData() {
+    // Given:
+    final byte[] bytes = serde.serializer().serialize("t", new Struct(SCHEMA).put("STRING", "abc"));
+    final byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+
+    // When:
+    assertThrows(
+        SerializationException.class,
+        () -> serde.deserializer().deserialize("t", truncated)
+    );
+  }
+
+  private Object roundTrip(final Struct row) {
+    final byte[] bytes = serde.serializer().serialize("t", row);
+    return serde.deserializer().deserialize("t", bytes);
+  }
+}
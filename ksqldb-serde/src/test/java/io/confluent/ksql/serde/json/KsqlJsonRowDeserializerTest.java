@@ -0,0 +1,225 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.json;
+
+import static io.confluent.ksql.GenericRow.genericRow;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThrows;
+import static org.junit.internal.matchers.ThrowableMessageMatcher.hasMessage;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.schema.ksql.PersistenceSchema;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.connect.data.ConnectSchema;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class KsqlJsonRowDeserializerTest {
+
+  private static final String SOME_TOPIC = "bob";
+
+  private static final Schema ORDER_SCHEMA = SchemaBuilder.struct()
+      .field("ORDERTIME", Schema.OPTIONAL_INT64_SCHEMA)
+      .field("ITEMID", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("ARRAYCOL", SchemaBuilder
+          .array(Schema.OPTIONAL_FLOAT64_SCHEMA)
+          .optional()
+          .build())
+      .field("MAPCOL", SchemaBuilder
+          .map(Schema.OPTIONAL_STRING_SCHEMA, Schema.OPTIONAL_FLOAT64_SCHEMA)
+          .optional()
+          .build())
+      .field("caseField", Schema.OPTIONAL_INT64_SCHEMA)
+      .build();
+
+  private static final String AN_ORDER = "{"
+      + "\"ordertime\": 1511897796092,"
+      + "\"itemid\": \"Item_1\","
+      + "\"arraycol\": [10.0, 20.0],"
+      + "\"mapcol\": {\"key1\": {\"nested\": [1, 2, 3]}},"
+      + "\"caseField\": 1,"
+      + "\"extraField\": {\"a\": [true, false]}"
+      + "}";
+
+  @Parameters(name = "{0}")
+  public static Collection<Object[]> data() {
+    return Arrays.asList(new Object[][]{{"Plain JSON", false}, {"Magic byte prefixed", true}});
+  }
+
+  @Parameter
+  public String suiteName;
+
+  @Parameter(1)
+  public boolean useSchemas;
+
+  @Test
+  public void shouldOnlyDeserializeRequiredFields() {
+    // Given:
+    final KsqlJsonRowDeserializer deserializer =
+        givenDeserializer(ImmutableSet.of("ORDERTIME", "ARRAYCOL"));
+
+    // When:
+    final GenericRow result = deserializer.deserialize(SOME_TOPIC, bytes(AN_ORDER));
+
+    // Then:
+    assertThat(result, is(genericRow(
+        1511897796092L, null, ImmutableList.of(10.0, 20.0), null, null)));
+  }
+
+  @Test
+  public void shouldSkipInvalidFieldsThatAreNotRequired() {
+    // Given:
+    final KsqlJsonRowDeserializer deserializer =
+        givenDeserializer(ImmutableSet.of("ITEMID"));
+
+    // When:
+    final GenericRow result = deserializer.deserialize(SOME_TOPIC, bytes(AN_ORDER));
+
+    // Then: MAPCOL's value is not a DOUBLE, but it is not required:
+    assertThat(result, is(genericRow(null, "Item_1", null, null, null)));
+  }
+
+  @Test
+  public void shouldMatchCaseSensitiveFieldExactly() {
+    // Given:
+    final KsqlJsonRowDeserializer deserializer =
+        givenDeserializer(ImmutableSet.of("caseField"));
+
+    // When:
+    final GenericRow result = deserializer.deserialize(SOME_TOPIC, bytes("{\"CASEFIELD\": 1}"));
+
+    // Then:
+    assertThat(result, is(genericRow(null, null, null, null, null)));
+  }
+
+  @Test
+  public void shouldPreferExactMatchOverUpperCasedMatch() {
+    // Given:
+    final KsqlJsonRowDeserializer deserializer =
+        givenDeserializer(ImmutableSet.of("ITEMID"));
+
+    // When:
+    final GenericRow result = deserializer
+        .deserialize(SOME_TOPIC, bytes("{\"ITEMID\": \"exact\", \"itemid\": \"lower\"}"));
+
+    // Then:
+    assertThat(result, is(genericRow(null, "exact", null, null, null)));
+  }
+
+  @Test
+  public void shouldDeserializeJsonNullAsNull() {
+    // Given:
+    final KsqlJsonRowDeserializer deserializer =
+        givenDeserializer(ImmutableSet.of("ITEMID"));
+
+    // When:
+    final GenericRow result = deserializer.deserialize(SOME_TOPIC, bytes("null"));
+
+    // Then:
+    assertThat(result, is(nullValue()));
+  }
+
+  @Test
+  public void shouldDeserializeNullAsNull() {
+    // Given:
+    final KsqlJsonRowDeserializer deserializer =
+        givenDeserializer(ImmutableSet.of("ITEMID"));
+
+    // Then:
+    assertThat(deserializer.deserialize(SOME_TOPIC, null), is(nullValue()));
+  }
+
+  @Test
+  public void shouldThrowIfNotAnObject() {
+    // Given:
+    final KsqlJsonRowDeserializer deserializer =
+        givenDeserializer(ImmutableSet.of("ITEMID"));
+
+    // When:
+    final Exception e = assertThrows(
+        SerializationException.class,
+        () -> deserializer.deserialize(SOME_TOPIC, bytes("true"))
+    );
+
+    // Then:
+    assertThat(e.getCause(), (hasMessage(containsString(
+        "Can't convert type. sourceType: BooleanNode, requiredType: STRUCT<ORDERTIME BIGINT"))));
+  }
+
+  @Test
+  public void shouldThrowIfRequiredFieldCanNotBeCoerced() {
+    // Given:
+    final KsqlJsonRowDeserializer deserializer =
+        givenDeserializer(ImmutableSet.of("ORDERTIME"));
+
+    // When:
+    final Exception e = assertThrows(
+        SerializationException.class,
+        () -> deserializer.deserialize(SOME_TOPIC, bytes("{\"ordertime\": true}"))
+    );
+
+    // Then:
+    assertThat(e.getCause(), (hasMessage(endsWith("path: $.ORDERTIME"))));
+  }
+
+  @Test
+  public void shouldThrowOnUnknownRequiredField() {
+    // When:
+    final Exception e = assertThrows(
+        IllegalArgumentException.class,
+        () -> givenDeserializer(ImmutableSet.of("ORDERTIME", "UNKNOWN"))
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString("Unknown required fields"));
+  }
+
+  private KsqlJsonRowDeserializer givenDeserializer(final Set<String> requiredFields) {
+    final PersistenceSchema schema = PersistenceSchema.from((ConnectSchema) ORDER_SCHEMA, false);
+    final KsqlJsonRowDeserializer deserializer =
+        new KsqlJsonRowDeserializer(schema, requiredFields, useSchemas);
+    deserializer.configure(ImmutableMap.of(), false);
+    return deserializer;
+  }
+
+  private byte[] bytes(final String json) {
+    final byte[] bytes = json.getBytes(UTF_8);
+    if (useSchemas) {
+      final byte[] prefix = {/*magic*/ 0x00, /*schema*/ 0x00, 0x00, 0x00, 0x01};
+      return ArrayUtils.addAll(prefix, bytes);
+    } else {
+      return bytes;
+    }
+  }
+}
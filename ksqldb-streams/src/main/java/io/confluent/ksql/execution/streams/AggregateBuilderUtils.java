@@ -37,6 +37,7 @@ final class AggregateBuilderUtils {
   private static final String MATERIALIZE_OP = "Materialize";
   private static final String WINDOW_SELECT_OP = "WindowSelect";
   private static final String TO_OUTPUT_SCHEMA_OP = "ToOutputSchema";
+  private static final String PRE_AGGREGATE_OP = "PreAggregate";
 
   private AggregateBuilderUtils() {
   }
@@ -59,6 +60,12 @@ final class AggregateBuilderUtils {
         .getQueryContext();
   }
 
+  static QueryContext preAggregateContext(final ExecutionStep<?> step) {
+    return Stacker.of(step.getProperties().getQueryContext())
+        .push(PRE_AGGREGATE_OP)
+        .getQueryContext();
+  }
+
   static Materialized<Struct, GenericRow, KeyValueStore<Bytes, byte[]>> buildMaterialized(
       final ExecutionStep<?> step,
       final LogicalSchema aggregateSchema,
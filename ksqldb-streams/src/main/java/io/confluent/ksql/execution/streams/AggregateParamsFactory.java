@@ -31,6 +31,7 @@ import io.confluent.ksql.schema.ksql.ColumnNames;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.schema.ksql.SystemColumns;
 import io.confluent.ksql.schema.ksql.types.SqlType;
+import io.confluent.ksql.util.KsqlException;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
@@ -60,9 +61,17 @@ public class AggregateParamsFactory {
       final LogicalSchema schema,
       final List<ColumnName> nonAggregateColumns,
       final FunctionRegistry functionRegistry,
-      final List<FunctionCall> functionList
+      final List<FunctionCall> functionList,
+      final int maxDistinctValues
   ) {
-    return create(schema, nonAggregateColumns, functionRegistry, functionList, true, false);
+    return create(
+        schema,
+        nonAggregateColumns,
+        functionRegistry,
+        functionList,
+        Optional.of(maxDistinctValues),
+        false
+    );
   }
 
   public AggregateParams create(
@@ -77,7 +86,7 @@ public class AggregateParamsFactory {
         nonAggregateColumns,
         functionRegistry,
         functionList,
-        false,
+        Optional.empty(),
         windowedAggregation
     );
   }
@@ -87,18 +96,19 @@ public class AggregateParamsFactory {
       final List<ColumnName> nonAggregateColumns,
       final FunctionRegistry functionRegistry,
       final List<FunctionCall> functionList,
-      final boolean table,
+      final Optional<Integer> tableMaxDistinctValues,
       final boolean windowedAggregation
   ) {
-    final List<KsqlAggregateFunction<?, ?, ?>> functions =
-        resolveAggregateFunctions(schema, functionRegistry, functionList);
+    final List<KsqlAggregateFunction<?, ?, ?>> functions = resolveAggregateFunctions(
+        schema, functionRegistry, functionList, tableMaxDistinctValues);
 
     final List<Supplier<?>> initialValueSuppliers = functions.stream()
         .map(KsqlAggregateFunction::getInitialValueSupplier)
         .collect(Collectors.toList());
 
     final Optional<KudafUndoAggregator> undoAggregator =
-        buildUndoAggregators(nonAggregateColumns.size(), table, functions);
+        buildUndoAggregators(nonAggregateColumns.size(), tableMaxDistinctValues.isPresent(),
+            functions);
 
     final LogicalSchema aggregateSchema =
         buildSchema(schema, nonAggregateColumns, functions, true, false);
@@ -134,7 +144,8 @@ public class AggregateParamsFactory {
   private static List<KsqlAggregateFunction<?, ?, ?>> resolveAggregateFunctions(
       final LogicalSchema schema,
       final FunctionRegistry functionRegistry,
-      final List<FunctionCall> functionList
+      final List<FunctionCall> functionList,
+      final Optional<Integer> tableMaxDistinctValues
   ) {
     return ImmutableList.copyOf(
         functionList.stream().map(
@@ -142,7 +153,19 @@ public class AggregateParamsFactory {
                 functionRegistry,
                 funcCall,
                 schema)
-        ).collect(Collectors.toList()));
+        ).map(function -> tableMaxDistinctValues.isPresent()
+            ? toTableAggregationFunction(function, tableMaxDistinctValues.get())
+            : function)
+            .collect(Collectors.toList()));
+  }
+
+  private static KsqlAggregateFunction<?, ?, ?> toTableAggregationFunction(
+      final KsqlAggregateFunction<?, ?, ?> function,
+      final int maxDistinctValues
+  ) {
+    return UdafUtil.resolveTableAggregationFunction(function, maxDistinctValues)
+        .orElseThrow(() -> new KsqlException("The aggregation function " + function.name().text()
+            + " cannot be applied to a table source, only to a stream source."));
   }
 
   private static LogicalSchema buildSchema(
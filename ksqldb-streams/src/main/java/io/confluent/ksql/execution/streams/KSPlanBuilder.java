@@ -16,11 +16,13 @@
 package io.confluent.ksql.execution.streams;
 
 import io.confluent.ksql.execution.builder.KsqlQueryBuilder;
+import io.confluent.ksql.execution.context.QueryContext;
 import io.confluent.ksql.execution.plan.KGroupedStreamHolder;
 import io.confluent.ksql.execution.plan.KGroupedTableHolder;
 import io.confluent.ksql.execution.plan.KStreamHolder;
 import io.confluent.ksql.execution.plan.KTableHolder;
 import io.confluent.ksql.execution.plan.PlanBuilder;
+import io.confluent.ksql.execution.plan.SourceStep;
 import io.confluent.ksql.execution.plan.StreamAggregate;
 import io.confluent.ksql.execution.plan.StreamFilter;
 import io.confluent.ksql.execution.plan.StreamFlatMap;
@@ -44,7 +46,13 @@ import io.confluent.ksql.execution.plan.TableTableJoin;
 import io.confluent.ksql.execution.plan.WindowedStreamSource;
 import io.confluent.ksql.execution.plan.WindowedTableSource;
 import io.confluent.ksql.execution.transform.sqlpredicate.SqlPredicate;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.util.KsqlConfig;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.kstream.Windowed;
 
@@ -57,6 +65,8 @@ public final class KSPlanBuilder implements PlanBuilder {
   private final SqlPredicateFactory sqlPredicateFactory;
   private final AggregateParamsFactory aggregateParamFactory;
   private final StreamsFactories streamsFactories;
+  private final Map<QueryContext, Set<ColumnName>> requiredSourceColumns = new HashMap<>();
+  private final Map<QueryContext, SourcePreFilter> sourcePreFilters = new HashMap<>();
 
   public KSPlanBuilder(final KsqlQueryBuilder queryBuilder) {
     this(
@@ -80,6 +90,12 @@ public final class KSPlanBuilder implements PlanBuilder {
   }
 
   public <K> KStreamHolder<K> visitStreamFilter(final StreamFilter<K> streamFilter) {
+    if (queryBuilder.getKsqlConfig()
+        .getBoolean(KsqlConfig.KSQL_QUERY_SOURCE_PREFILTER_ENABLE_CONFIG)) {
+      SourcePreFilter.of(streamFilter).ifPresent(preFilter -> sourcePreFilters
+          .putIfAbsent(preFilter.getSourceContext(), preFilter));
+    }
+
     final KStreamHolder<K> source = streamFilter.getSource().build(this);
     return StreamFilterBuilder.build(source, streamFilter, queryBuilder, sqlPredicateFactory);
   }
@@ -126,6 +142,12 @@ public final class KSPlanBuilder implements PlanBuilder {
   @Override
   public <K> KStreamHolder<K> visitStreamSelect(
       final StreamSelect<K> streamSelect) {
+    if (queryBuilder.getKsqlConfig()
+        .getBoolean(KsqlConfig.KSQL_QUERY_SOURCE_COLUMN_PRUNING_ENABLE_CONFIG)) {
+      RequiredSourceColumns.of(streamSelect).ifPresent(required -> requiredSourceColumns
+          .put(required.getSourceContext(), required.getColumns()));
+    }
+
     final KStreamHolder<K> source = streamSelect.getSource().build(this);
     return StreamSelectBuilder.build(source, streamSelect, queryBuilder);
   }
@@ -164,7 +186,9 @@ public final class KSPlanBuilder implements PlanBuilder {
     return SourceBuilder.buildStream(
         queryBuilder,
         streamSource,
-        streamsFactories.getConsumedFactory()
+        streamsFactories.getConsumedFactory(),
+        requiredColumns(streamSource),
+        preFilter(streamSource)
     );
   }
 
@@ -174,7 +198,9 @@ public final class KSPlanBuilder implements PlanBuilder {
     return SourceBuilder.buildWindowedStream(
         queryBuilder,
         windowedStreamSource,
-        streamsFactories.getConsumedFactory()
+        streamsFactories.getConsumedFactory(),
+        requiredColumns(windowedStreamSource),
+        preFilter(windowedStreamSource)
     );
   }
 
@@ -291,4 +317,13 @@ public final class KSPlanBuilder implements PlanBuilder {
     final KTableHolder<K> right = tableTableJoin.getRightSource().build(this);
     return TableTableJoinBuilder.build(left, right, tableTableJoin);
   }
+
+  private Optional<Set<ColumnName>> requiredColumns(final SourceStep<?> source) {
+    return Optional.ofNullable(
+        requiredSourceColumns.get(source.getProperties().getQueryContext()));
+  }
+
+  private Optional<SourcePreFilter> preFilter(final SourceStep<?> source) {
+    return Optional.ofNullable(sourcePreFilters.get(source.getProperties().getQueryContext()));
+  }
 }
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams;
+
+import static java.util.Objects.requireNonNull;
+
+import io.confluent.ksql.GenericRow;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.kstream.Aggregator;
+import org.apache.kafka.streams.kstream.Initializer;
+import org.apache.kafka.streams.kstream.Transformer;
+import org.apache.kafka.streams.processor.ProcessorContext;
+import org.apache.kafka.streams.processor.PunctuationType;
+import org.apache.kafka.streams.processor.To;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.KeyValueStore;
+
+/**
+ * Partially aggregates rows by their grouping key, before they are repartitioned.
+ *
+ * <p>Partial aggregates are held in a state store, so that they survive a failure, and are
+ * forwarded once {@code maxKeys} keys have been aggregated, or every {@code flushInterval}. The
+ * aggregation after the repartition merges the partial aggregates. So, where keys repeat, far
+ * fewer records are written to the repartition topic than there are input rows.
+ *
+ * <p>Each partial aggregate is forwarded with the latest timestamp of the rows it aggregates.
+ */
+final class PreAggregateTransformer
+    implements Transformer<Struct, GenericRow, KeyValue<Struct, GenericRow>> {
+
+  private final String storeName;
+  private final Initializer<GenericRow> initializer;
+  private final Aggregator<Struct, GenericRow, GenericRow> aggregator;
+  private final int maxKeys;
+  private final Duration flushInterval;
+  private final Map<Struct, Long> rowTimes = new HashMap<>();
+  private ProcessorContext context;
+  private KeyValueStore<Struct, GenericRow> store;
+
+  PreAggregateTransformer(
+      final String storeName,
+      final Initializer<GenericRow> initializer,
+      final Aggregator<Struct, GenericRow, GenericRow> aggregator,
+      final int maxKeys,
+      final Duration flushInterval
+  ) {
+    this.storeName = requireNonNull(storeName, "storeName");
+    this.initializer = requireNonNull(initializer, "initializer");
+    this.aggregator = requireNonNull(aggregator, "aggregator");
+    this.maxKeys = maxKeys;
+    this.flushInterval = requireNonNull(flushInterval, "flushInterval");
+
+    if (maxKeys <= 0) {
+      throw new IllegalArgumentException("maxKeys must be positive: " + maxKeys);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public void init(final ProcessorContext context) {
+    this.context = requireNonNull(context, "context");
+    this.store = (KeyValueStore<Struct, GenericRow>) context.getStateStore(storeName);
+
+    // Also forwards any partial aggregates restored from the store's changelog:
+    context.schedule(flushInterval, PunctuationType.WALL_CLOCK_TIME, ts -> flush());
+  }
+
+  @Override
+  public KeyValue<Struct, GenericRow> transform(final Struct key, final GenericRow value) {
+    if (key == null || value == null) {
+      // Grouping drops rows with a null key or value:
+      return null;
+    }
+
+    final GenericRow partial = store.get(key);
+    store.put(key, aggregator.apply(key, value, partial == null ? initializer.apply() : partial));
+    rowTimes.merge(key, context.timestamp(), Math::max);
+
+    if (rowTimes.size() >= maxKeys) {
+      flush();
+    }
+
+    return null;
+  }
+
+  @Override
+  public void close() {
+  }
+
+  private void flush() {
+    final List<KeyValue<Struct, GenericRow>> partials = new ArrayList<>();
+    try (KeyValueIterator<Struct, GenericRow> it = store.all()) {
+      while (it.hasNext()) {
+        partials.add(it.next());
+      }
+    }
+
+    for (final KeyValue<Struct, GenericRow> partial : partials) {
+      final long rowTime = rowTimes.getOrDefault(partial.key, context.timestamp());
+      context.forward(partial.key, partial.value, To.all().withTimestamp(rowTime));
+      store.delete(partial.key);
+    }
+
+    rowTimes.clear();
+  }
+}
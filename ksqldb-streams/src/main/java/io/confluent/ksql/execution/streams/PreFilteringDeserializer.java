@@ -0,0 +1,80 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams;
+
+import static java.util.Objects.requireNonNull;
+
+import io.confluent.ksql.GenericRow;
+import java.util.Map;
+import java.util.function.Predicate;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/**
+ * Deserializer that reads only the columns a {@link SourcePreFilter} references, and returns
+ * {@code null} for records the pre-filter rejects, without deserializing the rest of the value.
+ *
+ * <p>Stream sources treat a {@code null} value like any other, and the filter above the source
+ * drops it. Records the pre-filter accepts are deserialized in full by the delegate.
+ */
+final class PreFilteringDeserializer implements Deserializer<GenericRow> {
+
+  private final Deserializer<GenericRow> columnReader;
+  private final Predicate<GenericRow> preFilter;
+  private final Deserializer<GenericRow> delegate;
+
+  PreFilteringDeserializer(
+      final Deserializer<GenericRow> columnReader,
+      final Predicate<GenericRow> preFilter,
+      final Deserializer<GenericRow> delegate
+  ) {
+    this.columnReader = requireNonNull(columnReader, "columnReader");
+    this.preFilter = requireNonNull(preFilter, "preFilter");
+    this.delegate = requireNonNull(delegate, "delegate");
+  }
+
+  @Override
+  public void configure(final Map<String, ?> configs, final boolean isKey) {
+    columnReader.configure(configs, isKey);
+    delegate.configure(configs, isKey);
+  }
+
+  @Override
+  public GenericRow deserialize(final String topic, final byte[] bytes) {
+    if (bytes != null && rejects(topic, bytes)) {
+      return null;
+    }
+
+    return delegate.deserialize(topic, bytes);
+  }
+
+  @Override
+  public void close() {
+    columnReader.close();
+    delegate.close();
+  }
+
+  private boolean rejects(final String topic, final byte[] bytes) {
+    final GenericRow columns;
+    try {
+      columns = columnReader.deserialize(topic, bytes);
+    } catch (final RuntimeException e) {
+      // Leave the delegate to report, and log, the error:
+      return false;
+    }
+
+    return columns != null && !preFilter.test(columns);
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams;
+
+import io.confluent.ksql.execution.context.QueryContext;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.QualifiedColumnReferenceExp;
+import io.confluent.ksql.execution.expression.tree.TraversalExpressionVisitor;
+import io.confluent.ksql.execution.expression.tree.UnqualifiedColumnReferenceExp;
+import io.confluent.ksql.execution.plan.ExecutionStep;
+import io.confluent.ksql.execution.plan.SelectExpression;
+import io.confluent.ksql.execution.plan.SourceStep;
+import io.confluent.ksql.execution.plan.StreamFilter;
+import io.confluent.ksql.execution.plan.StreamSelect;
+import io.confluent.ksql.execution.plan.StreamSource;
+import io.confluent.ksql.execution.plan.WindowedStreamSource;
+import io.confluent.ksql.execution.timestamp.TimestampColumn;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.schema.ksql.Column;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Works out which value columns of a stream source a query needs to deserialize.
+ *
+ * <p>Only a stream source that is filtered and then projected can be pruned: the projection
+ * determines every column that steps further down the topology can see. Table sources are never
+ * pruned, as their values are materialized in full.
+ */
+final class RequiredSourceColumns {
+
+  private final QueryContext sourceContext;
+  private final Set<ColumnName> columns;
+
+  private RequiredSourceColumns(
+      final QueryContext sourceContext,
+      final Set<ColumnName> columns
+  ) {
+    this.sourceContext = sourceContext;
+    this.columns = columns;
+  }
+
+  /**
+   * @param select the projection.
+   * @return the columns required from the source below {@code select}, or empty if the source
+   *         can not be pruned or all its value columns are required.
+   */
+  static Optional<RequiredSourceColumns> of(final StreamSelect<?> select) {
+    final Set<ColumnName> referenced = new HashSet<>();
+    select.getSelectExpressions().stream()
+        .map(SelectExpression::getExpression)
+        .forEach(e -> addColumnRefs(e, referenced));
+
+    ExecutionStep<?> step = select.getSource();
+    while (step instanceof StreamFilter) {
+      final StreamFilter<?> filter = (StreamFilter<?>) step;
+      addColumnRefs(filter.getFilterExpression(), referenced);
+      step = filter.getSource();
+    }
+
+    if (!(step instanceof StreamSource || step instanceof WindowedStreamSource)) {
+      return Optional.empty();
+    }
+
+    final SourceStep<?> source = (SourceStep<?>) step;
+    source.getTimestampColumn()
+        .map(TimestampColumn::getColumn)
+        .ifPresent(referenced::add);
+
+    final List<ColumnName> valueColumns = source.getSourceSchema().value().stream()
+        .map(Column::name)
+        .collect(Collectors.toList());
+
+    final Set<ColumnName> required = valueColumns.stream()
+        .filter(referenced::contains)
+        .collect(Collectors.toSet());
+
+    if (required.size() == valueColumns.size()) {
+      return Optional.empty();
+    }
+
+    return Optional.of(new RequiredSourceColumns(
+        source.getProperties().getQueryContext(),
+        required
+    ));
+  }
+
+  QueryContext getSourceContext() {
+    return sourceContext;
+  }
+
+  Set<ColumnName> getColumns() {
+    return columns;
+  }
+
+  private static void addColumnRefs(final Expression expression, final Set<ColumnName> columns) {
+    new TraversalExpressionVisitor<Void>() {
+      @Override
+      public Void visitUnqualifiedColumnReference(
+          final UnqualifiedColumnReferenceExp node,
+          final Void context
+      ) {
+        columns.add(node.getColumnName());
+        return null;
+      }
+
+      @Override
+      public Void visitQualifiedColumnReference(
+          final QualifiedColumnReferenceExp node,
+          final Void context
+      ) {
+        columns.add(node.getColumnName());
+        return null;
+      }
+    }.process(expression, null);
+  }
+}
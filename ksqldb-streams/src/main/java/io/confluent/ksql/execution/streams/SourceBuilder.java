@@ -32,6 +32,7 @@ import io.confluent.ksql.execution.plan.WindowedTableSource;
 import io.confluent.ksql.execution.streams.timestamp.TimestampExtractionPolicy;
 import io.confluent.ksql.execution.streams.timestamp.TimestampExtractionPolicyFactory;
 import io.confluent.ksql.execution.timestamp.TimestampColumn;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.ksql.Column;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.schema.ksql.PhysicalSchema;
@@ -42,10 +43,14 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.config.ConfigException;
+import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
 import org.apache.kafka.common.utils.Bytes;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.Topology;
@@ -75,10 +80,26 @@ public final class SourceBuilder {
       final KsqlQueryBuilder queryBuilder,
       final StreamSource source,
       final ConsumedFactory consumedFactory
+  ) {
+    return buildStream(queryBuilder, source, consumedFactory, Optional.empty(), Optional.empty());
+  }
+
+  static KStreamHolder<Struct> buildStream(
+      final KsqlQueryBuilder queryBuilder,
+      final StreamSource source,
+      final ConsumedFactory consumedFactory,
+      final Optional<Set<ColumnName>> requiredColumns,
+      final Optional<SourcePreFilter> preFilter
   ) {
     final PhysicalSchema physicalSchema = getPhysicalSchema(source);
 
-    final Serde<GenericRow> valueSerde = getValueSerde(queryBuilder, source, physicalSchema);
+    final Serde<GenericRow> valueSerde = withPreFilter(
+        getValueSerde(queryBuilder, source, physicalSchema, requiredColumns),
+        queryBuilder,
+        source,
+        physicalSchema,
+        preFilter
+    );
 
     final Serde<Struct> keySerde = queryBuilder.buildKeySerde(
         source.getFormats().getKeyFormat(),
@@ -113,10 +134,32 @@ public final class SourceBuilder {
       final KsqlQueryBuilder queryBuilder,
       final WindowedStreamSource source,
       final ConsumedFactory consumedFactory
+  ) {
+    return buildWindowedStream(
+        queryBuilder,
+        source,
+        consumedFactory,
+        Optional.empty(),
+        Optional.empty()
+    );
+  }
+
+  static KStreamHolder<Windowed<Struct>> buildWindowedStream(
+      final KsqlQueryBuilder queryBuilder,
+      final WindowedStreamSource source,
+      final ConsumedFactory consumedFactory,
+      final Optional<Set<ColumnName>> requiredColumns,
+      final Optional<SourcePreFilter> preFilter
   ) {
     final PhysicalSchema physicalSchema = getPhysicalSchema(source);
 
-    final Serde<GenericRow> valueSerde = getValueSerde(queryBuilder, source, physicalSchema);
+    final Serde<GenericRow> valueSerde = withPreFilter(
+        getValueSerde(queryBuilder, source, physicalSchema, requiredColumns),
+        queryBuilder,
+        source,
+        physicalSchema,
+        preFilter
+    );
 
     final WindowInfo windowInfo = source.getWindowInfo();
     final Serde<Windowed<Struct>> keySerde = queryBuilder.buildKeySerde(
@@ -265,6 +308,57 @@ public final class SourceBuilder {
     );
   }
 
+  private static Serde<GenericRow> getValueSerde(
+      final KsqlQueryBuilder queryBuilder,
+      final SourceStep<?> streamSource,
+      final PhysicalSchema physicalSchema,
+      final Optional<Set<ColumnName>> requiredColumns
+  ) {
+    if (!requiredColumns.isPresent()) {
+      return getValueSerde(queryBuilder, streamSource, physicalSchema);
+    }
+
+    return queryBuilder.buildValueSerde(
+        streamSource.getFormats().getValueFormat(),
+        physicalSchema,
+        streamSource.getProperties().getQueryContext(),
+        requiredColumns.get()
+    );
+  }
+
+  private static Serde<GenericRow> withPreFilter(
+      final Serde<GenericRow> valueSerde,
+      final KsqlQueryBuilder queryBuilder,
+      final SourceStep<?> streamSource,
+      final PhysicalSchema physicalSchema,
+      final Optional<SourcePreFilter> preFilter
+  ) {
+    if (!preFilter.isPresent()) {
+      return valueSerde;
+    }
+
+    final Optional<Deserializer<GenericRow>> columnReader = queryBuilder.buildValueColumnReader(
+        streamSource.getFormats().getValueFormat(),
+        physicalSchema,
+        preFilter.get().getColumns()
+    );
+
+    if (!columnReader.isPresent()) {
+      return valueSerde;
+    }
+
+    final Predicate<GenericRow> predicate = preFilter.get().compile(
+        queryBuilder.getKsqlConfig(),
+        queryBuilder.getFunctionRegistry(),
+        queryBuilder.getProcessingLogger(preFilter.get().getFilterContext())
+    );
+
+    return Serdes.serdeFrom(
+        valueSerde.serializer(),
+        new PreFilteringDeserializer(columnReader.get(), predicate, valueSerde.deserializer())
+    );
+  }
+
   private static PhysicalSchema getPhysicalSchema(final SourceStep<?> streamSource) {
     return PhysicalSchema.from(
         streamSource.getSourceSchema(),
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.codegen.CodeGenRunner;
+import io.confluent.ksql.execution.codegen.ExpressionMetadata;
+import io.confluent.ksql.execution.context.QueryContext;
+import io.confluent.ksql.execution.expression.tree.ComparisonExpression;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.Literal;
+import io.confluent.ksql.execution.expression.tree.LogicalBinaryExpression;
+import io.confluent.ksql.execution.expression.tree.NullLiteral;
+import io.confluent.ksql.execution.expression.tree.QualifiedColumnReferenceExp;
+import io.confluent.ksql.execution.expression.tree.UnqualifiedColumnReferenceExp;
+import io.confluent.ksql.execution.plan.ExecutionStep;
+import io.confluent.ksql.execution.plan.SourceStep;
+import io.confluent.ksql.execution.plan.StreamFilter;
+import io.confluent.ksql.execution.plan.StreamSource;
+import io.confluent.ksql.execution.plan.WindowedStreamSource;
+import io.confluent.ksql.function.FunctionRegistry;
+import io.confluent.ksql.logging.processing.ProcessingLogger;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.schema.ksql.Column;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.schema.ksql.types.SqlBaseType;
+import io.confluent.ksql.util.KsqlConfig;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * The part of the filters directly above a stream source that can be evaluated against just the
+ * value columns it references, before the rest of the value is deserialized.
+ *
+ * <p>Only comparisons between a value column of a primitive type and a literal are included.
+ * Such a comparison is never true if the column is null, and the filters are a conjunction of
+ * their comparisons, so a record can be dropped if any comparison is not true. Records that pass
+ * are still filtered by the full filter expressions.
+ *
+ * <p>Sources with a timestamp column are never pre-filtered, as the timestamp is extracted from
+ * the value of every record.
+ */
+public final class SourcePreFilter {
+
+  private static final ImmutableSet<SqlBaseType> PRIMITIVE_TYPES = ImmutableSet.of(
+      SqlBaseType.BOOLEAN,
+      SqlBaseType.INTEGER,
+      SqlBaseType.BIGINT,
+      SqlBaseType.DECIMAL,
+      SqlBaseType.DOUBLE,
+      SqlBaseType.STRING
+  );
+
+  private final QueryContext sourceContext;
+  private final QueryContext filterContext;
+  private final LogicalSchema sourceSchema;
+  private final Expression expression;
+  private final ImmutableSet<ColumnName> columns;
+
+  private SourcePreFilter(
+      final QueryContext sourceContext,
+      final QueryContext filterContext,
+      final LogicalSchema sourceSchema,
+      final Expression expression,
+      final Set<ColumnName> columns
+  ) {
+    this.sourceContext = Objects.requireNonNull(sourceContext, "sourceContext");
+    this.filterContext = Objects.requireNonNull(filterContext, "filterContext");
+    this.sourceSchema = Objects.requireNonNull(sourceSchema, "sourceSchema");
+    this.expression = Objects.requireNonNull(expression, "expression");
+    this.columns = ImmutableSet.copyOf(columns);
+  }
+
+  /**
+   * @param filter the filter.
+   * @return the pre-filter for the source below {@code filter}, or empty if the source is not a
+   *         stream source or none of the filter can be evaluated before deserialization.
+   */
+  public static Optional<SourcePreFilter> of(final StreamFilter<?> filter) {
+    final List<Expression> conjuncts = new ArrayList<>();
+
+    ExecutionStep<?> step = filter;
+    while (step instanceof StreamFilter) {
+      final StreamFilter<?> streamFilter = (StreamFilter<?>) step;
+      addConjuncts(streamFilter.getFilterExpression(), conjuncts);
+      step = streamFilter.getSource();
+    }
+
+    if (!(step instanceof StreamSource || step instanceof WindowedStreamSource)) {
+      return Optional.empty();
+    }
+
+    final SourceStep<?> source = (SourceStep<?>) step;
+    if (source.getTimestampColumn().isPresent()) {
+      return Optional.empty();
+    }
+
+    final LogicalSchema schema = source.getSourceSchema();
+    final Set<ColumnName> columns = new HashSet<>();
+    Expression expression = null;
+
+    for (final Expression conjunct : conjuncts) {
+      final Optional<ColumnName> column = comparedColumn(conjunct, schema);
+      if (!column.isPresent()) {
+        continue;
+      }
+
+      columns.add(column.get());
+      expression = expression == null
+          ? conjunct
+          : LogicalBinaryExpression.and(expression, conjunct);
+    }
+
+    if (expression == null) {
+      return Optional.empty();
+    }
+
+    return Optional.of(new SourcePreFilter(
+        source.getProperties().getQueryContext(),
+        filter.getProperties().getQueryContext(),
+        schema,
+        expression,
+        columns
+    ));
+  }
+
+  public QueryContext getSourceContext() {
+    return sourceContext;
+  }
+
+  QueryContext getFilterContext() {
+    return filterContext;
+  }
+
+  public Expression getExpression() {
+    return expression;
+  }
+
+  Set<ColumnName> getColumns() {
+    return columns;
+  }
+
+  /**
+   * Compile the pre-filter.
+   *
+   * @param ksqlConfig the config.
+   * @param functionRegistry the function registry.
+   * @param processingLogger the logger to log evaluation errors to.
+   * @return a predicate that tests a row in which only the referenced columns are set.
+   */
+  Predicate<GenericRow> compile(
+      final KsqlConfig ksqlConfig,
+      final FunctionRegistry functionRegistry,
+      final ProcessingLogger processingLogger
+  ) {
+    final ExpressionMetadata evaluator = Iterables.getOnlyElement(
+        CodeGenRunner.compileExpressions(
+            Stream.of(expression),
+            "PreFilter",
+            sourceSchema,
+            ksqlConfig,
+            functionRegistry
+        ));
+
+    final String errorMsg = "Error evaluating pre-filter " + expression;
+
+    return row -> (Boolean) evaluator.evaluate(row, false, processingLogger, () -> errorMsg);
+  }
+
+  private static void addConjuncts(final Expression expression, final List<Expression> conjuncts) {
+    if (expression instanceof LogicalBinaryExpression
+        && ((LogicalBinaryExpression) expression).getType() == LogicalBinaryExpression.Type.AND) {
+      addConjuncts(((LogicalBinaryExpression) expression).getLeft(), conjuncts);
+      addConjuncts(((LogicalBinaryExpression) expression).getRight(), conjuncts);
+      return;
+    }
+
+    conjuncts.add(expression);
+  }
+
+  private static Optional<ColumnName> comparedColumn(
+      final Expression expression,
+      final LogicalSchema schema
+  ) {
+    if (!(expression instanceof ComparisonExpression)) {
+      return Optional.empty();
+    }
+
+    final ComparisonExpression comparison = (ComparisonExpression) expression;
+    if (comparison.getType() == ComparisonExpression.Type.IS_DISTINCT_FROM) {
+      // Unlike other comparisons, can be true if the column is null:
+      return Optional.empty();
+    }
+
+    if (isLiteral(comparison.getRight())) {
+      return valueColumn(comparison.getLeft(), schema);
+    }
+
+    if (isLiteral(comparison.getLeft())) {
+      return valueColumn(comparison.getRight(), schema);
+    }
+
+    return Optional.empty();
+  }
+
+  private static boolean isLiteral(final Expression expression) {
+    return expression instanceof Literal && !(expression instanceof NullLiteral);
+  }
+
+  private static Optional<ColumnName> valueColumn(
+      final Expression expression,
+      final LogicalSchema schema
+  ) {
+    final ColumnName name;
+    if (expression instanceof UnqualifiedColumnReferenceExp) {
+      name = ((UnqualifiedColumnReferenceExp) expression).getColumnName();
+    } else if (expression instanceof QualifiedColumnReferenceExp) {
+      name = ((QualifiedColumnReferenceExp) expression).getColumnName();
+    } else {
+      return Optional.empty();
+    }
+
+    return schema.findValueColumn(name)
+        .filter(column -> PRIMITIVE_TYPES.contains(column.type().baseType()))
+        .map(Column::name);
+  }
+}
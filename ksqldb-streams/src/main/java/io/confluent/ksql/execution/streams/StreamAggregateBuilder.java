@@ -15,13 +15,16 @@
 
 package io.confluent.ksql.execution.streams;
 
+import com.google.common.collect.ImmutableSet;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.execution.builder.KsqlQueryBuilder;
 import io.confluent.ksql.execution.context.QueryContext;
 import io.confluent.ksql.execution.function.udaf.KudafAggregator;
+import io.confluent.ksql.execution.function.udaf.KudafInitializer;
 import io.confluent.ksql.execution.materialization.MaterializationInfo;
 import io.confluent.ksql.execution.plan.Formats;
 import io.confluent.ksql.execution.plan.KGroupedStreamHolder;
+import io.confluent.ksql.execution.plan.KGroupedStreamHolder.KeyedStream;
 import io.confluent.ksql.execution.plan.KTableHolder;
 import io.confluent.ksql.execution.plan.KeySerdeFactory;
 import io.confluent.ksql.execution.plan.StreamAggregate;
@@ -38,22 +41,46 @@ import io.confluent.ksql.execution.windows.WindowVisitor;
 import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.schema.ksql.PhysicalSchema;
+import io.confluent.ksql.util.KsqlConfig;
+import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
 import org.apache.kafka.common.serialization.Serde;
 import org.apache.kafka.common.utils.Bytes;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.kstream.KGroupedStream;
+import org.apache.kafka.streams.kstream.KStream;
 import org.apache.kafka.streams.kstream.KTable;
 import org.apache.kafka.streams.kstream.Materialized;
+import org.apache.kafka.streams.kstream.Merger;
 import org.apache.kafka.streams.kstream.Named;
 import org.apache.kafka.streams.kstream.SessionWindows;
 import org.apache.kafka.streams.kstream.TimeWindows;
 import org.apache.kafka.streams.kstream.Window;
 import org.apache.kafka.streams.kstream.Windowed;
 import org.apache.kafka.streams.state.KeyValueStore;
+import org.apache.kafka.streams.state.Stores;
 
 public final class StreamAggregateBuilder {
+
+  /**
+   * The built-in aggregate functions whose merger gives the same result whatever order partial
+   * aggregates are merged in, so that rows can be partially aggregated before repartitioning.
+   *
+   * <p>Functions such as COLLECT_LIST and LATEST_BY_OFFSET depend on the order rows are
+   * processed in, and user defined functions make no promise either way, so neither qualify.
+   */
+  private static final ImmutableSet<String> COMBINABLE_FUNCTIONS = ImmutableSet.of(
+      "COUNT",
+      "SUM",
+      "AVG",
+      "MIN",
+      "MAX",
+      "TOPK",
+      "TOPKDISTINCT",
+      "COUNT_DISTINCT"
+  );
+
   private StreamAggregateBuilder() {
   }
 
@@ -99,11 +126,24 @@ public final class StreamAggregateBuilder {
 
     final KudafAggregator<Struct> aggregator = aggregateParams.getAggregator();
 
-    final KTable<Struct, GenericRow> aggregated = groupedStream.getGroupedStream().aggregate(
-        aggregateParams.getInitializer(),
-        aggregateParams.getAggregator(),
-        materialized
-    );
+    final KTable<Struct, GenericRow> aggregated = groupedStream.getKeyedStream()
+        .filter(keyedStream -> canCombine(aggregate))
+        .map(keyedStream -> {
+          // Aggregate the partial aggregates of the keyed stream by merging them, after the
+          // aggregate so far, as they cover later rows:
+          final Merger<Struct, GenericRow> merger = aggregator.getMerger();
+          return preAggregate(keyedStream, aggregate, aggregateParams, queryBuilder)
+              .aggregate(
+                  aggregateParams.getInitializer(),
+                  (key, partial, agg) -> merger.apply(key, agg, partial),
+                  materialized
+              );
+        })
+        .orElseGet(() -> groupedStream.getGroupedStream().aggregate(
+            aggregateParams.getInitializer(),
+            aggregateParams.getAggregator(),
+            materialized
+        ));
 
     final MaterializationInfo.Builder materializationBuilder =
         AggregateBuilderUtils.materializationInfoBuilder(
@@ -128,6 +168,59 @@ public final class StreamAggregateBuilder {
     );
   }
 
+  private static boolean canCombine(final StreamAggregate aggregate) {
+    return aggregate.getAggregationFunctions().stream()
+        .map(call -> call.getName().text().toUpperCase())
+        .allMatch(COMBINABLE_FUNCTIONS::contains);
+  }
+
+  private static KGroupedStream<Struct, GenericRow> preAggregate(
+      final KeyedStream keyedStream,
+      final StreamAggregate aggregate,
+      final AggregateParams aggregateParams,
+      final KsqlQueryBuilder queryBuilder
+  ) {
+    final LogicalSchema aggregateSchema = aggregateParams.getAggregateSchema();
+    final QueryContext queryContext = AggregateBuilderUtils.preAggregateContext(aggregate);
+    final Formats formats = aggregate.getInternalFormats();
+    final PhysicalSchema physicalSchema = PhysicalSchema.from(
+        aggregateSchema,
+        formats.getOptions()
+    );
+
+    final String storeName = StreamsUtil.buildOpName(queryContext);
+    final KsqlConfig ksqlConfig = queryBuilder.getKsqlConfig();
+    final int maxKeys = ksqlConfig
+        .getInt(KsqlConfig.KSQL_QUERY_AGGREGATE_COMBINE_MAX_KEYS_CONFIG);
+    final Duration flushInterval = Duration.ofMillis(ksqlConfig
+        .getLong(KsqlConfig.KSQL_QUERY_AGGREGATE_COMBINE_FLUSH_INTERVAL_MS_CONFIG));
+
+    queryBuilder.getStreamsBuilder().addStateStore(
+        Stores.keyValueStoreBuilder(
+            Stores.inMemoryKeyValueStore(storeName),
+            queryBuilder.buildKeySerde(formats.getKeyFormat(), physicalSchema, queryContext),
+            queryBuilder.buildValueSerde(formats.getValueFormat(), physicalSchema, queryContext)
+        ).withCachingEnabled()
+    );
+
+    final KudafInitializer initializer = aggregateParams.getInitializer();
+    final KudafAggregator<Struct> aggregator = aggregateParams.getAggregator();
+
+    final KStream<Struct, GenericRow> partials = keyedStream.getStream().transform(
+        () -> new PreAggregateTransformer(
+            storeName,
+            initializer,
+            aggregator,
+            maxKeys,
+            flushInterval
+        ),
+        Named.as(storeName),
+        storeName
+    );
+
+    return keyedStream.groupByKey(partials, aggregateSchema);
+  }
+
   public static KTableHolder<Windowed<Struct>> build(
       final KGroupedStreamHolder groupedStream,
       final StreamWindowedAggregate aggregate,
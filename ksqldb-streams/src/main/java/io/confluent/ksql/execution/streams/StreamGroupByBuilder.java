@@ -37,6 +37,8 @@ import org.apache.kafka.common.serialization.Serde;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.kstream.Grouped;
 import org.apache.kafka.streams.kstream.KGroupedStream;
+import org.apache.kafka.streams.kstream.KStream;
+import org.apache.kafka.streams.kstream.Named;
 
 public final class StreamGroupByBuilder {
 
@@ -100,6 +102,29 @@ public final class StreamGroupByBuilder {
     final GroupByParams params = paramsFactory
         .build(sourceSchema, groupBy, logger, queryBuilder.getKsqlConfig());
 
+    if (queryBuilder.getKsqlConfig()
+        .getBoolean(KsqlConfig.KSQL_QUERY_AGGREGATE_COMBINE_ENABLE_CONFIG)) {
+      // Key the stream, but leave grouping to the aggregation, which may combine rows first:
+      final KStream<Struct, GenericRow> keyedStream = stream.getStream()
+          .filter((k, v) -> v != null)
+          .selectKey(
+              (k, v) -> params.getMapper().apply(v),
+              Named.as(StreamsUtil.buildOpName(queryContext))
+          );
+
+      return KGroupedStreamHolder.of(
+          keyedStream,
+          params.getSchema(),
+          (toGroup, schema) -> toGroup.groupByKey(buildGrouped(
+              formats,
+              schema,
+              queryContext,
+              queryBuilder,
+              groupedFactory
+          ))
+      );
+    }
+
     final Grouped<Struct, GenericRow> grouped = buildGrouped(
         formats,
         params.getSchema(),
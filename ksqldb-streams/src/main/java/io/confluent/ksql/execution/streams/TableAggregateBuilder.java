@@ -25,6 +25,7 @@ import io.confluent.ksql.execution.plan.TableAggregate;
 import io.confluent.ksql.execution.streams.transform.KsTransformer;
 import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.util.KsqlConfig;
 import java.util.List;
 import org.apache.kafka.common.utils.Bytes;
 import org.apache.kafka.connect.data.Struct;
@@ -64,7 +65,9 @@ public final class TableAggregateBuilder {
         sourceSchema,
         nonFuncColumns,
         queryBuilder.getFunctionRegistry(),
-        aggregate.getAggregationFunctions()
+        aggregate.getAggregationFunctions(),
+        queryBuilder.getKsqlConfig().getInt(
+            KsqlConfig.KSQL_QUERY_TABLE_AGGREGATE_MAX_DISTINCT_VALUES_CONFIG)
     );
     final LogicalSchema aggregateSchema = aggregateParams.getAggregateSchema();
     final LogicalSchema resultSchema = aggregateParams.getSchema();
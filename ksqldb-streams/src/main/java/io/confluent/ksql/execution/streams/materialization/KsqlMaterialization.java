@@ -17,6 +17,7 @@ package io.confluent.ksql.execution.streams.materialization;
 
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableList.Builder;
 import com.google.common.collect.Range;
@@ -28,6 +29,7 @@ import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import org.apache.kafka.connect.data.Struct;
 
 /**
@@ -140,6 +142,65 @@ class KsqlMaterialization implements Materialization {
               .map(v -> row.withValue(v, schema()))
           );
     }
+
+    @Override
+    public List<Row> getBatch(final List<Struct> keys) {
+      final Builder<Row> builder = ImmutableList.builder();
+
+      for (final Row row : table.getBatch(keys)) {
+        filterAndTransform(row.key(), row.value(), row.rowTime())
+            .ifPresent(v -> builder.add(row.withValue(v, schema())));
+      }
+
+      return builder.build();
+    }
+
+    @Override
+    public CloseableIterator<Row> range(final int partition, final Struct from, final Struct to) {
+      return new TransformingIterator<>(table.range(partition, from, to), this::transform);
+    }
+
+    @Override
+    public CloseableIterator<Row> all(final int partition) {
+      return new TransformingIterator<>(table.all(partition), this::transform);
+    }
+
+    private Optional<Row> transform(final Row row) {
+      return filterAndTransform(row.key(), row.value(), row.rowTime())
+          .map(v -> row.withValue(v, schema()));
+    }
+  }
+
+  private static final class TransformingIterator<T>
+      extends AbstractIterator<T>
+      implements CloseableIterator<T> {
+
+    private final CloseableIterator<T> inner;
+    private final Function<T, Optional<T>> transform;
+
+    private TransformingIterator(
+        final CloseableIterator<T> inner,
+        final Function<T, Optional<T>> transform
+    ) {
+      this.inner = requireNonNull(inner, "inner");
+      this.transform = requireNonNull(transform, "transform");
+    }
+
+    @Override
+    protected T computeNext() {
+      while (inner.hasNext()) {
+        final Optional<T> row = transform.apply(inner.next());
+        if (row.isPresent()) {
+          return row.get();
+        }
+      }
+      return endOfData();
+    }
+
+    @Override
+    public void close() {
+      inner.close();
+    }
   }
 
   final class KsqlMaterializedWindowedTable implements MaterializedWindowedTable {
@@ -163,6 +224,19 @@ class KsqlMaterialization implements Materialization {
 
       return builder.build();
     }
+
+    @Override
+    public CloseableIterator<WindowedRow> fetch(
+        final Struct key,
+        final Range<Instant> windowStart
+    ) {
+      return new TransformingIterator<>(table.fetch(key, windowStart), this::transform);
+    }
+
+    private Optional<WindowedRow> transform(final WindowedRow row) {
+      return filterAndTransform(row.windowedKey(), row.value(), row.rowTime())
+          .map(v -> row.withValue(v, schema()));
+    }
   }
 }
 
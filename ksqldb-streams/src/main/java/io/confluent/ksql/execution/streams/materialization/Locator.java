@@ -19,6 +19,7 @@ import io.confluent.ksql.execution.streams.RoutingFilter.RoutingFilterFactory;
 import io.confluent.ksql.execution.streams.RoutingOptions;
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.apache.kafka.connect.data.Struct;
 
@@ -45,6 +46,18 @@ public interface Locator {
       RoutingFilterFactory routingFilterFactory
   );
 
+  /**
+   * Locate which KSQL nodes store each partition of the materialized data.
+   *
+   * <p>Used by queries that must scan the whole table, rather than look up specific keys.
+   *
+   * @return the list of nodes that can potentially serve each partition, keyed by partition.
+   */
+  Map<Integer, List<KsqlNode>> locatePartitions(
+      RoutingOptions routingOptions,
+      RoutingFilterFactory routingFilterFactory
+  );
+
   interface KsqlNode {
 
     /**
@@ -15,6 +15,7 @@
 
 package io.confluent.ksql.execution.streams.materialization;
 
+import java.util.List;
 import java.util.Optional;
 import org.apache.kafka.connect.data.Struct;
 
@@ -30,4 +31,40 @@ public interface MaterializedTable {
    * @return the value, if one is exists.
    */
   Optional<Row> get(Struct key);
+
+  /**
+   * Get the values, if any exist, of the supplied {@code keys}.
+   *
+   * <p>Implementations should look up all the keys in a single pass over the store.
+   *
+   * @param keys the keys to look up.
+   * @return the values that exist, in the order of the supplied keys.
+   */
+  List<Row> getBatch(List<Struct> keys);
+
+  /**
+   * Scan the rows in the supplied {@code partition} whose keys are between {@code from} and
+   * {@code to}, inclusive.
+   *
+   * <p>Bounds are compared, and rows returned, in the order of the serialized key. This matches
+   * the natural order of {@code STRING} keys, but not of numeric keys.
+   *
+   * <p>The returned iterator must be closed.
+   *
+   * @param partition the partition to scan.
+   * @param from the lower bound of the keys to return.
+   * @param to the upper bound of the keys to return.
+   * @return an iterator over the rows within the bounds.
+   */
+  CloseableIterator<Row> range(int partition, Struct from, Struct to);
+
+  /**
+   * Scan all the rows in the supplied {@code partition}.
+   *
+   * <p>The returned iterator must be closed.
+   *
+   * @param partition the partition to scan.
+   * @return an iterator over all the rows in the partition.
+   */
+  CloseableIterator<Row> all(int partition);
 }
@@ -34,4 +34,18 @@ public interface MaterializedWindowedTable {
    * @return the rows for the key that exist within the range.
    */
   List<WindowedRow> get(Struct key, Range<Instant> windowStart);
+
+  /**
+   * Lazily read the values in table of the supplied {@code key}, where the window start time is
+   * within the supplied {@code lower} and {@code upper} bounds.
+   *
+   * <p>Unlike {@link #get}, rows are read from the store as the returned iterator is advanced,
+   * so lookups over long window ranges need not hold all of their rows in memory at once.
+   *
+   * @param key the key to look up.
+   * @param windowStart the bounds on the window's start time.
+   * @return an iterator over the rows for the key that exist within the range, which must be
+   *         closed once finished with.
+   */
+  CloseableIterator<WindowedRow> fetch(Struct key, Range<Instant> windowStart);
 }
@@ -19,6 +19,7 @@ import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.errorprone.annotations.Immutable;
 import io.confluent.ksql.execution.streams.RoutingFilter;
 import io.confluent.ksql.execution.streams.RoutingFilter.RoutingFilterFactory;
@@ -29,8 +30,10 @@ import io.confluent.ksql.util.KsqlHostInfo;
 import java.net.URI;
 import java.net.URL;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.kafka.common.serialization.Serializer;
@@ -84,6 +87,51 @@ final class KsLocator implements Locator {
           "KeyQueryMetadata not available for state store %s and key %s", stateStoreName, key));
     }
 
+    return filterHosts(metadata, routingOptions, routingFilterFactory);
+  }
+
+  @Override
+  public Map<Integer, List<KsqlNode>> locatePartitions(
+      final RoutingOptions routingOptions,
+      final RoutingFilterFactory routingFilterFactory
+  ) {
+    // Streams only exposes partition metadata by key. A partitioner that ignores the key and
+    // returns the required partition is used to look up each partition in turn. The first
+    // lookup also captures the number of partitions the store has.
+    final AtomicInteger numPartitions = new AtomicInteger(1);
+    final ImmutableMap.Builder<Integer, List<KsqlNode>> partitions = ImmutableMap.builder();
+
+    for (int partition = 0; partition < numPartitions.get(); partition++) {
+      final int required = partition;
+      final KeyQueryMetadata metadata = kafkaStreams.queryMetadataForKey(
+          stateStoreName,
+          stateStoreName,
+          (topic, key, value, count) -> {
+            numPartitions.set(count);
+            return required;
+          }
+      );
+
+      // Fail fast if Streams not ready. Let client handle it
+      if (metadata == null || metadata == KeyQueryMetadata.NOT_AVAILABLE) {
+        LOG.debug("KeyQueryMetadata not available for state store {} and partition {}",
+            stateStoreName, partition);
+        throw new MaterializationException(String.format(
+            "KeyQueryMetadata not available for state store %s and partition %d",
+            stateStoreName, partition));
+      }
+
+      partitions.put(partition, filterHosts(metadata, routingOptions, routingFilterFactory));
+    }
+
+    return partitions.build();
+  }
+
+  private List<KsqlNode> filterHosts(
+      final KeyQueryMetadata metadata,
+      final RoutingOptions routingOptions,
+      final RoutingFilterFactory routingFilterFactory
+  ) {
     final HostInfo activeHost = metadata.getActiveHost();
     final Set<HostInfo> standByHosts = metadata.getStandbyHosts();
 
@@ -15,10 +15,11 @@
 
 package io.confluent.ksql.execution.streams.materialization.ks;
 
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableList.Builder;
 import com.google.common.collect.Range;
 import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.streams.materialization.CloseableIterator;
 import io.confluent.ksql.execution.streams.materialization.MaterializationException;
 import io.confluent.ksql.execution.streams.materialization.MaterializedWindowedTable;
 import io.confluent.ksql.execution.streams.materialization.WindowedRow;
@@ -47,45 +48,65 @@ class KsMaterializedSessionTable implements MaterializedWindowedTable {
   public List<WindowedRow> get(
       final Struct key,
       final Range<Instant> windowStart
+  ) {
+    try (CloseableIterator<WindowedRow> it = fetch(key, windowStart)) {
+      return ImmutableList.copyOf(it);
+    }
+  }
+
+  @Override
+  public CloseableIterator<WindowedRow> fetch(
+      final Struct key,
+      final Range<Instant> windowStart
   ) {
     try {
       final ReadOnlySessionStore<Struct, GenericRow> store = stateStore
           .store(QueryableStoreTypes.sessionStore());
 
-      return findSession(store, key, windowStart);
+      return new SessionIterator(windowStart, store.fetch(key));
     } catch (final Exception e) {
       throw new MaterializationException("Failed to get value from materialized table", e);
     }
   }
 
-  private List<WindowedRow> findSession(
-      final ReadOnlySessionStore<Struct, GenericRow> store,
-      final Struct key,
-      final Range<Instant> windowStart
-  ) {
-    try (KeyValueIterator<Windowed<Struct>, GenericRow> it = store.fetch(key)) {
+  private final class SessionIterator
+      extends AbstractIterator<WindowedRow>
+      implements CloseableIterator<WindowedRow> {
 
-      final Builder<WindowedRow> builder = ImmutableList.builder();
+    private final Range<Instant> windowStart;
+    private final KeyValueIterator<Windowed<Struct>, GenericRow> inner;
 
-      while (it.hasNext()) {
-        final KeyValue<Windowed<Struct>, GenericRow> next = it.next();
+    private SessionIterator(
+        final Range<Instant> windowStart,
+        final KeyValueIterator<Windowed<Struct>, GenericRow> inner
+    ) {
+      this.windowStart = Objects.requireNonNull(windowStart, "windowStart");
+      this.inner = Objects.requireNonNull(inner, "inner");
+    }
+
+    @Override
+    protected WindowedRow computeNext() {
+      while (inner.hasNext()) {
+        final KeyValue<Windowed<Struct>, GenericRow> next = inner.next();
 
         if (windowStart.contains(next.key.window().startTime())) {
 
           final long rowTime = next.key.window().end();
 
-          final WindowedRow row = WindowedRow.of(
+          return WindowedRow.of(
               stateStore.schema(),
               next.key,
               next.value,
               rowTime
           );
-
-          builder.add(row);
         }
       }
+      return endOfData();
+    }
 
-      return builder.build();
+    @Override
+    public void close() {
+      inner.close();
     }
   }
 }
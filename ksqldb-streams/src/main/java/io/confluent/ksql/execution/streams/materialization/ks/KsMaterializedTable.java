@@ -15,13 +15,18 @@
 
 package io.confluent.ksql.execution.streams.materialization.ks;
 
+import com.google.common.collect.ImmutableList;
 import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.streams.materialization.CloseableIterator;
 import io.confluent.ksql.execution.streams.materialization.MaterializationException;
 import io.confluent.ksql.execution.streams.materialization.MaterializedTable;
 import io.confluent.ksql.execution.streams.materialization.Row;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.state.KeyValueIterator;
 import org.apache.kafka.streams.state.QueryableStoreTypes;
 import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
 import org.apache.kafka.streams.state.ValueAndTimestamp;
@@ -51,4 +56,78 @@ class KsMaterializedTable implements MaterializedTable {
       throw new MaterializationException("Failed to get value from materialized table", e);
     }
   }
+
+  @Override
+  public List<Row> getBatch(
+      final List<Struct> keys
+  ) {
+    try {
+      final ReadOnlyKeyValueStore<Struct, ValueAndTimestamp<GenericRow>> store = stateStore
+          .store(QueryableStoreTypes.timestampedKeyValueStore());
+
+      final ImmutableList.Builder<Row> rows = ImmutableList.builder();
+      for (final Struct key : keys) {
+        final ValueAndTimestamp<GenericRow> value = store.get(key);
+        if (value != null) {
+          rows.add(Row.of(stateStore.schema(), key, value.value(), value.timestamp()));
+        }
+      }
+      return rows.build();
+    } catch (final Exception e) {
+      throw new MaterializationException("Failed to get values from materialized table", e);
+    }
+  }
+
+  @Override
+  public CloseableIterator<Row> range(
+      final int partition,
+      final Struct from,
+      final Struct to
+  ) {
+    try {
+      return new RowIterator(store(partition).range(from, to));
+    } catch (final Exception e) {
+      throw new MaterializationException("Failed to scan materialized table", e);
+    }
+  }
+
+  @Override
+  public CloseableIterator<Row> all(final int partition) {
+    try {
+      return new RowIterator(store(partition).all());
+    } catch (final Exception e) {
+      throw new MaterializationException("Failed to scan materialized table", e);
+    }
+  }
+
+  private ReadOnlyKeyValueStore<Struct, ValueAndTimestamp<GenericRow>> store(
+      final int partition
+  ) {
+    return stateStore.store(QueryableStoreTypes.timestampedKeyValueStore(), partition);
+  }
+
+  private final class RowIterator implements CloseableIterator<Row> {
+
+    private final KeyValueIterator<Struct, ValueAndTimestamp<GenericRow>> inner;
+
+    private RowIterator(final KeyValueIterator<Struct, ValueAndTimestamp<GenericRow>> inner) {
+      this.inner = Objects.requireNonNull(inner, "inner");
+    }
+
+    @Override
+    public boolean hasNext() {
+      return inner.hasNext();
+    }
+
+    @Override
+    public Row next() {
+      final KeyValue<Struct, ValueAndTimestamp<GenericRow>> next = inner.next();
+      return Row.of(stateStore.schema(), next.key, next.value.value(), next.value.timestamp());
+    }
+
+    @Override
+    public void close() {
+      inner.close();
+    }
+  }
 }
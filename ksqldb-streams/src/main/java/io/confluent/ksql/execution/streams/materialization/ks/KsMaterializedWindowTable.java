@@ -15,10 +15,11 @@
 
 package io.confluent.ksql.execution.streams.materialization.ks;
 
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableList.Builder;
 import com.google.common.collect.Range;
 import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.streams.materialization.CloseableIterator;
 import io.confluent.ksql.execution.streams.materialization.MaterializationException;
 import io.confluent.ksql.execution.streams.materialization.MaterializedWindowedTable;
 import io.confluent.ksql.execution.streams.materialization.WindowedRow;
@@ -52,6 +53,16 @@ class KsMaterializedWindowTable implements MaterializedWindowedTable {
   public List<WindowedRow> get(
       final Struct key,
       final Range<Instant> windowStartBounds
+  ) {
+    try (CloseableIterator<WindowedRow> it = fetch(key, windowStartBounds)) {
+      return ImmutableList.copyOf(it);
+    }
+  }
+
+  @Override
+  public CloseableIterator<WindowedRow> fetch(
+      final Struct key,
+      final Range<Instant> windowStartBounds
   ) {
     try {
       final ReadOnlyWindowStore<Struct, ValueAndTimestamp<GenericRow>> store = stateStore
@@ -65,36 +76,57 @@ class KsMaterializedWindowTable implements MaterializedWindowedTable {
           ? windowStartBounds.upperEndpoint()
           : Instant.ofEpochMilli(Long.MAX_VALUE);
 
-      try (WindowStoreIterator<ValueAndTimestamp<GenericRow>> it = store.fetch(key, lower, upper)) {
-
-        final Builder<WindowedRow> builder = ImmutableList.builder();
+      return new WindowedRowIterator(key, windowStartBounds, store.fetch(key, lower, upper));
+    } catch (final Exception e) {
+      throw new MaterializationException("Failed to get value from materialized table", e);
+    }
+  }
 
-        while (it.hasNext()) {
-          final KeyValue<Long, ValueAndTimestamp<GenericRow>> next = it.next();
-          final Instant windowStart = Instant.ofEpochMilli(next.key);
+  private final class WindowedRowIterator
+      extends AbstractIterator<WindowedRow>
+      implements CloseableIterator<WindowedRow> {
+
+    private final Struct key;
+    private final Range<Instant> windowStartBounds;
+    private final WindowStoreIterator<ValueAndTimestamp<GenericRow>> inner;
+
+    private WindowedRowIterator(
+        final Struct key,
+        final Range<Instant> windowStartBounds,
+        final WindowStoreIterator<ValueAndTimestamp<GenericRow>> inner
+    ) {
+      this.key = Objects.requireNonNull(key, "key");
+      this.windowStartBounds = Objects.requireNonNull(windowStartBounds, "windowStartBounds");
+      this.inner = Objects.requireNonNull(inner, "inner");
+    }
 
-          if (windowStartBounds.contains(windowStart)) {
+    @Override
+    protected WindowedRow computeNext() {
+      while (inner.hasNext()) {
+        final KeyValue<Long, ValueAndTimestamp<GenericRow>> next = inner.next();
+        final Instant windowStart = Instant.ofEpochMilli(next.key);
 
-            final Instant windowEnd = windowStart.plus(windowSize);
+        if (windowStartBounds.contains(windowStart)) {
 
-            final TimeWindow window =
-                new TimeWindow(windowStart.toEpochMilli(), windowEnd.toEpochMilli());
+          final Instant windowEnd = windowStart.plus(windowSize);
 
-            final WindowedRow row = WindowedRow.of(
-                stateStore.schema(),
-                new Windowed<>(key, window),
-                next.value.value(),
-                next.value.timestamp()
-            );
+          final TimeWindow window =
+              new TimeWindow(windowStart.toEpochMilli(), windowEnd.toEpochMilli());
 
-            builder.add(row);
-          }
+          return WindowedRow.of(
+              stateStore.schema(),
+              new Windowed<>(key, window),
+              next.value.value(),
+              next.value.timestamp()
+          );
         }
-
-        return builder.build();
       }
-    } catch (final Exception e) {
-      throw new MaterializationException("Failed to get value from materialized table", e);
+      return endOfData();
+    }
+
+    @Override
+    public void close() {
+      inner.close();
     }
   }
 }
@@ -66,6 +66,7 @@ public class AggregateParamsFactoryTest {
   );
   private static final String INITIAL_VALUE1 = "initial";
   private static final List<FunctionCall> FUNCTIONS = ImmutableList.of(AGG0, AGG1);
+  private static final int MAX_DISTINCT_VALUES = 100;
 
   @Mock
   private FunctionRegistry functionRegistry;
@@ -130,7 +131,8 @@ public class AggregateParamsFactoryTest {
         INPUT_SCHEMA,
         NON_AGG_COLUMNS,
         functionRegistry,
-        ImmutableList.of(TABLE_AGG)
+        ImmutableList.of(TABLE_AGG),
+        MAX_DISTINCT_VALUES
     );
 
     // Then:
@@ -174,7 +176,8 @@ public class AggregateParamsFactoryTest {
         INPUT_SCHEMA,
         NON_AGG_COLUMNS,
         functionRegistry,
-        ImmutableList.of(TABLE_AGG)
+        ImmutableList.of(TABLE_AGG),
+        MAX_DISTINCT_VALUES
     );
 
     // When:
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.confluent.ksql.GenericRow;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.kstream.Aggregator;
+import org.apache.kafka.streams.kstream.Initializer;
+import org.apache.kafka.streams.processor.ProcessorContext;
+import org.apache.kafka.streams.processor.PunctuationType;
+import org.apache.kafka.streams.processor.Punctuator;
+import org.apache.kafka.streams.processor.To;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PreAggregateTransformerTest {
+
+  private static final String STORE_NAME = "agg-PreAggregate";
+  private static final Duration FLUSH_INTERVAL = Duration.ofSeconds(1);
+
+  @Mock
+  private Initializer<GenericRow> initializer;
+  @Mock
+  private Aggregator<Struct, GenericRow, GenericRow> aggregator;
+  @Mock
+  private ProcessorContext context;
+  @Mock
+  private KeyValueStore<Struct, GenericRow> store;
+  @Mock
+  private Struct key0;
+  @Mock
+  private Struct key1;
+  @Mock
+  private GenericRow row;
+  @Mock
+  private GenericRow initial;
+  @Mock
+  private GenericRow partial0;
+  @Mock
+  private GenericRow partial1;
+  @Captor
+  private ArgumentCaptor<Punctuator> punctuatorCaptor;
+
+  private PreAggregateTransformer transformer;
+
+  @Before
+  public void setUp() {
+    when(context.getStateStore(STORE_NAME)).thenReturn(store);
+
+    transformer = new PreAggregateTransformer(
+        STORE_NAME,
+        initializer,
+        aggregator,
+        2,
+        FLUSH_INTERVAL
+    );
+
+    transformer.init(context);
+  }
+
+  @Test
+  public void shouldScheduleFlush() {
+    // Then:
+    verify(context).schedule(eq(FLUSH_INTERVAL), eq(PunctuationType.WALL_CLOCK_TIME), any());
+  }
+
+  @Test
+  public void shouldAggregateNewKeyFromInitialValue() {
+    // Given:
+    when(initializer.apply()).thenReturn(initial);
+    when(aggregator.apply(key0, row, initial)).thenReturn(partial0);
+
+    // When:
+    final KeyValue<Struct, GenericRow> result = transformer.transform(key0, row);
+
+    // Then:
+    assertThat(result, is(nullValue()));
+    verify(store).put(key0, partial0);
+    verify(context, never()).forward(any(), any(), any(To.class));
+  }
+
+  @Test
+  public void shouldAggregateExistingKeyFromPartialAggregate() {
+    // Given:
+    when(store.get(key0)).thenReturn(partial0);
+    when(aggregator.apply(key0, row, partial0)).thenReturn(partial1);
+
+    // When:
+    transformer.transform(key0, row);
+
+    // Then:
+    verify(store).put(key0, partial1);
+    verify(initializer, never()).apply();
+  }
+
+  @Test
+  public void shouldIgnoreNullKeys() {
+    // When:
+    transformer.transform(null, row);
+
+    // Then:
+    verify(store, never()).put(any(), any());
+  }
+
+  @Test
+  public void shouldForwardPartialAggregatesOnceMaxKeysAggregated() {
+    // Given:
+    when(initializer.apply()).thenReturn(initial);
+    when(aggregator.apply(any(), any(), any())).thenReturn(partial0);
+    when(context.timestamp()).thenReturn(10L, 20L, 15L);
+    givenStoreContains(KeyValue.pair(key0, partial0), KeyValue.pair(key1, partial1));
+
+    // When:
+    transformer.transform(key0, row);
+    transformer.transform(key1, row);
+
+    // Then:
+    verify(context).forward(key0, partial0, To.all().withTimestamp(10L));
+    verify(context).forward(key1, partial1, To.all().withTimestamp(20L));
+    verify(store).delete(key0);
+    verify(store).delete(key1);
+  }
+
+  @Test
+  public void shouldForwardPartialAggregatesWithLatestRowTime() {
+    // Given:
+    when(initializer.apply()).thenReturn(initial);
+    when(aggregator.apply(any(), any(), any())).thenReturn(partial0);
+    when(context.timestamp()).thenReturn(30L, 20L);
+    transformer.transform(key0, row);
+    transformer.transform(key0, row);
+    givenStoreContains(KeyValue.pair(key0, partial0));
+
+    // When:
+    punctuate();
+
+    // Then:
+    verify(context).forward(key0, partial0, To.all().withTimestamp(30L));
+  }
+
+  @Test
+  public void shouldForwardRestoredPartialAggregatesOnPunctuation() {
+    // Given:
+    when(context.timestamp()).thenReturn(50L);
+    givenStoreContains(KeyValue.pair(key1, partial1));
+
+    // When:
+    punctuate();
+
+    // Then:
+    verify(context).forward(key1, partial1, To.all().withTimestamp(50L));
+    verify(store).delete(key1);
+  }
+
+  @SafeVarargs
+  private final void givenStoreContains(final KeyValue<Struct, GenericRow>... entries) {
+    final Iterator<KeyValue<Struct, GenericRow>> it = Arrays.asList(entries).iterator();
+    @SuppressWarnings("unchecked")
+    final KeyValueIterator<Struct, GenericRow> storeIt = mock(KeyValueIterator.class);
+    when(storeIt.hasNext()).thenAnswer(inv -> it.hasNext());
+    when(storeIt.next()).thenAnswer(inv -> it.next());
+    when(store.all()).thenReturn(storeIt);
+  }
+
+  private void punctuate() {
+    verify(context).schedule(any(Duration.class), any(), punctuatorCaptor.capture());
+    punctuatorCaptor.getValue().punctuate(0L);
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.confluent.ksql.GenericRow;
+import java.util.function.Predicate;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PreFilteringDeserializerTest {
+
+  private static final String TOPIC = "topic";
+  private static final byte[] BYTES = new byte[]{0, 1, 2};
+  private static final GenericRow COLUMNS = GenericRow.genericRow("purchase", null);
+  private static final GenericRow ROW = GenericRow.genericRow("purchase", 10L);
+
+  @Mock
+  private Deserializer<GenericRow> columnReader;
+  @Mock
+  private Predicate<GenericRow> preFilter;
+  @Mock
+  private Deserializer<GenericRow> delegate;
+
+  private PreFilteringDeserializer deserializer;
+
+  @Before
+  public void setUp() {
+    deserializer = new PreFilteringDeserializer(columnReader, preFilter, delegate);
+  }
+
+  @Test
+  public void shouldDeserializeRecordsThePreFilterAccepts() {
+    // Given:
+    when(columnReader.deserialize(TOPIC, BYTES)).thenReturn(COLUMNS);
+    when(preFilter.test(COLUMNS)).thenReturn(true);
+    when(delegate.deserialize(TOPIC, BYTES)).thenReturn(ROW);
+
+    // When:
+    final GenericRow result = deserializer.deserialize(TOPIC, BYTES);
+
+    // Then:
+    assertThat(result, is(ROW));
+  }
+
+  @Test
+  public void shouldNotDeserializeRecordsThePreFilterRejects() {
+    // Given:
+    when(columnReader.deserialize(TOPIC, BYTES)).thenReturn(COLUMNS);
+    when(preFilter.test(COLUMNS)).thenReturn(false);
+
+    // When:
+    final GenericRow result = deserializer.deserialize(TOPIC, BYTES);
+
+    // Then:
+    assertThat(result, is(nullValue()));
+    verify(delegate, never()).deserialize(any(), any());
+  }
+
+  @Test
+  public void shouldNotPreFilterNullValues() {
+    // When:
+    deserializer.deserialize(TOPIC, null);
+
+    // Then:
+    verify(columnReader, never()).deserialize(any(), any());
+    verify(delegate).deserialize(TOPIC, null);
+  }
+
+  @Test
+  public void shouldLeaveDelegateToHandleErrorsReadingColumns() {
+    // Given:
+    when(columnReader.deserialize(TOPIC, BYTES)).thenThrow(new SerializationException("Boom"));
+    when(delegate.deserialize(TOPIC, BYTES)).thenReturn(ROW);
+
+    // When:
+    final GenericRow result = deserializer.deserialize(TOPIC, BYTES);
+
+    // Then:
+    verify(preFilter, never()).test(any());
+    assertThat(result, is(ROW));
+  }
+}
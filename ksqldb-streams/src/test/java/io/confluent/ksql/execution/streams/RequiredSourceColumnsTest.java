@@ -0,0 +1,205 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import io.confluent.ksql.execution.context.QueryContext;
+import io.confluent.ksql.execution.expression.tree.ComparisonExpression;
+import io.confluent.ksql.execution.expression.tree.ComparisonExpression.Type;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.IntegerLiteral;
+import io.confluent.ksql.execution.expression.tree.UnqualifiedColumnReferenceExp;
+import io.confluent.ksql.execution.plan.ExecutionStep;
+import io.confluent.ksql.execution.plan.ExecutionStepPropertiesV1;
+import io.confluent.ksql.execution.plan.Formats;
+import io.confluent.ksql.execution.plan.KStreamHolder;
+import io.confluent.ksql.execution.plan.SelectExpression;
+import io.confluent.ksql.execution.plan.StreamFilter;
+import io.confluent.ksql.execution.plan.StreamSelect;
+import io.confluent.ksql.execution.plan.StreamSource;
+import io.confluent.ksql.execution.timestamp.TimestampColumn;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.schema.ksql.SystemColumns;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import io.confluent.ksql.serde.FormatFactory;
+import io.confluent.ksql.serde.FormatInfo;
+import io.confluent.ksql.serde.SerdeOption;
+import java.util.Optional;
+import org.apache.kafka.connect.data.Struct;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RequiredSourceColumnsTest {
+
+  private static final ColumnName COL0 = ColumnName.of("COL0");
+  private static final ColumnName COL1 = ColumnName.of("COL1");
+  private static final ColumnName COL2 = ColumnName.of("COL2");
+  private static final ColumnName COL3 = ColumnName.of("COL3");
+
+  private static final LogicalSchema SCHEMA = LogicalSchema.builder()
+      .keyColumn(SystemColumns.ROWKEY_NAME, SqlTypes.STRING)
+      .valueColumn(COL0, SqlTypes.BIGINT)
+      .valueColumn(COL1, SqlTypes.STRING)
+      .valueColumn(COL2, SqlTypes.STRING)
+      .valueColumn(COL3, SqlTypes.BIGINT)
+      .build();
+
+  private static final QueryContext SOURCE_CTX =
+      new QueryContext.Stacker().push("source").getQueryContext();
+
+  private static final ExecutionStepPropertiesV1 PROPERTIES =
+      new ExecutionStepPropertiesV1(new QueryContext.Stacker().push("other").getQueryContext());
+
+  @Mock
+  private ExecutionStep<KStreamHolder<Struct>> otherStep;
+
+  @Test
+  public void shouldRequireColumnsReferencedBySelect() {
+    // Given:
+    final StreamSelect<Struct> select = select(source(Optional.empty()), ref(COL1), ref(COL3));
+
+    // When:
+    final Optional<RequiredSourceColumns> result = RequiredSourceColumns.of(select);
+
+    // Then:
+    assertThat(result.map(RequiredSourceColumns::getSourceContext), is(Optional.of(SOURCE_CTX)));
+    assertThat(result.map(RequiredSourceColumns::getColumns),
+        is(Optional.of(ImmutableSet.of(COL1, COL3))));
+  }
+
+  @Test
+  public void shouldRequireColumnsReferencedByFilters() {
+    // Given:
+    final StreamSelect<Struct> select = select(
+        filter(filter(source(Optional.empty()), COL0), COL2),
+        ref(COL1)
+    );
+
+    // When:
+    final Optional<RequiredSourceColumns> result = RequiredSourceColumns.of(select);
+
+    // Then:
+    assertThat(result.map(RequiredSourceColumns::getColumns),
+        is(Optional.of(ImmutableSet.of(COL0, COL1, COL2))));
+  }
+
+  @Test
+  public void shouldRequireTimestampColumn() {
+    // Given:
+    final StreamSelect<Struct> select = select(
+        source(Optional.of(new TimestampColumn(COL0, Optional.empty()))),
+        ref(COL1)
+    );
+
+    // When:
+    final Optional<RequiredSourceColumns> result = RequiredSourceColumns.of(select);
+
+    // Then:
+    assertThat(result.map(RequiredSourceColumns::getColumns),
+        is(Optional.of(ImmutableSet.of(COL0, COL1))));
+  }
+
+  @Test
+  public void shouldIgnoreColumnsThatAreNotSourceValueColumns() {
+    // Given:
+    final StreamSelect<Struct> select = select(
+        source(Optional.empty()),
+        ref(COL1),
+        ref(SystemColumns.ROWKEY_NAME),
+        ref(SystemColumns.ROWTIME_NAME)
+    );
+
+    // When:
+    final Optional<RequiredSourceColumns> result = RequiredSourceColumns.of(select);
+
+    // Then:
+    assertThat(result.map(RequiredSourceColumns::getColumns),
+        is(Optional.of(ImmutableSet.of(COL1))));
+  }
+
+  @Test
+  public void shouldNotPruneIfAllColumnsRequired() {
+    // Given:
+    final StreamSelect<Struct> select = select(
+        source(Optional.empty()), ref(COL0), ref(COL1), ref(COL2), ref(COL3));
+
+    // When:
+    final Optional<RequiredSourceColumns> result = RequiredSourceColumns.of(select);
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldNotPruneIfNotSelectingFromSource() {
+    // Given:
+    final StreamSelect<Struct> select = select(filter(otherStep, COL0), ref(COL1));
+
+    // When:
+    final Optional<RequiredSourceColumns> result = RequiredSourceColumns.of(select);
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+  }
+
+  private static StreamSource source(final Optional<TimestampColumn> timestampColumn) {
+    return new StreamSource(
+        new ExecutionStepPropertiesV1(SOURCE_CTX),
+        "topic",
+        Formats.of(
+            FormatInfo.of(FormatFactory.KAFKA.name()),
+            FormatInfo.of(FormatFactory.JSON.name()),
+            SerdeOption.none()
+        ),
+        timestampColumn,
+        SCHEMA
+    );
+  }
+
+  private static StreamFilter<Struct> filter(
+      final ExecutionStep<KStreamHolder<Struct>> source,
+      final ColumnName column
+  ) {
+    return new StreamFilter<>(
+        PROPERTIES,
+        source,
+        new ComparisonExpression(Type.EQUAL, ref(column), new IntegerLiteral(1))
+    );
+  }
+
+  private static StreamSelect<Struct> select(
+      final ExecutionStep<KStreamHolder<Struct>> source,
+      final Expression... expressions
+  ) {
+    final ImmutableList.Builder<SelectExpression> selects = ImmutableList.builder();
+    for (int i = 0; i < expressions.length; i++) {
+      selects.add(SelectExpression.of(ColumnName.of("ALIAS" + i), expressions[i]));
+    }
+    return new StreamSelect<>(PROPERTIES, source, selects.build());
+  }
+
+  private static Expression ref(final ColumnName column) {
+    return new UnqualifiedColumnReferenceExp(column);
+  }
+}
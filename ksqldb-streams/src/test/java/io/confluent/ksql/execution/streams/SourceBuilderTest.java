@@ -18,6 +18,7 @@ package io.confluent.ksql.execution.streams;
 import static io.confluent.ksql.GenericRow.genericRow;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
@@ -31,21 +32,28 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.execution.builder.KsqlQueryBuilder;
 import io.confluent.ksql.execution.context.QueryContext;
 import io.confluent.ksql.execution.context.QueryContext.Stacker;
+import io.confluent.ksql.execution.expression.tree.ComparisonExpression;
+import io.confluent.ksql.execution.expression.tree.ComparisonExpression.Type;
+import io.confluent.ksql.execution.expression.tree.StringLiteral;
+import io.confluent.ksql.execution.expression.tree.UnqualifiedColumnReferenceExp;
 import io.confluent.ksql.execution.plan.ExecutionStepPropertiesV1;
 import io.confluent.ksql.execution.plan.Formats;
 import io.confluent.ksql.execution.plan.KStreamHolder;
 import io.confluent.ksql.execution.plan.KTableHolder;
 import io.confluent.ksql.execution.plan.PlanBuilder;
 import io.confluent.ksql.execution.plan.SourceStep;
+import io.confluent.ksql.execution.plan.StreamFilter;
 import io.confluent.ksql.execution.plan.StreamSource;
 import io.confluent.ksql.execution.plan.TableSource;
 import io.confluent.ksql.execution.plan.WindowedStreamSource;
 import io.confluent.ksql.execution.plan.WindowedTableSource;
 import io.confluent.ksql.execution.timestamp.TimestampColumn;
+import io.confluent.ksql.function.FunctionRegistry;
 import io.confluent.ksql.logging.processing.ProcessingLogger;
 import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
@@ -60,7 +68,9 @@ import java.util.Optional;
 import java.util.Set;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serializer;
 import org.apache.kafka.common.utils.Bytes;
 import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.SchemaBuilder;
@@ -170,10 +180,16 @@ public class SourceBuilderTest {
   private Materialized<Object, GenericRow, KeyValueStore<Bytes, byte[]>> materialized;
   @Mock
   private ProcessingLogger processingLogger;
+  @Mock
+  private FunctionRegistry functionRegistry;
+  @Mock
+  private Deserializer<GenericRow> columnReader;
   @Captor
   private ArgumentCaptor<ValueTransformerWithKeySupplier<?, GenericRow, GenericRow>> transformSupplierCaptor;
   @Captor
   private ArgumentCaptor<TimestampExtractor> timestampExtractorCaptor;
+  @Captor
+  private ArgumentCaptor<Serde<GenericRow>> valueSerdeCaptor;
   private final GenericRow row = genericRow("baz", 123);
   private PlanBuilder planBuilder;
 
@@ -644,6 +660,92 @@ public class SourceBuilderTest {
     verify(materializationFactory).create(keySerde, valueSerde, "base-Reduce");
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldPreFilterStreamValuesIfFormatCanReadColumns() {
+    // Given:
+    final StreamSource source = new StreamSource(
+        new ExecutionStepPropertiesV1(ctx),
+        TOPIC_NAME,
+        Formats.of(keyFormatInfo, valueFormatInfo, SERDE_OPTIONS),
+        Optional.empty(),
+        SOURCE_SCHEMA
+    );
+    final SourcePreFilter preFilter = SourcePreFilter.of(new StreamFilter<>(
+        new ExecutionStepPropertiesV1(ctx),
+        source,
+        new ComparisonExpression(
+            Type.EQUAL,
+            new UnqualifiedColumnReferenceExp(ColumnName.of("field1")),
+            new StringLiteral("a")
+        )
+    )).get();
+
+    when(queryBuilder.getFunctionRegistry()).thenReturn(functionRegistry);
+    when(queryBuilder.buildValueColumnReader(any(), any(), any()))
+        .thenReturn(Optional.of(columnReader));
+    when(valueSerde.serializer()).thenReturn(mock(Serializer.class));
+    when(valueSerde.deserializer()).thenReturn(mock(Deserializer.class));
+    when(consumedFactory.create(eq(keySerde), any())).thenReturn(consumed);
+    when(consumed.withTimestampExtractor(any())).thenReturn(consumed);
+    when(consumed.withOffsetResetPolicy(any())).thenReturn(consumed);
+
+    // When:
+    SourceBuilder.buildStream(
+        queryBuilder,
+        source,
+        consumedFactory,
+        Optional.empty(),
+        Optional.of(preFilter)
+    );
+
+    // Then:
+    verify(queryBuilder).buildValueColumnReader(
+        valueFormatInfo,
+        PHYSICAL_SCHEMA,
+        ImmutableSet.of(ColumnName.of("field1"))
+    );
+    verify(consumedFactory).create(eq(keySerde), valueSerdeCaptor.capture());
+    assertThat(valueSerdeCaptor.getValue().deserializer(),
+        instanceOf(PreFilteringDeserializer.class));
+  }
+
+  @Test
+  public void shouldNotPreFilterStreamValuesIfFormatCanNotReadColumns() {
+    // Given:
+    final StreamSource source = new StreamSource(
+        new ExecutionStepPropertiesV1(ctx),
+        TOPIC_NAME,
+        Formats.of(keyFormatInfo, valueFormatInfo, SERDE_OPTIONS),
+        Optional.empty(),
+        SOURCE_SCHEMA
+    );
+    final SourcePreFilter preFilter = SourcePreFilter.of(new StreamFilter<>(
+        new ExecutionStepPropertiesV1(ctx),
+        source,
+        new ComparisonExpression(
+            Type.EQUAL,
+            new UnqualifiedColumnReferenceExp(ColumnName.of("field1")),
+            new StringLiteral("a")
+        )
+    )).get();
+
+    when(queryBuilder.buildValueColumnReader(any(), any(), any())).thenReturn(Optional.empty());
+    givenConsumed(consumed, keySerde);
+
+    // When:
+    SourceBuilder.buildStream(
+        queryBuilder,
+        source,
+        consumedFactory,
+        Optional.empty(),
+        Optional.of(preFilter)
+    );
+
+    // Then:
+    verify(consumedFactory).create(keySerde, valueSerde);
+  }
+
   @SuppressWarnings("unchecked")
   private <K> ValueTransformerWithKey<K, GenericRow, GenericRow> getTransformerFromStreamSource(
       final SourceStep<?> streamSource
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import com.google.common.collect.ImmutableSet;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.context.QueryContext;
+import io.confluent.ksql.execution.expression.tree.ComparisonExpression;
+import io.confluent.ksql.execution.expression.tree.ComparisonExpression.Type;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.IntegerLiteral;
+import io.confluent.ksql.execution.expression.tree.LogicalBinaryExpression;
+import io.confluent.ksql.execution.expression.tree.StringLiteral;
+import io.confluent.ksql.execution.expression.tree.UnqualifiedColumnReferenceExp;
+import io.confluent.ksql.execution.plan.ExecutionStep;
+import io.confluent.ksql.execution.plan.ExecutionStepPropertiesV1;
+import io.confluent.ksql.execution.plan.Formats;
+import io.confluent.ksql.execution.plan.KStreamHolder;
+import io.confluent.ksql.execution.plan.StreamFilter;
+import io.confluent.ksql.execution.plan.StreamSource;
+import io.confluent.ksql.execution.timestamp.TimestampColumn;
+import io.confluent.ksql.function.FunctionRegistry;
+import io.confluent.ksql.logging.processing.ProcessingLogger;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.schema.ksql.SystemColumns;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import io.confluent.ksql.serde.FormatFactory;
+import io.confluent.ksql.serde.FormatInfo;
+import io.confluent.ksql.serde.SerdeOption;
+import io.confluent.ksql.util.KsqlConfig;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.function.Predicate;
+import org.apache.kafka.connect.data.Struct;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SourcePreFilterTest {
+
+  private static final ColumnName COL0 = ColumnName.of("COL0");
+  private static final ColumnName COL1 = ColumnName.of("COL1");
+  private static final ColumnName COL2 = ColumnName.of("COL2");
+
+  private static final LogicalSchema SCHEMA = LogicalSchema.builder()
+      .keyColumn(SystemColumns.ROWKEY_NAME, SqlTypes.STRING)
+      .valueColumn(COL0, SqlTypes.BIGINT)
+      .valueColumn(COL1, SqlTypes.STRING)
+      .valueColumn(COL2, SqlTypes.array(SqlTypes.STRING))
+      .build();
+
+  private static final QueryContext SOURCE_CTX =
+      new QueryContext.Stacker().push("source").getQueryContext();
+
+  private static final QueryContext FILTER_CTX =
+      new QueryContext.Stacker().push("filter").getQueryContext();
+
+  private static final Expression COL0_GT_10 =
+      new ComparisonExpression(Type.GREATER_THAN, ref(COL0), new IntegerLiteral(10));
+
+  private static final Expression COL1_IS_PURCHASE =
+      new ComparisonExpression(Type.EQUAL, new StringLiteral("purchase"), ref(COL1));
+
+  @Mock
+  private ExecutionStep<KStreamHolder<Struct>> otherStep;
+  @Mock
+  private FunctionRegistry functionRegistry;
+  @Mock
+  private ProcessingLogger processingLogger;
+
+  @Test
+  public void shouldPreFilterComparisonsWithLiterals() {
+    // Given:
+    final StreamFilter<Struct> filter = filter(
+        source(Optional.empty()),
+        LogicalBinaryExpression.and(COL0_GT_10, COL1_IS_PURCHASE)
+    );
+
+    // When:
+    final Optional<SourcePreFilter> result = SourcePreFilter.of(filter);
+
+    // Then:
+    assertThat(result.map(SourcePreFilter::getSourceContext), is(Optional.of(SOURCE_CTX)));
+    assertThat(result.map(SourcePreFilter::getFilterContext), is(Optional.of(FILTER_CTX)));
+    assertThat(result.map(SourcePreFilter::getColumns),
+        is(Optional.of(ImmutableSet.of(COL0, COL1))));
+    assertThat(result.map(SourcePreFilter::getExpression),
+        is(Optional.of(LogicalBinaryExpression.and(COL0_GT_10, COL1_IS_PURCHASE))));
+  }
+
+  @Test
+  public void shouldPreFilterComparisonsOfStackedFilters() {
+    // Given:
+    final StreamFilter<Struct> filter = filter(
+        filter(source(Optional.empty()), COL0_GT_10),
+        COL1_IS_PURCHASE
+    );
+
+    // When:
+    final Optional<SourcePreFilter> result = SourcePreFilter.of(filter);
+
+    // Then:
+    assertThat(result.map(SourcePreFilter::getExpression),
+        is(Optional.of(LogicalBinaryExpression.and(COL1_IS_PURCHASE, COL0_GT_10))));
+  }
+
+  @Test
+  public void shouldOnlyPreFilterConjunctsThatCompareColumnsWithLiterals() {
+    // Given:
+    final StreamFilter<Struct> filter = filter(
+        source(Optional.empty()),
+        LogicalBinaryExpression.and(
+            LogicalBinaryExpression.or(COL0_GT_10, COL1_IS_PURCHASE),
+            LogicalBinaryExpression.and(
+                new ComparisonExpression(Type.EQUAL, ref(COL0), ref(COL1)),
+                COL1_IS_PURCHASE
+            )
+        )
+    );
+
+    // When:
+    final Optional<SourcePreFilter> result = SourcePreFilter.of(filter);
+
+    // Then:
+    assertThat(result.map(SourcePreFilter::getExpression), is(Optional.of(COL1_IS_PURCHASE)));
+    assertThat(result.map(SourcePreFilter::getColumns), is(Optional.of(ImmutableSet.of(COL1))));
+  }
+
+  @Test
+  public void shouldNotPreFilterIsDistinctFrom() {
+    // Given:
+    final StreamFilter<Struct> filter = filter(
+        source(Optional.empty()),
+        new ComparisonExpression(Type.IS_DISTINCT_FROM, ref(COL0), new IntegerLiteral(10))
+    );
+
+    // When:
+    final Optional<SourcePreFilter> result = SourcePreFilter.of(filter);
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldNotPreFilterColumnsThatAreNotPrimitiveSourceValueColumns() {
+    // Given:
+    final StreamFilter<Struct> filter = filter(
+        source(Optional.empty()),
+        LogicalBinaryExpression.and(
+            new ComparisonExpression(Type.EQUAL, ref(COL2), new StringLiteral("a")),
+            new ComparisonExpression(
+                Type.EQUAL, ref(SystemColumns.ROWKEY_NAME), new StringLiteral("a"))
+        )
+    );
+
+    // When:
+    final Optional<SourcePreFilter> result = SourcePreFilter.of(filter);
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldNotPreFilterSourceWithTimestampColumn() {
+    // Given:
+    final StreamFilter<Struct> filter = filter(
+        source(Optional.of(new TimestampColumn(COL0, Optional.empty()))),
+        COL1_IS_PURCHASE
+    );
+
+    // When:
+    final Optional<SourcePreFilter> result = SourcePreFilter.of(filter);
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldNotPreFilterIfNotFilteringSource() {
+    // Given:
+    final StreamFilter<Struct> filter = filter(otherStep, COL1_IS_PURCHASE);
+
+    // When:
+    final Optional<SourcePreFilter> result = SourcePreFilter.of(filter);
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldEvaluatePreFilterAgainstReferencedColumns() {
+    // Given:
+    final Predicate<GenericRow> preFilter = SourcePreFilter.of(filter(
+        source(Optional.empty()),
+        LogicalBinaryExpression.and(COL0_GT_10, COL1_IS_PURCHASE)
+    )).get().compile(new KsqlConfig(Collections.emptyMap()), functionRegistry, processingLogger);
+
+    // Then:
+    assertThat(preFilter.test(GenericRow.genericRow(11L, "purchase", null)), is(true));
+    assertThat(preFilter.test(GenericRow.genericRow(10L, "purchase", null)), is(false));
+    assertThat(preFilter.test(GenericRow.genericRow(11L, "view", null)), is(false));
+    assertThat(preFilter.test(GenericRow.genericRow(null, "purchase", null)), is(false));
+  }
+
+  private static StreamSource source(final Optional<TimestampColumn> timestampColumn) {
+    return new StreamSource(
+        new ExecutionStepPropertiesV1(SOURCE_CTX),
+        "topic",
+        Formats.of(
+            FormatInfo.of(FormatFactory.KAFKA.name()),
+            FormatInfo.of(FormatFactory.JSON.name()),
+            SerdeOption.none()
+        ),
+        timestampColumn,
+        SCHEMA
+    );
+  }
+
+  private static StreamFilter<Struct> filter(
+      final ExecutionStep<KStreamHolder<Struct>> source,
+      final Expression expression
+  ) {
+    return new StreamFilter<>(new ExecutionStepPropertiesV1(FILTER_CTX), source, expression);
+  }
+
+  private static Expression ref(final ColumnName column) {
+    return new UnqualifiedColumnReferenceExp(column);
+  }
+}
@@ -25,6 +25,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -62,6 +63,7 @@ import io.confluent.ksql.schema.ksql.types.SqlTypes;
 import io.confluent.ksql.serde.FormatFactory;
 import io.confluent.ksql.serde.FormatInfo;
 import io.confluent.ksql.serde.SerdeOption;
+import io.confluent.ksql.util.KsqlConfig;
 import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
@@ -69,7 +71,10 @@ import java.util.concurrent.TimeUnit;
 import org.apache.kafka.common.serialization.Serde;
 import org.apache.kafka.common.utils.Bytes;
 import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.Aggregator;
 import org.apache.kafka.streams.kstream.KGroupedStream;
+import org.apache.kafka.streams.kstream.KStream;
 import org.apache.kafka.streams.kstream.KTable;
 import org.apache.kafka.streams.kstream.Materialized;
 import org.apache.kafka.streams.kstream.Merger;
@@ -86,6 +91,7 @@ import org.apache.kafka.streams.state.WindowStore;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -131,6 +137,10 @@ public class StreamAggregateBuilderTest {
       ImmutableList.of(new UnqualifiedColumnReferenceExp(ColumnName.of("ARGUMENT1")))
   );
   private static final List<FunctionCall> FUNCTIONS = ImmutableList.of(AGG0, AGG1);
+  private static final List<FunctionCall> COMBINABLE_FUNCTIONS = ImmutableList.of(
+      new FunctionCall(FunctionName.of("COUNT"), AGG0.getArguments()),
+      new FunctionCall(FunctionName.of("SUM"), AGG1.getArguments())
+  );
   private static final QueryContext CTX =
       new QueryContext.Stacker().push("agg").push("regate").getQueryContext();
   private static final QueryContext MATERIALIZE_CTX = QueryContext.Stacker.of(CTX)
@@ -143,6 +153,16 @@ public class StreamAggregateBuilderTest {
   @Mock
   private KGroupedStream<Struct, GenericRow> groupedStream;
   @Mock
+  private KStream<Struct, GenericRow> keyedStream;
+  @Mock
+  private KStream<Struct, GenericRow> partials;
+  @Mock
+  private KGroupedStream<Struct, GenericRow> groupedPartials;
+  @Mock
+  private StreamsBuilder streamsBuilder;
+  @Mock
+  private KsqlConfig ksqlConfig;
+  @Mock
   private KTable<Struct, GenericRow> aggregated;
   @Mock
   private KTable<Struct, GenericRow> aggregatedWithResults;
@@ -243,6 +263,44 @@ public class StreamAggregateBuilderTest {
     );
   }
 
+  @SuppressWarnings("unchecked")
+  private void givenPreAggregatedUnwindowedAggregate() {
+    when(sourceStep.build(any())).thenReturn(KGroupedStreamHolder.of(
+        keyedStream,
+        INPUT_SCHEMA,
+        (stream, schema) -> stream == partials ? groupedPartials : groupedStream
+    ));
+    when(queryBuilder.getKsqlConfig()).thenReturn(ksqlConfig);
+    when(queryBuilder.getStreamsBuilder()).thenReturn(streamsBuilder);
+    when(ksqlConfig.getInt(KsqlConfig.KSQL_QUERY_AGGREGATE_COMBINE_MAX_KEYS_CONFIG))
+        .thenReturn(100);
+    when(ksqlConfig.getLong(KsqlConfig.KSQL_QUERY_AGGREGATE_COMBINE_FLUSH_INTERVAL_MS_CONFIG))
+        .thenReturn(1000L);
+    when(keyedStream.transform(any(), any(Named.class), any(String.class))).thenReturn(partials);
+    when(materializedFactory.<Struct, KeyValueStore<Bytes, byte[]>>create(any(), any(), any()))
+        .thenReturn(materialized);
+    when(groupedPartials.aggregate(any(), any(), any(Materialized.class))).thenReturn(aggregated);
+    when(aggregated.transformValues(any(), any(Named.class)))
+        .thenReturn((KTable) aggregatedWithResults);
+    aggregate = new StreamAggregate(
+        new ExecutionStepPropertiesV1(CTX),
+        sourceStep,
+        io.confluent.ksql.execution.plan.Formats.of(KEY_FORMAT, VALUE_FORMAT, SerdeOption.none()),
+        NON_AGG_COLUMNS,
+        COMBINABLE_FUNCTIONS
+    );
+  }
+
+  @SuppressWarnings("unchecked")
+  private void givenKeyedUnwindowedAggregateOfOrderSensitiveFunctions() {
+    when(sourceStep.build(any())).thenReturn(KGroupedStreamHolder.of(
+        keyedStream,
+        INPUT_SCHEMA,
+        (stream, schema) -> stream == keyedStream ? groupedStream : groupedPartials
+    ));
+    givenUnwindowedAggregate();
+  }
+
   @SuppressWarnings("unchecked")
   private void givenTimeWindowedAggregate() {
     when(materializedFactory.<Struct, WindowStore<Bytes, byte[]>>create(any(), any(), any(), any()))
@@ -334,6 +392,73 @@ public class StreamAggregateBuilderTest {
     inOrder.verifyNoMoreInteractions();
   }
 
+  @Test
+  public void shouldPreAggregateKeyedStreamBeforeGrouping() {
+    // Given:
+    givenPreAggregatedUnwindowedAggregate();
+
+    // When:
+    final KTableHolder<Struct> result = aggregate.build(planBuilder);
+
+    // Then:
+    assertThat(result.getTable(), is(aggregatedWithResults));
+    verify(keyedStream).transform(any(), any(Named.class), eq("agg-regate-PreAggregate"));
+    verify(groupedPartials).aggregate(same(initializer), any(), same(materialized));
+    verify(groupedStream, never()).aggregate(any(), any(), any(Materialized.class));
+  }
+
+  @Test
+  public void shouldBuildPreAggregateStoreWithAggregateSchema() {
+    // Given:
+    givenPreAggregatedUnwindowedAggregate();
+
+    // When:
+    aggregate.build(planBuilder);
+
+    // Then:
+    final QueryContext preAggregateCtx = QueryContext.Stacker.of(CTX)
+        .push("PreAggregate").getQueryContext();
+    verify(queryBuilder).buildKeySerde(KEY_FORMAT, PHYSICAL_AGGREGATE_SCHEMA, preAggregateCtx);
+    verify(queryBuilder).buildValueSerde(VALUE_FORMAT, PHYSICAL_AGGREGATE_SCHEMA, preAggregateCtx);
+    verify(streamsBuilder).addStateStore(any());
+  }
+
+  @Test
+  public void shouldMergePartialAggregates() {
+    // Given:
+    givenPreAggregatedUnwindowedAggregate();
+    aggregate.build(planBuilder);
+    final ArgumentCaptor<Aggregator<Struct, GenericRow, GenericRow>> captor =
+        ArgumentCaptor.forClass(Aggregator.class);
+    verify(groupedPartials).aggregate(any(), captor.capture(), any(Materialized.class));
+
+    final Struct key = mock(Struct.class);
+    final GenericRow partial = GenericRow.genericRow(1L, "a", 2L, "b");
+    final GenericRow agg = GenericRow.genericRow(1L, "a", 3L, "c");
+    final GenericRow merged = GenericRow.genericRow(1L, "a", 5L, "bc");
+    when(merger.apply(key, agg, partial)).thenReturn(merged);
+
+    // When:
+    final GenericRow result = captor.getValue().apply(key, partial, agg);
+
+    // Then:
+    assertThat(result, is(merged));
+  }
+
+  @Test
+  public void shouldNotPreAggregateIfAnyFunctionIsNotCombinable() {
+    // Given:
+    givenKeyedUnwindowedAggregateOfOrderSensitiveFunctions();
+
+    // When:
+    final KTableHolder<Struct> result = aggregate.build(planBuilder);
+
+    // Then:
+    assertThat(result.getTable(), is(aggregatedWithResults));
+    verify(keyedStream, never()).transform(any(), any(Named.class), any(String.class));
+    verify(groupedStream).aggregate(same(initializer), same(aggregator), same(materialized));
+  }
+
   @Test
   public void shouldBuildUnwindowedAggregateWithCorrectSchema() {
     // Given:
@@ -20,6 +20,7 @@ import io.confluent.ksql.execution.plan.ExecutionStep;
 import io.confluent.ksql.execution.plan.ExecutionStepPropertiesV1;
 import io.confluent.ksql.execution.plan.Formats;
 import io.confluent.ksql.execution.plan.KGroupedStreamHolder;
+import io.confluent.ksql.execution.plan.KGroupedStreamHolder.KeyedStream;
 import io.confluent.ksql.execution.plan.KStreamHolder;
 import io.confluent.ksql.execution.plan.StreamGroupBy;
 import io.confluent.ksql.execution.plan.StreamGroupByKey;
@@ -38,6 +39,7 @@ import io.confluent.ksql.serde.FormatInfo;
 import io.confluent.ksql.serde.SerdeOption;
 import io.confluent.ksql.util.KsqlConfig;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Function;
 import org.apache.kafka.common.serialization.Serde;
 import org.apache.kafka.connect.data.Struct;
@@ -45,6 +47,7 @@ import org.apache.kafka.streams.kstream.Grouped;
 import org.apache.kafka.streams.kstream.KGroupedStream;
 import org.apache.kafka.streams.kstream.KStream;
 import org.apache.kafka.streams.kstream.KeyValueMapper;
+import org.apache.kafka.streams.kstream.Named;
 import org.apache.kafka.streams.kstream.Predicate;
 import org.junit.Before;
 import org.junit.Rule;
@@ -116,6 +119,8 @@ public class StreamGroupByBuilderTest {
   @Mock
   private KStream<Struct, GenericRow> filteredStream;
   @Mock
+  private KStream<Struct, GenericRow> keyedStream;
+  @Mock
   private KGroupedStream<Struct, GenericRow> groupedStream;
   @Captor
   private ArgumentCaptor<Predicate<Struct, GenericRow>> predicateCaptor;
@@ -183,6 +188,47 @@ public class StreamGroupByBuilderTest {
     verifyNoMoreInteractions(filteredStream, sourceStream);
   }
 
+  @Test
+  public void shouldOnlyKeyStreamIfCombiningAggregates() {
+    // Given:
+    when(ksqlConfig.getBoolean(KsqlConfig.KSQL_QUERY_AGGREGATE_COMBINE_ENABLE_CONFIG))
+        .thenReturn(true);
+    when(filteredStream.selectKey(any(), any(Named.class))).thenReturn(keyedStream);
+
+    // When:
+    final KGroupedStreamHolder result = builder.build(streamHolder, groupBy);
+
+    // Then:
+    assertThat(result.getKeyedStream().map(KeyedStream::getStream), is(Optional.of(keyedStream)));
+    verify(sourceStream).filter(any());
+    verify(filteredStream).selectKey(any(), any(Named.class));
+    verifyNoMoreInteractions(filteredStream, sourceStream, keyedStream);
+    verify(groupedFactory, never()).create(any(), any(Serde.class), any());
+  }
+
+  @Test
+  public void shouldGroupKeyedStreamOnRequestIfCombiningAggregates() {
+    // Given:
+    when(ksqlConfig.getBoolean(KsqlConfig.KSQL_QUERY_AGGREGATE_COMBINE_ENABLE_CONFIG))
+        .thenReturn(true);
+    when(filteredStream.selectKey(any(), any(Named.class))).thenReturn(keyedStream);
+    when(keyedStream.groupByKey(any(Grouped.class))).thenReturn(groupedStream);
+    final KGroupedStreamHolder result = builder.build(streamHolder, groupBy);
+
+    // When:
+    final KGroupedStream<Struct, GenericRow> groupedResult = result.getGroupedStream();
+
+    // Then:
+    assertThat(groupedResult, is(groupedStream));
+    verify(keyedStream).groupByKey(same(grouped));
+    verify(groupedFactory).create("foo-groupby", keySerde, valueSerde);
+    verify(queryBuilder).buildValueSerde(
+        FORMATS.getValueFormat(),
+        REKEYED_PHYSICAL_SCHEMA,
+        STEP_CTX
+    );
+  }
+
   @Test
   public void shouldBuildGroupByParamsCorrectly() {
     // When:
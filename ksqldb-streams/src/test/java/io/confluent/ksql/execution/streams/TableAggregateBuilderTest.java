@@ -20,6 +20,7 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.mock;
@@ -54,6 +55,7 @@ import io.confluent.ksql.schema.ksql.types.SqlTypes;
 import io.confluent.ksql.serde.FormatFactory;
 import io.confluent.ksql.serde.FormatInfo;
 import io.confluent.ksql.serde.SerdeOption;
+import io.confluent.ksql.util.KsqlConfig;
 import java.util.List;
 import java.util.Optional;
 import org.apache.kafka.common.serialization.Serde;
@@ -103,6 +105,7 @@ public class TableAggregateBuilderTest {
       ImmutableList.of(new UnqualifiedColumnReferenceExp(ColumnName.of("ARGUMENT1")))
   );
   private static final List<FunctionCall> FUNCTIONS = ImmutableList.of(AGG0, AGG1);
+  private static final int MAX_DISTINCT_VALUES = 100;
   private static final QueryContext CTX =
       new QueryContext.Stacker().push("agg").push("regate").getQueryContext();
   private static final QueryContext MATERIALIZE_CTX = QueryContext.Stacker.of(CTX)
@@ -119,6 +122,8 @@ public class TableAggregateBuilderTest {
   @Mock
   private KsqlQueryBuilder queryBuilder;
   @Mock
+  private KsqlConfig ksqlConfig;
+  @Mock
   private FunctionRegistry functionRegistry;
   @Mock
   private AggregateParamsFactory aggregateParamsFactory;
@@ -154,7 +159,10 @@ public class TableAggregateBuilderTest {
     when(queryBuilder.buildKeySerde(any(), any(), any())).thenReturn(keySerde);
     when(queryBuilder.buildValueSerde(any(), any(), any())).thenReturn(valueSerde);
     when(queryBuilder.getFunctionRegistry()).thenReturn(functionRegistry);
-    when(aggregateParamsFactory.createUndoable(any(), any(), any(), any()))
+    when(queryBuilder.getKsqlConfig()).thenReturn(ksqlConfig);
+    when(ksqlConfig.getInt(KsqlConfig.KSQL_QUERY_TABLE_AGGREGATE_MAX_DISTINCT_VALUES_CONFIG))
+        .thenReturn(MAX_DISTINCT_VALUES);
+    when(aggregateParamsFactory.createUndoable(any(), any(), any(), any(), anyInt()))
         .thenReturn(aggregateParams);
     when(aggregateParams.getAggregator()).thenReturn((KudafAggregator)aggregator);
     when(aggregateParams.getUndoAggregator()).thenReturn(Optional.of(undoAggregator));
@@ -262,7 +270,8 @@ public class TableAggregateBuilderTest {
         INPUT_SCHEMA,
         NON_AGG_COLUMNS,
         functionRegistry,
-        FUNCTIONS
+        FUNCTIONS,
+        MAX_DISTINCT_VALUES
     );
   }
 
@@ -23,6 +23,7 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -103,6 +104,10 @@ public class KsqlMaterializationTest {
   private MaterializedTable innerNonWindowed;
   @Mock
   private MaterializedWindowedTable innerWindowed;
+  @Mock
+  private CloseableIterator<Row> innerIterator;
+  @Mock
+  private CloseableIterator<WindowedRow> innerWindowedIterator;
 
   private KsqlMaterialization materialization;
 
@@ -194,6 +199,130 @@ public class KsqlMaterializationTest {
     verify(innerNonWindowed).get(A_KEY);
   }
 
+  @Test
+  public void shouldCallInnerNonWindowedWithCorrectParamsOnBatchGet() {
+    // Given:
+    final MaterializedTable table = materialization.nonWindowed();
+    when(innerNonWindowed.getBatch(any())).thenReturn(ImmutableList.of(ROW));
+    givenNoopTransforms();
+
+    // When:
+    table.getBatch(ImmutableList.of(A_KEY));
+
+    // Then:
+    verify(innerNonWindowed).getBatch(ImmutableList.of(A_KEY));
+  }
+
+  @Test
+  public void shouldCallFilterWithCorrectValuesOnNonWindowedBatchGet() {
+    // Given:
+    final MaterializedTable table = materialization.nonWindowed();
+    when(innerNonWindowed.getBatch(any())).thenReturn(ImmutableList.of(ROW));
+    givenNoopTransforms();
+
+    // When:
+    final List<Row> result = table.getBatch(ImmutableList.of(A_KEY));
+
+    // Then:
+    verify(filter).apply(A_KEY, A_VALUE, new PullProcessingContext(A_ROWTIME));
+    assertThat(result, hasSize(1));
+  }
+
+  @Test
+  public void shouldCallInnerNonWindowedWithCorrectParamsOnRange() {
+    // Given:
+    final MaterializedTable table = materialization.nonWindowed();
+    when(innerNonWindowed.range(anyInt(), any(), any())).thenReturn(innerIterator);
+
+    // When:
+    table.range(1, A_KEY, A_KEY);
+
+    // Then:
+    verify(innerNonWindowed).range(1, A_KEY, A_KEY);
+  }
+
+  @Test
+  public void shouldTransformRowsOnNonWindowedScan() {
+    // Given:
+    final MaterializedTable table = materialization.nonWindowed();
+    when(innerNonWindowed.all(anyInt())).thenReturn(innerIterator);
+    when(innerIterator.hasNext()).thenReturn(true, false);
+    when(innerIterator.next()).thenReturn(ROW);
+    givenNoopFilter();
+    when(project.apply(any(), any(), any())).thenReturn(Optional.of(TRANSFORMED));
+
+    // When:
+    final CloseableIterator<Row> result = table.all(0);
+
+    // Then:
+    assertThat(result.hasNext(), is(true));
+    assertThat(result.next().value(), is(TRANSFORMED));
+    assertThat(result.hasNext(), is(false));
+  }
+
+  @Test
+  public void shouldFilterRowsOnNonWindowedScan() {
+    // Given:
+    final MaterializedTable table = materialization.nonWindowed();
+    when(innerNonWindowed.all(anyInt())).thenReturn(innerIterator);
+    when(innerIterator.hasNext()).thenReturn(true, false);
+    when(innerIterator.next()).thenReturn(ROW);
+    givenNoopProject();
+    when(filter.apply(any(), any(), any())).thenReturn(Optional.empty());
+
+    // When:
+    final CloseableIterator<Row> result = table.all(0);
+
+    // Then:
+    assertThat(result.hasNext(), is(false));
+  }
+
+  @Test
+  public void shouldCloseInnerIteratorOnNonWindowedScan() {
+    // Given:
+    final MaterializedTable table = materialization.nonWindowed();
+    when(innerNonWindowed.all(anyInt())).thenReturn(innerIterator);
+
+    // When:
+    table.all(0).close();
+
+    // Then:
+    verify(innerIterator).close();
+  }
+
+  @Test
+  public void shouldTransformRowsOnWindowedFetch() {
+    // Given:
+    final MaterializedWindowedTable table = materialization.windowed();
+    when(innerWindowed.fetch(any(), any())).thenReturn(innerWindowedIterator);
+    when(innerWindowedIterator.hasNext()).thenReturn(true, false);
+    when(innerWindowedIterator.next()).thenReturn(WINDOWED_ROW);
+    givenNoopFilter();
+    when(project.apply(any(), any(), any())).thenReturn(Optional.of(TRANSFORMED));
+
+    // When:
+    final CloseableIterator<WindowedRow> result = table.fetch(A_KEY, WINDOW_START_BOUNDS);
+
+    // Then:
+    verify(innerWindowed).fetch(A_KEY, WINDOW_START_BOUNDS);
+    assertThat(result.hasNext(), is(true));
+    assertThat(result.next().value(), is(TRANSFORMED));
+    assertThat(result.hasNext(), is(false));
+  }
+
+  @Test
+  public void shouldCloseInnerIteratorOnWindowedFetch() {
+    // Given:
+    final MaterializedWindowedTable table = materialization.windowed();
+    when(innerWindowed.fetch(any(), any())).thenReturn(innerWindowedIterator);
+
+    // When:
+    table.fetch(A_KEY, WINDOW_START_BOUNDS).close();
+
+    // Then:
+    verify(innerWindowedIterator).close();
+  }
+
   @Test
   public void shouldCallInnerWindowedWithCorrectParamsOnGet() {
     // Given:
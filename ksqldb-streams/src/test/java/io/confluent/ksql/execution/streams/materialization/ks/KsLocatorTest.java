@@ -16,6 +16,7 @@
 package io.confluent.ksql.execution.streams.materialization.ks;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
@@ -41,12 +42,14 @@ import java.net.URI;
 import java.net.URL;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.apache.kafka.common.serialization.Serializer;
 import org.apache.kafka.connect.data.SchemaBuilder;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.KafkaStreams;
 import org.apache.kafka.streams.KeyQueryMetadata;
+import org.apache.kafka.streams.processor.StreamPartitioner;
 import org.apache.kafka.streams.state.HostInfo;
 import org.junit.Before;
 import org.junit.Test;
@@ -334,6 +337,51 @@ public class KsLocatorTest {
     assertThat(result.stream().findFirst().get(), is(standByNode2));
   }
 
+  @Test
+  public void shouldLocateEachPartition() {
+    // Given:
+    givenPartitionMetadata(3);
+
+    // When:
+    final Map<Integer, List<KsqlNode>> result = locator.locatePartitions(routingOptions,
+        routingFilterFactoryActive);
+
+    // Then:
+    assertThat(result.keySet(), contains(0, 1, 2));
+    assertThat(result.get(0), is(ImmutableList.of(activeNode)));
+    assertThat(result.get(2), is(ImmutableList.of(activeNode)));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void shouldThrowIfPartitionMetadataNotAvailable() {
+    // Given:
+    when(kafkaStreams.queryMetadataForKey(any(), any(), any(StreamPartitioner.class)))
+        .thenReturn(KeyQueryMetadata.NOT_AVAILABLE);
+
+    // When:
+    final Exception e = assertThrows(
+        MaterializationException.class,
+        () -> locator.locatePartitions(routingOptions, routingFilterFactoryActive)
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString(
+        "KeyQueryMetadata not available for state store someStoreName and partition 0"));
+  }
+
+  @SuppressWarnings("unchecked")
+  private void givenPartitionMetadata(final int numPartitions) {
+    when(keyQueryMetadata.getActiveHost()).thenReturn(activeHostInfo);
+    when(keyQueryMetadata.getStandbyHosts()).thenReturn(Collections.emptySet());
+    when(kafkaStreams.queryMetadataForKey(any(), any(), any(StreamPartitioner.class)))
+        .thenAnswer(inv -> {
+          final StreamPartitioner<Object, Object> partitioner = inv.getArgument(2);
+          partitioner.partition("topic", inv.getArgument(1), null, numPartitions);
+          return keyQueryMetadata;
+        });
+  }
+
   @SuppressWarnings("unchecked")
   private void getEmtpyMetadata() {
     when(kafkaStreams.queryMetadataForKey(any(), any(), any(Serializer.class)))
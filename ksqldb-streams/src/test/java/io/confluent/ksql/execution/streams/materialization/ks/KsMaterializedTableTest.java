@@ -21,12 +21,17 @@ import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.testing.NullPointerTester;
 import com.google.common.testing.NullPointerTester.Visibility;
 import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.streams.materialization.CloseableIterator;
 import io.confluent.ksql.execution.streams.materialization.MaterializationException;
 import io.confluent.ksql.execution.streams.materialization.MaterializationTimeOutException;
 import io.confluent.ksql.execution.streams.materialization.Row;
@@ -34,8 +39,11 @@ import io.confluent.ksql.execution.util.StructKeyUtil;
 import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import java.util.List;
 import java.util.Optional;
 import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.state.KeyValueIterator;
 import org.apache.kafka.streams.state.QueryableStoreType;
 import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
 import org.apache.kafka.streams.state.ValueAndTimestamp;
@@ -58,10 +66,15 @@ public class KsMaterializedTableTest {
   private static final Struct A_KEY = StructKeyUtil
       .keyBuilder(ColumnName.of("K0"), SqlTypes.STRING).build("x");
 
+  private static final Struct OTHER_KEY = StructKeyUtil
+      .keyBuilder(ColumnName.of("K0"), SqlTypes.STRING).build("y");
+
   @Mock
   private KsStateStore stateStore;
   @Mock
   private ReadOnlyKeyValueStore<Struct, ValueAndTimestamp<GenericRow>> tableStore;
+  @Mock
+  private KeyValueIterator<Struct, ValueAndTimestamp<GenericRow>> storeIterator;
   @Captor
   private ArgumentCaptor<QueryableStoreType<?>> storeTypeCaptor;
 
@@ -158,4 +171,123 @@ public class KsMaterializedTableTest {
     // Then:
     assertThat(result, is(Optional.of(Row.of(SCHEMA, A_KEY, value, rowTime))));
   }
-}
\ No newline at end of file
+
+  @Test
+  public void shouldGetStoreOnceForMultipleKeys() {
+    // When:
+    table.getBatch(ImmutableList.of(A_KEY, OTHER_KEY));
+
+    // Then:
+    verify(stateStore, times(1)).store(any());
+    verify(tableStore).get(A_KEY);
+    verify(tableStore).get(OTHER_KEY);
+  }
+
+  @Test
+  public void shouldReturnOnlyPresentValuesForMultipleKeys() {
+    // Given:
+    final GenericRow value = GenericRow.genericRow("col0");
+    final long rowTime = 2343553L;
+    when(tableStore.get(OTHER_KEY)).thenReturn(ValueAndTimestamp.make(value, rowTime));
+
+    // When:
+    final List<Row> result = table.getBatch(ImmutableList.of(A_KEY, OTHER_KEY));
+
+    // Then:
+    assertThat(result, is(ImmutableList.of(Row.of(SCHEMA, OTHER_KEY, value, rowTime))));
+  }
+
+  @Test
+  public void shouldThrowIfStoreGetFailsForMultipleKeys() {
+    // Given:
+    when(tableStore.get(any())).thenThrow(new MaterializationTimeOutException("Boom"));
+
+    // When:
+    final Exception e = assertThrows(
+        MaterializationException.class,
+        () -> table.getBatch(ImmutableList.of(A_KEY))
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString(
+        "Failed to get values from materialized table"));
+  }
+
+  @Test
+  public void shouldScanRangeOfPartition() {
+    // Given:
+    when(stateStore.store(any(), anyInt())).thenReturn(tableStore);
+    when(tableStore.range(any(), any())).thenReturn(storeIterator);
+
+    // When:
+    table.range(3, A_KEY, OTHER_KEY);
+
+    // Then:
+    verify(stateStore).store(any(), eq(3));
+    verify(tableStore).range(A_KEY, OTHER_KEY);
+  }
+
+  @Test
+  public void shouldScanAllOfPartition() {
+    // Given:
+    when(stateStore.store(any(), anyInt())).thenReturn(tableStore);
+    when(tableStore.all()).thenReturn(storeIterator);
+
+    // When:
+    table.all(2);
+
+    // Then:
+    verify(stateStore).store(any(), eq(2));
+    verify(tableStore).all();
+  }
+
+  @Test
+  public void shouldReturnRowsFromScan() {
+    // Given:
+    final GenericRow value = GenericRow.genericRow("col0");
+    final long rowTime = 2343553L;
+    when(stateStore.store(any(), anyInt())).thenReturn(tableStore);
+    when(tableStore.all()).thenReturn(storeIterator);
+    when(storeIterator.hasNext()).thenReturn(true, false);
+    when(storeIterator.next())
+        .thenReturn(new KeyValue<>(A_KEY, ValueAndTimestamp.make(value, rowTime)));
+
+    // When:
+    final CloseableIterator<Row> result = table.all(0);
+
+    // Then:
+    assertThat(result.hasNext(), is(true));
+    assertThat(result.next(), is(Row.of(SCHEMA, A_KEY, value, rowTime)));
+    assertThat(result.hasNext(), is(false));
+  }
+
+  @Test
+  public void shouldCloseStoreIteratorOnClose() {
+    // Given:
+    when(stateStore.store(any(), anyInt())).thenReturn(tableStore);
+    when(tableStore.all()).thenReturn(storeIterator);
+
+    // When:
+    table.all(0).close();
+
+    // Then:
+    verify(storeIterator).close();
+  }
+
+  @Test
+  public void shouldThrowIfScanFails() {
+    // Given:
+    when(stateStore.store(any(), anyInt()))
+        .thenThrow(new MaterializationTimeOutException("Boom"));
+
+    // When:
+    final Exception e = assertThrows(
+        MaterializationException.class,
+        () -> table.all(0)
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString("Failed to scan materialized table"));
+    assertThat(e.getCause(), (instanceOf(MaterializationTimeOutException.class)));
+  }
+}
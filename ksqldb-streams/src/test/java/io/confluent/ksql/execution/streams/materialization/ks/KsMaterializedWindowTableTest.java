@@ -23,6 +23,7 @@ import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -30,6 +31,7 @@ import com.google.common.collect.Range;
 import com.google.common.testing.NullPointerTester;
 import com.google.common.testing.NullPointerTester.Visibility;
 import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.streams.materialization.CloseableIterator;
 import io.confluent.ksql.execution.streams.materialization.MaterializationException;
 import io.confluent.ksql.execution.streams.materialization.MaterializationTimeOutException;
 import io.confluent.ksql.execution.streams.materialization.WindowedRow;
@@ -319,6 +321,36 @@ public class KsMaterializedWindowTableTest {
     );
   }
 
+  @Test
+  public void shouldReadStoreLazilyOnFetch() {
+    // Given:
+    when(fetchIterator.hasNext()).thenReturn(true, false);
+    when(fetchIterator.next())
+        .thenReturn(new KeyValue<>(WINDOW_START_BOUNDS.lowerEndpoint().toEpochMilli(), VALUE_1));
+
+    // When:
+    final CloseableIterator<WindowedRow> result = table.fetch(A_KEY, WINDOW_START_BOUNDS);
+
+    // Then:
+    verify(fetchIterator, never()).next();
+    assertThat(result.next(), is(WindowedRow.of(
+        SCHEMA,
+        windowedKey(WINDOW_START_BOUNDS.lowerEndpoint()),
+        VALUE_1.value(),
+        VALUE_1.timestamp()
+    )));
+    assertThat(result.hasNext(), is(false));
+  }
+
+  @Test
+  public void shouldCloseStoreIteratorOnFetchClose() {
+    // When:
+    table.fetch(A_KEY, WINDOW_START_BOUNDS).close();
+
+    // Then:
+    verify(fetchIterator).close();
+  }
+
   private static Windowed<Struct> windowedKey(final Instant windowStart) {
     return new Windowed<>(
         A_KEY,
@@ -141,6 +141,20 @@ public class KsStateStoreTest {
     verify(kafkaStreams).store(StoreQueryParameters.fromNameAndType(STORE_NAME, storeType));
   }
 
+  @Test
+  public void shouldRequestStoreForPartition() {
+    // Given:
+    final QueryableStoreType<ReadOnlyWindowStore<Integer, Long>> storeType =
+        QueryableStoreTypes.windowStore();
+
+    // When:
+    store.store(storeType, 2);
+
+    // Then:
+    verify(kafkaStreams).store(
+        StoreQueryParameters.fromNameAndType(STORE_NAME, storeType).withPartition(2));
+  }
+
   @Test
   public void shouldThrowIfStoreNotAvailableWhenRequested() {
     // Given: